@@ -1,13 +1,26 @@
 package com.tnc.Data.Anonymization;
 
+import com.tnc.Data.Anonymization.cli.AnonymizationCliRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Profiles;
 
 @SpringBootApplication
 public class DataAnonymizationApplication {
 
+	// Enough steps for every bean instantiation plus the context phases
+	private static final int STARTUP_STEP_CAPACITY = 4096;
+
 	public static void main(String[] args) {
-		SpringApplication.run(DataAnonymizationApplication.class, args);
+		SpringApplication application = new SpringApplication(DataAnonymizationApplication.class);
+		application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEP_CAPACITY));
+		ConfigurableApplicationContext context = application.run(args);
+		if (context.getEnvironment().acceptsProfiles(Profiles.of(AnonymizationCliRunner.PROFILE))) {
+			// Headless runs end after the runner; its result becomes the process exit code
+			System.exit(SpringApplication.exit(context));
+		}
 	}
 
 }
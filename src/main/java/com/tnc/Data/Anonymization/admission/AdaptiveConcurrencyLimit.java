@@ -0,0 +1,79 @@
+package com.tnc.Data.Anonymization.admission;
+
+/**
+ * Concurrency limit adapted to observed latency (AIMD).
+ * Latencies are normalized by request cost and judged per window of samples, never one by one: a
+ * window's latency per cost unit is its total latency over its total cost units, so a mix of small and
+ * large requests under constant load gives a stable figure. A baseline tracks the no-load latency per
+ * unit: it follows lower windows at once and drifts slowly towards higher ones so it can recover after
+ * a permanent change. While a window stays within tolerance x baseline and the limit is actually used,
+ * the limit grows by one; a slower window means requests queue downstream (CPU, GC, vault) and the
+ * limit shrinks multiplicatively.
+ */
+public final class AdaptiveConcurrencyLimit {
+
+    private static final int WINDOW_SAMPLES = 20;
+    private static final double BASELINE_DRIFT = 0.02;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double backoffRatio;
+    private double limit;
+    private double baselineNanosPerUnit = Double.NaN;
+    private int windowSamples;
+    private double windowLatencyNanos;
+    private double windowUnits;
+    private int windowMaxInFlight;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double backoffRatio) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= max: " + minLimit + ", " + maxLimit);
+        }
+        if (tolerance < 1.0 || backoffRatio <= 0 || backoffRatio >= 1.0) {
+            throw new IllegalArgumentException("Tolerance must be >= 1 and backoff ratio in (0, 1)");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Records the latency of a completed request; the limit adapts once a window of samples is complete
+     *
+     * @param latencyNanos Time from admission to completion
+     * @param cost Cost units of the request (RequestCost.units()), at least 1
+     * @param inFlight Requests in flight when it completed, including itself
+     */
+    public synchronized void onSample(long latencyNanos, long cost, int inFlight) {
+        windowLatencyNanos += latencyNanos;
+        windowUnits += Math.max(1, cost);
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlight);
+        if (++windowSamples < WINDOW_SAMPLES) {
+            return;
+        }
+
+        double nanosPerUnit = windowLatencyNanos / windowUnits;
+        if (Double.isNaN(baselineNanosPerUnit) || nanosPerUnit < baselineNanosPerUnit) {
+            baselineNanosPerUnit = nanosPerUnit;
+        } else {
+            baselineNanosPerUnit += (nanosPerUnit - baselineNanosPerUnit) * BASELINE_DRIFT;
+        }
+
+        if (nanosPerUnit > baselineNanosPerUnit * tolerance) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        } else if (windowMaxInFlight * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+        windowSamples = 0;
+        windowLatencyNanos = 0;
+        windowUnits = 0;
+        windowMaxInFlight = 0;
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+}
@@ -0,0 +1,184 @@
+package com.tnc.Data.Anonymization.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tnc.Data.Anonymization.config.AdmissionConfig;
+import com.tnc.Data.Anonymization.monitoring.RequestProfile;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Admission control in front of the anonymization endpoints.
+ * The body of each POST is read once (bounded by maxBodyBytes) to estimate its cost, then the request
+ * enters the interactive or the batch bulkhead, so large batches cannot starve small interactive calls.
+ * Excess load is shed immediately with 429 and a Retry-After estimate instead of queueing until
+ * the heap is exhausted. Queue depths, limits and rejections are published as Micrometer metrics.
+ * Streaming endpoints hold a constant amount of memory whatever their body size, so their body is not
+ * read ahead; they enter the batch bulkhead at the cost of the largest buffered body.
+ */
+@Slf4j
+@Component
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    private static final String API_PREFIX = "/api/v1/anonymization/";
+    private static final Set<String> BATCH_ENDPOINTS = Set.of("batch-anonymize", "k-anonymize", "detokenize", "generate");
+    private static final Set<String> STREAMING_ENDPOINTS = Set.of("anonymize-xml");
+
+    private final AdmissionConfig config;
+    private final ObjectMapper objectMapper;
+    private final Bulkhead interactive;
+    private final Bulkhead batch;
+    private final Counter rejectedTooLarge;
+
+    public AdmissionFilter(AdmissionConfig config, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.objectMapper = objectMapper;
+        this.interactive = newBulkhead("interactive", config.getInteractive());
+        this.batch = newBulkhead("batch", config.getBatch());
+        this.rejectedTooLarge = Counter.builder("anonymization.admission.rejected")
+            .description("Requests refused by admission control")
+            .tag("bulkhead", "none").tag("reason", "too_large")
+            .register(meterRegistry);
+        bindMetrics(interactive, meterRegistry);
+        bindMetrics(batch, meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !config.isEnabled() || !"POST".equals(request.getMethod()) || endpoint(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean streaming = STREAMING_ENDPOINTS.contains(endpoint(request));
+        byte[] body = null;
+        RequestCost cost;
+        if (streaming) {
+            cost = new RequestCost(config.getMaxBodyBytes(), 0);
+        } else {
+            long readStart = RequestProfile.startTimer();
+            body = request.getContentLengthLong() > config.getMaxBodyBytes()
+                ? null : readBody(request.getInputStream(), config.getMaxBodyBytes());
+            RequestProfile.stopTimer("read", readStart);
+            if (body == null) {
+                rejectedTooLarge.increment();
+                reject(response, HttpStatus.PAYLOAD_TOO_LARGE,
+                       "Request body exceeds " + config.getMaxBodyBytes() + " bytes", null);
+                return;
+            }
+            cost = RequestCost.estimate(body);
+        }
+
+        Bulkhead bulkhead = streaming || BATCH_ENDPOINTS.contains(endpoint(request))
+            || cost.units() > config.getInteractiveMaxCost() ? batch : interactive;
+
+        Bulkhead.Permit permit;
+        long admissionStart = RequestProfile.startTimer();
+        try {
+            permit = bulkhead.tryAcquire(cost.units());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            permit = null;
+        }
+        RequestProfile.stopTimer("admission", admissionStart);
+        if (permit == null) {
+            long retryAfter = bulkhead.retryAfterSeconds();
+            log.debug("Shedding {} request to {} (cost {}), retry after {}s",
+                      bulkhead.getName(), request.getRequestURI(), cost.units(), retryAfter);
+            reject(response, HttpStatus.TOO_MANY_REQUESTS,
+                   "Server is at capacity for " + bulkhead.getName() + " requests, retry later", retryAfter);
+            return;
+        }
+
+        try {
+            chain.doFilter(streaming ? request : new CachedBodyRequest(request, body), response);
+        } finally {
+            bulkhead.release(permit);
+        }
+    }
+
+    private Bulkhead newBulkhead(String name, AdmissionConfig.Bulkhead settings) {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(settings.getInitialLimit(), settings.getMinLimit(),
+                                                                      settings.getMaxLimit(), config.getLatencyTolerance(),
+                                                                      config.getBackoffRatio());
+        return new Bulkhead(name, limit, settings.getQueueCapacity(), settings.getMaxQueueWait().toNanos(),
+                            settings.getMaxInFlightCost());
+    }
+
+    private static void bindMetrics(Bulkhead bulkhead, MeterRegistry registry) {
+        String name = bulkhead.getName();
+        Gauge.builder("anonymization.admission.queue.depth", bulkhead, Bulkhead::getQueueDepth)
+            .description("Requests waiting for admission").tag("bulkhead", name).register(registry);
+        Gauge.builder("anonymization.admission.in.flight", bulkhead, Bulkhead::getInFlight)
+            .description("Requests currently admitted").tag("bulkhead", name).register(registry);
+        Gauge.builder("anonymization.admission.limit", bulkhead, Bulkhead::getLimit)
+            .description("Current adaptive concurrency limit").tag("bulkhead", name).register(registry);
+        FunctionCounter.builder("anonymization.admission.admitted", bulkhead, Bulkhead::getAdmitted)
+            .description("Requests admitted").tag("bulkhead", name).register(registry);
+        FunctionCounter.builder("anonymization.admission.rejected", bulkhead, Bulkhead::getRejectedQueueFull)
+            .description("Requests refused by admission control")
+            .tag("bulkhead", name).tag("reason", "queue_full").register(registry);
+        FunctionCounter.builder("anonymization.admission.rejected", bulkhead, Bulkhead::getRejectedTimeout)
+            .description("Requests refused by admission control")
+            .tag("bulkhead", name).tag("reason", "queue_timeout").register(registry);
+    }
+
+    /**
+     * Gets the endpoint name below the API prefix, or null for other paths
+     */
+    private static String endpoint(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.startsWith(API_PREFIX) ? path.substring(API_PREFIX.length()) : null;
+    }
+
+    /**
+     * Reads at most limit bytes of the body; null if it is longer
+     */
+    private static byte[] readBody(InputStream in, long limit) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        long total = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            total += read;
+            if (total > limit) {
+                return null;
+            }
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String message, Long retryAfterSeconds)
+            throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("success", false);
+        body.put("message", message);
+
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        if (retryAfterSeconds != null) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        }
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
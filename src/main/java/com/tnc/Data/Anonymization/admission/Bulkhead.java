@@ -0,0 +1,180 @@
+package com.tnc.Data.Anonymization.admission;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Isolates one class of traffic: at most limit requests (and maxInFlightCost cost units) run at
+ * once, a bounded number wait in FIFO order for a bounded time, and everything else is refused
+ * immediately. A request larger than the cost budget is still admitted when nothing else runs,
+ * so it is slowed down rather than refused forever. Each waiter has its own condition and only the
+ * head of the queue is signalled and admitted, so waiters are served strictly in arrival order.
+ */
+public final class Bulkhead {
+
+    private final String name;
+    private final AdaptiveConcurrencyLimit limit;
+    private final int queueCapacity;
+    private final long maxQueueWaitNanos;
+    private final long maxInFlightCost;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<Waiter> queue = new ArrayDeque<>();
+    private final AtomicLong admitted = new AtomicLong();
+    private final AtomicLong rejectedQueueFull = new AtomicLong();
+    private final AtomicLong rejectedTimeout = new AtomicLong();
+
+    private int inFlight;
+    private long inFlightCost;
+    private double averageLatencyNanos;
+
+    public Bulkhead(String name, AdaptiveConcurrencyLimit limit, int queueCapacity, long maxQueueWaitNanos,
+                    long maxInFlightCost) {
+        this.name = name;
+        this.limit = limit;
+        this.queueCapacity = queueCapacity;
+        this.maxQueueWaitNanos = maxQueueWaitNanos;
+        this.maxInFlightCost = maxInFlightCost;
+    }
+
+    /**
+     * Admits a request, waiting in the queue if needed
+     *
+     * @return The permit to release on completion, or null if the request is rejected
+     */
+    public Permit tryAcquire(long cost) throws InterruptedException {
+        lock.lock();
+        try {
+            if (queue.isEmpty() && canAdmit(cost)) {
+                return admit(cost);
+            }
+            if (queue.size() >= queueCapacity) {
+                rejectedQueueFull.incrementAndGet();
+                return null;
+            }
+
+            Waiter waiter = new Waiter(lock.newCondition());
+            queue.addLast(waiter);
+            try {
+                long remaining = maxQueueWaitNanos;
+                while (queue.peekFirst() != waiter || !canAdmit(cost)) {
+                    if (remaining <= 0) {
+                        rejectedTimeout.incrementAndGet();
+                        return null;
+                    }
+                    remaining = waiter.turn.awaitNanos(remaining);
+                }
+                return admit(cost);
+            } finally {
+                boolean head = queue.peekFirst() == waiter;
+                queue.remove(waiter);
+                if (head) {
+                    // Admitted, timed out or interrupted, the next waiter may fit now
+                    signalHead();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases a permit and feeds its latency to the adaptive limit
+     */
+    public void release(Permit permit) {
+        long latency = System.nanoTime() - permit.startNanos();
+        lock.lock();
+        try {
+            limit.onSample(latency, permit.cost(), inFlight);
+            inFlight--;
+            inFlightCost -= permit.cost();
+            averageLatencyNanos = averageLatencyNanos == 0 ? latency : averageLatencyNanos * 0.9 + latency * 0.1;
+            signalHead();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Estimates when a rejected client may retry: the time to drain the queue at the current limit
+     */
+    public long retryAfterSeconds() {
+        lock.lock();
+        try {
+            double drainNanos = (queue.size() + 1) * averageLatencyNanos / Math.max(1, limit.getLimit());
+            return Math.max(1, (long) Math.ceil(drainNanos / TimeUnit.SECONDS.toNanos(1)));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getQueueDepth() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        return limit.getLimit();
+    }
+
+    public long getAdmitted() {
+        return admitted.get();
+    }
+
+    public long getRejectedQueueFull() {
+        return rejectedQueueFull.get();
+    }
+
+    public long getRejectedTimeout() {
+        return rejectedTimeout.get();
+    }
+
+    private boolean canAdmit(long cost) {
+        return inFlight < limit.getLimit() && (inFlight == 0 || inFlightCost + cost <= maxInFlightCost);
+    }
+
+    private void signalHead() {
+        Waiter head = queue.peekFirst();
+        if (head != null) {
+            head.turn.signal();
+        }
+    }
+
+    private Permit admit(long cost) {
+        inFlight++;
+        inFlightCost += cost;
+        admitted.incrementAndGet();
+        return new Permit(cost, System.nanoTime());
+    }
+
+    /**
+     * A queued request, signalled only when it reaches the head of the queue or capacity frees up
+     */
+    private record Waiter(Condition turn) {
+    }
+
+    /**
+     * An admitted request
+     */
+    public record Permit(long cost, long startNanos) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.tnc.Data.Anonymization.admission;
+
+/**
+ * Estimated cost of a request in abstract units: one per JSON field plus one per KiB of body.
+ * Fields drive anonymizer calls and the body size drives parsing and allocation, so together they
+ * approximate both CPU and memory without deserializing the payload.
+ *
+ * @param bytes Body size
+ * @param fields Number of object fields (name/value pairs)
+ */
+public record RequestCost(long bytes, long fields) {
+
+    private static final long BYTES_PER_UNIT = 1024;
+
+    public long units() {
+        return 1 + fields + bytes / BYTES_PER_UNIT;
+    }
+
+    /**
+     * Counts fields by scanning for ':' outside of JSON strings, in a single pass over the bytes
+     */
+    public static RequestCost estimate(byte[] body) {
+        long fields = 0;
+        boolean inString = false;
+        for (int i = 0; i < body.length; i++) {
+            byte b = body[i];
+            if (inString) {
+                if (b == '\\') {
+                    i++;
+                } else if (b == '"') {
+                    inString = false;
+                }
+            } else if (b == '"') {
+                inString = true;
+            } else if (b == ':') {
+                fields++;
+            }
+        }
+        return new RequestCost(body.length, fields);
+    }
+}
@@ -0,0 +1,50 @@
+package com.tnc.Data.Anonymization.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Audit request id bound to the threads working on one API request or command-line run, like the tenant
+ * of a request. Ids start from the clock at startup, so they stay unique across restarts unless more than
+ * a million requests are served per millisecond of uptime.
+ */
+public final class AuditContext {
+
+    /** Id of work outside any request */
+    public static final long NONE = 0L;
+
+    private static final AtomicLong NEXT_ID = new AtomicLong(System.currentTimeMillis() << 20);
+    private static final ThreadLocal<Long> CURRENT = new ThreadLocal<>();
+
+    private AuditContext() {
+    }
+
+    /**
+     * Binds a new request id to the current thread and returns it
+     */
+    public static long begin() {
+        long id = NEXT_ID.incrementAndGet();
+        CURRENT.set(id);
+        return id;
+    }
+
+    /**
+     * Gets the request id bound to the current thread, or NONE
+     */
+    public static long current() {
+        Long id = CURRENT.get();
+        return id != null ? id : NONE;
+    }
+
+    /**
+     * Binds a request id to the current thread; returns the previous one
+     */
+    public static long attach(long id) {
+        long previous = current();
+        if (id == NONE) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(id);
+        }
+        return previous;
+    }
+}
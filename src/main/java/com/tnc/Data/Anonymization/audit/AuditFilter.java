@@ -0,0 +1,49 @@
+package com.tnc.Data.Anonymization.audit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Binds a new audit request id to each anonymization API request and returns it in the
+ * X-Audit-Request-Id header, so that callers can find the audit events of their request.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 60)
+public class AuditFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ID_HEADER = "X-Audit-Request-Id";
+    private static final String API_PREFIX = "/api/v1/anonymization/";
+
+    private final AuditTrail auditTrail;
+
+    public AuditFilter(AuditTrail auditTrail) {
+        this.auditTrail = auditTrail;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !auditTrail.isEnabled()
+            || !request.getRequestURI().substring(request.getContextPath().length()).startsWith(API_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long previous = AuditContext.current();
+        long id = AuditContext.begin();
+        response.setHeader(REQUEST_ID_HEADER, Long.toString(id));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            AuditContext.attach(previous);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.tnc.Data.Anonymization.audit;
+
+import com.tnc.Data.Anonymization.enums.AnonymizationStrategy;
+import com.tnc.Data.Anonymization.enums.DataType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Rotating NDJSON audit files written through one FileChannel by the audit consumer.
+ * Events are encoded into a direct buffer without intermediate strings; commit writes the buffer and,
+ * with fsync, forces the file once for all events of the batch (group commit). The current file is
+ * audit.log; once it reaches maxFileBytes it is renamed with the time of rotation and the oldest
+ * rotated files beyond maxFiles are deleted.
+ */
+final class AuditLog implements AuditRing.EventReader, AutoCloseable {
+
+    static final String CURRENT_FILE = "audit.log";
+    private static final String ROTATED_PREFIX = "audit-";
+    private static final DateTimeFormatter ROTATED_NAME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss.SSS")
+        .withZone(ZoneOffset.UTC);
+    private static final int BUFFER_SIZE = 256 * 1024;
+    private static final int MAX_STRING_CHARS = 1024;
+    private static final byte[][] DATA_TYPES = names(DataType.values());
+    private static final byte[][] STRATEGIES = names(AnonymizationStrategy.values());
+
+    private final Path directory;
+    private final long maxFileBytes;
+    private final int maxFiles;
+    private final boolean fsync;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private FileChannel channel;
+    private long lastTimestamp = Long.MIN_VALUE;
+    private byte[] lastTimestampBytes;
+    /** Events in the buffer that have not been written yet */
+    private int buffered;
+
+    AuditLog(Path directory, long maxFileBytes, int maxFiles, boolean fsync) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.maxFileBytes = Math.max(BUFFER_SIZE, maxFileBytes);
+        this.maxFiles = Math.max(0, maxFiles);
+        this.fsync = fsync;
+        this.channel = open();
+    }
+
+    @Override
+    public void read(long timestamp, long requestId, String tenant, String field, int dataType, int strategy,
+                     String keyVersion, int values) {
+        // Room for the fixed part plus the strings fully escaped as \\uXXXX
+        int needed = 192 + 6 * (length(tenant) + length(field) + length(keyVersion));
+        if (buffer.remaining() < needed) {
+            try {
+                writeBuffer();
+            } catch (IOException e) {
+                buffered++;
+                throw new UncheckedIOException(e);
+            }
+        }
+        buffered++;
+        put("{\"ts\":\"");
+        buffer.put(timestamp(timestamp));
+        put("\",\"request\":");
+        putLong(requestId);
+        if (tenant != null) {
+            put(",\"tenant\":");
+            putString(tenant);
+        }
+        put(",\"field\":");
+        putString(field);
+        put(",\"type\":\"");
+        buffer.put(DATA_TYPES[dataType]);
+        put("\",\"strategy\":\"");
+        buffer.put(STRATEGIES[strategy]);
+        buffer.put((byte) '"');
+        if (keyVersion != null) {
+            put(",\"keyVersion\":");
+            putString(keyVersion);
+        }
+        put(",\"values\":");
+        putLong(values);
+        put("}\n");
+    }
+
+    /**
+     * Writes the buffered events, forces them to disk with fsync and rotates a full file
+     */
+    void commit() throws IOException {
+        writeBuffer();
+        if (fsync) {
+            channel.force(false);
+        }
+        if (channel.size() >= maxFileBytes) {
+            rotate();
+        }
+    }
+
+    /**
+     * Discards the events of a batch that could not be committed; events already written while the
+     * batch was read are not counted
+     *
+     * @return The number of events lost
+     */
+    int discard() {
+        buffer.clear();
+        int lost = buffered;
+        buffered = 0;
+        return lost;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            commit();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private FileChannel open() throws IOException {
+        return FileChannel.open(directory.resolve(CURRENT_FILE), StandardOpenOption.CREATE,
+                                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private void writeBuffer() throws IOException {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffered = 0;
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    private void rotate() throws IOException {
+        channel.close();
+        Path rotated = directory.resolve(ROTATED_PREFIX + ROTATED_NAME.format(Instant.now()) + ".log");
+        for (int n = 1; Files.exists(rotated); n++) {
+            rotated = directory.resolve(ROTATED_PREFIX + ROTATED_NAME.format(Instant.now()) + "-" + n + ".log");
+        }
+        Files.move(directory.resolve(CURRENT_FILE), rotated);
+        channel = open();
+
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> paths = Files.list(directory)) {
+            paths.filter(path -> path.getFileName().toString().startsWith(ROTATED_PREFIX)).sorted().forEach(files::add);
+        }
+        // Names sort by rotation time
+        for (int i = 0; i < files.size() - maxFiles; i++) {
+            Files.deleteIfExists(files.get(i));
+        }
+    }
+
+    private byte[] timestamp(long millis) {
+        if (millis != lastTimestamp) {
+            lastTimestamp = millis;
+            lastTimestampBytes = Instant.ofEpochMilli(millis).toString().getBytes(StandardCharsets.US_ASCII);
+        }
+        return lastTimestampBytes;
+    }
+
+    private void put(String ascii) {
+        for (int i = 0; i < ascii.length(); i++) {
+            buffer.put((byte) ascii.charAt(i));
+        }
+    }
+
+    private void putLong(long value) {
+        put(Long.toString(value));
+    }
+
+    private void putString(String value) {
+        buffer.put((byte) '"');
+        int end = length(value);
+        for (int i = 0; i < end; i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                buffer.put((byte) '\\').put((byte) c);
+            } else if (c < 0x20) {
+                put(String.format("\\u%04x", (int) c));
+            } else if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(value.charAt(i + 1))) {
+                buffer.put(value.substring(i, i + 2).getBytes(StandardCharsets.UTF_8));
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                buffer.put((byte) '?');
+            } else {
+                buffer.put(String.valueOf(c).getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        buffer.put((byte) '"');
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : Math.min(value.length(), MAX_STRING_CHARS);
+    }
+
+    private static byte[][] names(Enum<?>[] values) {
+        byte[][] names = new byte[values.length][];
+        for (Enum<?> value : values) {
+            names[value.ordinal()] = value.name().getBytes(StandardCharsets.US_ASCII);
+        }
+        return names;
+    }
+}
@@ -0,0 +1,169 @@
+package com.tnc.Data.Anonymization.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Preallocated, lock-free multi-producer single-consumer ring of audit events.
+ * Events are stored column-wise in parallel arrays, so publishing allocates nothing: a producer claims
+ * the next sequence with one CAS, fills the slot with plain writes and releases it by storing the
+ * sequence in the slot's published marker. The consumer reads slots in sequence order while their
+ * markers match and then advances its cursor, which frees the slots for producers a lap later.
+ * Once the consumer closes the ring, waiting producers give up instead of waiting for it forever.
+ */
+final class AuditRing {
+
+    /**
+     * Receives drained events; String references are only valid during the call
+     */
+    @FunctionalInterface
+    interface EventReader {
+        void read(long timestamp, long requestId, String tenant, String field, int dataType, int strategy,
+                  String keyVersion, int values);
+    }
+
+    private static final int SPINS_BEFORE_PARKING = 100;
+
+    private final int mask;
+    private final long[] timestamps;
+    private final long[] requestIds;
+    private final String[] tenants;
+    private final String[] fields;
+    private final byte[] dataTypes;
+    private final byte[] strategies;
+    private final String[] keyVersions;
+    private final int[] values;
+    private final AtomicLongArray published;
+    private final AtomicLong claimed = new AtomicLong();
+    private volatile long consumed;
+    private volatile boolean closed;
+
+    AuditRing(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, Math.min(1 << 30, requestedCapacity)) * 2 - 1);
+        this.mask = capacity - 1;
+        this.timestamps = new long[capacity];
+        this.requestIds = new long[capacity];
+        this.tenants = new String[capacity];
+        this.fields = new String[capacity];
+        this.dataTypes = new byte[capacity];
+        this.strategies = new byte[capacity];
+        this.keyVersions = new String[capacity];
+        this.values = new int[capacity];
+        this.published = new AtomicLongArray(capacity);
+        for (int slot = 0; slot < capacity; slot++) {
+            published.set(slot, -1);
+        }
+    }
+
+    /**
+     * Publishes an event, or returns false at once when the ring is full
+     */
+    boolean tryPublish(long timestamp, long requestId, String tenant, String field, int dataType, int strategy,
+                       String keyVersion, int count) {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - consumed > mask) {
+                return false;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+        write(sequence, timestamp, requestId, tenant, field, dataType, strategy, keyVersion, count);
+        return true;
+    }
+
+    /**
+     * Publishes an event, waiting for the consumer while the ring is full
+     *
+     * @return false when the ring was closed before the event could be published
+     */
+    boolean publish(long timestamp, long requestId, String tenant, String field, int dataType, int strategy,
+                    String keyVersion, int count) {
+        if (closed) {
+            return false;
+        }
+        long sequence = claimed.getAndIncrement();
+        int spins = 0;
+        while (sequence - consumed > mask) {
+            if (closed) {
+                return false;
+            }
+            if (++spins < SPINS_BEFORE_PARKING) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(10_000);
+            }
+        }
+        write(sequence, timestamp, requestId, tenant, field, dataType, strategy, keyVersion, count);
+        return true;
+    }
+
+    /**
+     * Hands at most max published events to the reader in sequence order; single consumer only.
+     * Events are consumed even when the reader throws
+     *
+     * @return The number of events read
+     */
+    int drain(EventReader reader, int max) {
+        long sequence = consumed;
+        int read = 0;
+        try {
+            while (read < max) {
+                int slot = (int) (sequence & mask);
+                if (published.getAcquire(slot) != sequence) {
+                    break;
+                }
+                // A failing reader still consumes the event, so one bad write cannot stall the ring
+                sequence++;
+                read++;
+                try {
+                    reader.read(timestamps[slot], requestIds[slot], tenants[slot], fields[slot], dataTypes[slot],
+                                strategies[slot], keyVersions[slot], values[slot]);
+                } finally {
+                    // Released slots must not keep field names of past requests reachable
+                    tenants[slot] = null;
+                    fields[slot] = null;
+                    keyVersions[slot] = null;
+                }
+            }
+        } finally {
+            if (read > 0) {
+                consumed = sequence;
+            }
+        }
+        return read;
+    }
+
+    /**
+     * Checks whether published or claimed events are still waiting for the consumer; a closed ring has
+     * no consumer left to wait for
+     */
+    boolean isEmpty() {
+        return closed || claimed.get() == consumed;
+    }
+
+    /**
+     * Marks the consumer as gone, so producers waiting for room stop waiting; called by the consumer
+     */
+    void close() {
+        closed = true;
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    private void write(long sequence, long timestamp, long requestId, String tenant, String field, int dataType,
+                       int strategy, String keyVersion, int count) {
+        int slot = (int) (sequence & mask);
+        timestamps[slot] = timestamp;
+        requestIds[slot] = requestId;
+        tenants[slot] = tenant;
+        fields[slot] = field;
+        dataTypes[slot] = (byte) dataType;
+        strategies[slot] = (byte) strategy;
+        keyVersions[slot] = keyVersion;
+        values[slot] = count;
+        published.setRelease(slot, sequence);
+    }
+}
@@ -0,0 +1,199 @@
+package com.tnc.Data.Anonymization.audit;
+
+import com.tnc.Data.Anonymization.config.AuditConfig;
+import com.tnc.Data.Anonymization.config.PseudonymizationConfig;
+import com.tnc.Data.Anonymization.enums.AnonymizationStrategy;
+import com.tnc.Data.Anonymization.enums.AuditOverflowPolicy;
+import com.tnc.Data.Anonymization.enums.DataType;
+import com.tnc.Data.Anonymization.enums.PseudonymizationMode;
+import com.tnc.Data.Anonymization.service.impl.PseudonymKeyRing;
+import com.tnc.Data.Anonymization.tenant.TenantContext;
+import com.tnc.Data.Anonymization.tenant.TenantPolicy;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Audit trail of which fields of which requests were anonymized with which strategy and key version.
+ * Requests publish compact events into a preallocated lock-free ring and never touch the disk; a single
+ * writer thread drains the ring in batches into rotating NDJSON files with one write and one fsync per
+ * batch. When the ring is full, events are dropped and counted or publishers wait, as configured; waiting
+ * publishers give up and count their events as dropped once the writer has stopped.
+ * Values themselves are never audited, only field names, types and counts.
+ */
+@Slf4j
+@Component
+public class AuditTrail implements DisposableBean {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AuditConfig config;
+    private final PseudonymizationConfig pseudonymizationConfig;
+    private final PseudonymKeyRing keyRing;
+    private final AuditRing ring;
+    private final boolean block;
+    private final LongAdder dropped = new LongAdder();
+    private volatile long written;
+    private volatile long failed;
+    private volatile boolean running;
+    private Thread writer;
+
+    public AuditTrail(AuditConfig config, PseudonymizationConfig pseudonymizationConfig, PseudonymKeyRing keyRing,
+                      MeterRegistry meterRegistry) {
+        this.config = config;
+        this.pseudonymizationConfig = pseudonymizationConfig;
+        this.keyRing = keyRing;
+        this.block = config.getOverflow() == AuditOverflowPolicy.BLOCK;
+        if (!config.isEnabled()) {
+            this.ring = null;
+            return;
+        }
+        this.ring = new AuditRing(config.getBufferSize());
+        AuditLog auditLog;
+        try {
+            auditLog = new AuditLog(Path.of(config.getDirectory()), config.getMaxFileSizeMb() * 1024L * 1024L,
+                                    config.getMaxFiles(), config.isFsync());
+        } catch (IOException e) {
+            throw new IllegalStateException("Audit directory cannot be opened: " + config.getDirectory(), e);
+        }
+        this.running = true;
+        this.writer = new Thread(() -> drain(auditLog), "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+        bindMetrics(meterRegistry);
+        log.info("Audit trail enabled in {} ({} events buffered, overflow {})",
+                 config.getDirectory(), ring.capacity(), config.getOverflow());
+    }
+
+    public boolean isEnabled() {
+        return ring != null;
+    }
+
+    /**
+     * Records that values of a field were anonymized in the current request; a no-op when disabled
+     *
+     * @param values Number of values of the field anonymized in one go (1, or a column's rows)
+     */
+    public void record(String field, DataType dataType, AnonymizationStrategy strategy, int values) {
+        AuditRing ring = this.ring;
+        if (ring == null || !running) {
+            return;
+        }
+        TenantPolicy tenant = TenantContext.current();
+        long timestamp = System.currentTimeMillis();
+        long requestId = AuditContext.current();
+        String tenantId = tenant != null ? tenant.getId() : null;
+        String keyVersion = keyVersion(strategy);
+        boolean published = block
+            ? ring.publish(timestamp, requestId, tenantId, field, dataType.ordinal(), strategy.ordinal(), keyVersion,
+                           values)
+            : ring.tryPublish(timestamp, requestId, tenantId, field, dataType.ordinal(), strategy.ordinal(),
+                              keyVersion, values);
+        if (!published) {
+            dropped.increment();
+        }
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getWritten() {
+        return written;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    /**
+     * Checks whether every event published so far has been written or given up
+     */
+    public boolean isDrained() {
+        return ring == null || ring.isEmpty();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        if (writer != null) {
+            running = false;
+            LockSupport.unpark(writer);
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+            // A writer that is still stuck must not keep blocked publishers waiting for it
+            ring.close();
+        }
+    }
+
+    /**
+     * Key version that the strategy uses for the current request, the same way the anonymizers pick it
+     */
+    private String keyVersion(AnonymizationStrategy strategy) {
+        return switch (strategy) {
+            case PSEUDONYMIZATION, FORMAT_PRESERVING_ENCRYPTION ->
+                pseudonymizationConfig.getMode() == PseudonymizationMode.HMAC || TenantContext.keyVersion() != null
+                    ? keyRing.getActiveVersion() : null;
+            case DETERMINISTIC_MASKING, DATE_SHIFT -> keyRing.getActiveVersion();
+            default -> null;
+        };
+    }
+
+    private void drain(AuditLog auditLog) {
+        try {
+            drainUntilStopped(auditLog);
+        } finally {
+            // Blocked publishers give up and count their events as dropped once nobody drains the ring
+            ring.close();
+        }
+    }
+
+    private void drainUntilStopped(AuditLog auditLog) {
+        int batchSize = Math.max(1, config.getBatchSize());
+        // Publishers stop once running is cleared, so the last drains see every event they published
+        while (running || !ring.isEmpty()) {
+            int count;
+            try {
+                count = ring.drain(auditLog, batchSize);
+                if (count > 0) {
+                    auditLog.commit();
+                    written += count;
+                }
+            } catch (IOException | UncheckedIOException e) {
+                failed += auditLog.discard();
+                log.error("Audit events could not be written to {}", config.getDirectory(), e);
+                count = 0;
+            }
+            if (count == 0) {
+                if (!running) {
+                    break;
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        try {
+            auditLog.close();
+        } catch (IOException e) {
+            log.error("Audit log {} could not be closed", config.getDirectory(), e);
+        }
+    }
+
+    private void bindMetrics(MeterRegistry registry) {
+        FunctionCounter.builder("anonymization.audit.events", this, AuditTrail::getWritten)
+            .description("Audit events by outcome").tag("outcome", "written").register(registry);
+        FunctionCounter.builder("anonymization.audit.events", this, AuditTrail::getDropped)
+            .description("Audit events by outcome").tag("outcome", "dropped").register(registry);
+        FunctionCounter.builder("anonymization.audit.events", this, AuditTrail::getFailed)
+            .description("Audit events by outcome").tag("outcome", "failed").register(registry);
+        Gauge.builder("anonymization.audit.capacity", ring, AuditRing::capacity)
+            .description("Events the audit buffer holds").register(registry);
+    }
+}
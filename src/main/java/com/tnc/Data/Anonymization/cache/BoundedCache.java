@@ -0,0 +1,166 @@
+package com.tnc.Data.Anonymization.cache;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * Size-bounded concurrent cache with generational eviction.
+ * New entries go into the young generation; once it reaches half the capacity it becomes the
+ * old generation and the previous old generation is dropped. Entries read from the old generation
+ * are promoted, so frequently used entries survive and unused ones age out without any locking.
+ * Capacity is a number of entries, or any other weight (such as estimated bytes) given a weigher.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class BoundedCache<K, V> {
+
+    private final long generationWeight;
+    private final ToLongBiFunction<? super K, ? super V> weigher;
+    private volatile Generation<K, V> young = new Generation<>();
+    private volatile Generation<K, V> old = new Generation<>();
+
+    public BoundedCache(int maxSize) {
+        this(maxSize, (key, value) -> 1L);
+    }
+
+    /**
+     * Creates a cache bounded by total weight instead of entry count
+     *
+     * @param maxWeight Total weight of cached entries, e.g. a memory quota in bytes
+     * @param weigher Weight of one entry
+     */
+    public BoundedCache(long maxWeight, ToLongBiFunction<? super K, ? super V> weigher) {
+        this.generationWeight = Math.max(1, maxWeight / 2);
+        this.weigher = weigher;
+    }
+
+    /**
+     * Returns the cached value for the key, computing and caching it if absent
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> loader) {
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+
+        Generation<K, V> target = young;
+        value = target.map.computeIfAbsent(key, k -> {
+            V loaded = loader.apply(k);
+            if (loaded != null) {
+                target.weight.addAndGet(weigher.applyAsLong(k, loaded));
+            }
+            return loaded;
+        });
+        rotateIfFull();
+        return value;
+    }
+
+    /**
+     * Returns the cached value for the key, or null if absent
+     */
+    public V get(K key) {
+        Generation<K, V> target = young;
+        V value = target.map.get(key);
+        if (value != null) {
+            return value;
+        }
+
+        value = old.map.get(key);
+        if (value != null) {
+            if (target.map.putIfAbsent(key, value) == null) {
+                target.weight.addAndGet(weigher.applyAsLong(key, value));
+            }
+            rotateIfFull();
+        }
+        return value;
+    }
+
+    /**
+     * Caches a value unless one is cached for the key already
+     *
+     * @return The value now cached for the key
+     */
+    public V putIfAbsent(K key, V value) {
+        V cached = get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        Generation<K, V> target = young;
+        cached = target.map.putIfAbsent(key, value);
+        if (cached != null) {
+            return cached;
+        }
+        target.weight.addAndGet(weigher.applyAsLong(key, value));
+        rotateIfFull();
+        return value;
+    }
+
+    /**
+     * Caches a value, replacing any value cached for the key
+     */
+    public void put(K key, V value) {
+        Generation<K, V> target = young;
+        V previous = target.map.put(key, value);
+        target.weight.addAndGet(weigher.applyAsLong(key, value) - (previous != null ? weigher.applyAsLong(key, previous) : 0));
+        rotateIfFull();
+    }
+
+    /**
+     * Gets the approximate number of cached entries
+     */
+    public int size() {
+        return young.map.size() + old.map.size();
+    }
+
+    /**
+     * Gets the approximate total weight of cached entries; the entry count when no weigher was given
+     */
+    public long weight() {
+        return young.weight.get() + old.weight.get();
+    }
+
+    /**
+     * Removes the entries whose key matches
+     */
+    public void removeIf(Predicate<? super K> keys) {
+        for (Generation<K, V> generation : List.of(young, old)) {
+            generation.map.forEach((key, value) -> {
+                if (keys.test(key) && generation.map.remove(key, value)) {
+                    generation.weight.addAndGet(-weigher.applyAsLong(key, value));
+                }
+            });
+        }
+    }
+
+    /**
+     * Removes all entries
+     */
+    public synchronized void clear() {
+        young = new Generation<>();
+        old = new Generation<>();
+    }
+
+    private void rotateIfFull() {
+        if (young.weight.get() < generationWeight) {
+            return;
+        }
+
+        synchronized (this) {
+            if (young.weight.get() >= generationWeight) {
+                old = young;
+                young = new Generation<>();
+            }
+        }
+    }
+
+    private static final class Generation<K, V> {
+        private final ConcurrentHashMap<K, V> map = new ConcurrentHashMap<>();
+        private final AtomicLong weight = new AtomicLong();
+    }
+}
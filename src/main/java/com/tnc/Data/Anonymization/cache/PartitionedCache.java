@@ -0,0 +1,148 @@
+package com.tnc.Data.Anonymization.cache;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Cache split into independently bounded partitions.
+ * A partition that has not been accessed for the idle timeout is dropped as a whole, so entries
+ * belonging to a retired partition (for example an old key version) age out without a global flush.
+ * Each partition is bounded on its own, so one busy partition cannot evict the entries of another.
+ *
+ * @param <P> partition type
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class PartitionedCache<P, K, V> {
+
+    private static final long TOUCH_RESOLUTION_NANOS = 1_000_000L;
+
+    private final ConcurrentHashMap<P, Partition<K, V>> partitions = new ConcurrentHashMap<>();
+    private final Function<? super P, BoundedCache<K, V>> partitionFactory;
+    private final long idleTimeoutNanos;
+    private volatile long lastSweepNanos = System.nanoTime();
+
+    public PartitionedCache(int partitionMaxSize, Duration idleTimeout) {
+        this(partition -> new BoundedCache<>(partitionMaxSize), idleTimeout);
+    }
+
+    /**
+     * Creates a cache whose partitions may have different bounds
+     *
+     * @param partitionFactory Creates the bounded cache of a new partition, e.g. sized by its owner's quota
+     */
+    public PartitionedCache(Function<? super P, BoundedCache<K, V>> partitionFactory, Duration idleTimeout) {
+        this.partitionFactory = partitionFactory;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+    }
+
+    /**
+     * Returns the cached value for the key in the given partition, computing it if absent
+     */
+    public V computeIfAbsent(P partition, K key, Function<? super K, ? extends V> loader) {
+        return touch(partition).cache.computeIfAbsent(key, loader);
+    }
+
+    /**
+     * Returns the cached value for the key in the given partition, or null if absent
+     */
+    public V get(P partition, K key) {
+        return touch(partition).cache.get(key);
+    }
+
+    /**
+     * Caches a value loaded outside the cache, e.g. with I/O that must not run while the key is locked,
+     * unless another caller cached one first
+     *
+     * @return The value now cached for the key
+     */
+    public V putIfAbsent(P partition, K key, V value) {
+        return touch(partition).cache.putIfAbsent(key, value);
+    }
+
+    /**
+     * Gets the number of entries across all partitions
+     */
+    public int size() {
+        return partitions.values().stream().mapToInt(partition -> partition.cache.size()).sum();
+    }
+
+    /**
+     * Gets the number of entries in a single partition
+     */
+    public int size(P partition) {
+        Partition<K, V> target = partitions.get(partition);
+        return target == null ? 0 : target.cache.size();
+    }
+
+    /**
+     * Gets the total weight of the partitions matching a filter
+     */
+    public long weight(Predicate<? super P> filter) {
+        long weight = 0;
+        for (var entry : partitions.entrySet()) {
+            if (filter.test(entry.getKey())) {
+                weight += entry.getValue().cache.weight();
+            }
+        }
+        return weight;
+    }
+
+    /**
+     * Gets the number of live partitions
+     */
+    public int partitionCount() {
+        return partitions.size();
+    }
+
+    /**
+     * Drops a single partition
+     */
+    public void invalidate(P partition) {
+        partitions.remove(partition);
+    }
+
+    /**
+     * Drops the partitions matching a filter
+     */
+    public void invalidateIf(Predicate<? super P> filter) {
+        partitions.keySet().removeIf(filter);
+    }
+
+    /**
+     * Drops all partitions
+     */
+    public void clear() {
+        partitions.clear();
+    }
+
+    private Partition<K, V> touch(P partition) {
+        long now = System.nanoTime();
+        if (now - lastSweepNanos > idleTimeoutNanos) {
+            evictIdlePartitions(now);
+        }
+
+        Partition<K, V> target = partitions.computeIfAbsent(partition, p -> new Partition<>(partitionFactory.apply(p)));
+        if (now - target.lastAccessNanos > TOUCH_RESOLUTION_NANOS) {
+            // Coarse touch keeps hot partitions from bouncing a shared cache line on every read
+            target.lastAccessNanos = now;
+        }
+        return target;
+    }
+
+    private void evictIdlePartitions(long now) {
+        lastSweepNanos = now;
+        partitions.values().removeIf(partition -> now - partition.lastAccessNanos > idleTimeoutNanos);
+    }
+
+    private static final class Partition<K, V> {
+        private final BoundedCache<K, V> cache;
+        private volatile long lastAccessNanos = System.nanoTime();
+
+        private Partition(BoundedCache<K, V> cache) {
+            this.cache = cache;
+        }
+    }
+}
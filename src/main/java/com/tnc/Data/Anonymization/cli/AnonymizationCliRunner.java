@@ -0,0 +1,306 @@
+package com.tnc.Data.Anonymization.cli;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.tnc.Data.Anonymization.audit.AuditContext;
+import com.tnc.Data.Anonymization.config.CliConfig;
+import com.tnc.Data.Anonymization.config.DeltaConfig;
+import com.tnc.Data.Anonymization.config.InferenceConfig;
+import com.tnc.Data.Anonymization.config.RiskConfig;
+import com.tnc.Data.Anonymization.config.ShufflingConfig;
+import com.tnc.Data.Anonymization.delta.DeltaSession;
+import com.tnc.Data.Anonymization.delta.DeltaStore;
+import com.tnc.Data.Anonymization.enums.AnonymizationStrategy;
+import com.tnc.Data.Anonymization.model.RiskReport;
+import com.tnc.Data.Anonymization.risk.RiskAnalysis;
+import com.tnc.Data.Anonymization.service.interfaces.AnonymizationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Headless mode: anonymizes JSON and NDJSON files or directories with the configured strategy,
+ * prints a summary and reports the outcome as the process exit code for batch schedulers.
+ * Active with the "cli" profile, which also disables the web server.
+ * Follows SOLID principles:
+ * - Single Responsibility: Resolves arguments and files, per-file work lives in FileAnonymizer
+ * - Dependency Inversion: Depends on the AnonymizationService abstraction
+ */
+@Slf4j
+@Component
+@Profile(AnonymizationCliRunner.PROFILE)
+public class AnonymizationCliRunner implements ApplicationRunner, ExitCodeGenerator {
+
+    public static final String PROFILE = "cli";
+
+    /** All files anonymized without record errors */
+    public static final int EXIT_OK = 0;
+    /** Files were written, but some records could not be anonymized and were dropped */
+    public static final int EXIT_RECORD_ERRORS = 1;
+    /** Invalid arguments; nothing was written */
+    public static final int EXIT_USAGE = 2;
+    /** A file could not be read or written; its output was not produced */
+    public static final int EXIT_IO_ERROR = 3;
+
+    private final AnonymizationService anonymizationService;
+    private final CliConfig config;
+    private final DeltaStore deltaStore;
+    private final DeltaConfig deltaConfig;
+    private final InferenceConfig inferenceConfig;
+    private final ShufflingConfig shufflingConfig;
+    private final RiskConfig riskConfig;
+    private final ObjectMapper objectMapper;
+    private final PrintStream out;
+    private final PrintStream err;
+    private volatile int exitCode = EXIT_OK;
+
+    @Autowired
+    public AnonymizationCliRunner(AnonymizationService anonymizationService, CliConfig config, DeltaStore deltaStore,
+                                  DeltaConfig deltaConfig, InferenceConfig inferenceConfig,
+                                  ShufflingConfig shufflingConfig, RiskConfig riskConfig, ObjectMapper objectMapper) {
+        this(anonymizationService, config, deltaStore, deltaConfig, inferenceConfig, shufflingConfig, riskConfig,
+             objectMapper, System.out, System.err);
+    }
+
+    AnonymizationCliRunner(AnonymizationService anonymizationService, CliConfig config, DeltaStore deltaStore,
+                           DeltaConfig deltaConfig, InferenceConfig inferenceConfig, ShufflingConfig shufflingConfig,
+                           RiskConfig riskConfig, ObjectMapper objectMapper, PrintStream out, PrintStream err) {
+        this.anonymizationService = anonymizationService;
+        this.config = config;
+        this.deltaStore = deltaStore;
+        this.deltaConfig = deltaConfig;
+        this.inferenceConfig = inferenceConfig;
+        this.shufflingConfig = shufflingConfig;
+        this.riskConfig = riskConfig;
+        // One record per line for NDJSON, whatever the web indentation setting
+        this.objectMapper = objectMapper.copy().disable(SerializationFeature.INDENT_OUTPUT);
+        this.out = out;
+        this.err = err;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        // One audit request id per run, shared by every file and worker
+        long previous = AuditContext.attach(AuditContext.NONE);
+        AuditContext.begin();
+        try {
+            exitCode = execute(args);
+        } finally {
+            AuditContext.attach(previous);
+        }
+    }
+
+    @Override
+    public int getExitCode() {
+        return exitCode;
+    }
+
+    /**
+     * Runs one anonymization job; options override the anonymization.cli properties
+     *
+     * @return The exit code of the job
+     */
+    int execute(ApplicationArguments args) {
+        String inputOption = option(args, "input", config.getInput());
+        String outputOption = option(args, "output", config.getOutput());
+        if (inputOption == null || outputOption == null) {
+            return usage("--input and --output are required");
+        }
+
+        AnonymizationStrategy strategy;
+        Long seed;
+        int threads;
+        int chunkSize;
+        try {
+            strategy = AnonymizationStrategy.fromString(option(args, "strategy", config.getStrategy()));
+            String seedOption = option(args, "seed", config.getSeed() != null ? config.getSeed().toString() : null);
+            seed = seedOption != null ? Long.valueOf(seedOption) : null;
+            threads = Integer.parseInt(option(args, "threads", String.valueOf(config.getThreads())));
+            chunkSize = Integer.parseInt(option(args, "chunk-size", String.valueOf(config.getChunkSize())));
+        } catch (IllegalArgumentException e) {
+            return usage(e.getMessage());
+        }
+        if (threads < 1 || chunkSize < 1) {
+            return usage("--threads and --chunk-size must be positive");
+        }
+        boolean preserveFormat = Boolean.parseBoolean(option(args, "preserve-format", String.valueOf(config.isPreserveFormat())));
+        boolean overwrite = args.containsOption("overwrite") || config.isOverwrite();
+        boolean incremental = args.containsOption("incremental") || deltaConfig.isEnabled();
+        if (incremental && strategy == AnonymizationStrategy.SHUFFLING) {
+            // A shuffled record depends on every other record of its file, so unchanged records cannot be reused
+            return usage("SHUFFLING cannot run incrementally");
+        }
+        if (args.containsOption("risk-report") && strategy == AnonymizationStrategy.SHUFFLING) {
+            // Shuffled files are written by moving columns on disk, never held as records
+            return usage("--risk-report is not available with SHUFFLING");
+        }
+        String riskReportFile = option(args, "risk-report", null);
+        RiskAnalysis risk = (args.containsOption("risk-report") || riskConfig.isEnabled())
+                            && strategy != AnonymizationStrategy.SHUFFLING ? new RiskAnalysis(riskConfig) : null;
+
+        Path input = Paths.get(inputOption).toAbsolutePath().normalize();
+        Path output = Paths.get(outputOption).toAbsolutePath().normalize();
+        List<Path[]> jobs;
+        try {
+            jobs = resolveJobs(input, output, overwrite);
+        } catch (IllegalArgumentException e) {
+            return usage(e.getMessage());
+        } catch (IOException e) {
+            err.println("ERROR " + e.getMessage());
+            return EXIT_IO_ERROR;
+        }
+
+        DeltaSession delta = null;
+        if (incremental) {
+            // Every setting that changes a record's output selects its own stored records
+            String idField = option(args, "delta-key", deltaConfig.getIdField());
+            String settings = strategy + "|" + preserveFormat + "|" + seed;
+            try {
+                delta = deltaStore.open(option(args, "delta-store", null), idField, settings,
+                                        args.containsOption("delta-prune") || deltaConfig.isPruneUnseen());
+            } catch (IOException | RuntimeException e) {
+                err.println("ERROR cannot open delta store: " + e.getMessage());
+                return EXIT_IO_ERROR;
+            }
+        }
+
+        RunStatistics statistics = new RunStatistics(config.getMaxReportedErrors(), err);
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "anonymize-cli-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        FileAnonymizer fileAnonymizer = new FileAnonymizer(anonymizationService, objectMapper, strategy, preserveFormat,
+                                                           seed, chunkSize, executor, threads, statistics, delta,
+                                                           inferenceConfig, shufflingConfig, risk);
+
+        long start = System.nanoTime();
+        int failedFiles = 0;
+        try {
+            for (Path[] job : jobs) {
+                try {
+                    Files.createDirectories(job[1].getParent());
+                    fileAnonymizer.anonymize(job[0], job[1]);
+                } catch (IOException | RuntimeException e) {
+                    failedFiles++;
+                    err.println("ERROR " + job[0] + ": " + e.getMessage());
+                    log.debug("Failed to anonymize {}", job[0], e);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        if (delta != null) {
+            // A partial run must not prune the records of the files it could not read
+            long pruned = delta.commit(failedFiles == 0);
+            if (pruned > 0) {
+                out.printf("Pruned %,d records missing from this run from the delta store%n", pruned);
+            }
+        }
+        statistics.printSummary(out, strategy.name(), Duration.ofNanos(System.nanoTime() - start));
+        if (risk != null && !reportRisk(risk.report(), riskReportFile)) {
+            return EXIT_IO_ERROR;
+        }
+        if (failedFiles > 0) {
+            out.printf("Failed files: %d of %d%n", failedFiles, jobs.size());
+            return EXIT_IO_ERROR;
+        }
+        return statistics.getErrors() > 0 ? EXIT_RECORD_ERRORS : EXIT_OK;
+    }
+
+    /**
+     * Pairs each input file with its output file; a directory input is mirrored into the output directory
+     */
+    private List<Path[]> resolveJobs(Path input, Path output, boolean overwrite) throws IOException {
+        if (!Files.exists(input)) {
+            throw new IllegalArgumentException("Input does not exist: " + input);
+        }
+        List<Path[]> jobs = new ArrayList<>();
+        if (Files.isDirectory(input)) {
+            if (Files.isRegularFile(output)) {
+                throw new IllegalArgumentException("Output must be a directory when the input is a directory: " + output);
+            }
+            if (output.startsWith(input)) {
+                throw new IllegalArgumentException("Output directory must not be inside the input directory: " + output);
+            }
+            try (Stream<Path> files = Files.walk(input)) {
+                files.filter(Files::isRegularFile)
+                    .filter(FileAnonymizer::isSupported)
+                    .sorted()
+                    .forEach(file -> jobs.add(new Path[] {file, output.resolve(input.relativize(file))}));
+            }
+        } else {
+            if (!FileAnonymizer.isSupported(input)) {
+                throw new IllegalArgumentException("Unsupported file type (expected .json, .ndjson, .jsonl or .xml): " + input);
+            }
+            jobs.add(new Path[] {input, Files.isDirectory(output) ? output.resolve(input.getFileName()) : output});
+        }
+
+        for (Path[] job : jobs) {
+            if (job[0].equals(job[1])) {
+                throw new IllegalArgumentException("Output would replace its input: " + job[1]);
+            }
+            if (!overwrite && Files.exists(job[1])) {
+                throw new IllegalArgumentException("Output exists (use --overwrite): " + job[1]);
+            }
+        }
+        return jobs;
+    }
+
+    /**
+     * Prints the risk summary and writes the full report as JSON when a file is given
+     *
+     * @return Whether the report file could be written
+     */
+    private boolean reportRisk(RiskReport report, String file) {
+        out.printf("Re-identification risk over %s: ~%,d equivalence classes in %,d records, ~%,d unique records "
+                   + "(%.2f%%), ~%,d records in classes below k=%d%n",
+                   report.getQuasiIdentifiers(), report.getEquivalenceClasses(), report.getRecords(),
+                   report.getSingletonClasses(), report.getUniqueRecordRate() * 100, report.getRecordsBelowK(),
+                   report.getK());
+        if (file == null || file.isBlank()) {
+            return true;
+        }
+        try {
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(Paths.get(file).toFile(), report);
+            out.println("Risk report written to " + file);
+            return true;
+        } catch (IOException e) {
+            err.println("ERROR cannot write risk report: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private int usage(String message) {
+        err.println("ERROR " + message);
+        err.println("Usage: --spring.profiles.active=cli --input=<file|dir> --output=<file|dir> [--strategy=MASKING]"
+                    + " [--seed=<n>] [--threads=<n>] [--chunk-size=<n>] [--preserve-format=true] [--overwrite]"
+                    + " [--incremental [--delta-key=id] [--delta-store=<file>] [--delta-prune]]"
+                    + " [--risk-report[=<file>]]");
+        return EXIT_USAGE;
+    }
+
+    private static String option(ApplicationArguments args, String name, String defaultValue) {
+        List<String> values = args.getOptionValues(name);
+        return values != null && !values.isEmpty() ? values.get(values.size() - 1) : defaultValue;
+    }
+}
@@ -0,0 +1,417 @@
+package com.tnc.Data.Anonymization.cli;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tnc.Data.Anonymization.audit.AuditContext;
+import com.tnc.Data.Anonymization.config.InferenceConfig;
+import com.tnc.Data.Anonymization.config.ShufflingConfig;
+import com.tnc.Data.Anonymization.delta.DeltaSession;
+import com.tnc.Data.Anonymization.detection.FieldTypeInference;
+import com.tnc.Data.Anonymization.enums.AnonymizationStrategy;
+import com.tnc.Data.Anonymization.model.XmlAnonymizationSummary;
+import com.tnc.Data.Anonymization.risk.RiskAnalysis;
+import com.tnc.Data.Anonymization.service.interfaces.AnonymizationService;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Anonymizes one JSON or NDJSON file into an output file through the AnonymizationService.
+ * NDJSON lines and the elements of JSON arrays are read sequentially, anonymized in chunks on the
+ * executor and written back in input order; JSON objects are streamed field by field, so only one
+ * chunk per worker is held in memory whatever the file size. Output goes to a ".part" file that is
+ * moved into place when the file is complete, so schedulers never pick up partial output. With a
+ * delta session, only records that changed since the previous run are anonymized. Each file is one
+ * stream for type inference: its leading records are sampled on the reading thread, before their
+ * chunk is submitted, so inferred types do not depend on the order in which workers finish.
+ * XML files are streamed element by element on the calling thread; the children of the root element
+ * count as records, and they are neither delta-tracked nor risk-analyzed.
+ */
+final class FileAnonymizer {
+
+    private static final TypeReference<Map<String, Object>> RECORD_TYPE = new TypeReference<>() {};
+    private static final String PART_SUFFIX = ".part";
+    private static final String SCALAR_FIELD = "value";
+
+    private final AnonymizationService anonymizationService;
+    private final ObjectMapper objectMapper;
+    private final AnonymizationStrategy strategy;
+    private final boolean preserveFormat;
+    private final Long seed;
+    private final int chunkSize;
+    private final ExecutorService executor;
+    private final int maxInFlight;
+    private final RunStatistics statistics;
+    private final DeltaSession delta;
+    private final InferenceConfig inferenceConfig;
+    private final ShufflingConfig shufflingConfig;
+    private final RiskAnalysis risk;
+    private final long auditId = AuditContext.current();
+    private FieldTypeInference inference;
+
+    FileAnonymizer(AnonymizationService anonymizationService, ObjectMapper objectMapper, AnonymizationStrategy strategy,
+                   boolean preserveFormat, Long seed, int chunkSize, ExecutorService executor, int threads,
+                   RunStatistics statistics, DeltaSession delta, InferenceConfig inferenceConfig,
+                   ShufflingConfig shufflingConfig, RiskAnalysis risk) {
+        this.anonymizationService = anonymizationService;
+        this.objectMapper = objectMapper;
+        this.strategy = strategy;
+        this.preserveFormat = preserveFormat;
+        this.seed = seed;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.executor = executor;
+        // Two chunks per thread keep workers busy while the writer waits on the oldest chunk
+        this.maxInFlight = Math.max(1, threads) * 2;
+        this.statistics = statistics;
+        this.delta = delta;
+        this.inferenceConfig = inferenceConfig;
+        this.shufflingConfig = shufflingConfig;
+        this.risk = risk;
+    }
+
+    static boolean isSupported(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".json") || isNdjson(file) || isXml(file);
+    }
+
+    static boolean isXml(Path file) {
+        return file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".xml");
+    }
+
+    static boolean isNdjson(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".ndjson") || name.endsWith(".jsonl");
+    }
+
+    void anonymize(Path input, Path output) throws IOException {
+        Path part = output.resolveSibling(output.getFileName() + PART_SUFFIX);
+        // Shuffled values are moved, never classified, so nothing needs to be inferred
+        inference = strategy == AnonymizationStrategy.SHUFFLING || isXml(input)
+            ? null : FieldTypeInference.create(inferenceConfig);
+        try {
+            if (isXml(input)) {
+                anonymizeXml(input, part);
+            } else if (strategy == AnonymizationStrategy.SHUFFLING) {
+                new FileShuffler(objectMapper, shufflingConfig, seed, statistics).shuffle(input, part);
+            } else if (isNdjson(input)) {
+                anonymizeNdjson(input, part);
+            } else {
+                anonymizeJson(input, part);
+            }
+            Files.move(part, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            statistics.fileDone(Files.size(input), Files.size(output));
+            if (inference != null) {
+                statistics.typesInferred(inference.getInferredTypes());
+            }
+        } finally {
+            Files.deleteIfExists(part);
+        }
+    }
+
+    private void anonymizeXml(Path input, Path output) throws IOException {
+        try (InputStream in = Files.newInputStream(input);
+             OutputStream out = Files.newOutputStream(output)) {
+            XmlAnonymizationSummary summary = anonymizationService.anonymizeXml(in, out, strategy, preserveFormat, seed);
+            statistics.recordsDone((int) Math.min(Integer.MAX_VALUE, summary.getRecords()));
+        }
+    }
+
+    private void anonymizeNdjson(Path input, Path output) throws IOException {
+        String file = input.getFileName().toString();
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8);
+             BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            OrderedPipeline<List<String>> pipeline = new OrderedPipeline<>(executor, maxInFlight, lines -> {
+                for (String line : lines) {
+                    writer.write(line);
+                    writer.newLine();
+                }
+            });
+
+            List<String> chunk = new ArrayList<>(chunkSize);
+            long chunkStart = 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                chunk.add(line);
+                if (chunk.size() == chunkSize) {
+                    submitLines(pipeline, file, chunk, chunkStart);
+                    chunkStart += chunk.size();
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                submitLines(pipeline, file, chunk, chunkStart);
+            }
+            pipeline.finish();
+        }
+    }
+
+    private void submitLines(OrderedPipeline<List<String>> pipeline, String file, List<String> lines,
+                             long firstLine) throws IOException {
+        if (inference != null && inference.isSampling()) {
+            inference.sample(sampleLines(lines));
+        }
+        FieldTypeInference streamInference = inference;
+        pipeline.submit(() -> {
+            // Parsing runs on the worker too; blank lines are dropped
+            List<Map<String, Object>> records = new ArrayList<>(lines.size());
+            List<String> locations = new ArrayList<>(lines.size());
+            for (int i = 0; i < lines.size(); i++) {
+                String line = lines.get(i);
+                if (line.isBlank()) {
+                    continue;
+                }
+                String location = file + ":" + (firstLine + i);
+                try {
+                    Map<String, Object> record = objectMapper.readValue(line, RECORD_TYPE);
+                    if (record == null) {
+                        statistics.recordError(location, "not a JSON object: null");
+                        continue;
+                    }
+                    records.add(record);
+                    locations.add(location);
+                } catch (JsonProcessingException e) {
+                    statistics.recordError(location, "not a JSON object: " + e.getOriginalMessage());
+                }
+            }
+            List<Map<String, Object>> anonymized = anonymizeRecords(records, locations, streamInference);
+            analyzeRisk(anonymized, streamInference);
+            return serialize(anonymized, locations);
+        });
+    }
+
+    /**
+     * Parses the leading lines of a chunk for type inference; malformed lines are reported by the worker
+     */
+    private List<Map<String, Object>> sampleLines(List<String> lines) {
+        List<Map<String, Object>> sample = new ArrayList<>();
+        for (String line : lines) {
+            if (sample.size() == inferenceConfig.getSampleSize()) {
+                break;
+            }
+            try {
+                if (!line.isBlank()) {
+                    sample.add(objectMapper.readValue(line, RECORD_TYPE));
+                }
+            } catch (JsonProcessingException e) {
+                // Skipped here, reported when the chunk is anonymized
+            }
+        }
+        return sample;
+    }
+
+    private void anonymizeJson(Path input, Path output) throws IOException {
+        String file = input.getFileName().toString();
+        try (JsonParser parser = objectMapper.getFactory().createParser(input.toFile());
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(output.toFile(), JsonEncoding.UTF8)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                anonymizeArray(parser, generator, file, null);
+            } else if (token == JsonToken.START_OBJECT) {
+                anonymizeObject(parser, generator, file);
+            } else {
+                throw new IOException(file + " is not a JSON object or array");
+            }
+        }
+    }
+
+    /**
+     * Streams the top-level fields of an object; array fields are streamed element by element
+     */
+    private void anonymizeObject(JsonParser parser, JsonGenerator generator, String file) throws IOException {
+        generator.writeStartObject();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.currentName();
+            JsonToken value = parser.nextToken();
+            generator.writeFieldName(fieldName);
+            if (value == JsonToken.START_ARRAY) {
+                anonymizeArray(parser, generator, file + ":" + fieldName, fieldName);
+            } else {
+                Map<String, Object> field = Collections.singletonMap(fieldName, objectMapper.readValue(parser, Object.class));
+                if (inference != null) {
+                    inference.sample(List.of(field));
+                }
+                Map<String, Object> anonymized = anonymizeRecords(List.of(field), List.of(file + ":" + fieldName),
+                                                                  inference).get(0);
+                generator.writeObject(anonymized != null ? anonymized.get(fieldName) : null);
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    private void anonymizeArray(JsonParser parser, JsonGenerator generator, String location,
+                                String fieldName) throws IOException {
+        generator.writeStartArray();
+        OrderedPipeline<List<String>> pipeline = new OrderedPipeline<>(executor, maxInFlight, values -> {
+            for (String value : values) {
+                generator.writeRawValue(value);
+            }
+        });
+
+        List<Object> chunk = new ArrayList<>(chunkSize);
+        long chunkStart = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            chunk.add(objectMapper.readValue(parser, Object.class));
+            if (chunk.size() == chunkSize) {
+                submitElements(pipeline, location, fieldName, chunk, chunkStart);
+                chunkStart += chunk.size();
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            submitElements(pipeline, location, fieldName, chunk, chunkStart);
+        }
+        pipeline.finish();
+        generator.writeEndArray();
+    }
+
+    /**
+     * Anonymizes array elements; objects are records, other elements are anonymized under the array's field name
+     */
+    private void submitElements(OrderedPipeline<List<String>> pipeline, String location, String fieldName,
+                                List<Object> elements, long firstIndex) throws IOException {
+        String scalarField = fieldName != null ? fieldName : SCALAR_FIELD;
+        List<Map<String, Object>> records = new ArrayList<>(elements.size());
+        boolean[] wrapped = new boolean[elements.size()];
+        for (int i = 0; i < elements.size(); i++) {
+            Object element = elements.get(i);
+            if (element instanceof Map) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> record = (Map<String, Object>) element;
+                records.add(record);
+            } else {
+                records.add(Collections.singletonMap(scalarField, element));
+                wrapped[i] = true;
+            }
+        }
+        if (inference != null) {
+            inference.sample(records);
+        }
+        FieldTypeInference streamInference = inference;
+        pipeline.submit(() -> {
+            List<String> locations = new ArrayList<>(elements.size());
+            for (int i = 0; i < elements.size(); i++) {
+                locations.add(location + "[" + (firstIndex + i) + "]");
+            }
+
+            List<Map<String, Object>> anonymized = anonymizeRecords(records, locations, streamInference);
+            List<String> values = new ArrayList<>(anonymized.size());
+            List<Map<String, Object>> released = new ArrayList<>(anonymized.size());
+            for (int i = 0; i < anonymized.size(); i++) {
+                Map<String, Object> record = anonymized.get(i);
+                if (record != null) {
+                    values.add(objectMapper.writeValueAsString(wrapped[i] ? record.get(scalarField) : record));
+                    if (!wrapped[i]) {
+                        released.add(record);
+                    }
+                }
+            }
+            // Scalar elements have no quasi-identifiers; object elements are the released records
+            analyzeRisk(released, streamInference);
+            return values;
+        });
+    }
+
+    /**
+     * Anonymizes a chunk, reusing the outputs of unchanged records when running incrementally
+     *
+     * @param inference Types inferred for the file, bound to the worker while it anonymizes the chunk
+     *                  together with the audit request id of the run
+     * @return Anonymized records aligned with the input, null where a record failed
+     */
+    private List<Map<String, Object>> anonymizeRecords(List<Map<String, Object>> records, List<String> locations,
+                                                       FieldTypeInference inference) {
+        FieldTypeInference previous = FieldTypeInference.attach(inference);
+        long previousAuditId = AuditContext.attach(auditId);
+        try {
+            for (Map<String, Object> record : records) {
+                statistics.countFields(null, record);
+            }
+            if (delta == null || records.isEmpty()) {
+                return anonymizeChunk(records, locations);
+            }
+            DeltaSession.Chunk chunk = delta.lookup(records);
+            statistics.recordsReused(chunk.reused());
+            return chunk.merge(anonymizeChunk(chunk.changed(), chunk.select(locations)));
+        } finally {
+            AuditContext.attach(previousAuditId);
+            FieldTypeInference.attach(previous);
+        }
+    }
+
+    /**
+     * Adds anonymized records to the risk analysis, with the types inferred for the file bound for classification
+     */
+    private void analyzeRisk(List<Map<String, Object>> anonymized, FieldTypeInference inference) {
+        if (risk == null) {
+            return;
+        }
+        FieldTypeInference previous = FieldTypeInference.attach(inference);
+        try {
+            risk.add(anonymized);
+        } finally {
+            FieldTypeInference.attach(previous);
+        }
+    }
+
+    /**
+     * Anonymizes a chunk in one call so the columnar path applies; if the chunk fails, records are retried
+     * one by one so a single bad record only drops itself
+     */
+    private List<Map<String, Object>> anonymizeChunk(List<Map<String, Object>> records, List<String> locations) {
+        if (records.isEmpty()) {
+            return records;
+        }
+        try {
+            List<Map<String, Object>> anonymized = anonymizationService.anonymizeRecords(records, strategy, preserveFormat, seed);
+            statistics.recordsDone(anonymized.size());
+            return anonymized;
+        } catch (RuntimeException chunkFailure) {
+            List<Map<String, Object>> anonymized = new ArrayList<>(records.size());
+            int done = 0;
+            for (int i = 0; i < records.size(); i++) {
+                try {
+                    anonymized.add(anonymizationService.anonymizeMap(records.get(i), strategy, preserveFormat, seed));
+                    done++;
+                } catch (RuntimeException e) {
+                    statistics.recordError(locations.get(i), String.valueOf(e.getMessage()));
+                    anonymized.add(null);
+                }
+            }
+            statistics.recordsDone(done);
+            return anonymized;
+        }
+    }
+
+    private List<String> serialize(List<Map<String, Object>> records, List<String> locations) {
+        List<String> lines = new ArrayList<>(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            if (records.get(i) == null) {
+                continue;
+            }
+            try {
+                lines.add(objectMapper.writeValueAsString(records.get(i)));
+            } catch (JsonProcessingException e) {
+                statistics.recordError(locations.get(i), "cannot write record: " + e.getOriginalMessage());
+            }
+        }
+        return lines;
+    }
+}
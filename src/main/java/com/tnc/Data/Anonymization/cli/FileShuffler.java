@@ -0,0 +1,329 @@
+package com.tnc.Data.Anonymization.cli;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tnc.Data.Anonymization.config.ShufflingConfig;
+import com.tnc.Data.Anonymization.engine.FisherYates;
+import com.tnc.Data.Anonymization.service.impl.ShufflingAnonymizer;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+/**
+ * Shuffles the columns of one JSON or NDJSON file across all of its records, whatever its size.
+ * The first pass scatters every value of a shuffled column, tagged with its column, into one of B
+ * on-disk buckets drawn at random for that value; each bucket is then small enough to be loaded, its
+ * values of each column are permuted with Fisher-Yates over an index array and appended to that
+ * column's shuffled stream. Random bucket assignment followed by a uniform shuffle of each bucket is a
+ * uniform permutation of the whole column, drawn independently for each column. The second pass reads
+ * the input again and replaces each value of a shuffled column by the next value of that column's
+ * stream, so records keep their order and unshuffled fields. Memory holds one bucket at a time; disk
+ * holds about one copy of the input; at most B bucket files, or one stream per column, are open at once.
+ * Non-object elements of JSON arrays are written unchanged.
+ */
+final class FileShuffler {
+
+    private static final TypeReference<Map<String, Object>> RECORD_TYPE = new TypeReference<>() {};
+    /** Bucket files open at once in the first pass, well below common open file limits */
+    private static final int MAX_BUCKETS = 256;
+
+    private final ObjectMapper objectMapper;
+    private final ShufflingConfig config;
+    private final Long seed;
+    private final RunStatistics statistics;
+
+    FileShuffler(ObjectMapper objectMapper, ShufflingConfig config, Long seed, RunStatistics statistics) {
+        this.objectMapper = objectMapper;
+        this.config = config;
+        this.seed = seed;
+        this.statistics = statistics;
+    }
+
+    /**
+     * Callback receiving the records of a file in order
+     */
+    @FunctionalInterface
+    private interface RecordHandler {
+        void accept(Map<String, Object> record) throws IOException;
+    }
+
+    void shuffle(Path input, Path output) throws IOException {
+        boolean ndjson = FileAnonymizer.isNdjson(input);
+        String file = input.getFileName().toString();
+        long bucketBytes = Math.max(1, config.getBucketSizeMb()) * 1024L * 1024L;
+        int buckets = (int) Math.max(1, Math.min(MAX_BUCKETS, (Files.size(input) + bucketBytes - 1) / bucketBytes));
+        Path directory = config.getTempDirectory() != null
+            ? Files.createTempDirectory(Files.createDirectories(Path.of(config.getTempDirectory())), "shuffle-")
+            : Files.createTempDirectory("shuffle-");
+        SplittableRandom random = FisherYates.random(seed, file);
+
+        Map<String, ColumnStream> columns = new LinkedHashMap<>();
+        Buckets scattered = new Buckets(directory, buckets);
+        try {
+            // Pass 1: scatter column values into random buckets
+            long[] records = {0};
+            read(input, ndjson, file, true, record -> {
+                if (!record.containsKey(null)) {
+                    records[0]++;
+                }
+                for (Map.Entry<String, Object> field : record.entrySet()) {
+                    if (field.getKey() != null && isShuffled(field.getKey())) {
+                        ColumnStream column = columns.get(field.getKey());
+                        if (column == null) {
+                            column = new ColumnStream(columns.size(), directory);
+                            columns.put(field.getKey(), column);
+                        }
+                        scattered.add(column.id, objectMapper.writeValueAsString(field.getValue()), random.nextInt(buckets));
+                    }
+                }
+            });
+            if (records[0] < ShufflingAnonymizer.MIN_RECORDS) {
+                // A lone record has nothing to exchange its values with and would be written unchanged
+                throw new IOException(file + " has " + records[0] + " records; SHUFFLING exchanges values between "
+                                      + "records and needs at least " + ShufflingAnonymizer.MIN_RECORDS);
+            }
+            scattered.shuffleInto(List.copyOf(columns.values()), random);
+
+            // Pass 2: replace values in input order by the next value of their column's stream
+            if (ndjson) {
+                try (BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+                    read(input, true, file, false, record -> {
+                        writer.write(objectMapper.writeValueAsString(replace(record, columns)));
+                        writer.newLine();
+                    });
+                }
+            } else {
+                try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output.toFile(), JsonEncoding.UTF8)) {
+                    generator.writeStartArray();
+                    read(input, false, file, false, record -> generator.writeObject(
+                        record.containsKey(null) ? record.get(null) : replace(record, columns)));
+                    generator.writeEndArray();
+                }
+            }
+        } finally {
+            scattered.close();
+            for (ColumnStream column : columns.values()) {
+                column.close();
+            }
+            deleteRecursively(directory);
+        }
+    }
+
+    private boolean isShuffled(String field) {
+        return config.getColumns().isEmpty() || config.getColumns().contains(field);
+    }
+
+    private Map<String, Object> replace(Map<String, Object> record, Map<String, ColumnStream> columns) throws IOException {
+        for (Map.Entry<String, Object> field : record.entrySet()) {
+            ColumnStream column = columns.get(field.getKey());
+            if (column != null) {
+                field.setValue(objectMapper.readValue(column.next(), Object.class));
+            }
+        }
+        statistics.countFields(null, record);
+        statistics.recordsDone(1);
+        return record;
+    }
+
+    /**
+     * Reads the records of a file in order; JSON array elements that are not objects are passed on
+     * wrapped under a null key so that the second pass can write them back in place
+     */
+    private void read(Path input, boolean ndjson, String file, boolean reportErrors,
+                      RecordHandler handler) throws IOException {
+        if (ndjson) {
+            try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8)) {
+                String line;
+                long number = 0;
+                while ((line = reader.readLine()) != null) {
+                    number++;
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    Map<String, Object> record;
+                    try {
+                        record = objectMapper.readValue(line, RECORD_TYPE);
+                    } catch (JsonProcessingException e) {
+                        if (reportErrors) {
+                            statistics.recordError(file + ":" + number, "not a JSON object: " + e.getOriginalMessage());
+                        }
+                        continue;
+                    }
+                    if (record == null) {
+                        if (reportErrors) {
+                            statistics.recordError(file + ":" + number, "not a JSON object: null");
+                        }
+                        continue;
+                    }
+                    handler.accept(record);
+                }
+            }
+            return;
+        }
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(input.toFile())) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException(file + " is not a JSON array; SHUFFLING needs an array of records or NDJSON");
+            }
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                Object element = objectMapper.readValue(parser, Object.class);
+                if (element instanceof Map) {
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> record = (Map<String, Object>) element;
+                    handler.accept(record);
+                } else {
+                    Map<String, Object> wrapped = new LinkedHashMap<>();
+                    wrapped.put(null, element);
+                    handler.accept(wrapped);
+                }
+            }
+        }
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    /**
+     * On-disk buckets holding the values of every column, one "column TAB json" line per value
+     */
+    private static final class Buckets {
+
+        private final Path[] paths;
+        private final BufferedWriter[] writers;
+
+        Buckets(Path directory, int buckets) {
+            this.paths = new Path[buckets];
+            this.writers = new BufferedWriter[buckets];
+            for (int b = 0; b < buckets; b++) {
+                paths[b] = directory.resolve("b" + b);
+            }
+        }
+
+        void add(int column, String json, int bucket) throws IOException {
+            BufferedWriter writer = writers[bucket];
+            if (writer == null) {
+                writer = Files.newBufferedWriter(paths[bucket], StandardCharsets.UTF_8);
+                writers[bucket] = writer;
+            }
+            // Compact JSON never contains a raw tab or line break, so values are stored one per line
+            writer.write(Integer.toString(column));
+            writer.write('\t');
+            writer.write(json);
+            writer.newLine();
+        }
+
+        /**
+         * Loads one bucket at a time, permutes its values of each column and appends them to the column's stream
+         */
+        void shuffleInto(List<ColumnStream> columns, SplittableRandom random) throws IOException {
+            for (ColumnStream column : columns) {
+                column.beginWriting();
+            }
+            for (int b = 0; b < paths.length; b++) {
+                if (writers[b] == null) {
+                    continue;
+                }
+                writers[b].close();
+                writers[b] = null;
+                List<List<String>> values = new ArrayList<>(columns.size());
+                for (int c = 0; c < columns.size(); c++) {
+                    values.add(new ArrayList<>());
+                }
+                try (BufferedReader reader = Files.newBufferedReader(paths[b], StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        int tab = line.indexOf('\t');
+                        values.get(Integer.parseInt(line, 0, tab, 10)).add(line.substring(tab + 1));
+                    }
+                }
+                Files.delete(paths[b]);
+                for (ColumnStream column : columns) {
+                    column.append(values.get(column.id), random);
+                }
+            }
+            for (ColumnStream column : columns) {
+                column.beginReading();
+            }
+        }
+
+        void close() throws IOException {
+            for (BufferedWriter writer : writers) {
+                if (writer != null) {
+                    writer.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Shuffled stream of one column, written bucket by bucket and then read in order
+     */
+    private static final class ColumnStream {
+
+        private final int id;
+        private final Path path;
+        private BufferedWriter writer;
+        private BufferedReader reader;
+
+        ColumnStream(int id, Path directory) {
+            this.id = id;
+            this.path = directory.resolve("c" + id + "-shuffled");
+        }
+
+        void beginWriting() throws IOException {
+            writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+        }
+
+        void append(List<String> values, SplittableRandom random) throws IOException {
+            int[] permutation = FisherYates.permutation(values.size(), random);
+            for (int index : permutation) {
+                writer.write(values.get(index));
+                writer.newLine();
+            }
+        }
+
+        void beginReading() throws IOException {
+            writer.close();
+            writer = null;
+            reader = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+        }
+
+        String next() throws IOException {
+            String value = reader.readLine();
+            if (value == null) {
+                throw new IOException("Input changed while it was being shuffled");
+            }
+            return value;
+        }
+
+        void close() throws IOException {
+            if (writer != null) {
+                writer.close();
+            }
+            if (reader != null) {
+                reader.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.tnc.Data.Anonymization.cli;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Runs chunk tasks on a thread pool and hands their results to a sink in submission order.
+ * At most maxInFlight chunks are pending, so a fast reader cannot buffer a whole file in memory;
+ * the sink is always called on the submitting thread, so it needs no synchronization.
+ *
+ * @param <T> chunk result type
+ */
+final class OrderedPipeline<T> {
+
+    /**
+     * Consumer of chunk results that may fail with an I/O error
+     */
+    @FunctionalInterface
+    interface Sink<T> {
+        void accept(T result) throws IOException;
+    }
+
+    private final ExecutorService executor;
+    private final int maxInFlight;
+    private final Sink<T> sink;
+    private final Deque<Future<T>> inFlight = new ArrayDeque<>();
+
+    OrderedPipeline(ExecutorService executor, int maxInFlight, Sink<T> sink) {
+        this.executor = executor;
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.sink = sink;
+    }
+
+    void submit(Callable<T> task) throws IOException {
+        while (inFlight.size() >= maxInFlight) {
+            drainOne();
+        }
+        inFlight.add(executor.submit(task));
+    }
+
+    /**
+     * Waits for all pending chunks and writes them
+     */
+    void finish() throws IOException {
+        while (!inFlight.isEmpty()) {
+            drainOne();
+        }
+    }
+
+    private void drainOne() throws IOException {
+        Future<T> next = inFlight.poll();
+        try {
+            sink.accept(next.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            inFlight.forEach(future -> future.cancel(true));
+            throw new IOException("Interrupted while waiting for a chunk", e);
+        } catch (ExecutionException e) {
+            inFlight.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException("Chunk failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.tnc.Data.Anonymization.cli;
+
+import com.tnc.Data.Anonymization.enums.DataType;
+import com.tnc.Data.Anonymization.tenant.TenantContext;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of one command-line run, updated concurrently by the chunk workers.
+ */
+final class RunStatistics {
+
+    private final LongAdder files = new LongAdder();
+    private final LongAdder records = new LongAdder();
+    private final LongAdder reused = new LongAdder();
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+    private final AtomicLong errors = new AtomicLong();
+    private final LongAdder[] fieldsByType = new LongAdder[DataType.values().length];
+    private final Map<String, DataType> inferredTypes = new ConcurrentSkipListMap<>();
+    private final int maxReportedErrors;
+    private final PrintStream err;
+
+    RunStatistics(int maxReportedErrors, PrintStream err) {
+        this.maxReportedErrors = maxReportedErrors;
+        this.err = err;
+        for (int i = 0; i < fieldsByType.length; i++) {
+            fieldsByType[i] = new LongAdder();
+        }
+    }
+
+    void fileDone(long inputBytes, long outputBytes) {
+        files.increment();
+        bytesIn.add(inputBytes);
+        bytesOut.add(outputBytes);
+    }
+
+    void recordsDone(int count) {
+        records.add(count);
+    }
+
+    /**
+     * Counts records whose output of a previous run was reused
+     */
+    void recordsReused(int count) {
+        records.add(count);
+        reused.add(count);
+    }
+
+    /**
+     * Keeps the types a file inferred for its fields; the first file to infer a field wins
+     */
+    void typesInferred(Map<String, DataType> types) {
+        types.forEach(inferredTypes::putIfAbsent);
+    }
+
+    /**
+     * Counts the leaf fields of a record by their DataType, inferred types included
+     */
+    void countFields(String fieldName, Object value) {
+        if (value instanceof Map<?, ?> map) {
+            map.forEach((key, nested) -> countFields(String.valueOf(key), nested));
+        } else if (value instanceof List<?> list) {
+            list.forEach(item -> countFields(fieldName, item));
+        } else if (value != null) {
+            fieldsByType[TenantContext.classify(fieldName).ordinal()].increment();
+        }
+    }
+
+    void recordError(String location, String message) {
+        if (errors.incrementAndGet() <= maxReportedErrors) {
+            err.println("ERROR " + location + ": " + message);
+        }
+    }
+
+    long getErrors() {
+        return errors.get();
+    }
+
+    long getRecords() {
+        return records.sum();
+    }
+
+    void printSummary(PrintStream out, String strategy, Duration elapsed) {
+        double seconds = Math.max(elapsed.toNanos(), 1) / 1e9;
+        out.printf("Anonymized %,d files, %,d records with %s in %.2f s%n", files.sum(), records.sum(), strategy, seconds);
+        if (reused.sum() > 0) {
+            out.printf("Reused %,d unchanged records, anonymized %,d%n", reused.sum(), records.sum() - reused.sum());
+        }
+        out.printf("Throughput: %,.0f records/s, %.1f MB/s in, %.1f MB/s out%n", records.sum() / seconds,
+                   bytesIn.sum() / seconds / 1e6, bytesOut.sum() / seconds / 1e6);
+
+        StringJoiner types = new StringJoiner(", ");
+        for (DataType type : DataType.values()) {
+            long count = fieldsByType[type.ordinal()].sum();
+            if (count > 0) {
+                types.add(type + "=" + count);
+            }
+        }
+        out.println("Fields by type: " + (types.length() > 0 ? types : "none"));
+        if (!inferredTypes.isEmpty()) {
+            StringJoiner inferred = new StringJoiner(", ");
+            inferredTypes.forEach((field, type) -> inferred.add(field + "=" + type));
+            out.println("Inferred types (pin them as tenant field-types): " + inferred);
+        }
+        out.printf("Errors: %,d%s%n", errors.get(),
+                   errors.get() > maxReportedErrors ? " (first " + maxReportedErrors + " reported)" : "");
+    }
+}
@@ -0,0 +1,58 @@
+package com.tnc.Data.Anonymization.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+/**
+ * Configuration for admission control of the anonymization endpoints.
+ * Follows SOLID principles:
+ * - Single Responsibility: Manages admission and bulkhead properties only
+ */
+@Configuration
+@ConfigurationProperties(prefix = "anonymization.admission")
+@Getter
+@Setter
+public class AdmissionConfig {
+    
+    private boolean enabled = true;
+    /** Requests with larger bodies are refused with 413 before they are buffered */
+    private long maxBodyBytes = 10L * 1024 * 1024;
+    /** Interactive requests costing more than this many units are sent to the batch bulkhead */
+    private long interactiveMaxCost = 2_000;
+    /** A window latency per cost unit above tolerance x baseline shrinks the concurrency limit */
+    private double latencyTolerance = 2.0;
+    private double backoffRatio = 0.9;
+    private Bulkhead interactive = new Bulkhead(32, 4, 128, 256, Duration.ofMillis(250), 200_000);
+    private Bulkhead batch = new Bulkhead(4, 1, 16, 16, Duration.ofSeconds(2), 2_000_000);
+    
+    /**
+     * Concurrency limit and bounded queue of one traffic class; cost is in RequestCost units.
+     */
+    @Getter
+    @Setter
+    public static class Bulkhead {
+        private int initialLimit;
+        private int minLimit;
+        private int maxLimit;
+        private int queueCapacity;
+        private Duration maxQueueWait;
+        private long maxInFlightCost;
+        
+        public Bulkhead() {
+        }
+        
+        public Bulkhead(int initialLimit, int minLimit, int maxLimit, int queueCapacity, Duration maxQueueWait,
+                        long maxInFlightCost) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            this.queueCapacity = queueCapacity;
+            this.maxQueueWait = maxQueueWait;
+            this.maxInFlightCost = maxInFlightCost;
+        }
+    }
+}
@@ -25,6 +25,8 @@ public class AnonymizationConfig {
     private int maxBatchSize = 1000;
     private int cacheMaxSize = 10000;
     private boolean enableCaching = true;
+    /** Compiled path policies kept for requests repeating the same policies */
+    private int pathPolicyCacheSize = 256;
     private List<String> sensitiveFields = List.of(
         "name", "firstName", "lastName", "email", "phone", "ssn", 
         "creditCard", "address", "dateOfBirth", "password"
@@ -0,0 +1,35 @@
+package com.tnc.Data.Anonymization.config;
+
+import com.tnc.Data.Anonymization.enums.AuditOverflowPolicy;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration for the asynchronous audit trail.
+ * Follows SOLID principles:
+ * - Single Responsibility: Manages audit trail properties only
+ */
+@Configuration
+@ConfigurationProperties(prefix = "anonymization.audit")
+@Getter
+@Setter
+public class AuditConfig {
+    
+    /** Record which fields of which requests were anonymized with which strategy and key version */
+    private boolean enabled = false;
+    private String directory = "data/audit";
+    /** Events buffered between requests and the writer; rounded up to a power of two */
+    private int bufferSize = 65_536;
+    /** What publishers do when the buffer is full */
+    private AuditOverflowPolicy overflow = AuditOverflowPolicy.DROP;
+    /** Events written per group commit at most */
+    private int batchSize = 4096;
+    /** Force every group commit to disk; without it the OS decides when written events reach the disk */
+    private boolean fsync = true;
+    /** Size at which the current file is rotated */
+    private int maxFileSizeMb = 64;
+    /** Rotated files kept; older ones are deleted */
+    private int maxFiles = 20;
+}
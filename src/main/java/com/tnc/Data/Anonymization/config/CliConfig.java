@@ -0,0 +1,33 @@
+package com.tnc.Data.Anonymization.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration for the headless command-line mode (profile "cli").
+ * Every property can also be given as a short option, e.g. --input=data.ndjson --threads=8.
+ * Follows SOLID principles:
+ * - Single Responsibility: Manages command-line run properties only
+ */
+@Configuration
+@ConfigurationProperties(prefix = "anonymization.cli")
+@Getter
+@Setter
+public class CliConfig {
+    
+    /** Input file or directory of .json, .ndjson and .jsonl files */
+    private String input;
+    /** Output file, or directory mirroring the input directory */
+    private String output;
+    private String strategy = "MASKING";
+    private boolean preserveFormat = true;
+    private Long seed;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    /** Records per task; NDJSON lines and JSON array elements are anonymized in chunks of this size */
+    private int chunkSize = 1000;
+    private boolean overwrite = false;
+    /** Record errors printed to stderr before only counting them */
+    private int maxReportedErrors = 100;
+}
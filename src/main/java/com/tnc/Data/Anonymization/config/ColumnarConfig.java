@@ -0,0 +1,22 @@
+package com.tnc.Data.Anonymization.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration for columnar execution of homogeneous record lists.
+ * Follows SOLID principles:
+ * - Single Responsibility: Manages columnar execution properties only
+ */
+@Configuration
+@ConfigurationProperties(prefix = "anonymization.columnar")
+@Getter
+@Setter
+public class ColumnarConfig {
+    
+    private boolean enabled = true;
+    private int minRows = 8;
+    private int parallelThreshold = 50_000;
+}
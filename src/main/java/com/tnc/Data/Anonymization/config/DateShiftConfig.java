@@ -0,0 +1,29 @@
+package com.tnc.Data.Anonymization.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration for the interval-preserving date shift strategy.
+ * Follows SOLID principles:
+ * - Single Responsibility: Manages date shift properties only
+ */
+@Configuration
+@ConfigurationProperties(prefix = "anonymization.date-shift")
+@Getter
+@Setter
+public class DateShiftConfig {
+    
+    /** Offsets are drawn from [min-shift-days, max-shift-days] in either direction */
+    private int minShiftDays = 1;
+    private int maxShiftDays = 365;
+    /** Fields identifying the subject of a record, tried in order; records without one share the request offset */
+    private List<String> subjectFields = new ArrayList<>(List.of("subjectId", "patientId", "customerId", "userId", "id"));
+    /** Maximum number of field paths whose detected date layout is cached */
+    private int formatCacheSize = 10_000;
+}
@@ -0,0 +1,28 @@
+package com.tnc.Data.Anonymization.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration for incremental (delta) anonymization of repeated exports.
+ * Follows SOLID principles:
+ * - Single Responsibility: Manages delta store properties only
+ */
+@Configuration
+@ConfigurationProperties(prefix = "anonymization.delta")
+@Getter
+@Setter
+public class DeltaConfig {
+    
+    /** Re-anonymize only records whose content changed since the previous run (command-line mode) */
+    private boolean enabled = false;
+    /** Top-level field identifying a record across runs; records without it are always anonymized */
+    private String idField = "id";
+    private String path = "data/delta-store.mv.db";
+    /** Page cache of the store; unchanged records are read back from it, so it bounds reuse speed */
+    private int cacheSizeMb = 128;
+    /** Remove stored records that a run did not see; only for runs over complete snapshots */
+    private boolean pruneUnseen = false;
+}
@@ -0,0 +1,33 @@
+package com.tnc.Data.Anonymization.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration for dictionary-based detection of known identifiers in free text.
+ * Follows SOLID principles:
+ * - Single Responsibility: Manages dictionary detection properties only
+ */
+@Configuration
+@ConfigurationProperties(prefix = "anonymization.dictionary")
+@Getter
+@Setter
+public class DictionaryConfig {
+    
+    private boolean enabled = false;
+    /** Text file with one term per line, optionally prefixed by a category and a tab ("NAME\tJane Doe") */
+    private String path;
+    /** Compiled automaton, rebuilt when older than the dictionary; defaults to the dictionary path plus ".acda" */
+    private String compiledPath;
+    private boolean caseInsensitive = true;
+    /** Only report terms bounded by non-letters and non-digits, so "ann" does not match inside "annual" */
+    private boolean wholeWords = true;
+    /** False positive rate of the Bloom filter checked before single-token lookups */
+    private double bloomFalsePositiveRate = 0.01;
+    /** Category of terms listed without one */
+    private String defaultCategory = "DICTIONARY";
+    /** Text replacing detected terms in values that are otherwise kept */
+    private String replacement = "***";
+}
@@ -0,0 +1,37 @@
+package com.tnc.Data.Anonymization.config;
+
+import com.tnc.Data.Anonymization.enums.FakeValueKind;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Configuration for the pools of pre-generated fake values used by unseeded MASKING.
+ * Follows SOLID principles:
+ * - Single Responsibility: Manages fake value pool properties only
+ */
+@Configuration
+@ConfigurationProperties(prefix = "anonymization.fake-pool")
+@Getter
+@Setter
+public class FakeValuePoolConfig {
+    
+    /** Keep pools of fake values topped up in the background; without it every value is generated inline */
+    private boolean enabled = true;
+    /** Producer threads; each pool is refilled by exactly one of them */
+    private int threads = 1;
+    /** Values held per pool; rounded up to a power of two */
+    private int size = 4096;
+    /** Sizes by kind, e.g. anonymization.fake-pool.sizes.ssn=16384; 0 generates the kind inline */
+    private Map<FakeValueKind, Integer> sizes = new EnumMap<>(FakeValueKind.class);
+    /** Values generated into one pool before its producer moves on to the next pool */
+    private int refillBatch = 256;
+    
+    public int sizeOf(FakeValueKind kind) {
+        return sizes.getOrDefault(kind, size);
+    }
+}
@@ -0,0 +1,31 @@
+package com.tnc.Data.Anonymization.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the custom JDK Flight Recorder events and the application-managed recording.
+ * Follows SOLID principles:
+ * - Single Responsibility: Manages flight recorder properties only
+ */
+@Configuration
+@ConfigurationProperties(prefix = "anonymization.jfr")
+@Getter
+@Setter
+public class FlightRecorderConfig {
+    
+    private boolean enabled = true;
+    /** Starts the application-managed recording when the application is ready */
+    private boolean recordOnStartup = false;
+    /** JFR settings the managed recording is based on: "default", "profile" or a .jfc location */
+    private String settings = "default";
+    private Duration maxAge = Duration.ofMinutes(15);
+    private long maxSizeBytes = 256L * 1024 * 1024;
+    private Duration slowFieldThreshold = Duration.ofMillis(20);
+    /** Also records the per-value cache miss and Faker events in the managed recording */
+    private boolean detailedEvents = false;
+}
@@ -0,0 +1,23 @@
+package com.tnc.Data.Anonymization.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration for synthetic record generation.
+ * Follows SOLID principles:
+ * - Single Responsibility: Manages generation properties only
+ */
+@Configuration
+@ConfigurationProperties(prefix = "anonymization.generation")
+@Getter
+@Setter
+public class GenerationConfig {
+    
+    /** Worker threads shared by all generation requests */
+    private int threads = Runtime.getRuntime().availableProcessors();
+    /** Records generated and serialized per task; the response holds two chunks per thread at most */
+    private int chunkSize = 1000;
+}
@@ -0,0 +1,24 @@
+package com.tnc.Data.Anonymization.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration for inferring the DataType of uninformatively named fields from their values.
+ * Follows SOLID principles:
+ * - Single Responsibility: Manages type inference properties only
+ */
+@Configuration
+@ConfigurationProperties(prefix = "anonymization.inference")
+@Getter
+@Setter
+public class InferenceConfig {
+    
+    private boolean enabled = true;
+    /** Records of a batch or stream whose values are sampled */
+    private int sampleSize = 100;
+    /** Share of a field's non-empty samples that must agree on a type */
+    private double minAgreement = 0.9;
+}
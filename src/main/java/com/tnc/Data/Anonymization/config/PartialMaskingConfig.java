@@ -0,0 +1,67 @@
+package com.tnc.Data.Anonymization.config;
+
+import com.tnc.Data.Anonymization.enums.DataType;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Configuration for the partial masking strategy.
+ * Follows SOLID principles:
+ * - Single Responsibility: Manages partial masking properties only
+ */
+@Configuration
+@ConfigurationProperties(prefix = "anonymization.partial-masking")
+@Getter
+@Setter
+public class PartialMaskingConfig {
+    
+    /** Character replacing masked letters and digits */
+    private char maskChar = '*';
+    /** Rule of data types without their own rule */
+    private Rule defaults = new Rule(0, 0, false);
+    /** Rules by data type, e.g. anonymization.partial-masking.rules.credit-card.keep-last=4 */
+    private Map<DataType, Rule> rules = defaultRules();
+    
+    /**
+     * What a partial mask leaves readable. Kept characters are counted over letters and digits when
+     * separators are kept, so keep-last=4 keeps the last four digits of 4111-1111-1111-1234.
+     */
+    @Getter
+    @Setter
+    public static class Rule {
+        /** Leading characters left readable */
+        private int keepFirst;
+        /** Trailing characters left readable */
+        private int keepLast;
+        /** Leave characters other than letters and digits (-, space, ., /) in place */
+        private boolean keepSeparators = true;
+        /** Leave everything from the last @ on readable, e.g. j***@domain.com */
+        private boolean keepDomain;
+        
+        public Rule() {
+        }
+        
+        public Rule(int keepFirst, int keepLast, boolean keepDomain) {
+            this.keepFirst = keepFirst;
+            this.keepLast = keepLast;
+            this.keepDomain = keepDomain;
+        }
+    }
+    
+    private static Map<DataType, Rule> defaultRules() {
+        Map<DataType, Rule> rules = new EnumMap<>(DataType.class);
+        rules.put(DataType.NAME, new Rule(1, 0, false));
+        rules.put(DataType.EMAIL, new Rule(1, 0, true));
+        rules.put(DataType.PHONE, new Rule(0, 4, false));
+        rules.put(DataType.SSN, new Rule(0, 4, false));
+        rules.put(DataType.CREDIT_CARD, new Rule(0, 4, false));
+        rules.put(DataType.DATE, new Rule(4, 0, false));
+        rules.put(DataType.ID, new Rule(0, 4, false));
+        return rules;
+    }
+}
@@ -0,0 +1,23 @@
+package com.tnc.Data.Anonymization.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration for the numeric perturbation strategy.
+ * Follows SOLID principles:
+ * - Single Responsibility: Manages perturbation properties only
+ */
+@Configuration
+@ConfigurationProperties(prefix = "anonymization.perturbation")
+@Getter
+@Setter
+public class PerturbationConfig {
+    
+    private double noiseRatio = 0.05;
+    private double scale = 1.0;
+    private double roundingStep = 0.0;
+    private boolean vectorEnabled = true;
+}
@@ -0,0 +1,23 @@
+package com.tnc.Data.Anonymization.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration for opt-in per-request profiling.
+ * Follows SOLID principles:
+ * - Single Responsibility: Manages request profiling properties only
+ */
+@Configuration
+@ConfigurationProperties(prefix = "anonymization.profiling")
+@Getter
+@Setter
+public class ProfilingConfig {
+    
+    private boolean enabled = true;
+    /** Request header enabling the profile: "true" for Server-Timing only, "body" to add a response section */
+    private String header = "X-Anonymization-Profile";
+    private int slowestFields = 5;
+}
@@ -0,0 +1,42 @@
+package com.tnc.Data.Anonymization.config;
+
+import com.tnc.Data.Anonymization.enums.PseudonymizationMode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration for pseudonym derivation and key management.
+ * Follows SOLID principles:
+ * - Single Responsibility: Manages pseudonymization properties only
+ */
+@Configuration
+@ConfigurationProperties(prefix = "anonymization.pseudonymization")
+@Getter
+@Setter
+public class PseudonymizationConfig {
+    
+    private PseudonymizationMode mode = PseudonymizationMode.HASH;
+    private String activeKeyVersion;
+    /** Base64-encoded HMAC keys by version, e.g. anonymization.pseudonymization.keys.v1=... */
+    private Map<String, String> keys = new HashMap<>();
+    private Keystore keystore = new Keystore();
+    /** Cache partitions of retired key versions are dropped after this idle time */
+    private Duration cachePartitionIdleTimeout = Duration.ofMinutes(30);
+    
+    /**
+     * Optional keystore holding HMAC keys as secret key entries; the alias is the key version.
+     */
+    @Getter
+    @Setter
+    public static class Keystore {
+        private String path;
+        private String password;
+        private String type = "PKCS12";
+    }
+}
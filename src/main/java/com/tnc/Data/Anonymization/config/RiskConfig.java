@@ -0,0 +1,40 @@
+package com.tnc.Data.Anonymization.config;
+
+import com.tnc.Data.Anonymization.enums.DataType;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration for the re-identification risk report of anonymized output.
+ * Follows SOLID principles:
+ * - Single Responsibility: Manages risk analysis properties only
+ */
+@Configuration
+@ConfigurationProperties(prefix = "anonymization.risk")
+@Getter
+@Setter
+public class RiskConfig {
+    
+    /** Report risk for every batch and command-line run, not only when asked for */
+    private boolean enabled = false;
+    /** Quasi-identifier fields; when empty, the top-level fields of the types below */
+    private List<String> quasiIdentifiers = new ArrayList<>();
+    private List<DataType> quasiIdentifierTypes = new ArrayList<>(List.of(DataType.ADDRESS, DataType.DATE, DataType.NUMBER));
+    /** Quasi-identifiers analyzed at most; further ones are ignored */
+    private int maxColumns = 8;
+    /** Column combinations up to this size get their own distinct count; all columns together always do */
+    private int maxCombinationSize = 2;
+    /** Classes smaller than k are reported as at risk */
+    private int k = 5;
+    /** HyperLogLog registers per combination are 2^precision; the standard error is 1.04 / sqrt(2^precision) */
+    private int hllPrecision = 14;
+    private int countMinDepth = 4;
+    private int countMinWidth = 131_072;
+    /** Equivalence classes sampled for their sizes */
+    private int sampleSize = 4096;
+}
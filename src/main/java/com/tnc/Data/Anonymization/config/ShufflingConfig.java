@@ -0,0 +1,28 @@
+package com.tnc.Data.Anonymization.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration for the column shuffling strategy.
+ * Follows SOLID principles:
+ * - Single Responsibility: Manages shuffling properties only
+ */
+@Configuration
+@ConfigurationProperties(prefix = "anonymization.shuffling")
+@Getter
+@Setter
+public class ShufflingConfig {
+    
+    /** Top-level fields permuted across records; every field when empty */
+    private List<String> columns = new ArrayList<>();
+    /** Values of a column held in memory at once when shuffling files; sizes the on-disk buckets */
+    private int bucketSizeMb = 64;
+    /** Directory of the on-disk buckets; the system temporary directory when unset */
+    private String tempDirectory;
+}
@@ -0,0 +1,21 @@
+package com.tnc.Data.Anonymization.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration for the startup timing report.
+ * Follows SOLID principles:
+ * - Single Responsibility: Manages startup reporting properties only
+ */
+@Configuration
+@ConfigurationProperties(prefix = "anonymization.startup")
+@Getter
+@Setter
+public class StartupConfig {
+    
+    private boolean reportEnabled = true;
+    private int reportTopBeans = 10;
+}
@@ -0,0 +1,83 @@
+package com.tnc.Data.Anonymization.config;
+
+import com.tnc.Data.Anonymization.enums.AnonymizationStrategy;
+import com.tnc.Data.Anonymization.enums.DataType;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.commons.lang3.StringUtils;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Configuration for tenant-aware processing.
+ * Follows SOLID principles:
+ * - Single Responsibility: Manages tenant policy and quota properties only
+ */
+@Configuration
+@ConfigurationProperties(prefix = "anonymization.tenants")
+@Getter
+@Setter
+public class TenantConfig {
+    
+    private boolean enabled = false;
+    /** Request header naming the tenant */
+    private String header = "X-Tenant-Id";
+    /** Tenant of requests without the header, and of unknown tenants unless they are rejected */
+    private String defaultTenant = "default";
+    /** Refuse requests naming an unconfigured tenant with 400 instead of serving them as the default tenant */
+    private boolean rejectUnknown = false;
+    /** Values used by policies that do not set their own */
+    private Policy defaults = new Policy(16L * 1024 * 1024, 16, 32, Duration.ofMillis(250));
+    /** Policies by tenant id, e.g. anonymization.tenants.policies.acme.default-strategy=PSEUDONYMIZATION */
+    private Map<String, Policy> policies = new HashMap<>();
+    /** Properties or YAML file with the anonymization.tenants section, watched and reloaded when it changes */
+    private String policyFile;
+    /** How often the policy file is checked for changes */
+    private Duration policyReloadInterval = Duration.ofSeconds(5);
+    
+    /**
+     * Whether requests run under a tenant policy: with tenancy enabled, or as the default tenant of a policy file
+     */
+    public boolean appliesPolicies() {
+        return enabled || StringUtils.isNotBlank(policyFile);
+    }
+    
+    /**
+     * Strategies, secrets, field mappings and quotas of one tenant; unset values fall back to the defaults.
+     */
+    @Getter
+    @Setter
+    public static class Policy {
+        /** Strategy of endpoints that do not name one */
+        private AnonymizationStrategy defaultStrategy;
+        /** Strategies the tenant may use; empty allows all */
+        private Set<AnonymizationStrategy> allowedStrategies = new HashSet<>();
+        /** Version of the pseudonymization key (anonymization.pseudonymization.keys or keystore alias) of the tenant */
+        private String keyVersion;
+        /** Data types of field names, overriding classification by name */
+        private Map<String, DataType> fieldTypes = new HashMap<>();
+        /** Estimated bytes of each pseudonym and mask cache of the tenant */
+        private Long cacheQuotaBytes;
+        /** Requests of the tenant running at once */
+        private Integer maxConcurrency;
+        /** Requests of the tenant waiting for a slot */
+        private Integer queueCapacity;
+        private Duration maxQueueWait;
+        
+        public Policy() {
+        }
+        
+        public Policy(Long cacheQuotaBytes, Integer maxConcurrency, Integer queueCapacity, Duration maxQueueWait) {
+            this.cacheQuotaBytes = cacheQuotaBytes;
+            this.maxConcurrency = maxConcurrency;
+            this.queueCapacity = queueCapacity;
+            this.maxQueueWait = maxQueueWait;
+        }
+    }
+}
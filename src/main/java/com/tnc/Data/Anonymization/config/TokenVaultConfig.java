@@ -0,0 +1,28 @@
+package com.tnc.Data.Anonymization.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration for the persistent pseudonym token vault.
+ * Follows SOLID principles:
+ * - Single Responsibility: Manages token vault properties only
+ */
+@Configuration
+@ConfigurationProperties(prefix = "anonymization.vault")
+@Getter
+@Setter
+public class TokenVaultConfig {
+
+    /** Persist pseudonym mappings; off by default, since the vault holds the original values */
+    private boolean enabled = false;
+    /** Serve /detokenize, which re-identifies data; enable only behind authentication */
+    private boolean detokenizeEnabled = false;
+    private String path = "data/token-vault.mv.db";
+    private int cacheSizeMb = 64;
+    private long flushIntervalMs = 200;
+    private int writeQueueCapacity = 100_000;
+    private int maxDetokenizeBatch = 10_000;
+}
@@ -0,0 +1,29 @@
+package com.tnc.Data.Anonymization.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration for streaming XML anonymization.
+ * Follows SOLID principles:
+ * - Single Responsibility: Manages XML anonymization properties only
+ */
+@Configuration
+@ConfigurationProperties(prefix = "anonymization.xml")
+@Getter
+@Setter
+public class XmlConfig {
+    
+    /** Also anonymize text and attributes whose name classifies as UNKNOWN; codes and structure values then change too */
+    private boolean anonymizeUnknown = false;
+    /** Anonymize attribute values, not only element text */
+    private boolean anonymizeAttributes = true;
+    /** Copy comments as read; comments are free text that is never anonymized */
+    private boolean keepComments = false;
+    /** Copy processing instructions as read; their data is never anonymized */
+    private boolean keepProcessingInstructions = false;
+    /** Copy the DOCTYPE with its internal subset, and entity references; entity values are never anonymized */
+    private boolean keepDtd = false;
+}
@@ -1,14 +1,35 @@
 package com.tnc.Data.Anonymization.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tnc.Data.Anonymization.config.AnonymizationConfig;
+import com.tnc.Data.Anonymization.config.InferenceConfig;
+import com.tnc.Data.Anonymization.config.RiskConfig;
+import com.tnc.Data.Anonymization.detection.DictionaryDetector;
+import com.tnc.Data.Anonymization.detection.FieldTypeInference;
 import com.tnc.Data.Anonymization.enums.AnonymizationStrategy;
 import com.tnc.Data.Anonymization.model.AnonymizationRequest;
 import com.tnc.Data.Anonymization.model.AnonymizationResponse;
+import com.tnc.Data.Anonymization.model.DetokenizationRequest;
+import com.tnc.Data.Anonymization.model.DetokenizationResponse;
+import com.tnc.Data.Anonymization.model.GenerationRequest;
+import com.tnc.Data.Anonymization.model.KAnonymityRequest;
+import com.tnc.Data.Anonymization.model.KAnonymityResponse;
+import com.tnc.Data.Anonymization.model.RiskReport;
+import com.tnc.Data.Anonymization.model.XmlAnonymizationSummary;
+import com.tnc.Data.Anonymization.monitoring.jfr.BatchDatasetEvent;
+import com.tnc.Data.Anonymization.risk.RiskAnalysis;
 import com.tnc.Data.Anonymization.service.interfaces.AnonymizationService;
+import com.tnc.Data.Anonymization.service.interfaces.GeneralizationService;
+import com.tnc.Data.Anonymization.service.interfaces.SyntheticDataService;
+import com.tnc.Data.Anonymization.tenant.TenantContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -17,9 +38,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * REST Controller for data anonymization operations.
@@ -27,6 +52,7 @@ import java.util.Map;
  * - Single Responsibility: Handles HTTP requests for anonymization
  * - Dependency Inversion: Depends on AnonymizationService abstraction
  */
+@Slf4j
 @RestController
 @RequestMapping("/api/v1/anonymization")
 @CrossOrigin(origins = "*")
@@ -35,13 +61,20 @@ import java.util.Map;
 public class AnonymizationController {
     
     private final AnonymizationService anonymizationService;
+    private final GeneralizationService generalizationService;
+    private final AnonymizationConfig anonymizationConfig;
+    private final DictionaryDetector dictionaryDetector;
+    private final InferenceConfig inferenceConfig;
+    private final SyntheticDataService syntheticDataService;
+    private final RiskConfig riskConfig;
+    private final ObjectMapper objectMapper;
     
     /**
      * Anonymize data using the specified strategy
      */
     @Operation(
         summary = "Anonymize sensitive data",
-        description = "Anonymizes the provided data using the specified strategy (PSEUDONYMIZATION, MASKING, REDACTION, FORMAT_PRESERVING_ENCRYPTION)"
+        description = "Anonymizes the provided data using the specified strategy (PSEUDONYMIZATION, MASKING, REDACTION, PARTIAL_MASKING, FORMAT_PRESERVING_ENCRYPTION)"
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Data anonymized successfully",
@@ -72,13 +105,132 @@ public class AnonymizationController {
         }
     }
     
+    /**
+     * Resolve pseudonyms back to their original values
+     */
+    @Operation(
+        summary = "Resolve pseudonyms",
+        description = "Resolves pseudonyms issued by PSEUDONYMIZATION back to their original values using the token vault"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Pseudonyms resolved",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = DetokenizationResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid request or token vault disabled",
+                content = @Content(mediaType = "application/json"))
+    })
+    @PostMapping("/detokenize")
+    public ResponseEntity<DetokenizationResponse> detokenize(
+            @Parameter(description = "Pseudonyms to resolve", required = true)
+            @Valid @RequestBody DetokenizationRequest request) {
+        DetokenizationResponse response = anonymizationService.detokenize(request);
+        
+        if (response.isSuccess()) {
+            return ResponseEntity.ok(response);
+        }
+        return ResponseEntity.badRequest().body(response);
+    }
+    
+    /**
+     * Generalize quasi-identifiers of a batch of records to k-anonymity
+     */
+    @Operation(
+        summary = "k-anonymize records",
+        description = "Generalizes quasi-identifier fields (ZIP, DATE, NUMBER, CATEGORICAL hierarchies) until every equivalence class has at least k records"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Records generalized successfully",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = KAnonymityResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid request data",
+                content = @Content(mediaType = "application/json"))
+    })
+    @PostMapping("/k-anonymize")
+    public ResponseEntity<KAnonymityResponse> kAnonymize(
+            @Parameter(description = "Records, quasi-identifier hierarchies and k", required = true)
+            @Valid @RequestBody KAnonymityRequest request) {
+        KAnonymityResponse response = generalizationService.kAnonymize(request);
+        
+        if (response.isSuccess()) {
+            return ResponseEntity.ok(response);
+        }
+        return ResponseEntity.badRequest().body(response);
+    }
+    
+    /**
+     * Synthetic record generation streamed as NDJSON
+     */
+    @Operation(
+        summary = "Generate synthetic records",
+        description = "Generates count records whose fields follow the given field -> DataType schema and streams them as NDJSON; the same seed gives the same records"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Records streamed, one JSON object per line",
+                content = @Content(mediaType = "application/x-ndjson")),
+        @ApiResponse(responseCode = "400", description = "Invalid schema or count",
+                content = @Content(mediaType = "application/json"))
+    })
+    @PostMapping("/generate")
+    public void generate(
+            @Parameter(description = "Schema, record count and optional seed", required = true)
+            @Valid @RequestBody GenerationRequest request,
+            HttpServletResponse response) throws IOException {
+        // Written on the request thread rather than asynchronously, so admission control bounds generation too
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        syntheticDataService.generate(request, response.getOutputStream());
+    }
+    
+    /**
+     * Streaming XML anonymization
+     */
+    @Operation(
+        summary = "Anonymize an XML document",
+        description = "Streams the XML body through StAX, anonymizing element text and attributes classified by name; namespaces and structure are kept"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Anonymized document streamed",
+                content = @Content(mediaType = "application/xml")),
+        @ApiResponse(responseCode = "400", description = "Unknown or unsupported strategy, or malformed XML",
+                content = @Content(mediaType = "application/json"))
+    })
+    @PostMapping(value = "/anonymize-xml", consumes = {"application/xml", "text/xml", "application/soap+xml"})
+    public void anonymizeXml(
+            @Parameter(description = "Strategy; the tenant default when omitted")
+            @RequestParam(required = false) String strategy,
+            @RequestParam(defaultValue = "true") boolean preserveFormat,
+            @RequestParam(required = false) Long seed,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        response.setContentType("application/xml");
+        response.setCharacterEncoding("UTF-8");
+        try {
+            AnonymizationStrategy parsed = AnonymizationStrategy.fromString(
+                strategy != null ? strategy : TenantContext.defaultStrategy());
+            XmlAnonymizationSummary summary = anonymizationService.anonymizeXml(
+                request.getInputStream(), response.getOutputStream(), parsed, preserveFormat, seed);
+            log.debug("Anonymized XML: {} elements, {} values, {} bytes at {} MB/s", summary.getElements(),
+                      summary.getValues(), summary.getBytesIn(), String.format("%.1f", summary.getMegabytesPerSecond()));
+        } catch (IllegalArgumentException e) {
+            // Malformed input found after the first buffer was sent can only abort the response
+            if (response.isCommitted()) {
+                throw e;
+            }
+            response.reset();
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            response.setContentType("application/json");
+            Map<String, Object> body = new HashMap<>();
+            body.put("success", false);
+            body.put("message", "XML anonymization failed: " + e.getMessage());
+            objectMapper.writeValue(response.getOutputStream(), body);
+        }
+    }
+    
     /**
      * Quick anonymization with default settings
      */
     @PostMapping("/quick-anonymize")
     public ResponseEntity<Map<String, Object>> quickAnonymize(@RequestBody Map<String, Object> data) {
         try {
-            AnonymizationRequest request = new AnonymizationRequest(data, "MASKING");
+            AnonymizationRequest request = new AnonymizationRequest(data, TenantContext.defaultStrategy());
             request.setPreserveFormat(true);
             
             AnonymizationResponse response = anonymizationService.anonymizeData(request);
@@ -88,7 +240,8 @@ public class AnonymizationController {
             result.put("data", response.getAnonymizedData());
             result.put("message", response.getMessage());
             
-            return ResponseEntity.ok(result);
+            // Only requests the service rejects (such as SHUFFLING a single record) are client errors
+            return response.isInvalidRequest() ? ResponseEntity.badRequest().body(result) : ResponseEntity.ok(result);
             
         } catch (Exception e) {
             Map<String, Object> errorResult = new HashMap<>();
@@ -154,6 +307,53 @@ public class AnonymizationController {
         return ResponseEntity.ok(health);
     }
     
+    /**
+     * Dictionary detection endpoint reporting known identifiers found in the text values of a record
+     */
+    @Operation(
+        summary = "Detect known identifiers",
+        description = "Scans all text values, including nested ones, against the detection dictionary and reports each match"
+    )
+    @PostMapping("/detect")
+    public ResponseEntity<Map<String, Object>> detect(@RequestBody Map<String, Object> data) {
+        if (!dictionaryDetector.isEnabled()) {
+            Map<String, Object> errorResult = new HashMap<>();
+            errorResult.put("success", false);
+            errorResult.put("message", "Dictionary detection is not enabled");
+            return ResponseEntity.badRequest().body(errorResult);
+        }
+        
+        List<Map<String, Object>> findings = new ArrayList<>();
+        Map<String, Integer> categories = new TreeMap<>();
+        collectFindings(data, "", findings, categories);
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("success", true);
+        result.put("findings", findings);
+        result.put("categories", categories);
+        result.put("dictionaryEntries", dictionaryDetector.getEntries());
+        result.put("message", findings.size() + " dictionary matches found");
+        return ResponseEntity.ok(result);
+    }
+    
+    private void collectFindings(Object value, String path, List<Map<String, Object>> findings,
+                                 Map<String, Integer> categories) {
+        if (value instanceof Map<?, ?> map) {
+            map.forEach((key, nested) ->
+                collectFindings(nested, path.isEmpty() ? String.valueOf(key) : path + "." + key, findings, categories));
+        } else if (value instanceof List<?> list) {
+            for (int i = 0; i < list.size(); i++) {
+                collectFindings(list.get(i), path + "[" + i + "]", findings, categories);
+            }
+        } else if (value instanceof String text) {
+            for (DictionaryDetector.DictionaryMatch match : dictionaryDetector.scan(text)) {
+                findings.add(Map.of("field", path, "start", match.start(), "end", match.end(),
+                                    "category", match.category()));
+                categories.merge(match.category(), 1, Integer::sum);
+            }
+        }
+    }
+    
     /**
      * Batch anonymization endpoint for processing multiple datasets
      */
@@ -162,36 +362,87 @@ public class AnonymizationController {
         try {
             @SuppressWarnings("unchecked")
             Map<String, Map<String, Object>> datasets = (Map<String, Map<String, Object>>) batchRequest.get("datasets");
-            String strategy = (String) batchRequest.getOrDefault("strategy", "MASKING");
+            String strategy = (String) batchRequest.getOrDefault("strategy", TenantContext.defaultStrategy());
             Boolean preserveFormat = (Boolean) batchRequest.getOrDefault("preserveFormat", true);
             Long seed = batchRequest.get("seed") != null ? ((Number) batchRequest.get("seed")).longValue() : null;
+            boolean riskReport = Boolean.TRUE.equals(batchRequest.getOrDefault("riskReport", riskConfig.isEnabled()));
+            
+            if (datasets.size() > anonymizationConfig.getMaxBatchSize()) {
+                Map<String, Object> errorResponse = new HashMap<>();
+                errorResponse.put("success", false);
+                errorResponse.put("message", "Too many datasets: " + datasets.size() + 
+                                             " exceeds the limit of " + anonymizationConfig.getMaxBatchSize());
+                return ResponseEntity.badRequest().body(errorResponse);
+            }
             
             Map<String, Object> results = new HashMap<>();
             Map<String, Object> anonymizedDatasets = new HashMap<>();
             int totalFieldsProcessed = 0;
             boolean allSuccessful = true;
+            List<Map<String, Object>> releasedRecords = new ArrayList<>(datasets.size());
+            RiskReport risk = null;
+            
+            // Datasets are anonymized together, column by column when they share their fields;
+            // on failure each dataset is retried on its own so that errors are reported per dataset.
+            // One inference spans the batch so that retried datasets keep the types of the shared pass
+            List<String> datasetNames = new ArrayList<>(datasets.keySet());
+            List<BatchDatasetEvent> columnarEvents = beginDatasetEvents(datasetNames.size());
+            FieldTypeInference inference = FieldTypeInference.create(inferenceConfig);
+            FieldTypeInference previousInference = FieldTypeInference.attach(inference);
+            try {
+                List<Map<String, Object>> anonymizedRecords = anonymizeAll(
+                    datasetNames.stream().map(datasets::get).toList(), strategy, preserveFormat, seed);
             
-            for (Map.Entry<String, Map<String, Object>> entry : datasets.entrySet()) {
-                String datasetName = entry.getKey();
-                Map<String, Object> dataset = entry.getValue();
+                for (int i = 0; i < datasetNames.size(); i++) {
+                    String datasetName = datasetNames.get(i);
+                    Map<String, Object> dataset = datasets.get(datasetName);
+                
+                    if (anonymizedRecords != null) {
+                        anonymizedDatasets.put(datasetName, anonymizedRecords.get(i));
+                        releasedRecords.add(anonymizedRecords.get(i));
+                        totalFieldsProcessed += anonymizedRecords.get(i).size();
+                        if (!columnarEvents.isEmpty()) {
+                            commitDatasetEvent(columnarEvents.get(i), datasetName, strategy, dataset.size(), true, true);
+                        }
+                        continue;
+                    }
                 
-                AnonymizationRequest request = new AnonymizationRequest(dataset, strategy);
-                request.setPreserveFormat(preserveFormat);
-                request.setSeed(seed);
+                    AnonymizationRequest request = new AnonymizationRequest(dataset, strategy);
+                    request.setPreserveFormat(preserveFormat);
+                    request.setSeed(seed);
                 
-                AnonymizationResponse response = anonymizationService.anonymizeData(request);
+                    BatchDatasetEvent event = new BatchDatasetEvent();
+                    event.begin();
+                    AnonymizationResponse response = anonymizationService.anonymizeData(request);
+                    commitDatasetEvent(event, datasetName, strategy, dataset.size(), false, response.isSuccess());
                 
-                if (response.isSuccess()) {
-                    anonymizedDatasets.put(datasetName, response.getAnonymizedData());
-                    totalFieldsProcessed += response.getFieldsProcessed();
-                } else {
-                    allSuccessful = false;
-                    anonymizedDatasets.put(datasetName, Map.of("error", response.getMessage()));
+                    if (response.isSuccess()) {
+                        anonymizedDatasets.put(datasetName, response.getAnonymizedData());
+                        releasedRecords.add(response.getAnonymizedData());
+                        totalFieldsProcessed += response.getFieldsProcessed();
+                    } else {
+                        allSuccessful = false;
+                        anonymizedDatasets.put(datasetName, Map.of("error", response.getMessage()));
+                    }
                 }
+                if (riskReport) {
+                    // Risk is that of the released records, classified with the types inferred for the batch
+                    RiskAnalysis analysis = new RiskAnalysis(riskConfig);
+                    analysis.add(releasedRecords);
+                    risk = analysis.report();
+                }
+            } finally {
+                FieldTypeInference.attach(previousInference);
             }
             
             results.put("success", allSuccessful);
+            if (inference != null && !inference.getInferredTypes().isEmpty()) {
+                results.put("inferredTypes", inference.getInferredTypes());
+            }
             results.put("datasets", anonymizedDatasets);
+            if (risk != null) {
+                results.put("risk", risk);
+            }
             results.put("totalFieldsProcessed", totalFieldsProcessed);
             results.put("strategy", strategy);
             results.put("message", allSuccessful ? "Batch anonymization completed successfully" : 
@@ -206,4 +457,48 @@ public class AnonymizationController {
             return ResponseEntity.badRequest().body(errorResponse);
         }
     }
+    
+    /**
+     * Begins one flight recorder event per dataset for the shared columnar pass; empty when the event is disabled
+     */
+    private static List<BatchDatasetEvent> beginDatasetEvents(int count) {
+        if (!new BatchDatasetEvent().isEnabled()) {
+            return List.of();
+        }
+        List<BatchDatasetEvent> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            BatchDatasetEvent event = new BatchDatasetEvent();
+            event.begin();
+            events.add(event);
+        }
+        return events;
+    }
+    
+    private static void commitDatasetEvent(BatchDatasetEvent event, String dataset, String strategy, int fieldCount,
+                                           boolean columnar, boolean success) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.dataset = dataset;
+            event.strategy = strategy;
+            event.fieldCount = fieldCount;
+            event.columnar = columnar;
+            event.success = success;
+            event.commit();
+        }
+    }
+    
+    private List<Map<String, Object>> anonymizeAll(List<Map<String, Object>> records, String strategy,
+                                                   boolean preserveFormat, Long seed) {
+        if (AnonymizationStrategy.SHUFFLING.name().equalsIgnoreCase(strategy)) {
+            // Shuffling exchanges values between the datasets, so a dataset retried on its own would come back
+            // unchanged: failures, including batches of fewer than 2 datasets, fail the whole batch
+            return anonymizationService.anonymizeRecords(records, AnonymizationStrategy.SHUFFLING, preserveFormat, seed);
+        }
+        try {
+            return anonymizationService.anonymizeRecords(records, AnonymizationStrategy.fromString(strategy), 
+                                                         preserveFormat, seed);
+        } catch (Exception e) {
+            return null;
+        }
+    }
 }
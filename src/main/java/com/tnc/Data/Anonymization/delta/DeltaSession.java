@@ -0,0 +1,300 @@
+package com.tnc.Data.Anonymization.delta;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tnc.Data.Anonymization.detection.FieldTypeInference;
+import com.tnc.Data.Anonymization.engine.LongIntHashMap;
+import com.tnc.Data.Anonymization.service.impl.PseudonymKeyRing;
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One run against the delta store: splits chunks of records into unchanged records, whose stored
+ * output is reused, and changed or new records, whose fresh output is stored. Safe for concurrent
+ * chunks; the caller anonymizes the changed records between lookup and merge.
+ * Records are compared by a 64-bit hash of their content computed on the parsed map, independent of
+ * key order, and salted with the field types inferred for its file, since they change its output too.
+ * A record is only ever compared with its own previous version, so the chance of missing a change is
+ * 2^-64 per changed record, not a birthday bound over the dataset.
+ * Records are stored under HMAC(active key, id) and their hash is keyed with the same key, so the store
+ * lists neither the ids nor a hash to confirm guessed contents with; it still holds the anonymized output
+ * of every record and must be protected like the output files. Without a key, ids are stored under their
+ * SHA-256, which only hides ids that cannot be guessed.
+ */
+public final class DeltaSession {
+
+    private static final TypeReference<Map<String, Object>> RECORD_TYPE = new TypeReference<>() {};
+    private static final int HASH_BYTES = Long.BYTES;
+    /** Bytes of the id tag used as store key; 128 bits keep distinct ids apart */
+    private static final int ID_TAG_BYTES = 16;
+
+    private final MVStore store;
+    private final MVMap<String, byte[]> records;
+    private final ObjectMapper objectMapper;
+    private final String idField;
+    private final PseudonymKeyRing keyRing;
+    private final String keyVersion;
+    private final LongIntHashMap seen;
+    private final LongAdder reused = new LongAdder();
+    private final LongAdder changed = new LongAdder();
+
+    /**
+     * @param keyVersion Version of the key ids and hashes are keyed with, or null if there is none
+     */
+    DeltaSession(MVStore store, MVMap<String, byte[]> records, ObjectMapper objectMapper, String idField,
+                 PseudonymKeyRing keyRing, String keyVersion, boolean trackSeen) {
+        this.store = store;
+        this.records = records;
+        this.objectMapper = objectMapper;
+        this.idField = idField;
+        this.keyRing = keyRing;
+        this.keyVersion = keyVersion;
+        this.seen = trackSeen ? new LongIntHashMap(1 << 16) : null;
+    }
+
+    /**
+     * Looks up the stored outputs of a chunk of records
+     */
+    public Chunk lookup(List<Map<String, Object>> input) {
+        Chunk chunk = new Chunk(input);
+        FieldTypeInference inference = FieldTypeInference.current();
+        long salt = inference != null ? contentHash(inference.getInferredTypes(), 0) : 0;
+        for (int i = 0; i < input.size(); i++) {
+            Map<String, Object> record = input.get(i);
+            Object id = record != null ? record.get(idField) : null;
+            if (id == null || id instanceof Map || id instanceof List) {
+                chunk.changed.add(i);
+                continue;
+            }
+
+            String key = idTag(id.toString());
+            long hash = keyedHash(key, mix(contentHash(record, 0) ^ salt));
+            chunk.ids[i] = key;
+            chunk.hashes[i] = hash;
+            byte[] stored = records.get(key);
+            if (stored != null && stored.length >= HASH_BYTES && storedHash(stored) == hash) {
+                chunk.outputs.set(i, read(stored));
+            } else {
+                chunk.changed.add(i);
+            }
+        }
+        if (seen != null) {
+            synchronized (seen) {
+                for (String id : chunk.ids) {
+                    if (id != null) {
+                        seen.increment(idHash(id));
+                    }
+                }
+            }
+        }
+        reused.add(input.size() - chunk.changed.size());
+        changed.add(chunk.changed.size());
+        return chunk;
+    }
+
+    public long getReused() {
+        return reused.sum();
+    }
+
+    public long getChanged() {
+        return changed.sum();
+    }
+
+    /**
+     * Makes the outputs stored so far durable; with pruning enabled, first removes records this run did not see
+     *
+     * @param complete Whether the run saw all of its input; pruning is skipped otherwise
+     * @return The number of pruned records
+     */
+    public long commit(boolean complete) {
+        long pruned = 0;
+        if (seen != null && complete) {
+            Iterator<String> keys = records.keyIterator(null);
+            while (keys.hasNext()) {
+                String key = keys.next();
+                if (seen.get(idHash(key)) == 0) {
+                    records.remove(key);
+                    pruned++;
+                }
+            }
+        }
+        store.commit();
+        return pruned;
+    }
+
+    /**
+     * Hashes a parsed JSON value; map entries are combined by addition so key order does not matter,
+     * and scalars include their type so 1, 1.0 and "1" differ
+     */
+    private static long contentHash(Object value, long depth) {
+        if (value instanceof Map<?, ?> map) {
+            long sum = 0x4d41500000000000L + map.size();
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                sum += mix(textHash(String.valueOf(entry.getKey()), depth) * 31 + contentHash(entry.getValue(), depth + 1));
+            }
+            return mix(sum + depth);
+        }
+        if (value instanceof List<?> list) {
+            long hash = 0x4c49535400000000L + list.size();
+            for (Object item : list) {
+                hash = mix(hash * 31 + contentHash(item, depth + 1));
+            }
+            return hash;
+        }
+        if (value == null) {
+            return mix(0x4e554c4c00000000L + depth);
+        }
+        return mix(textHash(value.toString(), depth) ^ value.getClass().getName().hashCode());
+    }
+
+    private static long textHash(String text, long seed) {
+        long hash = 0xcbf29ce484222325L ^ seed;
+        for (int i = 0; i < text.length(); i++) {
+            hash = (hash ^ text.charAt(i)) * 0x100000001b3L;
+        }
+        return mix(hash ^ text.length());
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        return hash ^ hash >>> 33;
+    }
+
+    private static long storedHash(byte[] stored) {
+        long hash = 0;
+        for (int i = 0; i < HASH_BYTES; i++) {
+            hash = hash << 8 | (stored[i] & 0xFF);
+        }
+        return hash;
+    }
+
+    private Map<String, Object> read(byte[] stored) {
+        try {
+            return objectMapper.readValue(stored, HASH_BYTES, stored.length - HASH_BYTES, RECORD_TYPE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String idTag(String id) {
+        byte[] input = ("delta-id|" + id).getBytes(StandardCharsets.UTF_8);
+        byte[] tag = keyVersion != null ? keyRing.hmac(keyVersion, input) : sha256(input);
+        return HexFormat.of().formatHex(tag, 0, ID_TAG_BYTES);
+    }
+
+    /**
+     * Binds the content hash to the key and the record, so a stored hash cannot be matched against
+     * hashes of guessed records
+     */
+    private long keyedHash(String idTag, long hash) {
+        if (keyVersion == null) {
+            return hash;
+        }
+        byte[] input = ("delta-content|" + idTag + "|" + hash).getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.wrap(keyRing.hmac(keyVersion, input)).getLong();
+    }
+
+    private static byte[] sha256(byte[] input) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(input);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm not available", e);
+        }
+    }
+
+    private static long idHash(String id) {
+        // The seen set takes non-negative keys
+        return textHash(id, 0) >>> 1;
+    }
+
+    /**
+     * A chunk split into reused outputs and the records still to anonymize
+     */
+    public final class Chunk {
+
+        private final List<Map<String, Object>> input;
+        private final String[] ids;
+        private final long[] hashes;
+        private final List<Map<String, Object>> outputs;
+        private final List<Integer> changed = new ArrayList<>();
+
+        private Chunk(List<Map<String, Object>> input) {
+            this.input = input;
+            this.ids = new String[input.size()];
+            this.hashes = new long[input.size()];
+            this.outputs = new ArrayList<>(Collections.nCopies(input.size(), null));
+        }
+
+        /**
+         * Gets the records that must be anonymized, in input order
+         */
+        public List<Map<String, Object>> changed() {
+            return select(input);
+        }
+
+        /**
+         * Selects the entries of a list aligned with the input that belong to changed records
+         */
+        public <T> List<T> select(List<T> aligned) {
+            List<T> selected = new ArrayList<>(changed.size());
+            for (int index : changed) {
+                selected.add(aligned.get(index));
+            }
+            return selected;
+        }
+
+        public int reused() {
+            return input.size() - changed.size();
+        }
+
+        /**
+         * Stores the outputs of the changed records and combines them with the reused ones
+         *
+         * @param anonymized Outputs aligned with changed(); null entries (failed records) are not stored
+         * @return Outputs aligned with the input
+         */
+        public List<Map<String, Object>> merge(List<Map<String, Object>> anonymized) {
+            for (int c = 0; c < changed.size(); c++) {
+                int index = changed.get(c);
+                Map<String, Object> output = anonymized.get(c);
+                outputs.set(index, output);
+                if (output != null && ids[index] != null) {
+                    records.put(ids[index], entry(hashes[index], output));
+                }
+            }
+            return outputs;
+        }
+
+        private byte[] entry(long hash, Map<String, Object> output) {
+            try {
+                byte[] json = objectMapper.writeValueAsBytes(output);
+                byte[] entry = new byte[HASH_BYTES + json.length];
+                for (int i = HASH_BYTES - 1; i >= 0; i--, hash >>>= 8) {
+                    entry[i] = (byte) hash;
+                }
+                System.arraycopy(json, 0, entry, HASH_BYTES, json.length);
+                return entry;
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
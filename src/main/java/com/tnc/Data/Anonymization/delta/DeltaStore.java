@@ -0,0 +1,156 @@
+package com.tnc.Data.Anonymization.delta;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tnc.Data.Anonymization.config.DeltaConfig;
+import com.tnc.Data.Anonymization.service.impl.PseudonymKeyRing;
+import com.tnc.Data.Anonymization.tenant.TenantContext;
+import com.tnc.Data.Anonymization.tenant.TenantPolicy;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.source.ConfigurationProperty;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySource;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.context.properties.source.IterableConfigurationPropertySource;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Local store of the anonymized output of every record of previous runs, keyed by HMAC(active key, record id).
+ * Each entry holds a keyed 64-bit hash of the record's content and its anonymized JSON, compressed by
+ * H2's MVStore. Records of different settings (strategy, seed, format preservation, id field, key
+ * version, the tenant and the anonymization properties that shape outputs) live in separate maps, so
+ * changing any of them re-anonymizes everything once. The store file is opened on first use, so the
+ * web application never touches it; it holds anonymized outputs and is as sensitive as the output files.
+ * Follows SOLID principles:
+ * - Single Responsibility: Persists per-record hashes and outputs
+ */
+@Slf4j
+@Component
+public class DeltaStore {
+
+    /** Bumped when the stored layout or the content hash changes */
+    private static final int FORMAT_VERSION = 3;
+    private static final String MAP_PREFIX = "records-";
+    /** Properties that change the output of a record; operational settings and key material are left out */
+    private static final List<ConfigurationPropertyName> OUTPUT_PROPERTIES = Stream.of(
+            "anonymization.sensitive-fields", "anonymization.field-type-mapping", "anonymization.pseudonymization.mode",
+            "anonymization.partial-masking", "anonymization.date-shift", "anonymization.perturbation",
+            "anonymization.inference", "anonymization.dictionary", "anonymization.tenants", "anonymization.xml")
+        .map(ConfigurationPropertyName::of)
+        .toList();
+
+    private final DeltaConfig config;
+    private final PseudonymKeyRing keyRing;
+    private final ObjectMapper objectMapper;
+    private final Environment environment;
+    private MVStore store;
+
+    public DeltaStore(DeltaConfig config, PseudonymKeyRing keyRing, ObjectMapper objectMapper) {
+        this(config, keyRing, objectMapper, new StandardEnvironment());
+    }
+
+    @Autowired
+    public DeltaStore(DeltaConfig config, PseudonymKeyRing keyRing, ObjectMapper objectMapper, Environment environment) {
+        this.config = config;
+        this.keyRing = keyRing;
+        this.objectMapper = objectMapper;
+        this.environment = environment;
+    }
+
+    /**
+     * Opens the records of one anonymization setting
+     *
+     * @param path Store file, or null for the configured one
+     * @param settings Options of the run that change the output of a record; the key version, tenant and
+     *                 anonymization properties are added here
+     * @param pruneUnseen Whether committing removes records the session did not see
+     */
+    public synchronized DeltaSession open(String path, String idField, String settings,
+                                          boolean pruneUnseen) throws IOException {
+        if (store == null) {
+            Path file = Path.of(path != null ? path : config.getPath()).toAbsolutePath();
+            Files.createDirectories(file.getParent());
+            store = new MVStore.Builder()
+                .fileName(file.toString())
+                .cacheSize(config.getCacheSizeMb())
+                .compress()
+                .open();
+            log.info("Delta store opened at {}", file);
+        }
+
+        String keyVersion = keyRing.getActiveVersion();
+        boolean keyed = keyRing.hasKey(keyVersion);
+        if (!keyed) {
+            log.warn("Delta store records are keyed without a pseudonymization key; "
+                     + "guessable record ids can be confirmed from the store file");
+        }
+        String fingerprint = FORMAT_VERSION + "|" + idField + "|" + settings + "|"
+                             + (keyed ? keyVersion : "unkeyed") + "|"
+                             + tenantSettings(TenantContext.current()) + "|" + digest(outputProperties());
+        MVMap<String, byte[]> records = store.openMap(MAP_PREFIX + digest(fingerprint));
+        return new DeltaSession(store, records, objectMapper, idField, keyRing, keyed ? keyVersion : null, pruneUnseen);
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (store != null) {
+            store.close();
+            store = null;
+        }
+    }
+
+    /**
+     * Lists the output-affecting anonymization properties in effect, with the precedence of the environment
+     */
+    String outputProperties() {
+        Map<String, String> properties = new TreeMap<>();
+        for (ConfigurationPropertySource source : ConfigurationPropertySources.get(environment)) {
+            if (!(source instanceof IterableConfigurationPropertySource iterable)) {
+                continue;
+            }
+            iterable.stream()
+                .filter(name -> OUTPUT_PROPERTIES.stream().anyMatch(prefix -> prefix.equals(name) || prefix.isAncestorOf(name)))
+                .forEach(name -> {
+                    ConfigurationProperty property = iterable.getConfigurationProperty(name);
+                    if (property != null) {
+                        properties.putIfAbsent(name.toString(), String.valueOf(property.getValue()));
+                    }
+                });
+        }
+        return properties.toString();
+    }
+
+    private static String tenantSettings(TenantPolicy tenant) {
+        if (tenant == null) {
+            return "untenanted";
+        }
+        return tenant.getId() + "," + tenant.getDefaultStrategy() + "," + tenant.getKeyVersion() + ","
+               + new TreeMap<>(tenant.getFieldTypes());
+    }
+
+    private static String digest(String fingerprint) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(fingerprint.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm not available", e);
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package com.tnc.Data.Anonymization.detection;
+
+import com.tnc.Data.Anonymization.config.DictionaryConfig;
+import com.tnc.Data.Anonymization.engine.AhoCorasickAutomaton;
+import com.tnc.Data.Anonymization.engine.BloomFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds known identifiers (names, account numbers, ...) from a dictionary in free text.
+ * The dictionary is compiled once into an Aho-Corasick automaton and a Bloom filter and written
+ * next to it; later starts memory-map the compiled file instead of parsing the dictionary again, so
+ * loading takes milliseconds and the structures live outside the heap. The compiled file is rebuilt
+ * when the dictionary's size or modification time, or the settings it was compiled with, no longer match
+ * the ones recorded in it. It is mapped as a single buffer, so it is limited to 2 GB.
+ * Follows SOLID principles:
+ * - Single Responsibility: Loads the dictionary and reports matches, redaction policy lives in the anonymizers
+ */
+@Slf4j
+@Component
+public class DictionaryDetector implements MeterBinder {
+
+    private static final int MAGIC = 0x44494354; // "DICT"
+    private static final int VERSION = 2;
+    private static final String COMPILED_SUFFIX = ".acda";
+
+    /**
+     * A term found in a text, as the range [start, end)
+     */
+    public record DictionaryMatch(int start, int end, String category) {
+    }
+
+    private final DictionaryConfig config;
+    private final AhoCorasickAutomaton automaton;
+    private final BloomFilter bloomFilter;
+    private final List<String> categories;
+    private final int entries;
+    private final long loadMillis;
+
+    public DictionaryDetector(DictionaryConfig config) {
+        this.config = config;
+        if (!config.isEnabled()) {
+            this.automaton = null;
+            this.bloomFilter = null;
+            this.categories = List.of();
+            this.entries = 0;
+            this.loadMillis = 0;
+            return;
+        }
+        if (StringUtils.isBlank(config.getPath())) {
+            throw new IllegalStateException("anonymization.dictionary.path is required when dictionary detection is enabled");
+        }
+
+        long start = System.nanoTime();
+        Path source = Path.of(config.getPath());
+        Path compiled = Path.of(StringUtils.defaultIfBlank(config.getCompiledPath(), config.getPath() + COMPILED_SUFFIX));
+        try {
+            boolean rebuilt = false;
+            if (!isCurrent(compiled, source)) {
+                compile(source, compiled);
+                rebuilt = true;
+            }
+            ByteBuffer mapped = map(compiled);
+            Header header = Header.read(mapped);
+            this.categories = header.categories();
+            this.entries = header.entries();
+            this.automaton = AhoCorasickAutomaton.readFrom(mapped);
+            this.bloomFilter = BloomFilter.readFrom(mapped);
+            this.loadMillis = (System.nanoTime() - start) / 1_000_000;
+            log.info("Dictionary {} {} in {} ms: {} terms, {} states, {} MB mapped", source,
+                     rebuilt ? "compiled" : "loaded", loadMillis, entries, automaton.getStates(),
+                     String.format("%.1f", getMemoryBytes() / (1024.0 * 1024.0)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load dictionary " + source, e);
+        }
+    }
+
+    public boolean isEnabled() {
+        return automaton != null;
+    }
+
+    /**
+     * Finds dictionary terms in a text; overlapping terms resolve to the leftmost, then the longest
+     */
+    public List<DictionaryMatch> scan(String text) {
+        if (!isEnabled() || text == null || text.isEmpty()) {
+            return List.of();
+        }
+        if (config.isWholeWords() && isSingleToken(text)) {
+            // A single token can only match as a whole: one filter probe rules out almost every value
+            int category = lookup(text);
+            return category < 0 ? List.of() : List.of(new DictionaryMatch(0, text.length(), categories.get(category)));
+        }
+
+        List<int[]> found = new ArrayList<>();
+        automaton.scan(text, (start, end, category) -> {
+            if (!config.isWholeWords() || isBoundary(text, start - 1) && isBoundary(text, end)) {
+                found.add(new int[] {start, end, category});
+            }
+        });
+        if (found.isEmpty()) {
+            return List.of();
+        }
+
+        found.sort(Comparator.<int[]>comparingInt(match -> match[0]).thenComparingInt(match -> -match[1]));
+        List<DictionaryMatch> matches = new ArrayList<>();
+        int covered = 0;
+        for (int[] match : found) {
+            if (match[0] >= covered) {
+                matches.add(new DictionaryMatch(match[0], match[1], categories.get(match[2])));
+                covered = match[1];
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Replaces every dictionary term in a text
+     *
+     * @return The redacted text, or the text itself if it contains no term
+     */
+    public String redact(String text) {
+        List<DictionaryMatch> matches = scan(text);
+        if (matches.isEmpty()) {
+            return text;
+        }
+        StringBuilder redacted = new StringBuilder(text.length());
+        int position = 0;
+        for (DictionaryMatch match : matches) {
+            redacted.append(text, position, match.start()).append(config.getReplacement());
+            position = match.end();
+        }
+        return redacted.append(text, position, text.length()).toString();
+    }
+
+    /**
+     * Checks whether a whole value is a dictionary term
+     */
+    public boolean isKnown(String value) {
+        return isEnabled() && value != null && lookup(value) >= 0;
+    }
+
+    public int getEntries() {
+        return entries;
+    }
+
+    public long getLoadMillis() {
+        return loadMillis;
+    }
+
+    /**
+     * Gets the bytes of the mapped automaton and filter
+     */
+    public long getMemoryBytes() {
+        return isEnabled() ? automaton.memoryBytes() + bloomFilter.memoryBytes() : 0;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!isEnabled()) {
+            return;
+        }
+        Gauge.builder("anonymization.dictionary.entries", this, DictionaryDetector::getEntries)
+            .description("Terms in the detection dictionary")
+            .register(registry);
+        Gauge.builder("anonymization.dictionary.memory", this, DictionaryDetector::getMemoryBytes)
+            .description("Bytes of the mapped dictionary automaton and Bloom filter")
+            .baseUnit("bytes")
+            .register(registry);
+    }
+
+    private int lookup(String value) {
+        return bloomFilter.mightContain(value) ? automaton.match(value) : -1;
+    }
+
+    private static boolean isSingleToken(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (!Character.isLetterOrDigit(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isBoundary(String text, int index) {
+        return index < 0 || index >= text.length() || !Character.isLetterOrDigit(text.charAt(index));
+    }
+
+    private boolean isCurrent(Path compiled, Path source) throws IOException {
+        if (!Files.exists(compiled)) {
+            return false;
+        }
+        try {
+            Header header = Header.read(map(compiled));
+            return header.sourceSize() == Files.size(source)
+                && header.sourceModified() == Files.getLastModifiedTime(source).toMillis()
+                && header.caseInsensitive() == config.isCaseInsensitive()
+                && Double.compare(header.bloomFalsePositiveRate(), config.getBloomFalsePositiveRate()) == 0
+                && header.defaultCategory().equals(config.getDefaultCategory());
+        } catch (RuntimeException e) {
+            log.warn("Ignoring unreadable compiled dictionary {}: {}", compiled, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Parses the dictionary and writes the compiled file through a mapped buffer, replacing it atomically
+     */
+    private void compile(Path source, Path compiled) throws IOException {
+        long start = System.nanoTime();
+        // The filter is sized before the terms are read, so the terms are not held twice
+        long lines;
+        try (var stream = Files.lines(source, StandardCharsets.UTF_8)) {
+            lines = stream.count();
+        }
+        BloomFilter filter = BloomFilter.create(lines, config.getBloomFalsePositiveRate(), config.isCaseInsensitive());
+        Map<String, Integer> categoryIds = new LinkedHashMap<>();
+        AhoCorasickAutomaton.Builder builder = AhoCorasickAutomaton.builder(config.isCaseInsensitive());
+        try (BufferedReader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                int tab = line.indexOf('\t');
+                String category = tab < 0 ? config.getDefaultCategory() : line.substring(0, tab).trim();
+                String term = (tab < 0 ? line : line.substring(tab + 1)).trim();
+                if (!term.isEmpty()) {
+                    builder.add(term, categoryIds.computeIfAbsent(category, c -> categoryIds.size()));
+                    filter.put(term);
+                }
+            }
+        }
+
+        Header header = new Header(config.isCaseInsensitive(), config.getBloomFalsePositiveRate(),
+                                   config.getDefaultCategory(), builder.size(), Files.size(source),
+                                   Files.getLastModifiedTime(source).toMillis(), List.copyOf(categoryIds.keySet()));
+        AhoCorasickAutomaton built = builder.build();
+
+        long size = header.serializedBytes() + built.serializedBytes() + filter.serializedBytes();
+        checkMappable(size, compiled);
+        Path temporary = compiled.resolveSibling(compiled.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer target = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            header.writeTo(target);
+            built.writeTo(target);
+            filter.writeTo(target);
+            target.force();
+        }
+        Files.move(temporary, compiled, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info("Compiled {} dictionary terms into {} in {} ms", header.entries(), compiled,
+                 (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static ByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            checkMappable(channel.size(), path);
+            // The mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    /**
+     * Rejects files a single mapping cannot hold
+     */
+    private static void checkMappable(long size, Path path) {
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalStateException(String.format(
+                "Compiled dictionary %s needs %d bytes, more than the 2 GB a single mapping can hold; "
+                + "split the dictionary into smaller ones", path, size));
+        }
+    }
+
+    /**
+     * Compiled file header: the source and settings it was built from and the category names, padded to 8 bytes
+     */
+    private record Header(boolean caseInsensitive, double bloomFalsePositiveRate, String defaultCategory,
+                          int entries, long sourceSize, long sourceModified, List<String> categories) {
+
+        private static final int FIXED_BYTES = 44;
+
+        long serializedBytes() {
+            long bytes = FIXED_BYTES + Short.BYTES + defaultCategory.getBytes(StandardCharsets.UTF_8).length;
+            for (String category : categories) {
+                bytes += Short.BYTES + category.getBytes(StandardCharsets.UTF_8).length;
+            }
+            return (bytes + 7) & ~7L;
+        }
+
+        void writeTo(ByteBuffer target) {
+            ByteBuffer out = target.slice().order(ByteOrder.LITTLE_ENDIAN);
+            out.putInt(MAGIC).putInt(VERSION).putInt(caseInsensitive ? 1 : 0).putInt(entries)
+                .putLong(sourceSize).putLong(sourceModified).putDouble(bloomFalsePositiveRate);
+            putName(out, defaultCategory);
+            out.putInt(categories.size());
+            for (String category : categories) {
+                putName(out, category);
+            }
+            target.position(target.position() + (int) serializedBytes());
+        }
+
+        static Header read(ByteBuffer source) {
+            ByteBuffer in = source.slice().order(ByteOrder.LITTLE_ENDIAN);
+            if (in.getInt() != MAGIC || in.getInt() != VERSION) {
+                throw new IllegalArgumentException("Not a compiled dictionary (version " + VERSION + ")");
+            }
+            boolean caseInsensitive = in.getInt() == 1;
+            int entries = in.getInt();
+            long sourceSize = in.getLong();
+            long sourceModified = in.getLong();
+            double bloomFalsePositiveRate = in.getDouble();
+            String defaultCategory = getName(in);
+            int count = in.getInt();
+            List<String> categories = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                categories.add(getName(in));
+            }
+            Header header = new Header(caseInsensitive, bloomFalsePositiveRate, defaultCategory, entries,
+                                       sourceSize, sourceModified, List.copyOf(categories));
+            source.position(source.position() + (int) header.serializedBytes());
+            return header;
+        }
+
+        private static void putName(ByteBuffer out, String name) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            out.putShort((short) bytes.length).put(bytes);
+        }
+
+        private static String getName(ByteBuffer in) {
+            byte[] bytes = new byte[in.getShort()];
+            in.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
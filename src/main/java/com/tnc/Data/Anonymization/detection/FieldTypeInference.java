@@ -0,0 +1,157 @@
+package com.tnc.Data.Anonymization.detection;
+
+import com.tnc.Data.Anonymization.config.InferenceConfig;
+import com.tnc.Data.Anonymization.enums.DataType;
+import com.tnc.Data.Anonymization.tenant.TenantContext;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Types inferred from the values of one batch or stream, for fields whose names say nothing.
+ * The first records of the batch or stream are sampled: each scalar value of a field that classifies
+ * as UNKNOWN by name (col7, contact, ...) goes through the ValueTypeDetector, and when a sampling call
+ * returns, every field it saw is fixed to the type its samples agree on. Classification afterwards is
+ * one map lookup per field, so values are never inspected again on the hot path. Fields are keyed by
+ * name, like name-based classification; fields first appearing after the sampled records keep their
+ * name-based type.
+ * The inference is bound to the threads working on the batch, like the tenant of a request.
+ */
+public final class FieldTypeInference {
+
+    private static final ThreadLocal<FieldTypeInference> CURRENT = new ThreadLocal<>();
+
+    private final int sampleSize;
+    private final double minAgreement;
+    private final Map<String, int[]> samples = new HashMap<>();
+    private final Map<String, DataType> inferred = new ConcurrentHashMap<>();
+    private int sampledRecords;
+
+    public FieldTypeInference(int sampleSize, double minAgreement) {
+        this.sampleSize = sampleSize;
+        this.minAgreement = minAgreement;
+    }
+
+    /**
+     * Creates an inference for a new batch or stream, or null when inference is disabled
+     */
+    public static FieldTypeInference create(InferenceConfig config) {
+        return config.isEnabled() && config.getSampleSize() > 0
+            ? new FieldTypeInference(config.getSampleSize(), config.getMinAgreement()) : null;
+    }
+
+    /**
+     * Gets the inference bound to the current thread, or null
+     */
+    public static FieldTypeInference current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds an inference to the current thread; returns the previous one
+     */
+    public static FieldTypeInference attach(FieldTypeInference inference) {
+        FieldTypeInference previous = CURRENT.get();
+        if (inference == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(inference);
+        }
+        return previous;
+    }
+
+    /**
+     * Gets the type inferred for a field by the current thread's inference, or null
+     */
+    public static DataType lookup(String fieldName) {
+        FieldTypeInference inference = CURRENT.get();
+        return inference != null && fieldName != null ? inference.inferred.get(fieldName) : null;
+    }
+
+    /**
+     * Samples the leading records of a batch until sampleSize records of the batch or stream were seen,
+     * then fixes the types of the fields sampled; a no-op once enough records were sampled
+     */
+    public synchronized void sample(List<?> records) {
+        if (sampledRecords >= sampleSize || records.isEmpty()) {
+            return;
+        }
+        for (Object record : records) {
+            if (sampledRecords >= sampleSize) {
+                break;
+            }
+            if (record instanceof Map<?, ?> map) {
+                sampleMap(map);
+                sampledRecords++;
+            }
+        }
+        samples.forEach((field, counts) -> {
+            DataType type = agreedType(counts);
+            if (type != null) {
+                inferred.putIfAbsent(field, type);
+            }
+        });
+        samples.clear();
+    }
+
+    /**
+     * Checks whether the batch or stream still needs samples
+     */
+    public synchronized boolean isSampling() {
+        return sampledRecords < sampleSize;
+    }
+
+    /**
+     * Gets the inferred types by field name
+     */
+    public Map<String, DataType> getInferredTypes() {
+        return new TreeMap<>(inferred);
+    }
+
+    private void sampleMap(Map<?, ?> record) {
+        record.forEach((key, value) -> sampleValue(String.valueOf(key), value));
+    }
+
+    private void sampleValue(String fieldName, Object value) {
+        if (value instanceof Map<?, ?> map) {
+            sampleMap(map);
+        } else if (value instanceof List<?> list) {
+            for (Object item : list) {
+                sampleValue(fieldName, item);
+            }
+        } else if (!inferred.containsKey(fieldName)) {
+            int[] counts = samples.get(fieldName);
+            if (counts == null) {
+                if (TenantContext.classifyByName(fieldName) != DataType.UNKNOWN) {
+                    return;
+                }
+                // Last slot counts all non-empty samples
+                counts = new int[DataType.values().length + 1];
+                samples.put(fieldName, counts);
+            }
+            DataType detected = ValueTypeDetector.detect(value);
+            if (detected != null && counts[counts.length - 1] < sampleSize) {
+                counts[detected.ordinal()]++;
+                counts[counts.length - 1]++;
+            }
+        }
+    }
+
+    private DataType agreedType(int[] counts) {
+        int total = counts[counts.length - 1];
+        if (total == 0) {
+            return null;
+        }
+        int best = 0;
+        for (int i = 1; i < counts.length - 1; i++) {
+            if (counts[i] > counts[best]) {
+                best = i;
+            }
+        }
+        DataType type = DataType.values()[best];
+        return type != DataType.UNKNOWN && counts[best] >= minAgreement * total ? type : null;
+    }
+}
@@ -0,0 +1,106 @@
+package com.tnc.Data.Anonymization.detection;
+
+import com.tnc.Data.Anonymization.engine.DateLayout;
+import com.tnc.Data.Anonymization.enums.DataType;
+
+import java.util.regex.Pattern;
+
+/**
+ * Recognizes the DataType of a single value from its shape.
+ * Detectors are cheap on purpose (one precompiled pattern, otherwise one pass over the chars) since
+ * they run on samples while types are inferred; values they cannot tell apart from free text are UNKNOWN.
+ */
+public final class ValueTypeDetector {
+
+    private static final Pattern EMAIL = Pattern.compile("[A-Za-z0-9._%+'-]+@[A-Za-z0-9-]+(\\.[A-Za-z0-9-]+)*\\.[A-Za-z]{2,}");
+    private static final Pattern SSN = Pattern.compile("\\d{3}-\\d{2}-\\d{4}");
+    private static final Pattern NUMBER = Pattern.compile("[-+]?\\d+([.,]\\d+)?");
+
+    private static final int MAX_DATE_LENGTH = 40;
+
+    private ValueTypeDetector() {
+    }
+
+    /**
+     * Detects the type of a scalar value
+     *
+     * @return The detected type, UNKNOWN for free text, or null for values that say nothing (null, blank)
+     */
+    public static DataType detect(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Boolean) {
+            return DataType.BOOLEAN;
+        }
+        if (value instanceof Number) {
+            return DataType.NUMBER;
+        }
+        String text = value.toString().strip();
+        if (text.isEmpty()) {
+            return null;
+        }
+        if (text.equalsIgnoreCase("true") || text.equalsIgnoreCase("false")) {
+            return DataType.BOOLEAN;
+        }
+        if (text.indexOf('@') > 0) {
+            return EMAIL.matcher(text).matches() ? DataType.EMAIL : DataType.UNKNOWN;
+        }
+        if (SSN.matcher(text).matches()) {
+            return DataType.SSN;
+        }
+        // Every date layout has a digit; trying them on free text would only collect parse failures
+        if (text.length() <= MAX_DATE_LENGTH && hasDigit(text) && DateLayout.detect(text, false) != null) {
+            return DataType.DATE;
+        }
+        DataType digits = detectDigits(text);
+        if (digits != null) {
+            return digits;
+        }
+        return NUMBER.matcher(text).matches() ? DataType.NUMBER : DataType.UNKNOWN;
+    }
+
+    /**
+     * Card numbers (13-19 digits passing the Luhn check) and phone numbers (7-15 digits, written with
+     * separators or a leading +); digits alone are left to the number detector
+     */
+    private static DataType detectDigits(String text) {
+        int digits = 0;
+        int separators = 0;
+        int luhn = 0;
+        for (int i = text.length() - 1; i >= 0; i--) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                int digit = c - '0';
+                if ((digits & 1) == 1) {
+                    digit *= 2;
+                    if (digit > 9) {
+                        digit -= 9;
+                    }
+                }
+                luhn += digit;
+                digits++;
+            } else if (c == ' ' || c == '-' || c == '.' || c == '(' || c == ')' || (c == '+' && i == 0)) {
+                separators++;
+            } else {
+                return null;
+            }
+        }
+        if (digits >= 13 && digits <= 19 && luhn % 10 == 0 && text.charAt(0) != '+') {
+            return DataType.CREDIT_CARD;
+        }
+        if (digits >= 7 && digits <= 15 && separators > 0 && text.indexOf('.') < 0) {
+            return DataType.PHONE;
+        }
+        return null;
+    }
+
+    private static boolean hasDigit(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.isDigit(text.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,533 @@
+package com.tnc.Data.Anonymization.engine;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Aho-Corasick automaton over a double-array trie, finding all dictionary terms in a text in one pass.
+ * The trie is stored as base/check arrays (child of state s on code c is base[s] + c if check of that
+ * slot is s) plus failure links, output links and packed outputs, i.e. five ints per state and a char
+ * table mapping characters to dense codes; there are no node objects. All arrays are buffers, so an
+ * automaton written with writeTo can be used directly from a memory-mapped file without being rebuilt.
+ */
+public final class AhoCorasickAutomaton {
+
+    /**
+     * Receives matches in the order of their end position
+     */
+    @FunctionalInterface
+    public interface MatchHandler {
+        void onMatch(int start, int end, int category);
+    }
+
+    private static final int MAGIC = 0x41434441; // "ACDA"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final int ALPHABET_BYTES = 65_536 * Character.BYTES;
+    private static final int ROOT = 0;
+    private static final int FREE = -1;
+    private static final int MAX_TERM_LENGTH = 0xFFFF;
+    // Share of occupied slots from which the free-slot search no longer starts at the front
+    private static final double DENSE_REGION = 0.95;
+
+    private final boolean caseInsensitive;
+    private final int states;
+    private final CharBuffer alphabet;
+    private final IntBuffer base;
+    private final IntBuffer check;
+    private final IntBuffer fail;
+    private final IntBuffer output;
+    private final IntBuffer outputLink;
+
+    private AhoCorasickAutomaton(boolean caseInsensitive, int states, CharBuffer alphabet, IntBuffer base,
+                                 IntBuffer check, IntBuffer fail, IntBuffer output, IntBuffer outputLink) {
+        this.caseInsensitive = caseInsensitive;
+        this.states = states;
+        this.alphabet = alphabet;
+        this.base = base;
+        this.check = check;
+        this.fail = fail;
+        this.output = output;
+        this.outputLink = outputLink;
+    }
+
+    public static Builder builder(boolean caseInsensitive) {
+        return new Builder(caseInsensitive);
+    }
+
+    /**
+     * Reports every occurrence of every term, including overlapping ones
+     */
+    public void scan(CharSequence text, MatchHandler handler) {
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            int code = alphabet.get(fold(text.charAt(i)));
+            if (code == 0) {
+                // No term contains this character, so no match can span it
+                state = ROOT;
+                continue;
+            }
+
+            int next = transition(state, code);
+            while (next < 0 && state != ROOT) {
+                state = fail.get(state);
+                next = transition(state, code);
+            }
+            state = next < 0 ? ROOT : next;
+
+            int hit = output.get(state) != 0 ? state : outputLink.get(state);
+            while (hit != ROOT) {
+                int packed = output.get(hit);
+                handler.onMatch(i + 1 - (packed >>> 16), i + 1, (packed & 0xFFFF) - 1);
+                hit = outputLink.get(hit);
+            }
+        }
+    }
+
+    /**
+     * Looks up a whole string as a term
+     *
+     * @return The category of the term, or -1 if the string is not a term
+     */
+    public int match(CharSequence text) {
+        int state = ROOT;
+        for (int i = 0; i < text.length() && state >= 0; i++) {
+            int code = alphabet.get(fold(text.charAt(i)));
+            state = code == 0 ? -1 : transition(state, code);
+        }
+        return state > ROOT && output.get(state) != 0 ? (output.get(state) & 0xFFFF) - 1 : -1;
+    }
+
+    public int getStates() {
+        return states;
+    }
+
+    public boolean isCaseInsensitive() {
+        return caseInsensitive;
+    }
+
+    /**
+     * Gets the bytes held by the automaton's arrays, on the heap or mapped
+     */
+    public long memoryBytes() {
+        return ALPHABET_BYTES + 5L * states * Integer.BYTES;
+    }
+
+    /**
+     * Gets the number of bytes written by writeTo
+     */
+    public long serializedBytes() {
+        // Padded so that a section following the automaton stays 8-byte aligned
+        return (HEADER_BYTES + memoryBytes() + 7) & ~7L;
+    }
+
+    /**
+     * Writes the automaton at the buffer's position in little-endian order
+     */
+    public void writeTo(ByteBuffer target) {
+        ByteBuffer out = target.slice().order(ByteOrder.LITTLE_ENDIAN);
+        out.putInt(MAGIC).putInt(VERSION).putInt(caseInsensitive ? 1 : 0).putInt(states);
+        out.position(HEADER_BYTES);
+        for (int i = 0; i < 65_536; i++) {
+            out.putChar(alphabet.get(i));
+        }
+        for (IntBuffer array : List.of(base, check, fail, output, outputLink)) {
+            for (int i = 0; i < states; i++) {
+                out.putInt(array.get(i));
+            }
+        }
+        target.position(target.position() + (int) serializedBytes());
+    }
+
+    /**
+     * Reads an automaton written by writeTo without copying: the arrays are views of the buffer
+     */
+    public static AhoCorasickAutomaton readFrom(ByteBuffer source) {
+        ByteBuffer in = source.slice().order(ByteOrder.LITTLE_ENDIAN);
+        if (in.getInt(0) != MAGIC || in.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Not a compiled automaton (version " + VERSION + ")");
+        }
+        boolean caseInsensitive = in.getInt(8) == 1;
+        int states = in.getInt(12);
+
+        int offset = HEADER_BYTES;
+        CharBuffer alphabet = in.slice(offset, ALPHABET_BYTES).order(ByteOrder.LITTLE_ENDIAN).asCharBuffer();
+        offset += ALPHABET_BYTES;
+        IntBuffer[] arrays = new IntBuffer[5];
+        for (int a = 0; a < arrays.length; a++) {
+            arrays[a] = in.slice(offset, states * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+            offset += states * Integer.BYTES;
+        }
+        AhoCorasickAutomaton automaton = new AhoCorasickAutomaton(caseInsensitive, states, alphabet, arrays[0],
+                                                                   arrays[1], arrays[2], arrays[3], arrays[4]);
+        source.position(source.position() + (int) automaton.serializedBytes());
+        return automaton;
+    }
+
+    private int transition(int state, int code) {
+        int next = base.get(state) + code;
+        return next < states && check.get(next) == state ? next : -1;
+    }
+
+    private char fold(char c) {
+        return caseInsensitive ? Character.toLowerCase(c) : c;
+    }
+
+    /**
+     * Collects terms and compiles them into an automaton
+     */
+    public static final class Builder {
+
+        private final boolean caseInsensitive;
+        private final List<Term> terms = new ArrayList<>();
+        private long chars;
+
+        private Builder(boolean caseInsensitive) {
+            this.caseInsensitive = caseInsensitive;
+        }
+
+        /**
+         * Adds a term; of duplicate terms the first category wins
+         *
+         * @param category Non-negative category reported with matches, below 65535
+         */
+        public Builder add(String term, int category) {
+            if (category < 0 || category >= 0xFFFF) {
+                throw new IllegalArgumentException("Category out of range: " + category);
+            }
+            if (term.isEmpty() || term.length() > MAX_TERM_LENGTH) {
+                throw new IllegalArgumentException("Term length must be between 1 and " + MAX_TERM_LENGTH);
+            }
+            terms.add(new Term(caseInsensitive ? fold(term) : term, category));
+            chars += term.length();
+            return this;
+        }
+
+        public int size() {
+            return terms.size();
+        }
+
+        public AhoCorasickAutomaton build() {
+            // Sorted terms let every trie node be a contiguous range, so no pointer trie is built first;
+            // the sort is stable, so the first of duplicate terms comes first
+            Term[] sorted = terms.toArray(new Term[0]);
+            Arrays.sort(sorted, Comparator.comparing(Term::text));
+            char[] alphabet = new char[65_536];
+            int codes = 0;
+            for (Term term : sorted) {
+                for (int i = 0; i < term.text().length(); i++) {
+                    char c = term.text().charAt(i);
+                    if (alphabet[c] == 0) {
+                        alphabet[c] = (char) ++codes;
+                    }
+                }
+            }
+            if (chars + codes + 2 > Integer.MAX_VALUE - 8) {
+                throw new IllegalStateException("Too many term characters for one automaton: " + chars);
+            }
+            // A trie never has more states than term characters plus the root
+            int capacity = (int) Math.min(Integer.MAX_VALUE - 8, chars + codes + 2);
+            return new Construction(sorted, alphabet, caseInsensitive, Math.max(capacity, 1024)).run();
+        }
+
+        /**
+         * Folds char by char, exactly as scanned text is folded, so terms and text always agree in length
+         */
+        private static String fold(String term) {
+            char[] folded = new char[term.length()];
+            for (int i = 0; i < folded.length; i++) {
+                folded[i] = Character.toLowerCase(term.charAt(i));
+            }
+            return new String(folded);
+        }
+    }
+
+    private record Term(String text, int category) {
+    }
+
+    /**
+     * Breadth-first placement of trie states into the double array. Free slots form a doubly linked
+     * list threaded through their own check (next) and base (previous) entries, so finding room for
+     * the children of a state only visits free slots. A state's failure and output links are set when
+     * it is placed: all states they depend on are shallower and were placed before.
+     */
+    private static final class Construction {
+
+        private static final int NONE = -1;
+        // Free slots a search for several children may fail on before later searches start past them
+        private static final int MAX_FAILED_SLOTS = 32;
+
+        private final Term[] terms;
+        private final char[] alphabet;
+        private final boolean caseInsensitive;
+        private int[] base;
+        private int[] check;
+        private int[] output;
+        private int[] fail;
+        private int[] outputLink;
+        private int freeHead = NONE;
+        private int freeTail = NONE;
+        private int searchHead = NONE;
+        private int size = 1;
+
+        private Construction(Term[] terms, char[] alphabet, boolean caseInsensitive, int capacity) {
+            this.terms = terms;
+            this.alphabet = alphabet;
+            this.caseInsensitive = caseInsensitive;
+            base = new int[0];
+            check = new int[0];
+            output = new int[0];
+            fail = new int[0];
+            outputLink = new int[0];
+            grow(capacity);
+            unlink(ROOT);
+            searchHead = freeHead;
+            // Never equal to a state while building
+            check[ROOT] = Integer.MAX_VALUE;
+        }
+
+        private AhoCorasickAutomaton run() {
+            IntQueue queue = new IntQueue();
+            queue.add(ROOT, 0, terms.length, 0);
+
+            IntList childCodes = new IntList();
+            IntList childLefts = new IntList();
+            int[] entry = new int[4];
+            while (queue.poll(entry)) {
+                int state = entry[0];
+                int left = entry[1];
+                int right = entry[2];
+                int depth = entry[3];
+
+                // Terms ending here sort first in the range and were recorded when the state was placed
+                while (left < right && terms[left].text().length() == depth) {
+                    left++;
+                }
+                if (left == right) {
+                    continue;
+                }
+
+                childCodes.clear();
+                childLefts.clear();
+                int previous = -1;
+                for (int i = left; i < right; i++) {
+                    int code = alphabet[terms[i].text().charAt(depth)];
+                    if (code != previous) {
+                        childCodes.add(code);
+                        childLefts.add(i);
+                        previous = code;
+                    }
+                }
+
+                int stateBase = findBase(childCodes);
+                base[state] = stateBase;
+                for (int c = 0; c < childCodes.size(); c++) {
+                    int child = stateBase + childCodes.get(c);
+                    int childRight = c + 1 < childCodes.size() ? childLefts.get(c + 1) : right;
+                    place(child, state, childCodes.get(c), terms[childLefts.get(c)], depth + 1);
+                    queue.add(child, childLefts.get(c), childRight, depth + 1);
+                }
+            }
+            return finish();
+        }
+
+        private void place(int child, int parent, int code, Term first, int depth) {
+            unlink(child);
+            check[child] = parent;
+            base[child] = 0;
+            size = Math.max(size, child + 1);
+            if (first.text().length() == depth) {
+                output[child] = depth << 16 | (first.category() + 1);
+            }
+
+            int target = ROOT;
+            if (parent != ROOT) {
+                int state = fail[parent];
+                int next = transition(state, code);
+                while (next < 0 && state != ROOT) {
+                    state = fail[state];
+                    next = transition(state, code);
+                }
+                target = next < 0 ? ROOT : next;
+            }
+            fail[child] = target;
+            outputLink[child] = output[target] != 0 ? target : outputLink[target];
+        }
+
+        /**
+         * Finds a base whose slots for all child codes are free, walking the free list. Single children
+         * fit any free slot and fill holes from the head; searches for several children start at a
+         * cursor that moves past slots they keep failing on, so those are not scanned again each time.
+         */
+        private int findBase(IntList codes) {
+            int first = codes.get(0);
+            int last = codes.get(codes.size() - 1);
+            boolean single = codes.size() == 1;
+            int slot = single ? freeHead : searchHead;
+            int failed = 0;
+            while (true) {
+                if (slot == NONE) {
+                    slot = check.length;
+                    grow(check.length + Math.max(last + 1, check.length >> 2));
+                }
+                int candidate = slot - first;
+                if (candidate > 0) {
+                    if (candidate + last >= check.length) {
+                        grow(candidate + last + 1 + (check.length >> 2));
+                    }
+                    boolean fits = true;
+                    for (int c = 1; c < codes.size() && fits; c++) {
+                        fits = check[candidate + codes.get(c)] < 0;
+                    }
+                    if (fits) {
+                        return candidate;
+                    }
+                }
+                if (!single && ++failed == MAX_FAILED_SLOTS) {
+                    searchHead = slot;
+                }
+                slot = decode(check[slot]);
+            }
+        }
+
+        private void grow(int capacity) {
+            int previous = check.length;
+            base = Arrays.copyOf(base, capacity);
+            check = Arrays.copyOf(check, capacity);
+            output = Arrays.copyOf(output, capacity);
+            fail = Arrays.copyOf(fail, capacity);
+            outputLink = Arrays.copyOf(outputLink, capacity);
+            if (searchHead == NONE) {
+                searchHead = previous;
+            }
+            for (int i = previous; i < capacity; i++) {
+                check[i] = encode(NONE);
+                base[i] = encode(freeTail);
+                if (freeTail == NONE) {
+                    freeHead = i;
+                } else {
+                    check[freeTail] = encode(i);
+                }
+                freeTail = i;
+            }
+        }
+
+        private void unlink(int slot) {
+            int next = decode(check[slot]);
+            int previous = decode(base[slot]);
+            if (slot == searchHead) {
+                searchHead = next;
+            }
+            if (previous == NONE) {
+                freeHead = next;
+            } else {
+                check[previous] = encode(next);
+            }
+            if (next == NONE) {
+                freeTail = previous;
+            } else {
+                base[next] = encode(previous);
+            }
+        }
+
+        private AhoCorasickAutomaton finish() {
+            // Unused slots get FREE as their parent, which never equals a state; neither may the root's
+            for (int i = 0; i < size; i++) {
+                if (check[i] < 0) {
+                    check[i] = FREE;
+                    base[i] = 0;
+                }
+            }
+            check[ROOT] = FREE;
+            return new AhoCorasickAutomaton(caseInsensitive, size, CharBuffer.wrap(alphabet), trim(base), trim(check),
+                                            trim(fail), trim(output), trim(outputLink));
+        }
+
+        private IntBuffer trim(int[] array) {
+            return IntBuffer.wrap(array, 0, size).slice();
+        }
+
+        private int transition(int state, int code) {
+            int next = base[state] + code;
+            return next < check.length && check[next] == state ? next : -1;
+        }
+
+        // Free slots hold negative links: slot i is stored as -i - 2, so NONE is stored as -1
+        private static int encode(int slot) {
+            return -slot - 2;
+        }
+
+        private static int decode(int link) {
+            return -link - 2;
+        }
+    }
+
+    /**
+     * Growable int array used during construction
+     */
+    private static final class IntList {
+        private int[] values = new int[16];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size + (size >> 1));
+            }
+            values[size++] = value;
+        }
+
+        int get(int index) {
+            return values[index];
+        }
+
+        int size() {
+            return size;
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+
+    /**
+     * Growable ring of four-int entries: the breadth-first frontier, never the whole trie
+     */
+    private static final class IntQueue {
+        private int[] values = new int[4 * 64];
+        private int head;
+        private int size;
+
+        void add(int a, int b, int c, int d) {
+            if (size == values.length) {
+                int[] grown = new int[values.length * 2];
+                int tail = values.length - head;
+                System.arraycopy(values, head, grown, 0, tail);
+                System.arraycopy(values, 0, grown, tail, head);
+                values = grown;
+                head = 0;
+            }
+            int at = (head + size) % values.length;
+            values[at] = a;
+            values[at + 1] = b;
+            values[at + 2] = c;
+            values[at + 3] = d;
+            size += 4;
+        }
+
+        boolean poll(int[] entry) {
+            if (size == 0) {
+                return false;
+            }
+            System.arraycopy(values, head, entry, 0, 4);
+            head = (head + 4) % values.length;
+            size -= 4;
+            return true;
+        }
+    }
+}
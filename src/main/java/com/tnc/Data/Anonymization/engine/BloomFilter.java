@@ -0,0 +1,109 @@
+package com.tnc.Data.Anonymization.engine;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+
+/**
+ * Bloom filter over strings, answering "definitely absent" without touching the structure it guards.
+ * Probes use double hashing of one 64-bit hash (h1 + i * h2), and strings can be hashed case-folded
+ * so lookups need no lower-cased copy. The bit array is a buffer and can be used from a mapped file.
+ */
+public final class BloomFilter {
+
+    private static final int MAGIC = 0x424C4F4D; // "BLOM"
+    private static final int HEADER_BYTES = 16;
+
+    private final LongBuffer bits;
+    private final long bitCount;
+    private final int probes;
+    private final boolean caseInsensitive;
+
+    private BloomFilter(LongBuffer bits, int probes, boolean caseInsensitive) {
+        this.bits = bits;
+        this.bitCount = (long) bits.capacity() * Long.SIZE;
+        this.probes = probes;
+        this.caseInsensitive = caseInsensitive;
+    }
+
+    /**
+     * Creates a filter sized for a number of entries and a false positive rate
+     */
+    public static BloomFilter create(long expectedEntries, double falsePositiveRate, boolean caseInsensitive) {
+        double rate = Math.min(0.5, Math.max(1e-9, falsePositiveRate));
+        long entries = Math.max(1, expectedEntries);
+        long bitCount = (long) Math.ceil(-entries * Math.log(rate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, (bitCount + Long.SIZE - 1) / Long.SIZE);
+        int probes = Math.max(1, (int) Math.round((double) words * Long.SIZE / entries * Math.log(2)));
+        return new BloomFilter(LongBuffer.allocate(Math.max(1, words)), Math.min(probes, 16), caseInsensitive);
+    }
+
+    public void put(CharSequence value) {
+        long hash = hash(value);
+        long h2 = hash >>> 32 | 1;
+        for (int i = 0; i < probes; i++) {
+            long bit = Long.remainderUnsigned(hash + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            bits.put(word, bits.get(word) | 1L << bit);
+        }
+    }
+
+    public boolean mightContain(CharSequence value) {
+        long hash = hash(value);
+        long h2 = hash >>> 32 | 1;
+        for (int i = 0; i < probes; i++) {
+            long bit = Long.remainderUnsigned(hash + i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & 1L << bit) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long memoryBytes() {
+        return (long) bits.capacity() * Long.BYTES;
+    }
+
+    public long serializedBytes() {
+        return HEADER_BYTES + memoryBytes();
+    }
+
+    public void writeTo(ByteBuffer target) {
+        ByteBuffer out = target.slice().order(ByteOrder.LITTLE_ENDIAN);
+        out.putInt(MAGIC).putInt(probes).putInt(caseInsensitive ? 1 : 0).putInt(bits.capacity());
+        for (int i = 0; i < bits.capacity(); i++) {
+            out.putLong(bits.get(i));
+        }
+        target.position(target.position() + out.position());
+    }
+
+    /**
+     * Reads a filter written by writeTo without copying its bits
+     */
+    public static BloomFilter readFrom(ByteBuffer source) {
+        ByteBuffer in = source.slice().order(ByteOrder.LITTLE_ENDIAN);
+        if (in.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a serialized Bloom filter");
+        }
+        int words = in.getInt(12);
+        LongBuffer bits = in.slice(HEADER_BYTES, words * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+        source.position(source.position() + HEADER_BYTES + words * Long.BYTES);
+        return new BloomFilter(bits, in.getInt(4), in.getInt(8) == 1);
+    }
+
+    /**
+     * FNV-1a over the (folded) chars, finished with the MurmurHash3 mixer to spread both halves
+     */
+    private long hash(CharSequence value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            char c = caseInsensitive ? Character.toLowerCase(value.charAt(i)) : value.charAt(i);
+            hash = (hash ^ c) * 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        return hash ^ hash >>> 33;
+    }
+}
@@ -0,0 +1,66 @@
+package com.tnc.Data.Anonymization.engine;
+
+/**
+ * Count-min sketch of frequencies keyed by 64-bit hashes.
+ * Each of depth rows of width counters is indexed by double hashing of the key (h1 + row * h2), additions
+ * raise only the counters at the current minimum (conservative update) and estimates take the minimum,
+ * so an estimate never falls below the true count. Counters saturate instead of overflowing. Sketches of
+ * the same shape merge by adding counters.
+ */
+public final class CountMinSketch {
+
+    private final int depth;
+    private final int mask;
+    private final int[] counters;
+
+    /**
+     * @param width Counters per row, rounded up to a power of two
+     */
+    public CountMinSketch(int depth, int width) {
+        this.depth = Math.max(1, depth);
+        int rowWidth = Integer.highestOneBit(Math.max(2, Math.min(1 << 24, width)) * 2 - 1);
+        this.mask = rowWidth - 1;
+        this.counters = new int[this.depth * rowWidth];
+    }
+
+    public void add(long hash) {
+        int estimate = estimate(hash);
+        if (estimate == Integer.MAX_VALUE) {
+            return;
+        }
+        long h2 = hash >>> 32 | 1;
+        for (int row = 0; row < depth; row++) {
+            int index = index(row, hash + row * h2);
+            if (counters[index] == estimate) {
+                counters[index] = estimate + 1;
+            }
+        }
+    }
+
+    public int estimate(long hash) {
+        long h2 = hash >>> 32 | 1;
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters[index(row, hash + row * h2)]);
+        }
+        return min;
+    }
+
+    public void merge(CountMinSketch other) {
+        if (other.depth != depth || other.mask != mask) {
+            throw new IllegalArgumentException("Cannot merge count-min sketches of different shapes");
+        }
+        for (int i = 0; i < counters.length; i++) {
+            long sum = (long) counters[i] + other.counters[i];
+            counters[i] = (int) Math.min(Integer.MAX_VALUE, sum);
+        }
+    }
+
+    public long memoryBytes() {
+        return (long) counters.length * Integer.BYTES;
+    }
+
+    private int index(int row, long hash) {
+        return row * (mask + 1) + (int) (hash & mask);
+    }
+}
@@ -0,0 +1,241 @@
+package com.tnc.Data.Anonymization.engine;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.ResolverStyle;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.Temporal;
+import java.time.temporal.TemporalQuery;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Text layout of a date value, detected once per field and reused to shift further values.
+ * ISO dates and date-times are shifted on their yyyy-MM-dd prefix without a formatter (the time,
+ * fraction and offset are copied as they are), epoch seconds and milliseconds by arithmetic, and
+ * the remaining layouts through a compiled, strict DateTimeFormatter that also writes the result,
+ * so shifted values keep the exact layout of the input.
+ */
+public final class DateLayout {
+
+    private static final long SECONDS_PER_DAY = 86_400L;
+    private static final long MILLIS_PER_DAY = SECONDS_PER_DAY * 1_000L;
+
+    public static final DateLayout ISO = new DateLayout(Kind.ISO_PREFIX, "uuuu-MM-dd[...]", null, null);
+    public static final DateLayout EPOCH_SECONDS = new DateLayout(Kind.EPOCH_SECONDS, "epoch-seconds", null, null);
+    public static final DateLayout EPOCH_MILLIS = new DateLayout(Kind.EPOCH_MILLIS, "epoch-millis", null, null);
+
+    // Ordered from most to least specific; month-first wins over day-first for ambiguous slashes
+    private static final List<DateLayout> TEXT_LAYOUTS = List.of(
+        formatter("MM/dd/uuuu HH:mm:ss", LocalDateTime::from),
+        formatter("MM/dd/uuuu HH:mm", LocalDateTime::from),
+        formatter("MM/dd/uuuu", LocalDate::from),
+        formatter("M/d/uuuu", LocalDate::from),
+        formatter("dd/MM/uuuu", LocalDate::from),
+        formatter("dd.MM.uuuu HH:mm:ss", LocalDateTime::from),
+        formatter("dd.MM.uuuu", LocalDate::from),
+        formatter("uuuu/MM/dd HH:mm:ss", LocalDateTime::from),
+        formatter("uuuu/MM/dd", LocalDate::from),
+        formatter("dd-MMM-uuuu", LocalDate::from),
+        formatter("d MMM uuuu", LocalDate::from),
+        formatter("d MMMM uuuu", LocalDate::from),
+        formatter("MMM d, uuuu", LocalDate::from),
+        formatter("MMMM d, uuuu", LocalDate::from),
+        formatter("EEE MMM dd HH:mm:ss zzz uuuu", ZonedDateTime::from),
+        new DateLayout(Kind.FORMATTER, "RFC-1123", DateTimeFormatter.RFC_1123_DATE_TIME, OffsetDateTime::from)
+    );
+    private static final DateLayout BASIC_ISO = formatter("uuuuMMdd", LocalDate::from);
+
+    private enum Kind { ISO_PREFIX, EPOCH_SECONDS, EPOCH_MILLIS, FORMATTER }
+
+    private final Kind kind;
+    private final String pattern;
+    private final DateTimeFormatter formatter;
+    private final TemporalQuery<? extends Temporal> query;
+
+    private DateLayout(Kind kind, String pattern, DateTimeFormatter formatter, TemporalQuery<? extends Temporal> query) {
+        this.kind = kind;
+        this.pattern = pattern;
+        this.formatter = formatter;
+        this.query = query;
+    }
+
+    private static DateLayout formatter(String pattern, TemporalQuery<? extends Temporal> query) {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern, Locale.ENGLISH)
+            .withResolverStyle(ResolverStyle.STRICT);
+        return new DateLayout(Kind.FORMATTER, pattern, formatter, query);
+    }
+
+    /**
+     * Detects the layout of a date string
+     *
+     * @param text The value to inspect
+     * @param allowNumeric Whether all-digit values (yyyyMMdd, epoch seconds or millis) count as dates;
+     *                     only sensible for fields already known to hold dates
+     * @return The layout, or null if the value is not a recognized date
+     */
+    public static DateLayout detect(String text, boolean allowNumeric) {
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+        if (hasIsoDatePrefix(text)) {
+            return ISO.shift(text, 0) != null ? ISO : null;
+        }
+        if (isDigits(text)) {
+            if (!allowNumeric) {
+                return null;
+            }
+            if (text.length() == 8 && BASIC_ISO.shift(text, 0) != null) {
+                return BASIC_ISO;
+            }
+            return text.length() >= 12 ? EPOCH_MILLIS : EPOCH_SECONDS;
+        }
+        for (DateLayout layout : TEXT_LAYOUTS) {
+            if (layout.shift(text, 0) != null) {
+                return layout;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether another layout reads the value as a different date, e.g. 03/04/2024 month- or day-first;
+     * detection picks one of them, which should not decide the layout of further values
+     */
+    public boolean isAmbiguous(String text) {
+        if (kind != Kind.FORMATTER) {
+            return false;
+        }
+        Temporal parsed = parse(text);
+        for (DateLayout other : TEXT_LAYOUTS) {
+            if (other != this) {
+                Temporal alternative = other.parse(text);
+                if (alternative != null && !alternative.equals(parsed)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Shifts a value of this layout by a number of days, keeping the layout
+     *
+     * @return The shifted value, or null if the value does not have this layout
+     */
+    public String shift(String text, long days) {
+        return switch (kind) {
+            case ISO_PREFIX -> shiftIsoPrefix(text, days);
+            case EPOCH_SECONDS -> shiftEpoch(text, days * SECONDS_PER_DAY);
+            case EPOCH_MILLIS -> shiftEpoch(text, days * MILLIS_PER_DAY);
+            case FORMATTER -> shiftFormatted(text, days);
+        };
+    }
+
+    /**
+     * Shifts epoch seconds or milliseconds held in a number; values from 10^11 on are taken as milliseconds
+     */
+    public static long shiftEpoch(long epoch, long days) {
+        return epoch + days * (Math.abs(epoch) >= 100_000_000_000L ? MILLIS_PER_DAY : SECONDS_PER_DAY);
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    private Temporal parse(String text) {
+        try {
+            return formatter.parse(text, query);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private String shiftFormatted(String text, long days) {
+        try {
+            Temporal parsed = formatter.parse(text, query);
+            return formatter.format(parsed.plus(days, ChronoUnit.DAYS));
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private static String shiftEpoch(String text, long delta) {
+        if (!isDigits(text) || text.length() > 18) {
+            return null;
+        }
+        return Long.toString(Long.parseLong(text) + delta);
+    }
+
+    /**
+     * Shifts the yyyy-MM-dd prefix arithmetically and copies the rest of the value
+     */
+    private static String shiftIsoPrefix(String text, long days) {
+        if (!hasIsoDatePrefix(text)) {
+            return null;
+        }
+        LocalDate date;
+        try {
+            date = LocalDate.of(digits(text, 0, 4), digits(text, 5, 2), digits(text, 8, 2)).plusDays(days);
+        } catch (DateTimeException e) {
+            return null;
+        }
+        if (date.getYear() < 0 || date.getYear() > 9999) {
+            return null;
+        }
+
+        char[] shifted = text.toCharArray();
+        write(shifted, 0, 4, date.getYear());
+        write(shifted, 5, 2, date.getMonthValue());
+        write(shifted, 8, 2, date.getDayOfMonth());
+        return new String(shifted);
+    }
+
+    /**
+     * Checks whether the text starts with yyyy-MM-dd followed by its end, 'T' or a space
+     */
+    private static boolean hasIsoDatePrefix(String text) {
+        if (text.length() < 10 || text.charAt(4) != '-' || text.charAt(7) != '-'
+                || (text.length() > 10 && text.charAt(10) != 'T' && text.charAt(10) != ' ')) {
+            return false;
+        }
+        for (int i = 0; i < 10; i++) {
+            if (i != 4 && i != 7 && !isDigit(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int digits(String text, int from, int length) {
+        int value = 0;
+        for (int i = from; i < from + length; i++) {
+            value = value * 10 + (text.charAt(i) - '0');
+        }
+        return value;
+    }
+
+    private static void write(char[] target, int from, int length, int value) {
+        for (int i = from + length - 1; i >= from; i--) {
+            target[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private static boolean isDigits(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (!isDigit(text.charAt(i))) {
+                return false;
+            }
+        }
+        return !text.isEmpty();
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
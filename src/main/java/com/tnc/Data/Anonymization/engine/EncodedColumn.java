@@ -0,0 +1,38 @@
+package com.tnc.Data.Anonymization.engine;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionary-encoded column: one int code per row and the distinct values they refer to.
+ */
+public record EncodedColumn(int[] codes, String[] dictionary) {
+
+    /**
+     * Dictionary-encodes the given values; null is encoded like any other value
+     */
+    public static EncodedColumn encode(List<String> values) {
+        int[] codes = new int[values.size()];
+        Map<String, Integer> index = new HashMap<>();
+        List<String> dictionary = new ArrayList<>();
+
+        for (int row = 0; row < codes.length; row++) {
+            String value = values.get(row);
+            Integer code = index.get(value);
+            if (code == null) {
+                code = dictionary.size();
+                index.put(value, code);
+                dictionary.add(value);
+            }
+            codes[row] = code;
+        }
+
+        return new EncodedColumn(codes, dictionary.toArray(new String[0]));
+    }
+
+    public int rows() {
+        return codes.length;
+    }
+}
@@ -0,0 +1,49 @@
+package com.tnc.Data.Anonymization.engine;
+
+import java.util.SplittableRandom;
+
+/**
+ * Fisher-Yates shuffles of primitive index arrays.
+ * Callers permute indexes and then read their values through them, so no objects are moved while
+ * shuffling and the same permutation can be replayed from its seed.
+ */
+public final class FisherYates {
+
+    private FisherYates() {
+    }
+
+    /**
+     * Gets a uniformly random permutation of 0..size-1
+     */
+    public static int[] permutation(int size, SplittableRandom random) {
+        int[] indexes = new int[size];
+        for (int i = 0; i < size; i++) {
+            indexes[i] = i;
+        }
+        shuffle(indexes, random);
+        return indexes;
+    }
+
+    public static void shuffle(int[] indexes, SplittableRandom random) {
+        for (int i = indexes.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = indexes[i];
+            indexes[i] = indexes[j];
+            indexes[j] = swap;
+        }
+    }
+
+    /**
+     * Derives the random source of one stream (a column, a bucket) from a request seed, or a
+     * non-reproducible one without a seed
+     */
+    public static SplittableRandom random(Long seed, String stream) {
+        if (seed == null) {
+            return new SplittableRandom();
+        }
+        long mixed = seed * 0x9E3779B97F4A7C15L + stream.hashCode();
+        mixed ^= mixed >>> 33;
+        mixed *= 0xff51afd7ed558ccdL;
+        return new SplittableRandom(mixed ^ mixed >>> 33);
+    }
+}
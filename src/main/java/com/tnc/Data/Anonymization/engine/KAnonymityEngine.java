@@ -0,0 +1,320 @@
+package com.tnc.Data.Anonymization.engine;
+
+import com.tnc.Data.Anonymization.enums.GeneralizationHierarchy;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Greedy (Datafly-style) k-anonymity search over dictionary-encoded quasi-identifier columns.
+ * Hierarchies are evaluated on the distinct values of each column only, and rows are grouped by a
+ * mixed-radix long key in a dense count array or a primitive hash map, so an iteration costs one
+ * pass over int arrays, cut short once there are more classes than any k-anonymous solution allows.
+ * Columns are generalized one level at a time until every equivalence class has at least k rows,
+ * apart from a bounded fraction of outlier rows whose quasi-identifiers are suppressed.
+ */
+public final class KAnonymityEngine {
+
+    private static final long MAX_KEY_SPACE = 1L << 62;
+    private static final long DENSE_KEY_SPACE_LIMIT = 1L << 24;
+
+    private final EncodedColumn[] columns;
+    private final GeneralizationHierarchy[] hierarchies;
+    private final int rows;
+    private final List<Map<Integer, LevelMapping>> mappings = new ArrayList<>();
+
+    public KAnonymityEngine(EncodedColumn[] columns, GeneralizationHierarchy[] hierarchies) {
+        if (columns.length != hierarchies.length || columns.length == 0) {
+            throw new IllegalArgumentException("Each quasi-identifier column needs exactly one hierarchy");
+        }
+
+        this.columns = columns;
+        this.hierarchies = hierarchies;
+        this.rows = columns[0].rows();
+        for (EncodedColumn column : columns) {
+            if (column.rows() != rows) {
+                throw new IllegalArgumentException("All quasi-identifier columns must have the same number of rows");
+            }
+            mappings.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * Finds generalization levels satisfying k-anonymity within the suppression budget
+     *
+     * @param k Minimum equivalence class size
+     * @param maxSuppressionRate Fraction of rows that may be suppressed instead of generalizing further
+     * @return The chosen levels and the rows to suppress
+     */
+    public Result anonymize(int k, double maxSuppressionRate) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be at least 1");
+        }
+
+        long suppressionBudget = (long) Math.floor(maxSuppressionRate * rows);
+        int[] levels = new int[columns.length];
+
+        // A row in a small class of one column is in a small class of every combination,
+        // so single columns are first generalized with cheap array counting
+        for (int c = 0; c < columns.length; c++) {
+            while (levels[c] < hierarchies[c].getMaxLevel()
+                    && smallRowsInColumn(c, levels[c], k) > suppressionBudget) {
+                levels[c]++;
+            }
+        }
+
+        // Classes of at least k rows hold at most rows / k classes, and every small class holds a
+        // suppressed row, so a solution never has more classes than this; counting stops beyond it
+        long maxClasses = rows / k + suppressionBudget;
+
+        while (true) {
+            LevelMapping[] current = currentMappings(levels);
+            long[] radix = radix(current);
+
+            if (radix == null) {
+                generalizeWidestColumn(levels, current);
+                continue;
+            }
+
+            ClassCounts classes = countClasses(current, radix, maxClasses);
+            boolean satisfied = classes != null && smallRows(classes.counts(), k) <= suppressionBudget;
+
+            if (satisfied || !generalizeWidestColumn(levels, current)) {
+                if (classes == null) {
+                    classes = countClasses(current, radix, Long.MAX_VALUE);
+                }
+                return buildResult(levels, current, radix, classes, k);
+            }
+        }
+    }
+
+    private long smallRowsInColumn(int column, int level, int k) {
+        LevelMapping mapping = mapping(column, level);
+        int[] counts = new int[mapping.cardinality()];
+        int[] codes = columns[column].codes();
+        for (int row = 0; row < rows; row++) {
+            counts[mapping.codes()[codes[row]]]++;
+        }
+
+        long small = 0;
+        for (int count : counts) {
+            if (count < k) {
+                small += count;
+            }
+        }
+        return small;
+    }
+
+    /**
+     * Counts rows per equivalence class, or returns null once more than maxClasses classes are seen
+     */
+    private ClassCounts countClasses(LevelMapping[] current, long[] radix, long maxClasses) {
+        long keySpace = keySpace(current);
+
+        if (keySpace <= DENSE_KEY_SPACE_LIMIT && keySpace <= 4L * rows) {
+            int[] counts = new int[(int) keySpace];
+            for (int row = 0; row < rows; row++) {
+                counts[(int) rowKey(row, current, radix)]++;
+            }
+            return new ClassCounts(counts, null);
+        }
+
+        LongIntHashMap classes = new LongIntHashMap((int) Math.min(Math.min(rows, maxClasses), 1 << 24));
+        for (int row = 0; row < rows; row++) {
+            if (classes.increment(rowKey(row, current, radix)) == 1 && classes.size() > maxClasses) {
+                return null;
+            }
+        }
+        return new ClassCounts(classes.rawValues(), classes);
+    }
+
+    private long rowKey(int row, LevelMapping[] current, long[] radix) {
+        long key = 0;
+        for (int c = 0; c < columns.length; c++) {
+            key += current[c].codes()[columns[c].codes()[row]] * radix[c];
+        }
+        return key;
+    }
+
+    private static long smallRows(int[] counts, int k) {
+        long small = 0;
+        for (int count : counts) {
+            if (count > 0 && count < k) {
+                small += count;
+            }
+        }
+        return small;
+    }
+
+    /**
+     * Computes mixed-radix multipliers, or null if the combined key space does not fit in a long
+     */
+    private static long[] radix(LevelMapping[] current) {
+        long[] radix = new long[current.length];
+        long space = 1;
+        for (int c = 0; c < current.length; c++) {
+            radix[c] = space;
+            if (space > MAX_KEY_SPACE / current[c].cardinality()) {
+                return null;
+            }
+            space *= current[c].cardinality();
+        }
+        return radix;
+    }
+
+    private static long keySpace(LevelMapping[] current) {
+        long space = 1;
+        for (LevelMapping mapping : current) {
+            space *= mapping.cardinality();
+        }
+        return space;
+    }
+
+    /**
+     * Raises the level of the column with the most distinct values; false if all are fully generalized
+     */
+    private boolean generalizeWidestColumn(int[] levels, LevelMapping[] current) {
+        int widest = -1;
+        for (int c = 0; c < columns.length; c++) {
+            if (levels[c] < hierarchies[c].getMaxLevel()
+                    && (widest < 0 || current[c].cardinality() > current[widest].cardinality())) {
+                widest = c;
+            }
+        }
+
+        if (widest < 0) {
+            return false;
+        }
+        levels[widest]++;
+        return true;
+    }
+
+    private Result buildResult(int[] levels, LevelMapping[] current, long[] radix, ClassCounts classes, int k) {
+        BitSet suppressed = new BitSet(rows);
+        for (int row = 0; row < rows; row++) {
+            if (classes.get(rowKey(row, current, radix)) < k) {
+                suppressed.set(row);
+            }
+        }
+
+        int equivalenceClasses = 0;
+        int minClassSize = Integer.MAX_VALUE;
+        for (int count : classes.counts()) {
+            if (count >= k) {
+                equivalenceClasses++;
+                minClassSize = Math.min(minClassSize, count);
+            }
+        }
+
+        return new Result(levels.clone(), current, columns, suppressed, suppressed.cardinality(),
+                          equivalenceClasses, equivalenceClasses == 0 ? 0 : minClassSize);
+    }
+
+    private LevelMapping[] currentMappings(int[] levels) {
+        LevelMapping[] current = new LevelMapping[columns.length];
+        for (int c = 0; c < columns.length; c++) {
+            current[c] = mapping(c, levels[c]);
+        }
+        return current;
+    }
+
+    private LevelMapping mapping(int column, int level) {
+        return mappings.get(column).computeIfAbsent(level, l -> buildMapping(column, l));
+    }
+
+    private LevelMapping buildMapping(int column, int level) {
+        String[] dictionary = columns[column].dictionary();
+        int[] codes = new int[dictionary.length];
+        Map<String, Integer> index = new HashMap<>();
+        List<String> generalized = new ArrayList<>();
+
+        for (int i = 0; i < dictionary.length; i++) {
+            String value = hierarchies[column].generalize(dictionary[i], level);
+            Integer code = index.get(value);
+            if (code == null) {
+                code = generalized.size();
+                index.put(value, code);
+                generalized.add(value);
+            }
+            codes[i] = code;
+        }
+
+        return new LevelMapping(codes, generalized.toArray(new String[0]));
+    }
+
+    /**
+     * Row counts per class, held densely by key or in a hash map for sparse key spaces
+     */
+    private record ClassCounts(int[] counts, LongIntHashMap sparse) {
+        int get(long key) {
+            return sparse != null ? sparse.get(key) : counts[(int) key];
+        }
+    }
+
+    /**
+     * Mapping from original dictionary codes to generalized codes at one level
+     */
+    record LevelMapping(int[] codes, String[] values) {
+        int cardinality() {
+            return Math.max(1, values.length);
+        }
+    }
+
+    /**
+     * Outcome of the search: levels per column, suppressed rows and class statistics
+     */
+    public static final class Result {
+
+        private final int[] levels;
+        private final LevelMapping[] mappings;
+        private final EncodedColumn[] columns;
+        private final BitSet suppressed;
+        private final int suppressedRows;
+        private final int equivalenceClasses;
+        private final int minClassSize;
+
+        private Result(int[] levels, LevelMapping[] mappings, EncodedColumn[] columns, BitSet suppressed,
+                       int suppressedRows, int equivalenceClasses, int minClassSize) {
+            this.levels = levels;
+            this.mappings = mappings;
+            this.columns = columns;
+            this.suppressed = suppressed;
+            this.suppressedRows = suppressedRows;
+            this.equivalenceClasses = equivalenceClasses;
+            this.minClassSize = minClassSize;
+        }
+
+        /**
+         * Gets the generalized value of a quasi-identifier column for a row
+         */
+        public String value(int column, int row) {
+            if (suppressed.get(row)) {
+                return GeneralizationHierarchy.SUPPRESSED;
+            }
+            return mappings[column].values()[mappings[column].codes()[columns[column].codes()[row]]];
+        }
+
+        public int[] getLevels() {
+            return levels.clone();
+        }
+
+        public boolean isSuppressed(int row) {
+            return suppressed.get(row);
+        }
+
+        public int getSuppressedRows() {
+            return suppressedRows;
+        }
+
+        public int getEquivalenceClasses() {
+            return equivalenceClasses;
+        }
+
+        public int getMinClassSize() {
+            return minClassSize;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.tnc.Data.Anonymization.engine;
+
+import java.util.Arrays;
+
+/**
+ * Bottom-k sample of distinct 64-bit hashes: the size smallest hashes seen, kept sorted.
+ * The hashes of well-mixed keys are uniform, so the sample is a uniform sample of the distinct keys,
+ * whatever their frequencies. The threshold (largest kept hash) only decreases; a key whose hash is above
+ * it can never enter the sample again. Samples merge into the bottom-k of the union.
+ */
+public final class MinHashSample {
+
+    private final long[] hashes;
+    private int size;
+
+    public MinHashSample(int capacity) {
+        this.hashes = new long[Math.max(1, capacity)];
+    }
+
+    /**
+     * Checks whether a hash could be in the sample, i.e. is not above the threshold of a full sample
+     */
+    public boolean admits(long hash) {
+        return size < hashes.length || Long.compareUnsigned(hash, hashes[size - 1]) <= 0;
+    }
+
+    public void add(long hash) {
+        if (!admits(hash)) {
+            return;
+        }
+        int position = search(hash);
+        if (position >= 0) {
+            return;
+        }
+        int insert = -position - 1;
+        int moved = Math.min(size, hashes.length - 1) - insert;
+        if (moved > 0) {
+            System.arraycopy(hashes, insert, hashes, insert + 1, moved);
+        }
+        hashes[insert] = hash;
+        size = Math.min(size + 1, hashes.length);
+    }
+
+    public void merge(MinHashSample other) {
+        for (int i = 0; i < other.size; i++) {
+            if (!admits(other.hashes[i])) {
+                break;
+            }
+            add(other.hashes[i]);
+        }
+    }
+
+    /**
+     * Sampled hashes in ascending unsigned order
+     */
+    public long[] hashes() {
+        return Arrays.copyOf(hashes, size);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return hashes.length;
+    }
+
+    public long memoryBytes() {
+        return (long) hashes.length * Long.BYTES;
+    }
+
+    private int search(long hash) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = Long.compareUnsigned(hashes[middle], hash);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+}
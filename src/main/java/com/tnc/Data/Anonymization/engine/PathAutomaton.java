@@ -0,0 +1,254 @@
+package com.tnc.Data.Anonymization.engine;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deterministic automaton matching JSONPath-like selectors against the path of a node while a
+ * document is walked. Selectors use $ for the root, .name or ['name'] for a field, .* for any
+ * field, [*] for any list element and .. for any number of levels; list elements are transparent
+ * to field steps, so orders.id also matches orders[*].id.
+ * Selectors are compiled once by subset construction over an alphabet of the literal field names
+ * plus "any other field" and "list element"; a walk then costs one name lookup and one table read
+ * per level, and reports the state as DEAD once no selector can match below the node.
+ */
+public final class PathAutomaton {
+
+    public static final int DEAD = -1;
+
+    private static final int MAX_STATES = 10_000;
+
+    private enum Kind { FIELD, ANY_FIELD, ANY_ELEMENT }
+
+    private record Step(Kind kind, String name, boolean descendant) {
+    }
+
+    private final Map<String, Integer> symbols;
+    private final int otherField;
+    private final int element;
+    private final int[] transitions;
+    private final int[] accepted;
+    private final BitSet matchesBelow = new BitSet();
+
+    private PathAutomaton(Map<String, Integer> symbols, int[] transitions, int[] accepted) {
+        this.symbols = symbols;
+        this.otherField = symbols.size();
+        this.element = symbols.size() + 1;
+        this.transitions = transitions;
+        this.accepted = accepted;
+        for (int state = 0; state < accepted.length; state++) {
+            for (int symbol = 0; symbol <= element; symbol++) {
+                if (transitions[state * (element + 1) + symbol] != DEAD) {
+                    matchesBelow.set(state);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Compiles selectors; when several selectors match the same node, the first one listed wins
+     *
+     * @throws IllegalArgumentException if a selector is malformed or the selectors are too complex
+     */
+    public static PathAutomaton compile(List<String> selectors) {
+        List<List<Step>> paths = new ArrayList<>(selectors.size());
+        Map<String, Integer> symbols = new HashMap<>();
+        int[] offsets = new int[selectors.size() + 1];
+        for (int s = 0; s < selectors.size(); s++) {
+            List<Step> steps = parse(selectors.get(s));
+            for (Step step : steps) {
+                if (step.kind() == Kind.FIELD) {
+                    symbols.putIfAbsent(step.name(), symbols.size());
+                }
+            }
+            paths.add(steps);
+            offsets[s + 1] = offsets[s] + steps.size() + 1;
+        }
+
+        // NFA positions are (selector, steps matched), numbered through offsets
+        int symbolCount = symbols.size() + 2;
+        Map<BitSet, Integer> stateIds = new HashMap<>();
+        List<BitSet> states = new ArrayList<>();
+        Deque<Integer> pending = new ArrayDeque<>();
+        BitSet initial = new BitSet();
+        for (int s = 0; s < paths.size(); s++) {
+            initial.set(offsets[s]);
+        }
+        stateIds.put(initial, 0);
+        states.add(initial);
+        pending.add(0);
+
+        int[] transitions = new int[symbolCount * 16];
+        while (!pending.isEmpty()) {
+            int state = pending.poll();
+            BitSet positions = states.get(state);
+            for (int symbol = 0; symbol < symbolCount; symbol++) {
+                BitSet next = advance(paths, offsets, symbols, positions, symbol);
+                int target = DEAD;
+                if (!next.isEmpty()) {
+                    Integer known = stateIds.get(next);
+                    if (known == null) {
+                        if (states.size() == MAX_STATES) {
+                            throw new IllegalArgumentException("Path policies are too complex: more than "
+                                                               + MAX_STATES + " automaton states");
+                        }
+                        known = states.size();
+                        stateIds.put(next, known);
+                        states.add(next);
+                        pending.add(known);
+                    }
+                    target = known;
+                }
+                int slot = state * symbolCount + symbol;
+                if (slot >= transitions.length) {
+                    transitions = Arrays.copyOf(transitions, Math.max(slot + 1, transitions.length * 2));
+                }
+                transitions[slot] = target;
+            }
+        }
+
+        int[] accepted = new int[states.size()];
+        for (int state = 0; state < accepted.length; state++) {
+            accepted[state] = DEAD;
+            for (int s = 0; s < paths.size(); s++) {
+                if (states.get(state).get(offsets[s + 1] - 1)) {
+                    accepted[state] = s;
+                    break;
+                }
+            }
+        }
+        return new PathAutomaton(symbols, Arrays.copyOf(transitions, states.size() * symbolCount), accepted);
+    }
+
+    public int start() {
+        return 0;
+    }
+
+    /**
+     * Moves into a field of the current node
+     */
+    public int field(int state, String name) {
+        if (state == DEAD) {
+            return DEAD;
+        }
+        Integer symbol = symbols.get(name);
+        return transitions[state * (element + 1) + (symbol != null ? symbol : otherField)];
+    }
+
+    /**
+     * Moves into an element of the current list
+     */
+    public int element(int state) {
+        return state == DEAD ? DEAD : transitions[state * (element + 1) + element];
+    }
+
+    /**
+     * Gets the index of the selector matching the node, or DEAD if none does
+     */
+    public int accepted(int state) {
+        return state == DEAD ? DEAD : accepted[state];
+    }
+
+    /**
+     * Checks whether any selector can still match a node below the current one; when not, the whole
+     * subtree is governed by the selectors matched so far
+     */
+    public boolean matchesBelow(int state) {
+        return state != DEAD && matchesBelow.get(state);
+    }
+
+    public int getStates() {
+        return accepted.length;
+    }
+
+    private static BitSet advance(List<List<Step>> paths, int[] offsets, Map<String, Integer> symbols,
+                                  BitSet positions, int symbol) {
+        int otherField = symbols.size();
+        int element = otherField + 1;
+        BitSet next = new BitSet();
+        for (int s = 0; s < paths.size(); s++) {
+            List<Step> steps = paths.get(s);
+            for (int i = positions.nextSetBit(offsets[s]); i >= 0 && i < offsets[s + 1] - 1;
+                 i = positions.nextSetBit(i + 1)) {
+                Step step = steps.get(i - offsets[s]);
+                boolean matches = switch (step.kind()) {
+                    case FIELD -> symbol == symbols.get(step.name());
+                    case ANY_FIELD -> symbol != element;
+                    case ANY_ELEMENT -> symbol == element;
+                };
+                if (matches) {
+                    next.set(i + 1);
+                }
+                if (step.descendant() || (symbol == element && step.kind() != Kind.ANY_ELEMENT)) {
+                    next.set(i);
+                }
+            }
+        }
+        return next;
+    }
+
+    private static List<Step> parse(String selector) {
+        String path = selector == null ? "" : selector.strip();
+        if (path.isEmpty()) {
+            throw new IllegalArgumentException("Empty path selector");
+        }
+        List<Step> steps = new ArrayList<>();
+        int i = path.startsWith("$") ? 1 : 0;
+        boolean first = i == 0;
+        while (i < path.length()) {
+            boolean descendant = false;
+            if (path.charAt(i) == '.') {
+                descendant = path.startsWith("..", i);
+                i += descendant ? 2 : 1;
+            } else if (path.charAt(i) != '[' && !first) {
+                throw invalid(selector);
+            }
+            first = false;
+            if (i >= path.length()) {
+                throw invalid(selector);
+            }
+
+            if (path.charAt(i) == '[') {
+                int close = path.indexOf(']', i);
+                if (close < 0) {
+                    throw invalid(selector);
+                }
+                String inner = path.substring(i + 1, close).strip();
+                if (inner.equals("*")) {
+                    steps.add(new Step(Kind.ANY_ELEMENT, null, descendant));
+                } else if (inner.length() >= 2 && (inner.charAt(0) == '\'' || inner.charAt(0) == '"')
+                           && inner.charAt(inner.length() - 1) == inner.charAt(0)) {
+                    steps.add(new Step(Kind.FIELD, inner.substring(1, inner.length() - 1), descendant));
+                } else {
+                    throw new IllegalArgumentException("Unsupported path selector " + selector
+                                                       + ": only [*] and ['name'] are allowed in brackets");
+                }
+                i = close + 1;
+            } else {
+                int end = i;
+                while (end < path.length() && path.charAt(end) != '.' && path.charAt(end) != '[') {
+                    end++;
+                }
+                String name = path.substring(i, end);
+                if (name.isEmpty()) {
+                    throw invalid(selector);
+                }
+                steps.add(name.equals("*") ? new Step(Kind.ANY_FIELD, null, descendant)
+                                           : new Step(Kind.FIELD, name, descendant));
+                i = end;
+            }
+        }
+        return steps;
+    }
+
+    private static IllegalArgumentException invalid(String selector) {
+        return new IllegalArgumentException("Invalid path selector: " + selector);
+    }
+}
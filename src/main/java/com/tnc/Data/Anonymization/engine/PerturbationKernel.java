@@ -0,0 +1,32 @@
+package com.tnc.Data.Anonymization.engine;
+
+/**
+ * Perturbs primitive numeric columns in place.
+ * Noise for position i is a pure function of (seed, i), so scalar and vector implementations
+ * produce bit-identical output and a seeded run is reproducible.
+ */
+public interface PerturbationKernel {
+
+    /**
+     * Perturbs values[from, to); the noise of each element depends on seed and its absolute index
+     */
+    void perturb(double[] values, int from, int to, long seed, PerturbationParameters parameters);
+
+    /**
+     * Perturbs values[from, to) and rounds them to the integral step of the parameters
+     */
+    void perturb(long[] values, int from, int to, long seed, PerturbationParameters parameters);
+
+    /**
+     * Gets a short name of the implementation for logging
+     */
+    String name();
+
+    default void perturb(double[] values, long seed, PerturbationParameters parameters) {
+        perturb(values, 0, values.length, seed, parameters);
+    }
+
+    default void perturb(long[] values, long seed, PerturbationParameters parameters) {
+        perturb(values, 0, values.length, seed, parameters);
+    }
+}
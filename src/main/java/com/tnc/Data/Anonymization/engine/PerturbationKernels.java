@@ -0,0 +1,36 @@
+package com.tnc.Data.Anonymization.engine;
+
+/**
+ * Selects the perturbation kernel for the running JVM.
+ * The vector kernel needs the incubating jdk.incubator.vector module (--add-modules); without it,
+ * or when it fails to initialize, the scalar kernel is used.
+ */
+public final class PerturbationKernels {
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_KERNEL = "com.tnc.Data.Anonymization.engine.VectorPerturbationKernel";
+
+    private PerturbationKernels() {
+    }
+
+    /**
+     * Gets the fastest available kernel, or the scalar one when vectorization is disabled
+     */
+    public static PerturbationKernel create(boolean vectorEnabled) {
+        if (vectorEnabled && isVectorApiAvailable()) {
+            try {
+                return (PerturbationKernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError | IllegalStateException e) {
+                return new ScalarPerturbationKernel();
+            }
+        }
+        return new ScalarPerturbationKernel();
+    }
+
+    /**
+     * Checks whether the Vector API module is resolved in the boot layer
+     */
+    public static boolean isVectorApiAvailable() {
+        return ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent();
+    }
+}
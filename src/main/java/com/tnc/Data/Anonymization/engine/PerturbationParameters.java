@@ -0,0 +1,33 @@
+package com.tnc.Data.Anonymization.engine;
+
+/**
+ * Parameters of numeric perturbation: y = x * (1 + noiseRatio * u) * scale, with u uniform in [-1, 1),
+ * then rounded to a multiple of roundingStep when it is positive.
+ * Multiplicative bounded noise keeps the shape of the distribution (ordering of magnitudes, skew,
+ * zeros and signs) while no perturbed value can be traced back exactly.
+ *
+ * @param noiseRatio Maximum relative change from noise, e.g. 0.05 for +/-5%
+ * @param scale Factor applied to every value after noise
+ * @param roundingStep Granularity of the result, or 0 to keep full precision
+ */
+public record PerturbationParameters(double noiseRatio, double scale, double roundingStep) {
+
+    public PerturbationParameters {
+        if (!(noiseRatio >= 0 && noiseRatio < 1)) {
+            throw new IllegalArgumentException("Noise ratio must be in [0, 1): " + noiseRatio);
+        }
+        if (!Double.isFinite(scale)) {
+            throw new IllegalArgumentException("Scale must be finite: " + scale);
+        }
+        if (!(roundingStep >= 0) || Double.isInfinite(roundingStep)) {
+            throw new IllegalArgumentException("Rounding step must be a finite value >= 0: " + roundingStep);
+        }
+    }
+
+    /**
+     * Gets the step for integral columns, which are rounded to whole numbers at least
+     */
+    public double integralStep() {
+        return Math.max(1.0, Math.rint(roundingStep));
+    }
+}
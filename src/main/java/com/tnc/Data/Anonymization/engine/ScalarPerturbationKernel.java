@@ -0,0 +1,55 @@
+package com.tnc.Data.Anonymization.engine;
+
+/**
+ * Portable perturbation kernel, used when the Vector API is unavailable and for loop tails.
+ * Noise is SplitMix64 of seed + (i + 1) * golden ratio, mapped to [-1, 1) through its top 53 bits.
+ */
+public final class ScalarPerturbationKernel implements PerturbationKernel {
+
+    static final long GOLDEN = 0x9E3779B97F4A7C15L;
+    static final long MIX1 = 0xBF58476D1CE4E5B9L;
+    static final long MIX2 = 0x94D049BB133111EBL;
+    static final double UNIT = 0x1.0p-52;
+
+    @Override
+    public void perturb(double[] values, int from, int to, long seed, PerturbationParameters parameters) {
+        double ratio = parameters.noiseRatio();
+        double scale = parameters.scale();
+        double step = parameters.roundingStep();
+        double inverseStep = step > 0 ? 1.0 / step : 0;
+
+        for (int i = from; i < to; i++) {
+            double y = values[i] * (noise(seed, i) * ratio + 1.0) * scale;
+            values[i] = step > 0 ? Math.rint(y * inverseStep) * step : y;
+        }
+    }
+
+    @Override
+    public void perturb(long[] values, int from, int to, long seed, PerturbationParameters parameters) {
+        double ratio = parameters.noiseRatio();
+        double scale = parameters.scale();
+        double step = parameters.integralStep();
+        double inverseStep = 1.0 / step;
+
+        for (int i = from; i < to; i++) {
+            double y = (double) values[i] * (noise(seed, i) * ratio + 1.0) * scale;
+            values[i] = (long) (Math.rint(y * inverseStep) * step);
+        }
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+
+    /**
+     * Uniform noise in [-1, 1) for position i
+     */
+    static double noise(long seed, long i) {
+        long z = (i + 1) * GOLDEN + seed;
+        z = (z ^ (z >>> 30)) * MIX1;
+        z = (z ^ (z >>> 27)) * MIX2;
+        z = z ^ (z >>> 31);
+        return (double) (z >>> 11) * UNIT - 1.0;
+    }
+}
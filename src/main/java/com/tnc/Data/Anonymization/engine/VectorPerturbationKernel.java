@@ -0,0 +1,100 @@
+package com.tnc.Data.Anonymization.engine;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Perturbation kernel on the incubating Vector API; only loaded through PerturbationKernels when the
+ * jdk.incubator.vector module is present. Noise is generated in long lanes with the same SplitMix64
+ * steps as ScalarPerturbationKernel, and rint is emulated with the 2^52 trick, so results match the
+ * scalar path bit for bit.
+ */
+final class VectorPerturbationKernel implements PerturbationKernel {
+
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    private static final double TWO_POW_52 = 0x1.0p52;
+    private static final long SIGN_BIT = Long.MIN_VALUE;
+
+    private final ScalarPerturbationKernel tail = new ScalarPerturbationKernel();
+
+    VectorPerturbationKernel() {
+        if (DOUBLES.length() != LONGS.length()) {
+            throw new IllegalStateException("Double and long species differ in lane count");
+        }
+    }
+
+    @Override
+    public void perturb(double[] values, int from, int to, long seed, PerturbationParameters parameters) {
+        double ratio = parameters.noiseRatio();
+        double scale = parameters.scale();
+        double step = parameters.roundingStep();
+        double inverseStep = step > 0 ? 1.0 / step : 0;
+        int lanes = DOUBLES.length();
+        LongVector lane = LongVector.zero(LONGS).addIndex(1);
+        int i = from;
+
+        for (int upper = from + DOUBLES.loopBound(to - from); i < upper; i += lanes) {
+            DoubleVector factor = noise(lane, seed, i).mul(ratio).add(1.0);
+            DoubleVector y = DoubleVector.fromArray(DOUBLES, values, i).mul(factor).mul(scale);
+            if (step > 0) {
+                y = rint(y.mul(inverseStep)).mul(step);
+            }
+            y.intoArray(values, i);
+        }
+        tail.perturb(values, i, to, seed, parameters);
+    }
+
+    @Override
+    public void perturb(long[] values, int from, int to, long seed, PerturbationParameters parameters) {
+        double ratio = parameters.noiseRatio();
+        double scale = parameters.scale();
+        double step = parameters.integralStep();
+        double inverseStep = 1.0 / step;
+        int lanes = DOUBLES.length();
+        LongVector lane = LongVector.zero(LONGS).addIndex(1);
+        int i = from;
+
+        for (int upper = from + DOUBLES.loopBound(to - from); i < upper; i += lanes) {
+            DoubleVector factor = noise(lane, seed, i).mul(ratio).add(1.0);
+            DoubleVector x = (DoubleVector) LongVector.fromArray(LONGS, values, i).convert(VectorOperators.L2D, 0);
+            DoubleVector y = rint(x.mul(factor).mul(scale).mul(inverseStep)).mul(step);
+            ((LongVector) y.convert(VectorOperators.D2L, 0)).intoArray(values, i);
+        }
+        tail.perturb(values, i, to, seed, parameters);
+    }
+
+    @Override
+    public String name() {
+        return "vector-" + DOUBLES.vectorBitSize();
+    }
+
+    /**
+     * Uniform noise in [-1, 1) for positions i .. i + lanes - 1
+     */
+    private static DoubleVector noise(LongVector lane, long seed, int i) {
+        LongVector z = lane.add(i + 1L).mul(ScalarPerturbationKernel.GOLDEN).add(seed);
+        z = z.lanewise(VectorOperators.XOR, z.lanewise(VectorOperators.LSHR, 30)).mul(ScalarPerturbationKernel.MIX1);
+        z = z.lanewise(VectorOperators.XOR, z.lanewise(VectorOperators.LSHR, 27)).mul(ScalarPerturbationKernel.MIX2);
+        z = z.lanewise(VectorOperators.XOR, z.lanewise(VectorOperators.LSHR, 31));
+        DoubleVector unit = (DoubleVector) z.lanewise(VectorOperators.LSHR, 11).convert(VectorOperators.L2D, 0);
+        return unit.mul(ScalarPerturbationKernel.UNIT).sub(1.0);
+    }
+
+    /**
+     * Math.rint per lane: (|v| + 2^52) - 2^52 rounds half to even, then the sign of v is restored;
+     * values of magnitude 2^52 and above (and NaN) are already integral and kept as they are
+     */
+    private static DoubleVector rint(DoubleVector v) {
+        DoubleVector magnitude = v.abs();
+        VectorMask<Double> fractional = magnitude.lt(TWO_POW_52);
+        DoubleVector rounded = magnitude.add(TWO_POW_52).sub(TWO_POW_52);
+        DoubleVector signed = rounded.reinterpretAsLongs()
+            .or(v.reinterpretAsLongs().and(SIGN_BIT))
+            .reinterpretAsDoubles();
+        return v.blend(signed, fractional);
+    }
+}
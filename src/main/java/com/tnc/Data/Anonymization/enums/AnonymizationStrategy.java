@@ -8,8 +8,14 @@ public enum AnonymizationStrategy {
     
     PSEUDONYMIZATION("Consistent, reversible anonymization using SHA-256 hashing"),
     MASKING("Realistic fake data using JavaFaker library"),
+    DETERMINISTIC_MASKING("Realistic fake data derived from a keyed hash of each value, consistent across calls"),
     REDACTION("Complete removal of sensitive information"),
-    FORMAT_PRESERVING_ENCRYPTION("Maintains original data format");
+    PARTIAL_MASKING("Masks part of each value, keeping configured leading/trailing characters, separators or e-mail domain"),
+    FORMAT_PRESERVING_ENCRYPTION("Maintains original data format"),
+    GENERALIZATION("Coarsens quasi-identifiers (ZIP truncation, date to year, number to range); k-anonymity over batches"),
+    PERTURBATION("Bounded multiplicative noise, scaling and rounding of numbers, preserving their distribution"),
+    DATE_SHIFT("Shifts all dates of a subject by one keyed offset, preserving intervals and date formats"),
+    SHUFFLING("Permutes column values across the records of a batch, keeping real values and their distribution");
     
     private final String description;
     
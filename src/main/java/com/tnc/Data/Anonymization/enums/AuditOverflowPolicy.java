@@ -0,0 +1,20 @@
+package com.tnc.Data.Anonymization.enums;
+
+/**
+ * Enumeration of what audit publishers do when the audit ring buffer is full.
+ */
+public enum AuditOverflowPolicy {
+    
+    DROP("Discard the event and count it, so requests never wait for the audit writer"),
+    BLOCK("Wait until the audit writer frees a slot, so no event is lost");
+    
+    private final String description;
+    
+    AuditOverflowPolicy(String description) {
+        this.description = description;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+}
@@ -1,5 +1,7 @@
 package com.tnc.Data.Anonymization.enums;
 
+import java.util.List;
+
 /**
  * Enumeration of supported data types for anonymization.
  * Helps in applying appropriate anonymization techniques.
@@ -18,6 +20,12 @@ public enum DataType {
     ID("Identifier values"),
     BOOLEAN("Boolean values"),
     UNKNOWN("Unknown or unclassified data type");
+
+    /** English words ending in "id", rejected as the end of a concatenated name (invalid, prepaid, android) */
+    private static final List<String> ID_LOOKALIKES = List.of(
+        "paid", "said", "laid", "maid", "raid", "braid", "afraid", "plaid", "void", "droid", "valid", "acid",
+        "rapid", "vivid", "solid", "liquid", "fluid", "humid", "hybrid", "grid", "pyramid", "candid", "stupid",
+        "lucid", "squid", "timid", "rigid", "tepid", "placid", "splendid", "cupid");
     
     private final String description;
     
@@ -51,10 +59,36 @@ public enum DataType {
             return CREDIT_CARD;
         } else if (lowerField.contains("date") || lowerField.contains("birth") || lowerField.contains("dob")) {
             return DATE;
-        } else if (lowerField.contains("id") || lowerField.contains("identifier")) {
+        } else if (lowerField.contains("identifier") || lowerField.contains("uuid") || hasIdWord(fieldName, lowerField)) {
             return ID;
         }
         
         return UNKNOWN;
     }
+    
+    /**
+     * Checks for "id" as a word of the name (id, userId, USER_ID, idNumber), so that names merely
+     * containing the letters (valid, paid) are not identifiers; concatenated names (userid, CUSTOMERIDS)
+     * have no boundary, so a trailing id counts unless it ends one of the English words above
+     */
+    private static boolean hasIdWord(String fieldName, String lowerField) {
+        for (int i = lowerField.indexOf("id"); i >= 0; i = lowerField.indexOf("id", i + 1)) {
+            boolean startsWord = i == 0 || !Character.isLetter(fieldName.charAt(i - 1))
+                || (fieldName.charAt(i) == 'I' && Character.isLowerCase(fieldName.charAt(i - 1)));
+            int end = i + 2;
+            if (end < lowerField.length() && lowerField.charAt(end) == 's') {
+                end++;
+            }
+            if (startsWord && (end == fieldName.length() || !Character.isLowerCase(fieldName.charAt(end)))) {
+                return true;
+            }
+        }
+
+        String stem = lowerField.endsWith("ids") ? lowerField.substring(0, lowerField.length() - 1) : lowerField;
+        // Three letters before the suffix keep short words (kid, lid, bid) out
+        if (stem.length() < 5 || !stem.endsWith("id") || !Character.isLetter(stem.charAt(stem.length() - 3))) {
+            return false;
+        }
+        return ID_LOOKALIKES.stream().noneMatch(stem::endsWith);
+    }
 }
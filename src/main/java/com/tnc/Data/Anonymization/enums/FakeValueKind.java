@@ -0,0 +1,34 @@
+package com.tnc.Data.Anonymization.enums;
+
+/**
+ * Enumeration of the fake values MASKING can take from pre-generated pools instead of calling Faker inline.
+ */
+public enum FakeValueKind {
+    
+    FULL_NAME("First and last name"),
+    FIRST_NAME("First name"),
+    LAST_NAME("Last name"),
+    USERNAME("User name, the local part of preserved-domain emails"),
+    EMAIL("Email address"),
+    PHONE_NUMBER("Phone number in one of the locale's formats"),
+    STREET_ADDRESS("Street and house number"),
+    CITY("City"),
+    ZIP_CODE("Postal code"),
+    STATE("State or province"),
+    COUNTRY("Country"),
+    FULL_ADDRESS("Street, city, state and postal code"),
+    SSN("Valid social security number, generated by retrying regular expressions"),
+    CREDIT_CARD("Credit card number of a random issuer"),
+    ID_NUMBER("Valid ID number, generated by retrying regular expressions"),
+    WORD("Lorem word");
+    
+    private final String description;
+    
+    FakeValueKind(String description) {
+        this.description = description;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,139 @@
+package com.tnc.Data.Anonymization.enums;
+
+/**
+ * Enumeration of generalization hierarchies for quasi-identifiers.
+ * Level 0 is the original value; each higher level is coarser, and the top level suppresses the value.
+ */
+public enum GeneralizationHierarchy {
+
+    ZIP("Postal code truncation: 02139 -> 0213* -> 021** ... -> *****", 5),
+    DATE("Date to month, year, 5-year band, decade, then suppressed", 5),
+    NUMBER("Number to ranges of width 10, 100, 1000, 10000, then suppressed", 5),
+    CATEGORICAL("Category kept or suppressed", 1);
+
+    public static final String SUPPRESSED = "*";
+
+    private static final long[] NUMBER_WIDTHS = {1, 10, 100, 1_000, 10_000};
+
+    private final String description;
+    private final int maxLevel;
+
+    GeneralizationHierarchy(String description, int maxLevel) {
+        this.description = description;
+        this.maxLevel = maxLevel;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public int getMaxLevel() {
+        return maxLevel;
+    }
+
+    /**
+     * Generalizes a value to the given level of this hierarchy
+     */
+    public String generalize(String value, int level) {
+        if (value == null) {
+            return null;
+        }
+        if (level <= 0) {
+            return value;
+        }
+        if (level >= maxLevel) {
+            return this == ZIP ? SUPPRESSED.repeat(Math.max(1, value.length())) : SUPPRESSED;
+        }
+
+        return switch (this) {
+            case ZIP -> generalizeZip(value, level);
+            case DATE -> generalizeDate(value, level);
+            case NUMBER -> generalizeNumber(value, level);
+            case CATEGORICAL -> SUPPRESSED;
+        };
+    }
+
+    /**
+     * Get hierarchy from string value (case-insensitive)
+     */
+    public static GeneralizationHierarchy fromString(String hierarchy) {
+        if (hierarchy == null) {
+            throw new IllegalArgumentException("Generalization hierarchy cannot be null");
+        }
+
+        try {
+            return GeneralizationHierarchy.valueOf(hierarchy.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown generalization hierarchy: " + hierarchy);
+        }
+    }
+
+    private static String generalizeZip(String value, int level) {
+        int keep = Math.max(0, value.length() - level);
+        return value.substring(0, keep) + SUPPRESSED.repeat(value.length() - keep);
+    }
+
+    private static String generalizeDate(String value, int level) {
+        int year = extractYear(value);
+        if (year < 0) {
+            return SUPPRESSED;
+        }
+
+        return switch (level) {
+            case 1 -> {
+                int month = extractMonth(value);
+                yield month > 0 ? String.format("%04d-%02d", year, month) : String.valueOf(year);
+            }
+            case 2 -> String.valueOf(year);
+            case 3 -> band(year, 5);
+            default -> band(year, 10);
+        };
+    }
+
+    private static String generalizeNumber(String value, int level) {
+        double number;
+        try {
+            number = Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            return SUPPRESSED;
+        }
+
+        long width = NUMBER_WIDTHS[Math.min(level, NUMBER_WIDTHS.length - 1)];
+        long lower = Math.floorDiv((long) Math.floor(number), width) * width;
+        return lower + "-" + (lower + width - 1);
+    }
+
+    private static String band(int year, int width) {
+        int lower = Math.floorDiv(year, width) * width;
+        return lower + "-" + (lower + width - 1);
+    }
+
+    /**
+     * Finds the year as the first run of exactly four digits (ISO, US and European layouts)
+     */
+    private static int extractYear(String value) {
+        int run = 0;
+        for (int i = 0; i <= value.length(); i++) {
+            if (i < value.length() && Character.isDigit(value.charAt(i))) {
+                run++;
+            } else {
+                if (run == 4) {
+                    return Integer.parseInt(value.substring(i - 4, i));
+                }
+                run = 0;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Reads the month of ISO dates (yyyy-MM...); other layouts fall back to year granularity
+     */
+    private static int extractMonth(String value) {
+        if (value.length() >= 7 && value.charAt(4) == '-'
+                && Character.isDigit(value.charAt(5)) && Character.isDigit(value.charAt(6))) {
+            return Integer.parseInt(value.substring(5, 7));
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,20 @@
+package com.tnc.Data.Anonymization.enums;
+
+/**
+ * Enumeration of pseudonym derivation modes.
+ */
+public enum PseudonymizationMode {
+    
+    HASH("Unkeyed SHA-256 over value, data type and seed"),
+    HMAC("Keyed HMAC-SHA256 with versioned, rotatable keys");
+    
+    private final String description;
+    
+    PseudonymizationMode(String description) {
+        this.description = description;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+}
@@ -1,8 +1,10 @@
 package com.tnc.Data.Anonymization.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import java.util.List;
 import java.util.Map;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -31,6 +33,10 @@ public class AnonymizationRequest {
     @JsonProperty("seed")
     private Long seed; // For consistent anonymization
     
+    @Valid
+    @JsonProperty("policies")
+    private List<PathPolicy> policies; // Optional; only the selected paths are anonymized when present
+    
     public AnonymizationRequest(Map<String, Object> data, String strategy) {
         this.data = data;
         this.strategy = strategy;
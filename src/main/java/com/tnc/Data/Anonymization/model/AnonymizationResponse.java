@@ -1,6 +1,9 @@
 package com.tnc.Data.Anonymization.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.tnc.Data.Anonymization.enums.DataType;
 import java.time.LocalDateTime;
 import java.util.Map;
 import lombok.Getter;
@@ -34,6 +37,15 @@ public class AnonymizationResponse {
     @JsonProperty("fieldsProcessed")
     private int fieldsProcessed;
     
+    /** Types inferred from the values of fields with uninformative names; pin them as tenant field types */
+    @JsonProperty("inferredTypes")
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private Map<String, DataType> inferredTypes;
+    
+    /** Whether a failure was caused by the request itself (unknown or disallowed strategy, invalid policy) */
+    @JsonIgnore
+    private boolean invalidRequest;
+    
     public AnonymizationResponse(Map<String, Object> anonymizedData, String strategy, boolean success) {
         this.timestamp = LocalDateTime.now();
         this.anonymizedData = anonymizedData;
@@ -0,0 +1,26 @@
+package com.tnc.Data.Anonymization.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Request model for resolving pseudonyms back to their original values.
+ * Follows SOLID principles - Single Responsibility for request data structure.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class DetokenizationRequest {
+    
+    @NotEmpty(message = "Pseudonyms cannot be empty")
+    @JsonProperty("pseudonyms")
+    private List<String> pseudonyms;
+    
+    public DetokenizationRequest(List<String> pseudonyms) {
+        this.pseudonyms = pseudonyms;
+    }
+}
@@ -0,0 +1,41 @@
+package com.tnc.Data.Anonymization.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Response model for pseudonym resolution operations.
+ * Follows SOLID principles - Single Responsibility for response data structure.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class DetokenizationResponse {
+    
+    @JsonProperty("resolved")
+    private Map<String, String> resolved;
+    
+    @JsonProperty("unresolved")
+    private List<String> unresolved;
+    
+    @JsonProperty("timestamp")
+    private LocalDateTime timestamp;
+    
+    @JsonProperty("success")
+    private boolean success;
+    
+    @JsonProperty("message")
+    private String message;
+    
+    public DetokenizationResponse(Map<String, String> resolved, List<String> unresolved, boolean success) {
+        this.timestamp = LocalDateTime.now();
+        this.resolved = resolved;
+        this.unresolved = unresolved;
+        this.success = success;
+    }
+}
@@ -0,0 +1,39 @@
+package com.tnc.Data.Anonymization.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.tnc.Data.Anonymization.enums.DataType;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import java.util.Map;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Request model for synthetic record generation from a schema.
+ * Follows SOLID principles - Single Responsibility for request data structure.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class GenerationRequest {
+    
+    @NotEmpty(message = "Schema cannot be empty")
+    @JsonProperty("schema")
+    private Map<String, DataType> schema; // field -> data type, in output order
+    
+    @Min(value = 1, message = "Count must be at least 1")
+    @Max(value = 100_000_000, message = "Count cannot exceed 100,000,000")
+    @JsonProperty("count")
+    private long count = 1000;
+    
+    @JsonProperty("seed")
+    private Long seed; // Same seed, schema and count give the same records
+    
+    public GenerationRequest(Map<String, DataType> schema, long count, Long seed) {
+        this.schema = schema;
+        this.count = count;
+        this.seed = seed;
+    }
+}
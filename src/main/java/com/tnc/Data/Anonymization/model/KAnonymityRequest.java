@@ -0,0 +1,54 @@
+package com.tnc.Data.Anonymization.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Request model for k-anonymity generalization over a batch of records.
+ * Follows SOLID principles - Single Responsibility for request data structure.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class KAnonymityRequest {
+    
+    @NotEmpty(message = "Records cannot be empty")
+    @JsonProperty("records")
+    private List<Map<String, Object>> records;
+    
+    @NotEmpty(message = "Quasi-identifiers cannot be empty")
+    @JsonProperty("quasiIdentifiers")
+    private Map<String, String> quasiIdentifiers; // field -> ZIP, DATE, NUMBER, CATEGORICAL
+    
+    @Min(value = 2, message = "k must be at least 2")
+    @JsonProperty("k")
+    private int k = 5;
+    
+    @DecimalMin(value = "0.0", message = "Suppression rate cannot be negative")
+    @DecimalMax(value = "1.0", message = "Suppression rate cannot exceed 1.0")
+    @JsonProperty("maxSuppressionRate")
+    private double maxSuppressionRate = 0.05;
+    
+    @JsonProperty("strategy")
+    private String strategy; // Optional strategy for the remaining fields; left unchanged when absent
+    
+    @JsonProperty("preserveFormat")
+    private boolean preserveFormat = true;
+    
+    @JsonProperty("seed")
+    private Long seed;
+    
+    public KAnonymityRequest(List<Map<String, Object>> records, Map<String, String> quasiIdentifiers, int k) {
+        this.records = records;
+        this.quasiIdentifiers = quasiIdentifiers;
+        this.k = k;
+    }
+}
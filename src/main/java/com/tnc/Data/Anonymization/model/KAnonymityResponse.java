@@ -0,0 +1,53 @@
+package com.tnc.Data.Anonymization.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Response model for k-anonymity generalization.
+ * Follows SOLID principles - Single Responsibility for response data structure.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class KAnonymityResponse {
+    
+    @JsonProperty("records")
+    private List<Map<String, Object>> records;
+    
+    @JsonProperty("k")
+    private int k;
+    
+    @JsonProperty("generalizationLevels")
+    private Map<String, Integer> generalizationLevels;
+    
+    @JsonProperty("equivalenceClasses")
+    private int equivalenceClasses;
+    
+    @JsonProperty("minClassSize")
+    private int minClassSize;
+    
+    @JsonProperty("suppressedRecords")
+    private int suppressedRecords;
+    
+    @JsonProperty("timestamp")
+    private LocalDateTime timestamp;
+    
+    @JsonProperty("success")
+    private boolean success;
+    
+    @JsonProperty("message")
+    private String message;
+    
+    public KAnonymityResponse(List<Map<String, Object>> records, int k, boolean success) {
+        this.timestamp = LocalDateTime.now();
+        this.records = records;
+        this.k = k;
+        this.success = success;
+    }
+}
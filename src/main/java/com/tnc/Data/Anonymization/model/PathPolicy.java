@@ -0,0 +1,36 @@
+package com.tnc.Data.Anonymization.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Strategy for the part of a payload selected by a JSONPath-like selector.
+ * Follows SOLID principles - Single Responsibility for request data structure.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class PathPolicy {
+    
+    @NotBlank(message = "Path cannot be blank")
+    @JsonProperty("path")
+    private String path; // e.g. customer.id, notes[*], $..email, $ for the whole payload
+    
+    @JsonProperty("strategy")
+    private String strategy; // Optional; the request's strategy when absent
+    
+    @JsonProperty("preserveFormat")
+    private Boolean preserveFormat; // Optional; the request's setting when absent
+    
+    public PathPolicy(String path, String strategy) {
+        this.path = path;
+        this.strategy = strategy;
+    }
+}
@@ -0,0 +1,66 @@
+package com.tnc.Data.Anonymization.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Approximate re-identification risk of a set of anonymized records.
+ * Follows SOLID principles - Single Responsibility for risk report data structure.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class RiskReport {
+    
+    @JsonProperty("records")
+    private long records;
+    
+    @JsonProperty("quasiIdentifiers")
+    private List<String> quasiIdentifiers;
+    
+    /** Estimated distinct values per quasi-identifier and per combination, e.g. "age+zip" */
+    @JsonProperty("distinctValues")
+    private Map<String, Long> distinctValues;
+    
+    /** Estimated distinct combinations of all quasi-identifiers */
+    @JsonProperty("equivalenceClasses")
+    private long equivalenceClasses;
+    
+    /** Estimated classes of a single record, i.e. records unique on their quasi-identifiers */
+    @JsonProperty("singletonClasses")
+    private long singletonClasses;
+    
+    @JsonProperty("uniqueRecordRate")
+    private double uniqueRecordRate;
+    
+    @JsonProperty("k")
+    private int k;
+    
+    @JsonProperty("classesBelowK")
+    private long classesBelowK;
+    
+    @JsonProperty("recordsBelowK")
+    private long recordsBelowK;
+    
+    @JsonProperty("averageClassSize")
+    private double averageClassSize;
+    
+    /** Average probability of re-identifying a record known to be in the data (classes / records) */
+    @JsonProperty("averageRisk")
+    private double averageRisk;
+    
+    @JsonProperty("sampledClasses")
+    private int sampledClasses;
+    
+    /** Relative standard error of the distinct counts */
+    @JsonProperty("relativeError")
+    private double relativeError;
+    
+    @JsonProperty("memoryBytes")
+    private long memoryBytes;
+}
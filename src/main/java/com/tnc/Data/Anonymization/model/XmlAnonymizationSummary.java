@@ -0,0 +1,41 @@
+package com.tnc.Data.Anonymization.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Counters of one streamed XML document.
+ * Follows SOLID principles - Single Responsibility for XML anonymization result data.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class XmlAnonymizationSummary {
+    
+    /** Children of the root element, e.g. the messages of a dump */
+    @JsonProperty("records")
+    private long records;
+    
+    @JsonProperty("elements")
+    private long elements;
+    
+    /** Text nodes and attributes anonymized */
+    @JsonProperty("values")
+    private long values;
+    
+    @JsonProperty("bytesIn")
+    private long bytesIn;
+    
+    @JsonProperty("elapsedNanos")
+    private long elapsedNanos;
+    
+    /**
+     * Input throughput in MB/s
+     */
+    @JsonProperty("megabytesPerSecond")
+    public double getMegabytesPerSecond() {
+        return bytesIn / 1e6 / (Math.max(1, elapsedNanos) / 1e9);
+    }
+}
@@ -0,0 +1,98 @@
+package com.tnc.Data.Anonymization.monitoring;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.lang.reflect.Type;
+
+/**
+ * Times JSON binding and handler execution of profiled requests, marks the start of serialization
+ * and, when requested, adds the profile as a "profile" section of JSON responses.
+ */
+@ControllerAdvice
+public class ProfilingBodyAdvice extends RequestBodyAdviceAdapter implements ResponseBodyAdvice<Object> {
+
+    private static final String PHASE_START = ProfilingBodyAdvice.class.getName() + ".phaseStart";
+
+    private final ObjectMapper objectMapper;
+
+    public ProfilingBodyAdvice(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return RequestProfile.current() != null;
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                           Class<? extends HttpMessageConverter<?>> converterType) {
+        RequestContextHolder.currentRequestAttributes()
+            .setAttribute(PHASE_START, System.nanoTime(), RequestAttributes.SCOPE_REQUEST);
+        return inputMessage;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        RequestAttributes attributes = RequestContextHolder.currentRequestAttributes();
+        RequestProfile profile = RequestProfile.current();
+        if (attributes.getAttribute(PHASE_START, RequestAttributes.SCOPE_REQUEST) instanceof Long start && profile != null) {
+            long now = System.nanoTime();
+            profile.addPhase("bind", now - start);
+            attributes.setAttribute(PHASE_START, now, RequestAttributes.SCOPE_REQUEST);
+        }
+        return body;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return RequestProfile.current() != null;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestProfile profile = RequestProfile.current();
+        if (profile == null) {
+            return body;
+        }
+
+        long now = System.nanoTime();
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            HttpServletRequest httpRequest = servletRequest.getServletRequest();
+            if (httpRequest.getAttribute(PHASE_START) instanceof Long handlerStart) {
+                profile.addPhase("handler", now - handlerStart);
+            }
+            httpRequest.setAttribute(RequestProfilingFilter.SERIALIZE_START, now);
+        }
+
+        if (profile.isIncludeInBody() && body != null
+                && MappingJackson2HttpMessageConverter.class.isAssignableFrom(selectedConverterType)) {
+            JsonNode tree = objectMapper.valueToTree(body);
+            if (tree instanceof ObjectNode object) {
+                object.set("profile", objectMapper.valueToTree(profile.toMap()));
+                return object;
+            }
+        }
+        return body;
+    }
+}
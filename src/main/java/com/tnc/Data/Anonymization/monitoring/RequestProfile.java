@@ -0,0 +1,197 @@
+package com.tnc.Data.Anonymization.monitoring;
+
+import com.tnc.Data.Anonymization.enums.DataType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Phase timings and counters of one profiled request.
+ * The profile is bound to the request thread only when a client asks for it; the static helpers
+ * check a global count of active profiles first, so when nobody profiles, instrumented code pays a
+ * single volatile read. Phase times are inclusive and may nest (faker time is part of anonymize).
+ */
+public final class RequestProfile {
+
+    private static final ThreadLocal<RequestProfile> CURRENT = new ThreadLocal<>();
+    private static final AtomicInteger ACTIVE = new AtomicInteger();
+
+    private final boolean includeInBody;
+    private final int slowestFieldLimit;
+    private final long startNanos = System.nanoTime();
+    private final Map<String, long[]> phases = new LinkedHashMap<>();
+    private final Map<String, Long> counters = new LinkedHashMap<>();
+    private final Map<DataType, Long> fieldsByType = new EnumMap<>(DataType.class);
+    private final PriorityQueue<FieldTiming> slowestFields =
+        new PriorityQueue<>(Comparator.comparingLong(FieldTiming::nanos));
+
+    private RequestProfile(boolean includeInBody, int slowestFieldLimit) {
+        this.includeInBody = includeInBody;
+        this.slowestFieldLimit = slowestFieldLimit;
+    }
+
+    /**
+     * Starts profiling the current thread's request
+     */
+    public static RequestProfile begin(boolean includeInBody, int slowestFieldLimit) {
+        RequestProfile profile = new RequestProfile(includeInBody, slowestFieldLimit);
+        ACTIVE.incrementAndGet();
+        CURRENT.set(profile);
+        return profile;
+    }
+
+    /**
+     * Stops profiling on the current thread
+     */
+    public static void end() {
+        if (CURRENT.get() != null) {
+            CURRENT.remove();
+            ACTIVE.decrementAndGet();
+        }
+    }
+
+    /**
+     * Gets the profile of the current request, or null when it is not profiled
+     */
+    public static RequestProfile current() {
+        return ACTIVE.get() == 0 ? null : CURRENT.get();
+    }
+
+    /**
+     * Binds a profile to a worker thread running part of a profiled request; returns the previous one
+     */
+    public static RequestProfile attach(RequestProfile profile) {
+        RequestProfile previous = CURRENT.get();
+        if (profile == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(profile);
+        }
+        return previous;
+    }
+
+    /**
+     * Starts timing a phase; returns 0 when the request is not profiled
+     */
+    public static long startTimer() {
+        return current() != null ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Adds the time since startTimer to a phase; no-op when startTimer returned 0
+     */
+    public static void stopTimer(String phase, long startNanos) {
+        if (startNanos != 0L) {
+            RequestProfile profile = current();
+            if (profile != null) {
+                profile.addPhase(phase, System.nanoTime() - startNanos);
+            }
+        }
+    }
+
+    /**
+     * Increments a counter of the current request, if profiled
+     */
+    public static void count(String counter) {
+        RequestProfile profile = current();
+        if (profile != null) {
+            profile.increment(counter, 1);
+        }
+    }
+
+    public synchronized void addPhase(String phase, long nanos) {
+        long[] totals = phases.computeIfAbsent(phase, p -> new long[2]);
+        totals[0] += nanos;
+        totals[1]++;
+    }
+
+    public synchronized void increment(String counter, long amount) {
+        counters.merge(counter, amount, Long::sum);
+    }
+
+    /**
+     * Records the anonymization of values of one field
+     *
+     * @param values Number of values (1 per leaf, or the rows of a column)
+     */
+    public synchronized void recordField(String field, DataType dataType, long values, long nanos) {
+        addPhase("anonymize", nanos);
+        fieldsByType.merge(dataType, values, Long::sum);
+        if (slowestFieldLimit > 0) {
+            slowestFields.add(new FieldTiming(field, dataType, nanos));
+            if (slowestFields.size() > slowestFieldLimit) {
+                slowestFields.poll();
+            }
+        }
+    }
+
+    public boolean isIncludeInBody() {
+        return includeInBody;
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Renders the profile as a Server-Timing header value (durations in milliseconds). Slow fields are
+     * described by their data type only, so field names from the payload never reach a response header
+     */
+    public synchronized String toServerTiming() {
+        List<String> metrics = new ArrayList<>();
+        phases.forEach((phase, totals) ->
+            metrics.add(phase + ";dur=" + millis(totals[0]) + ";desc=\"" + totals[1] + "x\""));
+        counters.forEach((counter, value) -> metrics.add(counter + ";desc=\"" + value + "\""));
+        if (!fieldsByType.isEmpty()) {
+            StringBuilder types = new StringBuilder();
+            fieldsByType.forEach((type, count) -> types.append(types.isEmpty() ? "" : " ").append(type).append('=').append(count));
+            metrics.add("fields;desc=\"" + types + "\"");
+        }
+        for (FieldTiming field : sortedSlowestFields()) {
+            metrics.add("slow-field;dur=" + millis(field.nanos()) + ";desc=\"" + field.dataType().name() + "\"");
+        }
+        return String.join(", ", metrics);
+    }
+
+    /**
+     * Renders the profile as a response body section
+     */
+    public synchronized Map<String, Object> toMap() {
+        Map<String, Object> phaseSection = new LinkedHashMap<>();
+        phases.forEach((phase, totals) -> phaseSection.put(phase, Map.of("ms", Double.parseDouble(millis(totals[0])),
+                                                                         "count", totals[1])));
+        List<Map<String, Object>> slowest = new ArrayList<>();
+        for (FieldTiming field : sortedSlowestFields()) {
+            slowest.add(Map.of("field", field.field(), "type", field.dataType().name(),
+                               "ms", Double.parseDouble(millis(field.nanos()))));
+        }
+
+        Map<String, Object> section = new LinkedHashMap<>();
+        section.put("elapsedMs", Double.parseDouble(millis(elapsedNanos())));
+        section.put("phases", phaseSection);
+        section.put("counters", new LinkedHashMap<>(counters));
+        section.put("fieldsByType", new EnumMap<>(fieldsByType));
+        section.put("slowestFields", slowest);
+        return section;
+    }
+
+    private List<FieldTiming> sortedSlowestFields() {
+        List<FieldTiming> sorted = new ArrayList<>(slowestFields);
+        sorted.sort(Comparator.comparingLong(FieldTiming::nanos).reversed());
+        return sorted;
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+
+    private record FieldTiming(String field, DataType dataType, long nanos) {
+    }
+}
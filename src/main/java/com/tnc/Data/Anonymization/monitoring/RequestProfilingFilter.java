@@ -0,0 +1,71 @@
+package com.tnc.Data.Anonymization.monitoring;
+
+import com.tnc.Data.Anonymization.config.ProfilingConfig;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Profiles requests carrying the profiling header and reports the result in a Server-Timing header.
+ * The response is buffered only for profiled requests, so serialization is measured before the
+ * header is written; other requests pass straight through. Streaming endpoints are never profiled,
+ * since buffering their unbounded responses would hold them in memory whole.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 100)
+public class RequestProfilingFilter extends OncePerRequestFilter {
+
+    static final String SERIALIZE_START = RequestProfilingFilter.class.getName() + ".serializeStart";
+    private static final String API_PREFIX = "/api/v1/anonymization/";
+    private static final Set<String> STREAMING_ENDPOINTS = Set.of("generate", "anonymize-xml");
+
+    private final ProfilingConfig config;
+
+    public RequestProfilingFilter(ProfilingConfig config) {
+        this.config = config;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !config.isEnabled() || request.getHeader(config.getHeader()) == null || isStreaming(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String mode = request.getHeader(config.getHeader()).trim();
+        if (!"true".equalsIgnoreCase(mode) && !"body".equalsIgnoreCase(mode)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        RequestProfile profile = RequestProfile.begin("body".equalsIgnoreCase(mode), config.getSlowestFields());
+        ContentCachingResponseWrapper buffered = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(request, buffered);
+        } finally {
+            RequestProfile.end();
+            Object serializeStart = request.getAttribute(SERIALIZE_START);
+            if (serializeStart instanceof Long start) {
+                profile.addPhase("serialize", System.nanoTime() - start);
+            }
+            profile.addPhase("total", profile.elapsedNanos());
+            buffered.setHeader("Server-Timing", profile.toServerTiming());
+            buffered.copyBodyToResponse();
+        }
+    }
+
+    private static boolean isStreaming(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.startsWith(API_PREFIX) && STREAMING_ENDPOINTS.contains(path.substring(API_PREFIX.length()));
+    }
+}
@@ -0,0 +1,93 @@
+package com.tnc.Data.Anonymization.monitoring;
+
+import com.tnc.Data.Anonymization.config.StartupConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Logs a startup timing breakdown per phase and per bean once the application is ready.
+ * Bean times are exclusive (time spent in nested bean creation is attributed to the nested bean),
+ * so the slowest entries point at the beans that are actually expensive to build.
+ * The full timeline stays available through the actuator "startup" endpoint.
+ */
+@Slf4j
+@Component
+public class StartupTimingReporter implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final String BEAN_STEP = "spring.beans.instantiate";
+
+    private final StartupConfig config;
+
+    public StartupTimingReporter(StartupConfig config) {
+        this.config = config;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (!config.isReportEnabled()) {
+            return;
+        }
+
+        log.info("Application ready in {} ms", millis(event.getTimeTaken()));
+
+        ApplicationStartup startup = event.getApplicationContext().getApplicationStartup();
+        if (startup instanceof BufferingApplicationStartup buffering) {
+            logBreakdown(buffering.getBufferedTimeline().getEvents());
+        }
+    }
+
+    private void logBreakdown(List<StartupTimeline.TimelineEvent> events) {
+        Map<Long, Duration> childTime = new HashMap<>();
+        for (StartupTimeline.TimelineEvent event : events) {
+            Long parentId = event.getStartupStep().getParentId();
+            if (parentId != null) {
+                childTime.merge(parentId, event.getDuration(), Duration::plus);
+            }
+        }
+
+        Map<String, Duration> phases = new LinkedHashMap<>();
+        Map<String, Duration> beans = new HashMap<>();
+        for (StartupTimeline.TimelineEvent event : events) {
+            StartupStep step = event.getStartupStep();
+            if (BEAN_STEP.equals(step.getName())) {
+                Duration exclusive = event.getDuration().minus(childTime.getOrDefault(step.getId(), Duration.ZERO));
+                beans.merge(beanName(step), exclusive, Duration::plus);
+            } else {
+                phases.merge(step.getName(), event.getDuration(), Duration::plus);
+            }
+        }
+
+        phases.forEach((phase, duration) -> log.info("Startup phase {}: {} ms", phase, millis(duration)));
+
+        beans.entrySet().stream()
+            .sorted(Map.Entry.<String, Duration>comparingByValue(Comparator.reverseOrder()))
+            .limit(config.getReportTopBeans())
+            .forEach(entry -> log.info("Startup bean {}: {} ms", entry.getKey(), millis(entry.getValue())));
+    }
+
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if ("beanName".equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return "<unnamed>";
+    }
+
+    private static String millis(Duration duration) {
+        return String.format("%.1f", duration.toNanos() / 1_000_000.0);
+    }
+}
@@ -0,0 +1,38 @@
+package com.tnc.Data.Anonymization.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One anonymization API request, from the first filter to the written response.
+ * Strategy and field count are filled in once the body is bound; endpoints without a
+ * strategy (e.g. detokenize) leave them empty.
+ */
+@Name("com.tnc.anonymization.Request")
+@Label("Anonymization Request")
+@Category("Anonymization")
+@Description("An anonymization API request")
+@StackTrace(false)
+public class AnonymizationRequestEvent extends jdk.jfr.Event {
+
+    @Label("Endpoint")
+    public String endpoint;
+
+    @Label("Strategy")
+    public String strategy;
+
+    @Label("Field Count")
+    @Description("Top-level fields, records or datasets in the request")
+    public int fieldCount;
+
+    @Label("Payload Size")
+    @DataAmount
+    public long payloadBytes;
+
+    @Label("Status")
+    public int status;
+}
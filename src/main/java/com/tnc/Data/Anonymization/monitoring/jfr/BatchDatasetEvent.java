@@ -0,0 +1,35 @@
+package com.tnc.Data.Anonymization.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One dataset of a batch request. Datasets anonymized together by the columnar path share the
+ * duration of that pass; datasets retried on their own carry their own duration.
+ */
+@Name("com.tnc.anonymization.BatchDataset")
+@Label("Batch Dataset")
+@Category("Anonymization")
+@Description("A dataset anonymized as part of a batch request")
+@StackTrace(false)
+public class BatchDatasetEvent extends jdk.jfr.Event {
+
+    @Label("Dataset")
+    public String dataset;
+
+    @Label("Strategy")
+    public String strategy;
+
+    @Label("Field Count")
+    public int fieldCount;
+
+    @Label("Columnar")
+    @Description("Whether the dataset was anonymized in the shared columnar pass")
+    public boolean columnar;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,26 @@
+package com.tnc.Data.Anonymization.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Generation of one fake value. Emitted per value, so it is off unless enabled in the settings.
+ */
+@Name("com.tnc.anonymization.FakerGeneration")
+@Label("Faker Generation")
+@Category("Anonymization")
+@Description("A fake value generated with JavaFaker")
+@Enabled(false)
+@StackTrace(false)
+public class FakerGenerationEvent extends jdk.jfr.Event {
+
+    @Label("Data Type")
+    public String dataType;
+
+    @Label("Preserve Format")
+    public boolean preserveFormat;
+}
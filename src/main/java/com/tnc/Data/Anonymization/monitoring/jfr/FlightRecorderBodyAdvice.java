@@ -0,0 +1,65 @@
+package com.tnc.Data.Anonymization.monitoring.jfr;
+
+import com.tnc.Data.Anonymization.model.AnonymizationRequest;
+import com.tnc.Data.Anonymization.model.DetokenizationRequest;
+import com.tnc.Data.Anonymization.model.KAnonymityRequest;
+import com.tnc.Data.Anonymization.tenant.TenantContext;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+
+/**
+ * Fills in strategy and field count of the current AnonymizationRequestEvent from the bound body.
+ * Only requests that started an event are affected.
+ */
+@ControllerAdvice
+public class FlightRecorderBodyAdvice extends RequestBodyAdviceAdapter {
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return currentEvent() != null;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        AnonymizationRequestEvent event = currentEvent();
+        if (event == null) {
+            return body;
+        }
+
+        if (body instanceof AnonymizationRequest request) {
+            event.strategy = request.getStrategy();
+            event.fieldCount = request.getData() != null ? request.getData().size() : 0;
+        } else if (body instanceof KAnonymityRequest request) {
+            event.strategy = request.getStrategy();
+            event.fieldCount = request.getRecords() != null ? request.getRecords().size() : 0;
+        } else if (body instanceof DetokenizationRequest request) {
+            event.fieldCount = request.getPseudonyms() != null ? request.getPseudonyms().size() : 0;
+        } else if (body instanceof Map<?, ?> map && map.get("datasets") instanceof Map<?, ?> datasets) {
+            // Batch request: strategy defaults as in the controller, one field per dataset
+            event.strategy = String.valueOf(map.get("strategy") != null ? map.get("strategy") : TenantContext.defaultStrategy());
+            event.fieldCount = datasets.size();
+        } else if (body instanceof Map<?, ?> map) {
+            // Quick anonymization: the body is the data itself
+            event.strategy = TenantContext.defaultStrategy();
+            event.fieldCount = map.size();
+        }
+        return body;
+    }
+
+    private static AnonymizationRequestEvent currentEvent() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null
+            && attributes.getAttribute(FlightRecorderFilter.EVENT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+               instanceof AnonymizationRequestEvent event ? event : null;
+    }
+}
@@ -0,0 +1,178 @@
+package com.tnc.Data.Anonymization.monitoring.jfr;
+
+import com.tnc.Data.Anonymization.config.FlightRecorderConfig;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Actuator endpoint for JDK Flight Recorder recordings.
+ * GET /actuator/jfr lists the recordings of this JVM, GET /actuator/jfr/{name} dumps one of them
+ * ("snapshot" dumps the data of all running recordings), and POST / DELETE start and stop the
+ * application-managed recording, which enables the anonymization events with the configured threshold.
+ * Dumps are streamed from a temporary file that is deleted once the response is written.
+ * Dumps can carry process details, so the endpoint is not exposed over HTTP by default, and the managed
+ * recording never records the initial environment variables and system properties, whatever its settings.
+ */
+@Slf4j
+@Component
+@Endpoint(id = "jfr")
+public class FlightRecorderEndpoint implements DisposableBean {
+
+    static final String RECORDING_NAME = "anonymization";
+    private static final String SNAPSHOT = "snapshot";
+    private static final List<String> SENSITIVE_EVENTS = List.of("jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty");
+
+    private final FlightRecorderConfig config;
+    private Recording recording;
+
+    public FlightRecorderEndpoint(FlightRecorderConfig config) {
+        this.config = config;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startOnReady() {
+        if (config.isEnabled() && config.isRecordOnStartup() && FlightRecorder.isAvailable()) {
+            start();
+        }
+    }
+
+    @ReadOperation
+    public Map<String, Object> recordings() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("available", FlightRecorder.isAvailable());
+        result.put("recordings", !FlightRecorder.isAvailable() ? List.of()
+            : FlightRecorder.getFlightRecorder().getRecordings().stream().map(FlightRecorderEndpoint::describe).toList());
+        return result;
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> dump(@Selector String name) throws IOException {
+        if (!FlightRecorder.isAvailable()) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_SERVICE_UNAVAILABLE);
+        }
+
+        Path file = Files.createTempFile("anonymization-", ".jfr");
+        try {
+            if (SNAPSHOT.equals(name)) {
+                try (Recording snapshot = FlightRecorder.getFlightRecorder().takeSnapshot()) {
+                    snapshot.dump(file);
+                }
+            } else {
+                Recording source = find(name);
+                if (source == null) {
+                    Files.deleteIfExists(file);
+                    return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+                }
+                source.dump(file);
+            }
+            return new WebEndpointResponse<>(
+                new InputStreamResource(Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE)));
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    @WriteOperation
+    public synchronized Map<String, Object> start() {
+        if (recording == null) {
+            recording = new Recording(loadSettings(config.getSettings()));
+            SENSITIVE_EVENTS.forEach(recording::disable);
+            recording.setName(RECORDING_NAME);
+            recording.setToDisk(true);
+            recording.setMaxAge(config.getMaxAge());
+            recording.setMaxSize(config.getMaxSizeBytes());
+            recording.enable(AnonymizationRequestEvent.class);
+            recording.enable(BatchDatasetEvent.class);
+            recording.enable(SlowFieldEvent.class).withThreshold(config.getSlowFieldThreshold());
+            if (config.isDetailedEvents()) {
+                recording.enable(PseudonymCacheMissEvent.class);
+                recording.enable(FakerGenerationEvent.class);
+            }
+            recording.start();
+            log.info("Started flight recording '{}' (settings {}, max age {})",
+                     RECORDING_NAME, config.getSettings(), config.getMaxAge());
+        }
+        return describe(recording);
+    }
+
+    @DeleteOperation
+    public synchronized Map<String, Object> stop() {
+        if (recording == null) {
+            return Map.of("name", RECORDING_NAME, "state", "CLOSED");
+        }
+        Map<String, Object> stopped = describe(recording);
+        recording.close();
+        recording = null;
+        stopped.put("state", "CLOSED");
+        return stopped;
+    }
+
+    @Override
+    public void destroy() {
+        stop();
+    }
+
+    /**
+     * Loads a JDK settings name ("default", "profile") or a .jfc resource location ("classpath:...", "file:...").
+     */
+    private static Configuration loadSettings(String settings) {
+        try {
+            if (!settings.contains(":")) {
+                return Configuration.getConfiguration(settings);
+            }
+            try (Reader reader = new InputStreamReader(
+                    new DefaultResourceLoader().getResource(settings).getInputStream(), StandardCharsets.UTF_8)) {
+                return Configuration.create(reader);
+            }
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Unknown JFR settings: " + settings, e);
+        }
+    }
+
+    private static Recording find(String name) {
+        return FlightRecorder.getFlightRecorder().getRecordings().stream()
+            .filter(candidate -> name.equals(candidate.getName()) || name.equals(String.valueOf(candidate.getId())))
+            .findFirst()
+            .orElse(null);
+    }
+
+    private static Map<String, Object> describe(Recording recording) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("id", recording.getId());
+        description.put("name", recording.getName());
+        description.put("state", recording.getState().name());
+        description.put("startTime", recording.getStartTime());
+        description.put("maxAge", recording.getMaxAge());
+        description.put("maxSizeBytes", recording.getMaxSize());
+        description.put("sizeBytes", recording.getSize());
+        return description;
+    }
+}
@@ -0,0 +1,61 @@
+package com.tnc.Data.Anonymization.monitoring.jfr;
+
+import com.tnc.Data.Anonymization.config.FlightRecorderConfig;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Emits an AnonymizationRequestEvent per anonymization API request. Runs ahead of admission control,
+ * so the event includes the time spent reading the body and waiting for a permit. When no recording
+ * has the event enabled, the filter does one isEnabled check and nothing else.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 50)
+public class FlightRecorderFilter extends OncePerRequestFilter {
+
+    static final String EVENT_ATTRIBUTE = AnonymizationRequestEvent.class.getName();
+    private static final String API_PREFIX = "/api/v1/anonymization/";
+
+    private final FlightRecorderConfig config;
+
+    public FlightRecorderFilter(FlightRecorderConfig config) {
+        this.config = config;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !config.isEnabled() || !request.getRequestURI().startsWith(API_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        AnonymizationRequestEvent event = new AnonymizationRequestEvent();
+        if (!event.isEnabled()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        event.begin();
+        request.setAttribute(EVENT_ATTRIBUTE, event);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.endpoint = request.getRequestURI().substring(API_PREFIX.length());
+                event.payloadBytes = Math.max(0, request.getContentLengthLong());
+                event.status = response.getStatus();
+                event.commit();
+            }
+        }
+    }
+}
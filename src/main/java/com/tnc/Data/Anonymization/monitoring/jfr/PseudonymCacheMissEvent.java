@@ -0,0 +1,31 @@
+package com.tnc.Data.Anonymization.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A pseudonym cache miss, covering the token vault lookup and, if the vault has no entry,
+ * pseudonym generation. Emitted once per distinct value, so it is off unless enabled in the settings.
+ */
+@Name("com.tnc.anonymization.PseudonymCacheMiss")
+@Label("Pseudonym Cache Miss")
+@Category("Anonymization")
+@Description("A pseudonym resolved through the token vault or generated")
+@Enabled(false)
+@StackTrace(false)
+public class PseudonymCacheMissEvent extends jdk.jfr.Event {
+
+    @Label("Data Type")
+    public String dataType;
+
+    @Label("Key Version")
+    public String keyVersion;
+
+    @Label("Vault Hit")
+    @Description("Whether the pseudonym was found in the token vault")
+    public boolean vaultHit;
+}
@@ -0,0 +1,31 @@
+package com.tnc.Data.Anonymization.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * A field anonymization that took longer than the threshold. For columnar execution the event
+ * covers a whole column and valueCount is the number of rows.
+ */
+@Name("com.tnc.anonymization.SlowField")
+@Label("Slow Field Anonymization")
+@Category("Anonymization")
+@Description("A field whose anonymization exceeded the threshold")
+@Threshold("20 ms")
+public class SlowFieldEvent extends jdk.jfr.Event {
+
+    @Label("Field")
+    public String field;
+
+    @Label("Data Type")
+    public String dataType;
+
+    @Label("Strategy")
+    public String strategy;
+
+    @Label("Value Count")
+    public int valueCount;
+}
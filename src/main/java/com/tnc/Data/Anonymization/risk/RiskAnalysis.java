@@ -0,0 +1,108 @@
+package com.tnc.Data.Anonymization.risk;
+
+import com.tnc.Data.Anonymization.config.RiskConfig;
+import com.tnc.Data.Anonymization.enums.DataType;
+import com.tnc.Data.Anonymization.model.RiskReport;
+import com.tnc.Data.Anonymization.tenant.TenantContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Re-identification risk analysis of the records of one batch or run, fed concurrently by its workers.
+ * A worker borrows a sketch for each chunk and returns it afterwards, so there are never more sketches
+ * than concurrent workers and memory stays fixed whatever the record count; the report merges them.
+ * Quasi-identifiers are the configured fields or, when none are configured, the top-level scalar fields
+ * of the first records whose classified type is a quasi-identifier type.
+ */
+public final class RiskAnalysis {
+
+    private final RiskConfig config;
+    private final ConcurrentLinkedQueue<RiskSketch> idle = new ConcurrentLinkedQueue<>();
+    private final List<RiskSketch> sketches = new CopyOnWriteArrayList<>();
+    private volatile String[] columns;
+
+    public RiskAnalysis(RiskConfig config) {
+        this.config = config;
+        if (!config.getQuasiIdentifiers().isEmpty()) {
+            this.columns = limit(new ArrayList<>(config.getQuasiIdentifiers()));
+        }
+    }
+
+    /**
+     * Adds anonymized records; null records (failed ones) are skipped. Safe to call from several threads
+     */
+    public void add(List<Map<String, Object>> records) {
+        String[] columns = columns(records);
+        if (columns == null) {
+            return;
+        }
+        RiskSketch sketch = idle.poll();
+        if (sketch == null) {
+            sketch = new RiskSketch(columns, config);
+            sketches.add(sketch);
+        }
+        try {
+            for (Map<String, Object> record : records) {
+                if (record != null) {
+                    sketch.add(record);
+                }
+            }
+        } finally {
+            idle.offer(sketch);
+        }
+    }
+
+    /**
+     * Merges the sketches of every worker into the report; call once the workers are done
+     */
+    public RiskReport report() {
+        String[] columns = this.columns != null ? this.columns : new String[0];
+        RiskSketch merged = new RiskSketch(columns, config);
+        long memoryBytes = merged.memoryBytes();
+        for (RiskSketch sketch : sketches) {
+            merged.merge(sketch);
+            memoryBytes += sketch.memoryBytes();
+        }
+        return merged.report(Math.max(2, config.getK()), memoryBytes);
+    }
+
+    private String[] columns(List<Map<String, Object>> records) {
+        String[] resolved = columns;
+        if (resolved != null) {
+            return resolved;
+        }
+        synchronized (this) {
+            if (columns == null) {
+                Set<DataType> types = Set.copyOf(config.getQuasiIdentifierTypes());
+                Set<String> fields = new TreeSet<>();
+                for (Map<String, Object> record : records) {
+                    if (record == null) {
+                        continue;
+                    }
+                    record.forEach((field, value) -> {
+                        if (!(value instanceof Map) && !(value instanceof List)
+                            && types.contains(TenantContext.classify(field))) {
+                            fields.add(field);
+                        }
+                    });
+                    // The first record with fields decides, so every worker sketches the same columns
+                    if (!record.isEmpty()) {
+                        columns = limit(new ArrayList<>(fields));
+                        break;
+                    }
+                }
+            }
+            return columns;
+        }
+    }
+
+    private String[] limit(List<String> fields) {
+        return fields.subList(0, Math.min(fields.size(), Math.max(1, config.getMaxColumns()))).toArray(new String[0]);
+    }
+}
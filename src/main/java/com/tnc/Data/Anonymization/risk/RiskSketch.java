@@ -0,0 +1,208 @@
+package com.tnc.Data.Anonymization.risk;
+
+import com.tnc.Data.Anonymization.config.RiskConfig;
+import com.tnc.Data.Anonymization.engine.CountMinSketch;
+import com.tnc.Data.Anonymization.engine.HyperLogLog;
+import com.tnc.Data.Anonymization.engine.MinHashSample;
+import com.tnc.Data.Anonymization.model.RiskReport;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fixed-size sketches of the quasi-identifiers of records, for one thread at a time.
+ * Each tracked column combination has a HyperLogLog of its distinct values. The equivalence class of a
+ * record (the combination of all quasi-identifiers) additionally goes into a bottom-k sample of classes
+ * and a count-min sketch of class sizes; only classes the sample still admits are counted, so the
+ * count-min error depends on the sample size rather than on the number of records. Sizes of the sampled
+ * classes, scaled by the distinct class count, estimate the singleton and small classes.
+ */
+final class RiskSketch {
+
+    private static final long NULL_HASH = 0x6A09E667F3BCC909L;
+
+    private final String[] columns;
+    private final int[][] combinations;
+    private final HyperLogLog[] distinct;
+    private final CountMinSketch classSizes;
+    private final MinHashSample classSample;
+    private final long[] columnHashes;
+    private long records;
+
+    RiskSketch(String[] columns, RiskConfig config) {
+        this.columns = columns;
+        this.combinations = combinations(columns.length, Math.max(1, config.getMaxCombinationSize()));
+        this.distinct = new HyperLogLog[combinations.length];
+        for (int i = 0; i < distinct.length; i++) {
+            distinct[i] = new HyperLogLog(config.getHllPrecision());
+        }
+        this.classSizes = new CountMinSketch(config.getCountMinDepth(), config.getCountMinWidth());
+        this.classSample = new MinHashSample(config.getSampleSize());
+        this.columnHashes = new long[columns.length];
+    }
+
+    void add(Map<String, Object> record) {
+        records++;
+        for (int c = 0; c < columns.length; c++) {
+            columnHashes[c] = hash(record.get(columns[c]));
+        }
+        // The last combination holds every column, so its hash is the equivalence class
+        long classHash = NULL_HASH;
+        for (int i = 0; i < combinations.length; i++) {
+            classHash = combine(combinations[i]);
+            distinct[i].add(classHash);
+        }
+        // Rows of classes above the sample threshold can never be sampled, so they are not counted
+        if (classSample.admits(classHash)) {
+            classSample.add(classHash);
+            classSizes.add(classHash);
+        }
+    }
+
+    void merge(RiskSketch other) {
+        records += other.records;
+        for (int i = 0; i < distinct.length; i++) {
+            distinct[i].merge(other.distinct[i]);
+        }
+        classSizes.merge(other.classSizes);
+        classSample.merge(other.classSample);
+    }
+
+    long memoryBytes() {
+        long bytes = classSizes.memoryBytes() + classSample.memoryBytes();
+        for (HyperLogLog hyperLogLog : distinct) {
+            bytes += hyperLogLog.memoryBytes();
+        }
+        return bytes;
+    }
+
+    RiskReport report(int k, long memoryBytes) {
+        RiskReport report = new RiskReport();
+        report.setRecords(records);
+        report.setQuasiIdentifiers(List.of(columns));
+        report.setK(k);
+        report.setMemoryBytes(memoryBytes);
+        report.setRelativeError(distinct.length > 0 ? distinct[0].standardError() : 0.0);
+
+        Map<String, Long> distinctValues = new LinkedHashMap<>();
+        for (int i = 0; i < combinations.length; i++) {
+            distinctValues.put(name(combinations[i]), distinct[i].estimate());
+        }
+        report.setDistinctValues(distinctValues);
+        if (records == 0) {
+            return report;
+        }
+
+        long[] sampled = classSample.hashes();
+        long classes;
+        if (sampled.length < classSample.capacity()) {
+            // Fewer classes than the sample holds: the sample is every class
+            classes = sampled.length;
+        } else {
+            classes = combinations.length > 0 ? distinct[combinations.length - 1].estimate() : 1;
+        }
+        classes = Math.max(1, Math.min(records, classes));
+
+        int singletons = 0;
+        int belowK = 0;
+        long recordsBelowK = 0;
+        for (long hash : sampled) {
+            int size = classSizes.estimate(hash);
+            if (size == 1) {
+                singletons++;
+            }
+            if (size < k) {
+                belowK++;
+                recordsBelowK += size;
+            }
+        }
+        double scale = (double) classes / Math.max(1, sampled.length);
+        report.setEquivalenceClasses(classes);
+        report.setSingletonClasses(Math.min(records, Math.round(singletons * scale)));
+        report.setUniqueRecordRate((double) report.getSingletonClasses() / records);
+        report.setClassesBelowK(Math.min(classes, Math.round(belowK * scale)));
+        report.setRecordsBelowK(Math.min(records, Math.round(recordsBelowK * scale)));
+        report.setAverageClassSize((double) records / classes);
+        report.setAverageRisk((double) classes / records);
+        report.setSampledClasses(sampled.length);
+        return report;
+    }
+
+    private long combine(int[] combination) {
+        if (combination.length == 1) {
+            return columnHashes[combination[0]];
+        }
+        long hash = 0;
+        for (int column : combination) {
+            hash = (hash ^ columnHashes[column]) * 0x9E3779B97F4A7C15L;
+            hash = Long.rotateLeft(hash, 31);
+        }
+        return mix(hash);
+    }
+
+    private String name(int[] combination) {
+        StringBuilder name = new StringBuilder();
+        for (int column : combination) {
+            if (!name.isEmpty()) {
+                name.append('+');
+            }
+            name.append(columns[column]);
+        }
+        return name.toString();
+    }
+
+    /**
+     * Single columns, then combinations of 2..maxSize columns, then all columns when not already listed
+     */
+    private static int[][] combinations(int columns, int maxSize) {
+        List<int[]> combinations = new ArrayList<>();
+        for (int size = 1; size <= Math.min(maxSize, columns); size++) {
+            addCombinations(combinations, new int[size], 0, 0, columns);
+        }
+        // Otherwise the full combination is already the last one generated
+        if (columns > maxSize) {
+            int[] all = new int[columns];
+            for (int c = 0; c < columns; c++) {
+                all[c] = c;
+            }
+            combinations.add(all);
+        }
+        return combinations.toArray(new int[0][]);
+    }
+
+    private static void addCombinations(List<int[]> combinations, int[] current, int depth, int from, int columns) {
+        if (depth == current.length) {
+            combinations.add(current.clone());
+            return;
+        }
+        for (int c = from; c < columns; c++) {
+            current[depth] = c;
+            addCombinations(combinations, current, depth + 1, c + 1, columns);
+        }
+    }
+
+    /**
+     * FNV-1a over the characters of the value, finished with the MurmurHash3 mixer as in BloomFilter
+     */
+    static long hash(Object value) {
+        if (value == null) {
+            return NULL_HASH;
+        }
+        CharSequence text = value instanceof CharSequence chars ? chars : String.valueOf(value);
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            hash = (hash ^ text.charAt(i)) * 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        return hash ^ hash >>> 33;
+    }
+}
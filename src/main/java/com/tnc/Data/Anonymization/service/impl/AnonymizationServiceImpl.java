@@ -1,15 +1,37 @@
 package com.tnc.Data.Anonymization.service.impl;
 
+import com.tnc.Data.Anonymization.audit.AuditTrail;
+import com.tnc.Data.Anonymization.cache.BoundedCache;
+import com.tnc.Data.Anonymization.config.AnonymizationConfig;
+import com.tnc.Data.Anonymization.config.ColumnarConfig;
+import com.tnc.Data.Anonymization.config.InferenceConfig;
+import com.tnc.Data.Anonymization.config.TokenVaultConfig;
+import com.tnc.Data.Anonymization.config.XmlConfig;
+import com.tnc.Data.Anonymization.detection.FieldTypeInference;
+import com.tnc.Data.Anonymization.engine.PathAutomaton;
 import com.tnc.Data.Anonymization.enums.AnonymizationStrategy;
 import com.tnc.Data.Anonymization.enums.DataType;
 import com.tnc.Data.Anonymization.model.AnonymizationRequest;
 import com.tnc.Data.Anonymization.model.AnonymizationResponse;
+import com.tnc.Data.Anonymization.model.DetokenizationRequest;
+import com.tnc.Data.Anonymization.model.DetokenizationResponse;
+import com.tnc.Data.Anonymization.model.PathPolicy;
+import com.tnc.Data.Anonymization.model.XmlAnonymizationSummary;
+import com.tnc.Data.Anonymization.monitoring.RequestProfile;
+import com.tnc.Data.Anonymization.monitoring.jfr.SlowFieldEvent;
 import com.tnc.Data.Anonymization.service.interfaces.AnonymizationService;
 import com.tnc.Data.Anonymization.service.interfaces.DataAnonymizer;
+import com.tnc.Data.Anonymization.service.interfaces.TokenVault;
+import com.tnc.Data.Anonymization.tenant.TenantContext;
+import com.tnc.Data.Anonymization.tenant.TenantPolicy;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.List;
 import java.util.ArrayList;
@@ -25,21 +47,81 @@ import java.util.ArrayList;
 @Service
 public class AnonymizationServiceImpl implements AnonymizationService {
     
+    private static final DataAnonymizer REDACTION_ANONYMIZER = new RedactionAnonymizer();
+    private static final String SHUFFLING_NEEDS_RECORDS =
+        "SHUFFLING exchanges values between records and is not supported for a single record or value";
+    
     private final DataAnonymizer fakeDataAnonymizer;
+    private final DataAnonymizer deterministicMaskingAnonymizer;
     private final DataAnonymizer pseudonymizationAnonymizer;
+    private final DataAnonymizer generalizationAnonymizer;
+    private final DataAnonymizer partialMaskingAnonymizer;
+    private final NumericPerturbationAnonymizer perturbationAnonymizer;
+    private final DateShiftAnonymizer dateShiftAnonymizer;
+    private final ShufflingAnonymizer shufflingAnonymizer;
+    private final TokenVault tokenVault;
+    private final TokenVaultConfig tokenVaultConfig;
+    private final ColumnarBatchExecutor columnarExecutor;
+    private final InferenceConfig inferenceConfig;
+    private final BoundedCache<String, CompiledPathPolicy> compiledPolicies;
+    private final AuditTrail auditTrail;
+    private final XmlStreamAnonymizer xmlAnonymizer;
 
     public AnonymizationServiceImpl(
             @Qualifier("fakeDataAnonymizer") DataAnonymizer fakeDataAnonymizer,
-            @Qualifier("pseudonymizationAnonymizer") DataAnonymizer pseudonymizationAnonymizer) {
+            @Qualifier("deterministicMaskingAnonymizer") DataAnonymizer deterministicMaskingAnonymizer,
+            @Qualifier("pseudonymizationAnonymizer") DataAnonymizer pseudonymizationAnonymizer,
+            @Qualifier("generalizationAnonymizer") DataAnonymizer generalizationAnonymizer,
+            @Qualifier("partialMaskingAnonymizer") DataAnonymizer partialMaskingAnonymizer,
+            NumericPerturbationAnonymizer perturbationAnonymizer,
+            DateShiftAnonymizer dateShiftAnonymizer,
+            ShufflingAnonymizer shufflingAnonymizer,
+            TokenVault tokenVault,
+            TokenVaultConfig tokenVaultConfig,
+            ColumnarConfig columnarConfig,
+            InferenceConfig inferenceConfig,
+            AnonymizationConfig anonymizationConfig,
+            AuditTrail auditTrail,
+            XmlConfig xmlConfig) {
         this.fakeDataAnonymizer = fakeDataAnonymizer;
+        this.deterministicMaskingAnonymizer = deterministicMaskingAnonymizer;
         this.pseudonymizationAnonymizer = pseudonymizationAnonymizer;
+        this.generalizationAnonymizer = generalizationAnonymizer;
+        this.partialMaskingAnonymizer = partialMaskingAnonymizer;
+        this.perturbationAnonymizer = perturbationAnonymizer;
+        this.dateShiftAnonymizer = dateShiftAnonymizer;
+        this.shufflingAnonymizer = shufflingAnonymizer;
+        this.tokenVault = tokenVault;
+        this.tokenVaultConfig = tokenVaultConfig;
+        this.columnarExecutor = new ColumnarBatchExecutor(columnarConfig, perturbationAnonymizer, auditTrail);
+        this.inferenceConfig = inferenceConfig;
+        this.compiledPolicies = new BoundedCache<>(Math.max(1, anonymizationConfig.getPathPolicyCacheSize()));
+        this.auditTrail = auditTrail;
+        this.xmlAnonymizer = new XmlStreamAnonymizer(xmlConfig);
     }
     
     @Override
     public AnonymizationResponse anonymizeData(AnonymizationRequest request) {
+        FieldTypeInference inference = beginInference(request.getData() != null ? List.of(request.getData()) : List.of());
+        FieldTypeInference previous = FieldTypeInference.attach(inference);
+        // Path policies shift dates value by value and list by list, all by the offsets of this request
+        DateShiftAnonymizer.Walk dateShifts = dateShiftAnonymizer.openScope(request.getSeed());
         try {
             AnonymizationStrategy strategy = AnonymizationStrategy.fromString(request.getStrategy());
             
+            List<PathPolicy> policies = request.getPolicies();
+            if (policies != null && !policies.isEmpty()) {
+                Map<String, Object> anonymizedData = anonymizeByPolicies(request.getData(), policies, strategy,
+                                                                         request.isPreserveFormat(), request.getSeed());
+                AnonymizationResponse response = new AnonymizationResponse(anonymizedData, strategy.name(), true);
+                response.setFieldsProcessed(anonymizedData.size());
+                response.setMessage("Data anonymized successfully using " + policies.size() + " path policies");
+                if (inference != null) {
+                    response.setInferredTypes(inference.getInferredTypes());
+                }
+                return response;
+            }
+            
             Map<String, Object> anonymizedData = anonymizeMap(
                 request.getData(), 
                 strategy, 
@@ -50,15 +132,22 @@ public class AnonymizationServiceImpl implements AnonymizationService {
             AnonymizationResponse response = new AnonymizationResponse(anonymizedData, strategy.name(), true);
             response.setFieldsProcessed(anonymizedData.size());
             response.setMessage("Data anonymized successfully using " + strategy.getDescription());
+            if (inference != null) {
+                response.setInferredTypes(inference.getInferredTypes());
+            }
             
             return response;
             
         } catch (Exception e) {
             AnonymizationResponse errorResponse = new AnonymizationResponse();
             errorResponse.setSuccess(false);
+            errorResponse.setInvalidRequest(e instanceof IllegalArgumentException);
             errorResponse.setMessage("Anonymization failed: " + e.getMessage());
             errorResponse.setStrategy(request.getStrategy());
             return errorResponse;
+        } finally {
+            dateShiftAnonymizer.closeScope(dateShifts);
+            FieldTypeInference.attach(previous);
         }
     }
     
@@ -68,6 +157,16 @@ public class AnonymizationServiceImpl implements AnonymizationService {
         if (data == null || data.isEmpty()) {
             return new HashMap<>();
         }
+        checkTenantAllows(strategy);
+        if (strategy == AnonymizationStrategy.SHUFFLING) {
+            throw new IllegalArgumentException(SHUFFLING_NEEDS_RECORDS);
+        }
+        
+        if (strategy == AnonymizationStrategy.DATE_SHIFT) {
+            // Offsets depend on the subject of the record, so the whole record is walked at once
+            auditRecords(List.of(data), strategy);
+            return dateShiftAnonymizer.shiftRecords(List.of(data), preserveFormat, seed).get(0);
+        }
         
         DataAnonymizer anonymizer = getAnonymizer(strategy);
         Map<String, Object> anonymizedData = new HashMap<>();
@@ -93,7 +192,7 @@ public class AnonymizationServiceImpl implements AnonymizationService {
                 anonymizedValue = anonymizeList((List<?>) value, strategy, preserveFormat, seed, fieldName);
             } else {
                 // Handle primitive values
-                anonymizedValue = anonymizer.anonymize(value, fieldName, preserveFormat, seed);
+                anonymizedValue = anonymizeValue(anonymizer, strategy, value, fieldName, preserveFormat, seed);
             }
             
             anonymizedData.put(fieldName, anonymizedValue);
@@ -102,17 +201,195 @@ public class AnonymizationServiceImpl implements AnonymizationService {
         return anonymizedData;
     }
     
+    @Override
+    public XmlAnonymizationSummary anonymizeXml(InputStream in, OutputStream out, AnonymizationStrategy strategy,
+                                                boolean preserveFormat, Long seed) throws IOException {
+        if (strategy == AnonymizationStrategy.SHUFFLING) {
+            throw new IllegalArgumentException("SHUFFLING permutes whole records and is not supported for XML");
+        }
+        checkTenantAllows(strategy);
+        
+        DataAnonymizer anonymizer = getAnonymizer(strategy);
+        // Values arrive one at a time, so the document is one request sharing its date-shift offset
+        DateShiftAnonymizer.Walk dateShifts = dateShiftAnonymizer.openScope(seed);
+        try {
+            return xmlAnonymizer.anonymize(in, out,
+                (value, name) -> anonymizeValue(anonymizer, strategy, value, name, preserveFormat, seed));
+        } finally {
+            dateShiftAnonymizer.closeScope(dateShifts);
+        }
+    }
+    
+    @Override
+    public List<Map<String, Object>> anonymizeRecords(List<Map<String, Object>> records, AnonymizationStrategy strategy,
+                                                    boolean preserveFormat, Long seed) {
+        if (records == null || records.isEmpty()) {
+            return new ArrayList<>();
+        }
+        checkTenantAllows(strategy);
+        
+        FieldTypeInference previous = FieldTypeInference.attach(beginInference(records));
+        try {
+            if (strategy == AnonymizationStrategy.DATE_SHIFT) {
+                auditRecords(records, strategy);
+                return dateShiftAnonymizer.shiftRecords(records, preserveFormat, seed);
+            }
+            if (strategy == AnonymizationStrategy.SHUFFLING) {
+                auditRecords(records, strategy);
+                return shufflingAnonymizer.shuffleRecords(records, seed);
+            }
+            if (columnarExecutor.canExecute(records)) {
+                return executeColumnar(records, strategy, preserveFormat, seed);
+            }
+            
+            List<Map<String, Object>> anonymizedRecords = new ArrayList<>(records.size());
+            for (Map<String, Object> record : records) {
+                anonymizedRecords.add(anonymizeMap(record, strategy, preserveFormat, seed));
+            }
+            return anonymizedRecords;
+        } finally {
+            FieldTypeInference.attach(previous);
+        }
+    }
+    
+    /**
+     * Anonymizes the paths selected by the policies in one walk of the payload and leaves the rest unchanged.
+     * The innermost matching selector governs a subtree; once no selector can match deeper, the subtree
+     * goes through the regular record walk of its strategy (columnar lists included) or is kept as is.
+     */
+    private Map<String, Object> anonymizeByPolicies(Map<String, Object> data, List<PathPolicy> policies,
+                                                    AnonymizationStrategy strategy, boolean preserveFormat, Long seed) {
+        if (data == null || data.isEmpty()) {
+            return new HashMap<>();
+        }
+        CompiledPathPolicy compiled = compiledPolicies.computeIfAbsent(CompiledPathPolicy.key(policies),
+                                                                       key -> CompiledPathPolicy.compile(policies));
+        CompiledPathPolicy.Rule[] rules = compiled.rules(strategy, preserveFormat);
+        for (CompiledPathPolicy.Rule rule : rules) {
+            checkTenantAllows(rule.strategy());
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, Object> anonymized = (Map<String, Object>) walkPolicies(
+            data, null, compiled.automaton(), compiled.automaton().start(), rules, null, seed);
+        return anonymized;
+    }
+    
+    private Object walkPolicies(Object value, String fieldName, PathAutomaton automaton, int state,
+                                CompiledPathPolicy.Rule[] rules, CompiledPathPolicy.Rule rule, Long seed) {
+        int match = automaton.accepted(state);
+        if (match != PathAutomaton.DEAD) {
+            rule = rules[match];
+        }
+        if (value == null) {
+            return null;
+        }
+        
+        if (!automaton.matchesBelow(state)) {
+            if (rule == null) {
+                return value;
+            }
+            if (value instanceof Map) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> map = (Map<String, Object>) value;
+                return anonymizeMap(map, rule.strategy(), rule.preserveFormat(), seed);
+            }
+            if (value instanceof List) {
+                return anonymizeList((List<?>) value, rule.strategy(), rule.preserveFormat(), seed, fieldName);
+            }
+        }
+        
+        if (value instanceof Map<?, ?> map) {
+            Map<String, Object> walked = new HashMap<>((int) (map.size() / 0.75f) + 1);
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                String key = String.valueOf(entry.getKey());
+                walked.put(key, walkPolicies(entry.getValue(), key, automaton, automaton.field(state, key), rules, rule, seed));
+            }
+            return walked;
+        }
+        if (value instanceof List<?> list) {
+            int elementState = automaton.element(state);
+            List<Object> walked = new ArrayList<>(list.size());
+            for (Object item : list) {
+                walked.add(walkPolicies(item, fieldName, automaton, elementState, rules, rule, seed));
+            }
+            return walked;
+        }
+        return rule == null ? value
+            : anonymizeValue(getAnonymizer(rule.strategy()), rule.strategy(), value, fieldName, rule.preserveFormat(), seed);
+    }
+    
     @Override
     public AnonymizationStrategy[] getAvailableStrategies() {
         return AnonymizationStrategy.values();
     }
     
+    @Override
+    public DetokenizationResponse detokenize(DetokenizationRequest request) {
+        List<String> pseudonyms = request.getPseudonyms();
+        
+        if (!tokenVault.isEnabled()) {
+            DetokenizationResponse errorResponse = new DetokenizationResponse(Map.of(), pseudonyms, false);
+            errorResponse.setMessage("Token vault is disabled");
+            return errorResponse;
+        }
+        if (!tokenVaultConfig.isDetokenizeEnabled()) {
+            DetokenizationResponse errorResponse = new DetokenizationResponse(Map.of(), pseudonyms, false);
+            errorResponse.setMessage("Detokenization is disabled");
+            return errorResponse;
+        }
+        if (pseudonyms.size() > tokenVaultConfig.getMaxDetokenizeBatch()) {
+            DetokenizationResponse errorResponse = new DetokenizationResponse(Map.of(), List.of(), false);
+            errorResponse.setMessage("Too many pseudonyms: " + pseudonyms.size() + 
+                                     " exceeds the limit of " + tokenVaultConfig.getMaxDetokenizeBatch());
+            return errorResponse;
+        }
+        
+        Map<String, String> resolved = tokenVault.detokenize(pseudonyms);
+        List<String> unresolved = pseudonyms.stream()
+            .filter(pseudonym -> !resolved.containsKey(pseudonym))
+            .distinct()
+            .toList();
+        
+        DetokenizationResponse response = new DetokenizationResponse(resolved, unresolved, true);
+        response.setMessage("Resolved " + resolved.size() + " of " + (resolved.size() + unresolved.size()) + " pseudonyms");
+        return response;
+    }
+    
+    /**
+     * Samples a batch into the caller's inference (a stream or a request spanning several calls),
+     * or into a new one scoped to this call
+     */
+    private FieldTypeInference beginInference(List<?> records) {
+        FieldTypeInference inference = FieldTypeInference.current();
+        if (inference == null) {
+            inference = FieldTypeInference.create(inferenceConfig);
+        }
+        if (inference != null) {
+            inference.sample(records);
+        }
+        return inference;
+    }
+    
+    private static void checkTenantAllows(AnonymizationStrategy strategy) {
+        TenantPolicy tenant = TenantContext.current();
+        if (tenant != null) {
+            tenant.checkAllowed(strategy);
+        }
+    }
+    
     private DataAnonymizer getAnonymizer(AnonymizationStrategy strategy) {
         return switch (strategy) {
             case PSEUDONYMIZATION -> pseudonymizationAnonymizer;
             case MASKING -> fakeDataAnonymizer;
-            case REDACTION -> new RedactionAnonymizer();
+            case DETERMINISTIC_MASKING -> deterministicMaskingAnonymizer;
+            case REDACTION -> REDACTION_ANONYMIZER;
+            case PARTIAL_MASKING -> partialMaskingAnonymizer;
             case FORMAT_PRESERVING_ENCRYPTION -> pseudonymizationAnonymizer; // Use pseudonymization as FPE alternative
+            case GENERALIZATION -> generalizationAnonymizer;
+            case PERTURBATION -> perturbationAnonymizer;
+            case DATE_SHIFT -> dateShiftAnonymizer;
+            // A single value has nothing to be exchanged with
+            case SHUFFLING -> throw new IllegalArgumentException(SHUFFLING_NEEDS_RECORDS);
         };
     }
     
@@ -122,6 +399,27 @@ public class AnonymizationServiceImpl implements AnonymizationService {
             return new ArrayList<>();
         }
         
+        if (strategy == AnonymizationStrategy.PERTURBATION
+                && perturbationAnonymizer.isNumericColumn(list, TenantContext.classify(fieldName))) {
+            // Numeric arrays are perturbed as one primitive column instead of value by value
+            @SuppressWarnings("unchecked")
+            List<? extends Number> numbers = (List<? extends Number>) list;
+            auditTrail.record(fieldName, TenantContext.classify(fieldName), strategy, numbers.size());
+            return perturbationAnonymizer.perturbColumn(numbers, seed, fieldName);
+        }
+        
+        if (strategy == AnonymizationStrategy.SHUFFLING && list.stream().allMatch(Map.class::isInstance)) {
+            // Lists of records inside a payload are shuffled across their records
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> records = (List<Map<String, Object>>) list;
+            auditRecords(records, strategy);
+            return new ArrayList<>(shufflingAnonymizer.shuffleRecords(records, seed));
+        }
+        // Columns carry no subject, so records to date-shift are walked one by one with the request offsets
+        if (strategy != AnonymizationStrategy.DATE_SHIFT && columnarExecutor.canExecute(list)) {
+            return new ArrayList<>(executeColumnar(list, strategy, preserveFormat, seed));
+        }
+        
         DataAnonymizer anonymizer = getAnonymizer(strategy);
         List<Object> anonymizedList = new ArrayList<>();
         
@@ -135,7 +433,7 @@ public class AnonymizationServiceImpl implements AnonymizationService {
             } else if (item instanceof List) {
                 anonymizedList.add(anonymizeList((List<?>) item, strategy, preserveFormat, seed, fieldName));
             } else {
-                Object anonymizedItem = anonymizer.anonymize(item, fieldName, preserveFormat, seed);
+                Object anonymizedItem = anonymizeValue(anonymizer, strategy, item, fieldName, preserveFormat, seed);
                 anonymizedList.add(anonymizedItem);
             }
         }
@@ -145,7 +443,76 @@ public class AnonymizationServiceImpl implements AnonymizationService {
     }
     
     /**
-     * Simple redaction anonymizer for demonstration
+     * Anonymizes a primitive value; profiled requests time classification and anonymization separately,
+     * values slower than the SlowFieldEvent threshold are reported to the flight recorder, and every
+     * value is recorded in the audit trail
+     */
+    private Object anonymizeValue(DataAnonymizer anonymizer, AnonymizationStrategy strategy, Object value,
+                                  String fieldName, boolean preserveFormat, Long seed) {
+        SlowFieldEvent event = new SlowFieldEvent();
+        event.begin();
+        
+        Object anonymizedValue;
+        DataType dataType;
+        RequestProfile profile = RequestProfile.current();
+        if (profile == null) {
+            dataType = TenantContext.classify(fieldName);
+            anonymizedValue = anonymizer.anonymize(value, fieldName, dataType, preserveFormat, seed);
+        } else {
+            long start = System.nanoTime();
+            dataType = TenantContext.classify(fieldName);
+            long classified = System.nanoTime();
+            anonymizedValue = anonymizer.anonymize(value, fieldName, dataType, preserveFormat, seed);
+            profile.addPhase("classify", classified - start);
+            profile.recordField(fieldName, dataType, 1, System.nanoTime() - classified);
+        }
+        auditTrail.record(fieldName, dataType, strategy, 1);
+        
+        event.end();
+        if (event.shouldCommit()) {
+            event.field = fieldName;
+            event.dataType = dataType.name();
+            event.strategy = strategy.name();
+            event.valueCount = 1;
+            event.commit();
+        }
+        return anonymizedValue;
+    }
+    
+    /**
+     * Audits strategies that rewrite whole records: one event per top-level field with the number of
+     * records carrying it
+     */
+    private void auditRecords(List<Map<String, Object>> records, AnonymizationStrategy strategy) {
+        if (!auditTrail.isEnabled()) {
+            return;
+        }
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (Map<String, Object> record : records) {
+            if (record != null) {
+                for (String field : record.keySet()) {
+                    counts.merge(field, 1, Integer::sum);
+                }
+            }
+        }
+        counts.forEach((field, count) -> auditTrail.record(field, TenantContext.classify(field), strategy, count));
+    }
+    
+    private List<Map<String, Object>> executeColumnar(List<?> records, AnonymizationStrategy strategy,
+                                                      boolean preserveFormat, Long seed) {
+        return columnarExecutor.execute(records, getAnonymizer(strategy), strategy, preserveFormat, seed,
+            (value, fieldName) -> {
+                if (value instanceof Map) {
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> nestedMap = (Map<String, Object>) value;
+                    return anonymizeMap(nestedMap, strategy, preserveFormat, seed);
+                }
+                return anonymizeList((List<?>) value, strategy, preserveFormat, seed, fieldName);
+            });
+    }
+    
+    /**
+     * Simple redaction anonymizer for demonstration; stateless, so one instance is shared
      */
     private static class RedactionAnonymizer implements DataAnonymizer {
         
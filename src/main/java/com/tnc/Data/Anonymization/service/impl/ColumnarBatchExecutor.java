@@ -0,0 +1,228 @@
+package com.tnc.Data.Anonymization.service.impl;
+
+import com.tnc.Data.Anonymization.audit.AuditContext;
+import com.tnc.Data.Anonymization.audit.AuditTrail;
+import com.tnc.Data.Anonymization.config.ColumnarConfig;
+import com.tnc.Data.Anonymization.detection.FieldTypeInference;
+import com.tnc.Data.Anonymization.enums.AnonymizationStrategy;
+import com.tnc.Data.Anonymization.enums.DataType;
+import com.tnc.Data.Anonymization.monitoring.RequestProfile;
+import com.tnc.Data.Anonymization.monitoring.jfr.SlowFieldEvent;
+import com.tnc.Data.Anonymization.service.interfaces.DataAnonymizer;
+import com.tnc.Data.Anonymization.tenant.TenantContext;
+import com.tnc.Data.Anonymization.tenant.TenantPolicy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Anonymizes a homogeneous list of records column by column instead of record by record.
+ * Records sharing one key set are transposed into columns; each column is classified once and
+ * dictionary-encoded, so every distinct value is anonymized exactly once, and the results are
+ * transposed back. Unseeded MASKING is random per value, so its columns are not dictionary-encoded:
+ * equal values keep getting different fakes and the output does not reveal value frequencies. Columns of nested records are executed recursively, numeric columns under
+ * PERTURBATION go through the primitive kernels, and other nested values use the row path.
+ * Follows SOLID principles:
+ * - Single Responsibility: Handles transposition and per-column dispatch only
+ * - Dependency Inversion: Anonymization itself is delegated to DataAnonymizer
+ */
+final class ColumnarBatchExecutor {
+
+    private final ColumnarConfig config;
+    private final NumericPerturbationAnonymizer perturbationAnonymizer;
+    private final AuditTrail auditTrail;
+
+    ColumnarBatchExecutor(ColumnarConfig config, NumericPerturbationAnonymizer perturbationAnonymizer,
+                          AuditTrail auditTrail) {
+        this.config = config;
+        this.perturbationAnonymizer = perturbationAnonymizer;
+        this.auditTrail = auditTrail;
+    }
+
+    /**
+     * Checks whether a list is worth executing columnar: enough rows, all records, one shared key set
+     */
+    boolean canExecute(List<?> items) {
+        if (!config.isEnabled() || items.size() < Math.max(1, config.getMinRows())) {
+            return false;
+        }
+        return sharedKeys(items) != null;
+    }
+
+    /**
+     * Anonymizes records that passed canExecute
+     *
+     * @param rowPath Anonymizes a single nested value (map or list) with the regular record walk
+     */
+    List<Map<String, Object>> execute(List<?> records, DataAnonymizer anonymizer, AnonymizationStrategy strategy,
+                                      boolean preserveFormat, Long seed,
+                                      BiFunction<Object, String, Object> rowPath) {
+        int rows = records.size();
+        String[] keys = sharedKeys(records).toArray(new String[0]);
+        Object[][] columns = new Object[keys.length][];
+
+        IntStream indexes = IntStream.range(0, keys.length);
+        if ((long) rows * keys.length >= config.getParallelThreshold()) {
+            indexes = indexes.parallel();
+        }
+        // Parallel columns run on pool threads, so the request's profile, tenant, inferred types and audit id are carried over
+        RequestProfile profile = RequestProfile.current();
+        TenantPolicy tenant = TenantContext.current();
+        FieldTypeInference inference = FieldTypeInference.current();
+        long auditId = AuditContext.current();
+        indexes.forEach(c -> {
+            RequestProfile previous = profile != null ? RequestProfile.attach(profile) : null;
+            TenantPolicy previousTenant = TenantContext.attach(tenant);
+            FieldTypeInference previousInference = FieldTypeInference.attach(inference);
+            long previousAuditId = AuditContext.attach(auditId);
+            try {
+                columns[c] = anonymizeColumn(column(records, keys[c]), keys[c], anonymizer, strategy,
+                                             preserveFormat, seed, rowPath);
+            } finally {
+                AuditContext.attach(previousAuditId);
+                FieldTypeInference.attach(previousInference);
+                TenantContext.attach(previousTenant);
+                if (profile != null) {
+                    RequestProfile.attach(previous);
+                }
+            }
+        });
+
+        List<Map<String, Object>> anonymized = new ArrayList<>(rows);
+        for (int row = 0; row < rows; row++) {
+            Map<String, Object> record = new HashMap<>((int) (keys.length / 0.75f) + 1);
+            for (int c = 0; c < keys.length; c++) {
+                record.put(keys[c], columns[c][row]);
+            }
+            anonymized.add(record);
+        }
+        return anonymized;
+    }
+
+    private Object[] anonymizeColumn(Object[] values, String fieldName, DataAnonymizer anonymizer,
+                                     AnonymizationStrategy strategy, boolean preserveFormat, Long seed,
+                                     BiFunction<Object, String, Object> rowPath) {
+        long classifyStart = RequestProfile.startTimer();
+        DataType dataType = TenantContext.classify(fieldName);
+        RequestProfile.stopTimer("classify", classifyStart);
+        List<Object> present = new ArrayList<>(values.length);
+        for (Object value : values) {
+            if (value != null) {
+                present.add(value);
+            }
+        }
+
+        if (present.size() >= Math.max(1, config.getMinRows()) && sharedKeys(present) != null) {
+            return scatter(values, execute(present, anonymizer, strategy, preserveFormat, seed, rowPath));
+        }
+        if (strategy == AnonymizationStrategy.PERTURBATION && perturbationAnonymizer.isNumericColumn(present, dataType)) {
+            @SuppressWarnings("unchecked")
+            List<? extends Number> numbers = (List<? extends Number>) (List<?>) present;
+            auditTrail.record(fieldName, dataType, strategy, numbers.size());
+            return scatter(values, perturbationAnonymizer.perturbColumn(numbers, seed, fieldName));
+        }
+
+        // Dictionary encoding: codes per row, each distinct scalar anonymized once
+        boolean encode = strategy != AnonymizationStrategy.MASKING || seed != null;
+        Map<Object, Integer> index = new HashMap<>();
+        List<Object> dictionary = new ArrayList<>();
+        int[] codes = new int[values.length];
+        Object[] anonymized = new Object[values.length];
+        int scalars = 0;
+
+        for (int row = 0; row < values.length; row++) {
+            Object value = values[row];
+            if (value == null) {
+                codes[row] = -1;
+            } else if (value instanceof Map || value instanceof List) {
+                codes[row] = -1;
+                anonymized[row] = rowPath.apply(value, fieldName);
+            } else {
+                Integer code = encode ? index.get(value) : null;
+                if (code == null) {
+                    code = dictionary.size();
+                    if (encode) {
+                        index.put(value, code);
+                    }
+                    dictionary.add(value);
+                }
+                codes[row] = code;
+                scalars++;
+            }
+        }
+        if (scalars > 0) {
+            auditTrail.record(fieldName, dataType, strategy, scalars);
+        }
+
+        SlowFieldEvent event = new SlowFieldEvent();
+        event.begin();
+        long anonymizeStart = RequestProfile.startTimer();
+        Object[] anonymizedDictionary = new Object[dictionary.size()];
+        for (int i = 0; i < anonymizedDictionary.length; i++) {
+            anonymizedDictionary[i] = anonymizer.anonymize(dictionary.get(i), fieldName, dataType, preserveFormat, seed);
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.field = fieldName;
+            event.dataType = dataType.name();
+            event.strategy = strategy.name();
+            event.valueCount = values.length;
+            event.commit();
+        }
+        if (anonymizeStart != 0L) {
+            RequestProfile profile = RequestProfile.current();
+            profile.recordField(fieldName, dataType, values.length, System.nanoTime() - anonymizeStart);
+            profile.increment("dictionary-values", anonymizedDictionary.length);
+        }
+        for (int row = 0; row < values.length; row++) {
+            if (codes[row] >= 0) {
+                anonymized[row] = anonymizedDictionary[codes[row]];
+            }
+        }
+        return anonymized;
+    }
+
+    private static Object[] column(List<?> records, String key) {
+        Object[] column = new Object[records.size()];
+        for (int row = 0; row < column.length; row++) {
+            column[row] = ((Map<?, ?>) records.get(row)).get(key);
+        }
+        return column;
+    }
+
+    /**
+     * Places results computed for the non-null values back at their rows
+     */
+    private static Object[] scatter(Object[] values, List<?> results) {
+        Object[] scattered = new Object[values.length];
+        int next = 0;
+        for (int row = 0; row < values.length; row++) {
+            if (values[row] != null) {
+                scattered[row] = results.get(next++);
+            }
+        }
+        return scattered;
+    }
+
+    /**
+     * Gets the key set shared by all items, or null if any item is not a record or has other keys
+     */
+    private static Set<?> sharedKeys(List<?> items) {
+        if (items.isEmpty() || !(items.get(0) instanceof Map<?, ?> first)) {
+            return null;
+        }
+
+        Set<?> keys = first.keySet();
+        for (Object item : items) {
+            if (!(item instanceof Map<?, ?> record) || record.size() != keys.size() || !record.keySet().equals(keys)) {
+                return null;
+            }
+        }
+        return keys.stream().allMatch(String.class::isInstance) ? keys : null;
+    }
+}
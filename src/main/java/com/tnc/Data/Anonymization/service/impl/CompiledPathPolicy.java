@@ -0,0 +1,76 @@
+package com.tnc.Data.Anonymization.service.impl;
+
+import com.tnc.Data.Anonymization.engine.PathAutomaton;
+import com.tnc.Data.Anonymization.enums.AnonymizationStrategy;
+import com.tnc.Data.Anonymization.model.PathPolicy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Path policies of a request compiled for a single walk of the payload: one automaton over all
+ * selectors plus the strategy and format setting of each selector. Instances are immutable and
+ * shared by every request carrying the same policies.
+ */
+final class CompiledPathPolicy {
+
+    /**
+     * Strategy and format setting applied to a selected subtree
+     */
+    record Rule(AnonymizationStrategy strategy, boolean preserveFormat) {
+    }
+
+    private final PathAutomaton automaton;
+    private final AnonymizationStrategy[] strategies;
+    private final Boolean[] preserveFormats;
+
+    private CompiledPathPolicy(PathAutomaton automaton, AnonymizationStrategy[] strategies, Boolean[] preserveFormats) {
+        this.automaton = automaton;
+        this.strategies = strategies;
+        this.preserveFormats = preserveFormats;
+    }
+
+    /**
+     * Compiles policies; strategy names are validated here so a bad policy fails before any data is walked
+     */
+    static CompiledPathPolicy compile(List<PathPolicy> policies) {
+        List<String> selectors = new ArrayList<>(policies.size());
+        AnonymizationStrategy[] strategies = new AnonymizationStrategy[policies.size()];
+        Boolean[] preserveFormats = new Boolean[policies.size()];
+        for (int i = 0; i < policies.size(); i++) {
+            PathPolicy policy = policies.get(i);
+            selectors.add(policy.getPath());
+            strategies[i] = policy.getStrategy() != null ? AnonymizationStrategy.fromString(policy.getStrategy()) : null;
+            preserveFormats[i] = policy.getPreserveFormat();
+        }
+        return new CompiledPathPolicy(PathAutomaton.compile(selectors), strategies, preserveFormats);
+    }
+
+    /**
+     * Gets the cache key of policies; equal for policies that compile to the same automaton
+     */
+    static String key(List<PathPolicy> policies) {
+        StringJoiner key = new StringJoiner("\n");
+        for (PathPolicy policy : policies) {
+            key.add(policy.getPath() + '\0' + policy.getStrategy() + '\0' + policy.getPreserveFormat());
+        }
+        return key.toString();
+    }
+
+    PathAutomaton automaton() {
+        return automaton;
+    }
+
+    /**
+     * Resolves the rule of each selector, filling unset values with the request's
+     */
+    Rule[] rules(AnonymizationStrategy strategy, boolean preserveFormat) {
+        Rule[] rules = new Rule[strategies.length];
+        for (int i = 0; i < rules.length; i++) {
+            rules[i] = new Rule(strategies[i] != null ? strategies[i] : strategy,
+                                preserveFormats[i] != null ? preserveFormats[i] : preserveFormat);
+        }
+        return rules;
+    }
+}
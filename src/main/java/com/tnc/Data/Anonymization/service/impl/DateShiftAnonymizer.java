@@ -0,0 +1,363 @@
+package com.tnc.Data.Anonymization.service.impl;
+
+import com.tnc.Data.Anonymization.cache.BoundedCache;
+import com.tnc.Data.Anonymization.config.DateShiftConfig;
+import com.tnc.Data.Anonymization.engine.DateLayout;
+import com.tnc.Data.Anonymization.enums.DataType;
+import com.tnc.Data.Anonymization.service.interfaces.DataAnonymizer;
+import com.tnc.Data.Anonymization.tenant.TenantContext;
+import com.tnc.Data.Anonymization.tenant.TenantPolicy;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Implementation of DataAnonymizer shifting every date of a subject by the same number of days.
+ * The offset is derived from HMAC(key, seed | subject id), so intervals between the events of a
+ * subject survive while absolute dates do not, and the same subject is shifted identically across
+ * calls; values without a subject share a random offset per unseeded request. A request opens a scope on
+ * its thread, so the values, records and XML documents it shifts one call at a time share that offset;
+ * a call outside of a scope is a request of its own. The layout of each field path is detected from its
+ * first value within a request, and unambiguous layouts are cached across requests with their compiled
+ * formatter; shifted values are written back in that layout, other values are masked with fake data.
+ * Follows SOLID principles:
+ * - Single Responsibility: Derives offsets and walks records, layout handling lives in DateLayout
+ * - Liskov Substitution: Can replace any DataAnonymizer implementation
+ */
+@Slf4j
+@Component("dateShiftAnonymizer")
+public class DateShiftAnonymizer implements DataAnonymizer {
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    private static final String VALUE_PATH_PREFIX = "#";
+    private static final ThreadLocal<Walk> CURRENT = new ThreadLocal<>();
+
+    private final DataAnonymizer fakeDataAnonymizer;
+    private final PseudonymKeyRing keyRing;
+    private final DateShiftConfig config;
+    private final BoundedCache<String, FieldFormat> formats;
+    private final SecureRandom random = new SecureRandom();
+    private final ThreadLocal<MessageDigest> digests = ThreadLocal.withInitial(DateShiftAnonymizer::newDigest);
+
+    public DateShiftAnonymizer(@Qualifier("fakeDataAnonymizer") DataAnonymizer fakeDataAnonymizer,
+                               PseudonymKeyRing keyRing, DateShiftConfig config) {
+        this.fakeDataAnonymizer = fakeDataAnonymizer;
+        this.keyRing = keyRing;
+        this.config = config;
+        this.formats = new BoundedCache<>(config.getFormatCacheSize());
+    }
+
+    @PostConstruct
+    void checkKey() {
+        if (!keyRing.hasKey(keyRing.getActiveVersion())) {
+            log.warn("Date shift offsets are derived without a key; configure a pseudonymization key "
+                     + "so offsets cannot be recomputed from subject ids");
+        }
+    }
+
+    @Override
+    public Object anonymize(Object value, DataType dataType, boolean preserveFormat, Long seed) {
+        if (value == null) {
+            return null;
+        }
+
+        // Without a record there is no subject, so all values of the request share its offset
+        return walk(seed).scalar(value, dataType, preserveFormat);
+    }
+
+    @Override
+    public Object anonymize(Object value, String fieldName, boolean preserveFormat, Long seed) {
+        DataType dataType = DataType.classifyFromFieldName(fieldName);
+        return anonymize(value, dataType, preserveFormat, seed);
+    }
+
+    @Override
+    public boolean supports(DataType dataType) {
+        return true;
+    }
+
+    /**
+     * Shifts the dates of records, each by the offset of its subject; nested records naming their own
+     * subject use that subject's offset, others inherit the offset of the enclosing record
+     *
+     * @return Shifted records in the same order; non-date values are masked once per distinct value
+     */
+    public List<Map<String, Object>> shiftRecords(List<Map<String, Object>> records, boolean preserveFormat, Long seed) {
+        Walk walk = walk(seed);
+        List<Map<String, Object>> shifted = new ArrayList<>(records.size());
+        for (Map<String, Object> record : records) {
+            // Layouts are cached per tenant, so tenants using the same field names do not evict each other
+            shifted.add(record != null
+                ? walk.record(record, TenantContext.cachePrefix(), walk.requestOffset(), preserveFormat) : null);
+        }
+        return shifted;
+    }
+
+    /**
+     * Opens a request scope on the current thread unless one is open; until it is closed, the values and
+     * records shifted with the same seed share the request offset, the offsets of subjects and the layouts
+     * detected so far
+     *
+     * @return The scope to close, or null if an enclosing scope stays open
+     */
+    Walk openScope(Long seed) {
+        if (CURRENT.get() != null) {
+            return null;
+        }
+        Walk walk = new Walk(seed);
+        CURRENT.set(walk);
+        return walk;
+    }
+
+    /**
+     * Closes a scope returned by openScope; null is ignored
+     */
+    void closeScope(Walk scope) {
+        if (scope != null && CURRENT.get() == scope) {
+            CURRENT.remove();
+        }
+    }
+
+    private Walk walk(Long seed) {
+        Walk current = CURRENT.get();
+        return current != null && Objects.equals(current.seed, seed) ? current : new Walk(seed);
+    }
+
+    /**
+     * Drops the cached layouts of tenant policies retired by a reload; their field types may have changed
+     */
+    public void invalidateTenants(Collection<TenantPolicy> tenants) {
+        formats.removeIf(path -> tenants.stream().anyMatch(tenant -> isPathOf(path, "@" + tenant.getId())));
+    }
+
+    /**
+     * Offset shared by the values of a request that have no subject: derived from the seed, so seeded
+     * requests repeat, and random otherwise, so there is no global offset to recover from one shifted date
+     */
+    long requestOffset(Long seed) {
+        return seed != null ? offsetDays(null, seed) : toOffset(random.nextLong());
+    }
+
+    /**
+     * Derives the offset in days for a subject; never zero
+     *
+     * @param subject Subject id, or null for the offset shared by a seeded request
+     */
+    long offsetDays(String subject, Long seed) {
+        byte[] input = ("date-shift|" + (seed != null ? seed : "default") + "|" + (subject != null ? subject : ""))
+            .getBytes(StandardCharsets.UTF_8);
+        String keyVersion = keyRing.getActiveVersion();
+        byte[] digest = keyRing.hasKey(keyVersion) ? keyRing.hmac(keyVersion, input) : digests.get().digest(input);
+        return toOffset(ByteBuffer.wrap(digest).getLong());
+    }
+
+    private long toOffset(long bits) {
+        long min = Math.max(1, config.getMinShiftDays());
+        long max = Math.max(min, config.getMaxShiftDays());
+        long magnitude = min + Long.remainderUnsigned(bits >>> 1, max - min + 1);
+        return (bits & 1) == 0 ? magnitude : -magnitude;
+    }
+
+    private String subjectOf(Map<String, Object> record) {
+        for (String field : config.getSubjectFields()) {
+            Object subject = record.get(field);
+            if (subject != null && !(subject instanceof Map) && !(subject instanceof List)) {
+                return subject.toString();
+            }
+        }
+        return null;
+    }
+
+    private FieldFormat format(String path, DataType dataType) {
+        FieldFormat known = formats.get(path);
+        return known != null ? known : new FieldFormat(dataType, null, !isDateCandidate(dataType));
+    }
+
+    /**
+     * Shifts a scalar, or returns null if it is not a date of its field
+     *
+     * @param scope Layouts detected by the current request, or null outside of a record walk
+     */
+    private Object shift(Object value, String path, FieldFormat format, long days, Map<String, FieldFormat> scope) {
+        if (value instanceof String text) {
+            return shiftText(text, path, format, days, scope);
+        }
+        if (value instanceof LocalDate date) {
+            return date.plusDays(days);
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return dateTime.plusDays(days);
+        }
+        if (value instanceof OffsetDateTime dateTime) {
+            return dateTime.plusDays(days);
+        }
+        if (value instanceof ZonedDateTime dateTime) {
+            return dateTime.plusDays(days);
+        }
+        if (value instanceof Instant instant) {
+            return instant.plusMillis(days * MILLIS_PER_DAY);
+        }
+        if (value instanceof Date date) {
+            return new Date(date.getTime() + days * MILLIS_PER_DAY);
+        }
+        if (format.dataType() == DataType.DATE && (value instanceof Long || value instanceof Integer)) {
+            long epoch = DateLayout.shiftEpoch(((Number) value).longValue(), days);
+            return value instanceof Integer && epoch == (int) epoch ? (Object) (int) epoch : (Object) epoch;
+        }
+        return null;
+    }
+
+    private String shiftText(String text, String path, FieldFormat format, long days, Map<String, FieldFormat> scope) {
+        if (format.notDate()) {
+            return null;
+        }
+        if (format.layout() != null) {
+            String shifted = format.layout().shift(text, days);
+            if (shifted != null) {
+                return shifted;
+            }
+        }
+
+        // First value of the path, or the layout changed: detect again; only unambiguous layouts are
+        // shared with other requests, a month- or day-first guess holds for the current request only
+        boolean dateField = format.dataType() == DataType.DATE;
+        DateLayout detected = DateLayout.detect(text, dateField);
+        if (detected != null) {
+            FieldFormat found = new FieldFormat(format.dataType(), detected, false);
+            if (scope != null) {
+                scope.put(path, found);
+            }
+            if (!detected.isAmbiguous(text)) {
+                formats.put(path, found);
+            }
+            return detected.shift(text, days);
+        }
+        if (!dateField && format.layout() == null && scope != null) {
+            // A free-form field whose first value is not a date is not treated as a date field in this request
+            scope.put(path, new FieldFormat(format.dataType(), null, true));
+        }
+        return null;
+    }
+
+    private static boolean isPathOf(String path, String prefix) {
+        return path.length() > prefix.length() && path.startsWith(prefix)
+            && (path.charAt(prefix.length()) == '.' || path.startsWith(VALUE_PATH_PREFIX, prefix.length()));
+    }
+
+    private static boolean isDateCandidate(DataType dataType) {
+        return dataType == DataType.DATE || dataType == DataType.UNKNOWN || dataType == DataType.TEXT;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm not available", e);
+        }
+    }
+
+    /**
+     * Data type and detected layout of a field path; notDate marks free-form fields holding no dates
+     */
+    private record FieldFormat(DataType dataType, DateLayout layout, boolean notDate) {
+    }
+
+    /**
+     * One request: carries the request offset and memoizes field layouts, subject offsets and masks of
+     * non-date record values
+     */
+    final class Walk {
+
+        private final Long seed;
+        private Long requestOffset;
+        private final Map<DataType, Map<Object, Object>> masks = new EnumMap<>(DataType.class);
+        private final Map<DataType, Map<Object, Object>> formattedMasks = new EnumMap<>(DataType.class);
+        private final Map<String, Long> offsets = new HashMap<>();
+        private final Map<String, FieldFormat> scope = new HashMap<>();
+
+        private Walk(Long seed) {
+            this.seed = seed;
+        }
+
+        /**
+         * Drawn on first use, so scopes of requests that shift nothing cost no random offset
+         */
+        private long requestOffset() {
+            if (requestOffset == null) {
+                requestOffset = DateShiftAnonymizer.this.requestOffset(seed);
+            }
+            return requestOffset;
+        }
+
+        private Object scalar(Object value, DataType dataType, boolean preserveFormat) {
+            // Values of one data type come from many fields, so a value that is no date says nothing about the next
+            String path = TenantContext.cachePrefix() + VALUE_PATH_PREFIX + dataType;
+            Object shifted = shift(value, path, format(path, dataType), requestOffset(), null);
+            return shifted != null ? shifted : fakeDataAnonymizer.anonymize(value, dataType, preserveFormat, seed);
+        }
+
+        private Map<String, Object> record(Map<String, Object> record, String prefix, long inheritedDays,
+                                           boolean preserveFormat) {
+            String subject = subjectOf(record);
+            long days = subject != null ? offsets.computeIfAbsent(subject, s -> offsetDays(s, seed)) : inheritedDays;
+
+            Map<String, Object> shifted = new HashMap<>((int) (record.size() / 0.75f) + 1);
+            for (Map.Entry<String, Object> entry : record.entrySet()) {
+                String path = prefix.isEmpty() ? entry.getKey() : prefix + "." + entry.getKey();
+                shifted.put(entry.getKey(), value(entry.getValue(), entry.getKey(), path, days, preserveFormat));
+            }
+            return shifted;
+        }
+
+        private Object value(Object value, String fieldName, String path, long days, boolean preserveFormat) {
+            if (value == null) {
+                return null;
+            }
+            if (value instanceof Map) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> nested = (Map<String, Object>) value;
+                return record(nested, path, days, preserveFormat);
+            }
+            if (value instanceof List<?> list) {
+                List<Object> shifted = new ArrayList<>(list.size());
+                for (Object item : list) {
+                    shifted.add(value(item, fieldName, path, days, preserveFormat));
+                }
+                return shifted;
+            }
+
+            FieldFormat format = scope.get(path);
+            if (format == null) {
+                format = format(path, TenantContext.classify(fieldName));
+                scope.put(path, format);
+            }
+            Object shifted = shift(value, path, format, days, scope);
+            if (shifted != null) {
+                return shifted;
+            }
+            DataType dataType = format.dataType();
+            return (preserveFormat ? formattedMasks : masks).computeIfAbsent(dataType, type -> new HashMap<>())
+                .computeIfAbsent(value, v -> fakeDataAnonymizer.anonymize(v, dataType, preserveFormat, seed));
+        }
+    }
+}
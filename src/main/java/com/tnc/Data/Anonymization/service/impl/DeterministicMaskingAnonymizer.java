@@ -0,0 +1,117 @@
+package com.tnc.Data.Anonymization.service.impl;
+
+import com.github.javafaker.Faker;
+import com.tnc.Data.Anonymization.cache.PartitionedCache;
+import com.tnc.Data.Anonymization.config.AnonymizationConfig;
+import com.tnc.Data.Anonymization.config.PseudonymizationConfig;
+import com.tnc.Data.Anonymization.enums.DataType;
+import com.tnc.Data.Anonymization.monitoring.RequestProfile;
+import com.tnc.Data.Anonymization.service.interfaces.DataAnonymizer;
+import com.tnc.Data.Anonymization.tenant.TenantPartition;
+import com.tnc.Data.Anonymization.tenant.TenantPolicy;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Random;
+
+/**
+ * Implementation of DataAnonymizer producing realistic fake data that is a pure function of the input.
+ * The random stream for each value is seeded from HMAC(key, value | data type | seed), so the same
+ * value always masks to the same fake across datasets, calls and replicas, and results can be memoized.
+ * Follows SOLID principles:
+ * - Single Responsibility: Derives per-value randomness, generation is delegated to FakeDataAnonymizer
+ * - Liskov Substitution: Can replace any DataAnonymizer implementation
+ */
+@Component("deterministicMaskingAnonymizer")
+public class DeterministicMaskingAnonymizer implements DataAnonymizer {
+
+    private final FakeDataAnonymizer fakeDataAnonymizer;
+    private final PseudonymKeyRing keyRing;
+    private final PartitionedCache<TenantPartition, String, Object> maskCache;
+    private final boolean cachingEnabled;
+    // Building a Faker loads its YAML; one reseedable instance per thread avoids that per value
+    private final ThreadLocal<SeededFaker> seededFakers = ThreadLocal.withInitial(SeededFaker::new);
+
+    public DeterministicMaskingAnonymizer(FakeDataAnonymizer fakeDataAnonymizer, PseudonymKeyRing keyRing,
+                                          AnonymizationConfig anonymizationConfig,
+                                          PseudonymizationConfig pseudonymizationConfig) {
+        this.fakeDataAnonymizer = fakeDataAnonymizer;
+        this.keyRing = keyRing;
+        this.cachingEnabled = anonymizationConfig.isEnableCaching();
+        this.maskCache = new PartitionedCache<>(TenantPartition.sizing(anonymizationConfig.getCacheMaxSize()),
+                                                pseudonymizationConfig.getCachePartitionIdleTimeout());
+    }
+
+    @Override
+    public Object anonymize(Object value, DataType dataType, boolean preserveFormat, Long seed) {
+        if (value == null) {
+            return null;
+        }
+
+        String keyVersion = keyRing.getActiveVersion();
+        if (!keyRing.hasKey(keyVersion)) {
+            throw new IllegalStateException("Deterministic masking requires a pseudonymization key for version: " + keyVersion);
+        }
+
+        String input = value + "|" + dataType + "|" + (seed != null ? seed : "default");
+        if (!cachingEnabled) {
+            return mask(value, dataType, preserveFormat, keyVersion, input);
+        }
+
+        // Generated type follows the input type (e.g. Integer vs Long), so it is part of the key
+        String cacheKey = input + "|" + preserveFormat + "|" + value.getClass().getName();
+        RequestProfile.count("cache-lookups");
+        return maskCache.computeIfAbsent(TenantPartition.current(keyVersion), cacheKey, k -> {
+            RequestProfile.count("cache-misses");
+            return mask(value, dataType, preserveFormat, keyVersion, input);
+        });
+    }
+
+    @Override
+    public Object anonymize(Object value, String fieldName, boolean preserveFormat, Long seed) {
+        DataType dataType = DataType.classifyFromFieldName(fieldName);
+        return anonymize(value, dataType, preserveFormat, seed);
+    }
+
+    @Override
+    public boolean supports(DataType dataType) {
+        return true;
+    }
+
+    /**
+     * Gets the number of memoized masks across key versions
+     */
+    public int getCacheSize() {
+        return maskCache.size();
+    }
+
+    /**
+     * Gets the estimated bytes of masks memoized for a tenant
+     */
+    public long getCacheBytes(String tenantId) {
+        return maskCache.weight(partition -> partition.belongsTo(tenantId));
+    }
+
+    /**
+     * Drops the memoized masks of tenant policies retired by a reload
+     */
+    public void invalidateTenants(Collection<TenantPolicy> tenants) {
+        maskCache.invalidateIf(partition -> partition.tenant() != null && tenants.contains(partition.tenant()));
+    }
+
+    private Object mask(Object value, DataType dataType, boolean preserveFormat, String keyVersion, String input) {
+        long hashStart = RequestProfile.startTimer();
+        byte[] digest = keyRing.hmac(keyVersion, input.getBytes(StandardCharsets.UTF_8));
+        RequestProfile.stopTimer("hash", hashStart);
+        SeededFaker seeded = seededFakers.get();
+        seeded.random.setSeed(ByteBuffer.wrap(digest).getLong());
+        return fakeDataAnonymizer.generate(value, dataType, preserveFormat, seeded.faker);
+    }
+
+    private static final class SeededFaker {
+        private final Random random = new Random();
+        private final Faker faker = new Faker(random);
+    }
+}
@@ -2,28 +2,69 @@ package com.tnc.Data.Anonymization.service.impl;
 
 import com.github.javafaker.Faker;
 import com.tnc.Data.Anonymization.enums.DataType;
+import com.tnc.Data.Anonymization.enums.FakeValueKind;
+import com.tnc.Data.Anonymization.monitoring.RequestProfile;
+import com.tnc.Data.Anonymization.monitoring.jfr.FakerGenerationEvent;
 import com.tnc.Data.Anonymization.service.interfaces.DataAnonymizer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.apache.commons.lang3.StringUtils;
-import lombok.RequiredArgsConstructor;
 
 import java.time.LocalDate;
-import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.Date;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
 import java.util.Random;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Implementation of DataAnonymizer using JavaFaker library.
+ * Unseeded values take names, emails, addresses, valid numbers and words from the background
+ * FakeValuePools when available, and generate inline only when a pool runs dry; seeded generation
+ * always draws from its own random stream.
  * Follows SOLID principles:
  * - Single Responsibility: Handles fake data generation
  * - Open/Closed: Can be extended for new data types
  * - Liskov Substitution: Can replace any DataAnonymizer implementation
  */
 @Component("fakeDataAnonymizer")
-@RequiredArgsConstructor
 public class FakeDataAnonymizer implements DataAnonymizer {
     
-    private final Faker defaultFaker = new Faker();
+    // Representative originals selecting the general generator of each type when generating from a schema.
+    // SSN and ID templates keep their format through numerify, hundreds of times cheaper than Faker's
+    // valid-number generators, which retry regular expressions until a candidate passes
+    private static final Map<DataType, Object> GENERATION_TEMPLATES = new EnumMap<>(Map.ofEntries(
+        Map.entry(DataType.NAME, "First Last"),
+        Map.entry(DataType.EMAIL, "user@example.com"),
+        Map.entry(DataType.PHONE, "555-0100"),
+        Map.entry(DataType.ADDRESS, "address"),
+        Map.entry(DataType.SSN, "000-00-0000"),
+        Map.entry(DataType.CREDIT_CARD, "0000000000000000"),
+        Map.entry(DataType.DATE, LocalDate.EPOCH),
+        Map.entry(DataType.NUMBER, 0),
+        Map.entry(DataType.ID, "123456"),
+        Map.entry(DataType.BOOLEAN, Boolean.TRUE),
+        Map.entry(DataType.TEXT, "one two three four five six words"),
+        Map.entry(DataType.UNKNOWN, "")));
+    private static final Set<DataType> FORMATTED_TEMPLATES = EnumSet.of(DataType.SSN, DataType.ID);
+    private static final long MIN_BIRTH_DAY = LocalDate.of(1940, 1, 1).toEpochDay();
+    private static final long MAX_BIRTH_DAY = LocalDate.of(2005, 12, 31).toEpochDay();
+    
+    // Faker loads its locale YAML on construction, so it is built on first use rather than at startup
+    private volatile Faker defaultFaker;
+    private final FakeValuePools pools;
+    
+    public FakeDataAnonymizer() {
+        this(null);
+    }
+    
+    @Autowired
+    public FakeDataAnonymizer(FakeValuePools pools) {
+        this.pools = pools != null && pools.isEnabled() ? pools : null;
+    }
     
     @Override
     public Object anonymize(Object value, DataType dataType, boolean preserveFormat, Long seed) {
@@ -31,22 +72,57 @@ public class FakeDataAnonymizer implements DataAnonymizer {
             return null;
         }
         
-        Faker faker = seed != null ? new Faker(new Random(seed)) : defaultFaker;
-        
-        return switch (dataType) {
-            case NAME -> generateName(value, faker, preserveFormat);
-            case EMAIL -> generateEmail(value, faker, preserveFormat);
-            case PHONE -> generatePhone(value, faker, preserveFormat);
-            case ADDRESS -> generateAddress(value, faker, preserveFormat);
-            case SSN -> generateSSN(value, faker, preserveFormat);
-            case CREDIT_CARD -> generateCreditCard(value, faker, preserveFormat);
+        long initStart = RequestProfile.startTimer();
+        Faker faker = seed != null ? new Faker(new Random(seed)) : getDefaultFaker();
+        RequestProfile.stopTimer("faker-init", initStart);
+        return generate(value, dataType, preserveFormat, faker, seed != null ? null : pools);
+    }
+    
+    /**
+     * Generates a fake replacement using the given Faker, so callers controlling the
+     * random stream (e.g. deterministic masking) reuse the same generators
+     */
+    Object generate(Object value, DataType dataType, boolean preserveFormat, Faker faker) {
+        return generate(value, dataType, preserveFormat, faker, null);
+    }
+    
+    private Object generate(Object value, DataType dataType, boolean preserveFormat, Faker faker,
+                            FakeValuePools pools) {
+        FakerGenerationEvent event = new FakerGenerationEvent();
+        event.begin();
+        long start = RequestProfile.startTimer();
+        Object generated = switch (dataType) {
+            case NAME -> generateName(value, faker, preserveFormat, pools);
+            case EMAIL -> generateEmail(value, faker, preserveFormat, pools);
+            case PHONE -> generatePhone(value, faker, preserveFormat, pools);
+            case ADDRESS -> generateAddress(value, faker, preserveFormat, pools);
+            case SSN -> generateSSN(value, faker, preserveFormat, pools);
+            case CREDIT_CARD -> generateCreditCard(value, faker, preserveFormat, pools);
             case DATE -> generateDate(value, faker, preserveFormat);
             case NUMBER -> generateNumber(value, faker, preserveFormat);
-            case ID -> generateId(value, faker, preserveFormat);
+            case ID -> generateId(value, faker, preserveFormat, pools);
             case BOOLEAN -> faker.bool().bool();
-            case TEXT -> generateText(value, faker, preserveFormat);
-            case UNKNOWN -> generateGenericFakeData(value, faker);
+            case TEXT -> generateText(value, faker, preserveFormat, pools);
+            case UNKNOWN -> generateGenericFakeData(value, faker, pools);
         };
+        RequestProfile.stopTimer("faker", start);
+        event.end();
+        if (event.shouldCommit()) {
+            event.dataType = dataType.name();
+            event.preserveFormat = preserveFormat;
+            event.commit();
+        }
+        return generated;
+    }
+    
+    /**
+     * Generates a value of the data type from nothing, through the same generators as replacements;
+     * dates are returned as ISO strings so that generated records serialize alike everywhere
+     */
+    Object generate(DataType dataType, Faker faker) {
+        Object generated = generate(GENERATION_TEMPLATES.get(dataType), dataType,
+                                    FORMATTED_TEMPLATES.contains(dataType), faker);
+        return generated instanceof LocalDate date ? date.toString() : generated;
     }
     
     @Override
@@ -60,64 +136,86 @@ public class FakeDataAnonymizer implements DataAnonymizer {
         return true; // This implementation supports all data types
     }
     
-    private Object generateName(Object value, Faker faker, boolean preserveFormat) {
+    private Faker getDefaultFaker() {
+        Faker faker = defaultFaker;
+        if (faker == null) {
+            synchronized (this) {
+                faker = defaultFaker;
+                if (faker == null) {
+                    faker = new Faker();
+                    defaultFaker = faker;
+                }
+            }
+        }
+        return faker;
+    }
+    
+    /**
+     * Takes a pre-generated value when pooling applies, otherwise generates it with the given Faker
+     */
+    private static String take(FakeValueKind kind, Faker faker, FakeValuePools pools) {
+        String pooled = pools != null ? pools.poll(kind) : null;
+        return pooled != null ? pooled : FakeValuePools.generate(kind, faker);
+    }
+    
+    private Object generateName(Object value, Faker faker, boolean preserveFormat, FakeValuePools pools) {
         String original = value.toString();
         
         if (original.contains(" ")) {
             // Full name
-            return faker.name().fullName();
+            return take(FakeValueKind.FULL_NAME, faker, pools);
         } else if (original.length() > 0 && Character.isUpperCase(original.charAt(0))) {
             // Likely first name
-            return faker.name().firstName();
+            return take(FakeValueKind.FIRST_NAME, faker, pools);
         } else {
-            return faker.name().lastName();
+            return take(FakeValueKind.LAST_NAME, faker, pools);
         }
     }
     
-    private Object generateEmail(Object value, Faker faker, boolean preserveFormat) {
+    private Object generateEmail(Object value, Faker faker, boolean preserveFormat, FakeValuePools pools) {
         if (preserveFormat) {
             String original = value.toString();
             String domain = original.contains("@") ? original.substring(original.indexOf("@")) : "@example.com";
-            return faker.name().username() + domain;
+            return take(FakeValueKind.USERNAME, faker, pools) + domain;
         }
-        return faker.internet().emailAddress();
+        return take(FakeValueKind.EMAIL, faker, pools);
     }
     
-    private Object generatePhone(Object value, Faker faker, boolean preserveFormat) {
+    private Object generatePhone(Object value, Faker faker, boolean preserveFormat, FakeValuePools pools) {
         if (preserveFormat) {
             String original = value.toString();
             String pattern = original.replaceAll("\\d", "#");
             return faker.numerify(pattern);
         }
-        return faker.phoneNumber().phoneNumber();
+        return take(FakeValueKind.PHONE_NUMBER, faker, pools);
     }
     
-    private Object generateAddress(Object value, Faker faker, boolean preserveFormat) {
+    private Object generateAddress(Object value, Faker faker, boolean preserveFormat, FakeValuePools pools) {
         String original = value.toString().toLowerCase();
         
         if (original.contains("street") || original.contains("avenue") || original.contains("road")) {
-            return faker.address().streetAddress();
+            return take(FakeValueKind.STREET_ADDRESS, faker, pools);
         } else if (original.contains("city")) {
-            return faker.address().city();
+            return take(FakeValueKind.CITY, faker, pools);
         } else if (original.contains("zip") || original.contains("postal")) {
-            return faker.address().zipCode();
+            return take(FakeValueKind.ZIP_CODE, faker, pools);
         } else if (original.contains("state") || original.contains("province")) {
-            return faker.address().state();
+            return take(FakeValueKind.STATE, faker, pools);
         } else if (original.contains("country")) {
-            return faker.address().country();
+            return take(FakeValueKind.COUNTRY, faker, pools);
         }
         
-        return faker.address().fullAddress();
+        return take(FakeValueKind.FULL_ADDRESS, faker, pools);
     }
     
-    private Object generateSSN(Object value, Faker faker, boolean preserveFormat) {
+    private Object generateSSN(Object value, Faker faker, boolean preserveFormat, FakeValuePools pools) {
         if (preserveFormat) {
             return faker.numerify("###-##-####");
         }
-        return faker.idNumber().ssnValid();
+        return take(FakeValueKind.SSN, faker, pools);
     }
     
-    private Object generateCreditCard(Object value, Faker faker, boolean preserveFormat) {
+    private Object generateCreditCard(Object value, Faker faker, boolean preserveFormat, FakeValuePools pools) {
         if (preserveFormat) {
             String original = value.toString();
             if (original.length() == 16) {
@@ -126,18 +224,18 @@ public class FakeDataAnonymizer implements DataAnonymizer {
                 return faker.numerify("####-####-####-####");
             }
         }
-        return faker.finance().creditCard();
+        return take(FakeValueKind.CREDIT_CARD, faker, pools);
     }
     
     private Object generateDate(Object value, Faker faker, boolean preserveFormat) {
-        Date fakeDate = faker.date().birthday(18, 80);
+        // Drawn from a fixed range in UTC, so the same random stream gives the same date on any day and host
+        LocalDate fakeDate = LocalDate.ofEpochDay(faker.number().numberBetween(MIN_BIRTH_DAY, MAX_BIRTH_DAY + 1));
         
         if (value instanceof LocalDate) {
-            return fakeDate.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
-        } else if (value instanceof Date) {
             return fakeDate;
+        } else if (value instanceof Date) {
+            return Date.from(fakeDate.atStartOfDay(ZoneOffset.UTC).toInstant());
         } else {
-            // String date - try to preserve format
             return fakeDate.toString();
         }
     }
@@ -156,7 +254,7 @@ public class FakeDataAnonymizer implements DataAnonymizer {
         return faker.number().numberBetween(1, 100000);
     }
     
-    private Object generateId(Object value, Faker faker, boolean preserveFormat) {
+    private Object generateId(Object value, Faker faker, boolean preserveFormat, FakeValuePools pools) {
         if (preserveFormat) {
             String original = value.toString();
             if (StringUtils.isNumeric(original)) {
@@ -166,31 +264,33 @@ public class FakeDataAnonymizer implements DataAnonymizer {
             }
         }
         
-        return faker.idNumber().valid();
+        return take(FakeValueKind.ID_NUMBER, faker, pools);
     }
     
-    private Object generateText(Object value, Faker faker, boolean preserveFormat) {
+    private Object generateText(Object value, Faker faker, boolean preserveFormat, FakeValuePools pools) {
         String original = value.toString();
         int wordCount = original.split("\\s+").length;
         
         if (wordCount == 1) {
-            return faker.lorem().word();
+            return take(FakeValueKind.WORD, faker, pools);
         } else if (wordCount <= 5) {
-            return faker.lorem().words(wordCount);
+            // words(n) draws n single words, so pooled words give the same list
+            return pools == null ? faker.lorem().words(wordCount)
+                : Stream.generate(() -> take(FakeValueKind.WORD, faker, pools)).limit(wordCount).toList();
         } else {
             return faker.lorem().sentence(Math.min(wordCount, 20));
         }
     }
     
-    private Object generateGenericFakeData(Object value, Faker faker) {
+    private Object generateGenericFakeData(Object value, Faker faker, FakeValuePools pools) {
         if (value instanceof String) {
-            return faker.lorem().word();
+            return take(FakeValueKind.WORD, faker, pools);
         } else if (value instanceof Number) {
             return faker.number().numberBetween(1, 1000);
         } else if (value instanceof Boolean) {
             return faker.bool().bool();
         }
         
-        return faker.lorem().word();
+        return take(FakeValueKind.WORD, faker, pools);
     }
 }
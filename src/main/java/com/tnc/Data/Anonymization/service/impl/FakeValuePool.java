@@ -0,0 +1,64 @@
+package com.tnc.Data.Anonymization.service.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free single-producer multi-consumer ring of pre-generated values.
+ * The producer fills the slot at its cursor and then publishes the cursor; consumers read the slot at
+ * the shared head and claim it with one CAS. A slot is only refilled once the head has passed it, so a
+ * consumer whose CAS succeeds has read the value published for its sequence.
+ */
+final class FakeValuePool {
+
+    private final int mask;
+    private final AtomicReferenceArray<String> slots;
+    private final AtomicLong head = new AtomicLong();
+    private volatile long tail;
+
+    FakeValuePool(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, Math.min(1 << 30, requestedCapacity)) * 2 - 1);
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Takes the oldest value, or returns null at once when the pool is empty
+     */
+    String poll() {
+        while (true) {
+            long sequence = head.get();
+            if (sequence >= tail) {
+                return null;
+            }
+            String value = slots.get((int) (sequence & mask));
+            if (head.compareAndSet(sequence, sequence + 1)) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Checks whether the producer can add a value; only meaningful on the producer thread
+     */
+    boolean hasRoom() {
+        return tail - head.get() <= mask;
+    }
+
+    /**
+     * Adds a value after hasRoom returned true; single producer only
+     */
+    void offer(String value) {
+        long sequence = tail;
+        slots.set((int) (sequence & mask), value);
+        tail = sequence + 1;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail - head.get());
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,280 @@
+package com.tnc.Data.Anonymization.service.impl;
+
+import com.github.javafaker.Faker;
+import com.tnc.Data.Anonymization.config.FakeValuePoolConfig;
+import com.tnc.Data.Anonymization.enums.FakeValueKind;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Pools of fake values generated ahead of time, so unseeded MASKING takes a name, address or valid SSN
+ * in O(1) instead of waiting on Faker's expression and regular expression paths.
+ * Every kind has its own bounded lock-free pool refilled by one producer thread; producers fill their
+ * pools in batches and park once all of them are full, until a consumer leaves room for a refill batch
+ * (half the pool at most). A poll on an empty pool is counted as an underflow, wakes the pool's producer
+ * and leaves the caller to generate the value inline. Producers start on the first poll after the
+ * lifecycle's start, so replicas that never mask without a seed never build a Faker or fill a pool, and
+ * stop with the lifecycle.
+ */
+@Slf4j
+@Component
+public class FakeValuePools implements SmartLifecycle {
+
+    private static final FakeValueKind[] KINDS = FakeValueKind.values();
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final FakeValuePoolConfig config;
+    private final FakeValuePool[] pools = new FakeValuePool[KINDS.length];
+    private final LongAdder[] underflows = new LongAdder[KINDS.length];
+    private final int[] refillMarks = new int[KINDS.length];
+    private final Producer[] producerOf = new Producer[KINDS.length];
+    private final List<Producer> producers = new ArrayList<>();
+    private volatile boolean running;
+    private volatile boolean producing;
+
+    public FakeValuePools(FakeValuePoolConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        if (!config.isEnabled()) {
+            return;
+        }
+        for (FakeValueKind kind : KINDS) {
+            int size = config.sizeOf(kind);
+            if (size > 0) {
+                FakeValuePool pool = new FakeValuePool(size);
+                pools[kind.ordinal()] = pool;
+                underflows[kind.ordinal()] = new LongAdder();
+                refillMarks[kind.ordinal()] = pool.capacity() - Math.min(Math.max(1, config.getRefillBatch()),
+                                                                         pool.capacity() / 2);
+            }
+        }
+        bindMetrics(meterRegistry);
+    }
+
+    /**
+     * Lets the first poll start the producers; a no-op when disabled
+     */
+    @Override
+    public synchronized void start() {
+        if (config.isEnabled()) {
+            running = true;
+        }
+    }
+
+    /**
+     * Stops the producers; values already pooled can still be taken
+     */
+    @Override
+    public synchronized void stop() {
+        running = false;
+        producing = false;
+        for (Producer producer : producers) {
+            LockSupport.unpark(producer.thread);
+        }
+        try {
+            for (Producer producer : producers) {
+                producer.thread.join(TimeUnit.SECONDS.toMillis(10));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        producers.clear();
+        Arrays.fill(producerOf, null);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Starts before the web server takes requests and stops after it has finished them
+     */
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    /**
+     * Takes a pre-generated value of the kind
+     *
+     * @return The value, or null when the kind is not pooled or its pool ran dry
+     */
+    public String poll(FakeValueKind kind) {
+        FakeValuePool pool = pools[kind.ordinal()];
+        if (pool == null) {
+            return null;
+        }
+        if (!producing) {
+            startProducers();
+        }
+        String value = pool.poll();
+        if (value == null) {
+            underflows[kind.ordinal()].increment();
+            wake(kind);
+        } else if (pool.size() <= refillMarks[kind.ordinal()]) {
+            wake(kind);
+        }
+        return value;
+    }
+
+    public int getDepth(FakeValueKind kind) {
+        FakeValuePool pool = pools[kind.ordinal()];
+        return pool != null ? pool.size() : 0;
+    }
+
+    public int getCapacity(FakeValueKind kind) {
+        FakeValuePool pool = pools[kind.ordinal()];
+        return pool != null ? pool.capacity() : 0;
+    }
+
+    public long getUnderflows(FakeValueKind kind) {
+        LongAdder counter = underflows[kind.ordinal()];
+        return counter != null ? counter.sum() : 0;
+    }
+
+    private synchronized void startProducers() {
+        if (!running || producing) {
+            return;
+        }
+        int threads = Math.max(1, config.getThreads());
+        List<List<FakeValueKind>> owned = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            owned.add(new ArrayList<>());
+        }
+        int next = 0;
+        for (FakeValueKind kind : KINDS) {
+            if (pools[kind.ordinal()] != null) {
+                owned.get(next++ % threads).add(kind);
+            }
+        }
+        for (int t = 0; t < threads; t++) {
+            List<FakeValueKind> kinds = owned.get(t);
+            if (kinds.isEmpty()) {
+                continue;
+            }
+            Producer producer = new Producer();
+            producer.thread = new Thread(() -> produce(kinds, producer), "fake-value-producer-" + (t + 1));
+            producer.thread.setDaemon(true);
+            // Requests come first; producers use the cycles they leave
+            producer.thread.setPriority(Thread.MIN_PRIORITY);
+            for (FakeValueKind kind : kinds) {
+                producerOf[kind.ordinal()] = producer;
+            }
+            producers.add(producer);
+        }
+        producers.forEach(producer -> producer.thread.start());
+        producing = true;
+    }
+
+    /**
+     * Wakes the producer of a kind if it is parked
+     */
+    private void wake(FakeValueKind kind) {
+        Producer producer = producerOf[kind.ordinal()];
+        if (producer != null && producer.idle) {
+            producer.idle = false;
+            LockSupport.unpark(producer.thread);
+        }
+    }
+
+    /**
+     * Generates a value of the kind inline; producers and callers whose pool ran dry use the same calls
+     */
+    static String generate(FakeValueKind kind, Faker faker) {
+        return switch (kind) {
+            case FULL_NAME -> faker.name().fullName();
+            case FIRST_NAME -> faker.name().firstName();
+            case LAST_NAME -> faker.name().lastName();
+            case USERNAME -> faker.name().username();
+            case EMAIL -> faker.internet().emailAddress();
+            case PHONE_NUMBER -> faker.phoneNumber().phoneNumber();
+            case STREET_ADDRESS -> faker.address().streetAddress();
+            case CITY -> faker.address().city();
+            case ZIP_CODE -> faker.address().zipCode();
+            case STATE -> faker.address().state();
+            case COUNTRY -> faker.address().country();
+            case FULL_ADDRESS -> faker.address().fullAddress();
+            case SSN -> faker.idNumber().ssnValid();
+            case CREDIT_CARD -> faker.finance().creditCard();
+            case ID_NUMBER -> faker.idNumber().valid();
+            case WORD -> faker.lorem().word();
+        };
+    }
+
+    private void produce(List<FakeValueKind> kinds, Producer producer) {
+        // Building a Faker loads its locale YAML, which happens here rather than on the startup path
+        Faker faker = new Faker();
+        int batch = Math.max(1, config.getRefillBatch());
+        while (running) {
+            boolean refilled = false;
+            for (FakeValueKind kind : kinds) {
+                FakeValuePool pool = pools[kind.ordinal()];
+                try {
+                    for (int n = 0; n < batch && running && pool.hasRoom(); n++) {
+                        pool.offer(generate(kind, faker));
+                        refilled = true;
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("Fake {} values could not be generated", kind, e);
+                }
+            }
+            if (!refilled) {
+                park(kinds, producer);
+            }
+        }
+    }
+
+    /**
+     * Parks until a consumer wakes the producer; idle is published before the pools are checked once
+     * more, so a consumer either sees it or has already left the room being checked for
+     */
+    private void park(List<FakeValueKind> kinds, Producer producer) {
+        producer.idle = true;
+        for (FakeValueKind kind : kinds) {
+            if (pools[kind.ordinal()].size() <= refillMarks[kind.ordinal()]) {
+                producer.idle = false;
+                return;
+            }
+        }
+        while (producer.idle && running) {
+            LockSupport.park(this);
+        }
+    }
+
+    /**
+     * A producer thread and whether it is parked waiting for room in its pools
+     */
+    private static final class Producer {
+        private Thread thread;
+        private volatile boolean idle;
+    }
+
+    private void bindMetrics(MeterRegistry registry) {
+        for (FakeValueKind kind : KINDS) {
+            if (pools[kind.ordinal()] == null) {
+                continue;
+            }
+            String tag = kind.name().toLowerCase();
+            Gauge.builder("anonymization.fake.pool.depth", this, pools -> pools.getDepth(kind))
+                .description("Pre-generated fake values waiting in the pool").tag("kind", tag).register(registry);
+            FunctionCounter.builder("anonymization.fake.pool.underflows", this, pools -> pools.getUnderflows(kind))
+                .description("Fake values generated inline because the pool was empty").tag("kind", tag)
+                .register(registry);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.tnc.Data.Anonymization.service.impl;
+
+import com.tnc.Data.Anonymization.detection.DictionaryDetector;
+import com.tnc.Data.Anonymization.enums.DataType;
+import com.tnc.Data.Anonymization.enums.GeneralizationHierarchy;
+import com.tnc.Data.Anonymization.service.interfaces.DataAnonymizer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Implementation of DataAnonymizer applying one fixed generalization step per value.
+ * Without the whole dataset no k can be guaranteed, so single values are coarsened to a
+ * common level (date to year, number to range, postal code truncation) and direct identifiers
+ * are suppressed; dataset-level k-anonymity is provided by GeneralizationService. Text that would
+ * otherwise be kept has known identifiers from the detection dictionary redacted.
+ * Follows SOLID principles:
+ * - Single Responsibility: Handles per-value generalization
+ */
+@Component("generalizationAnonymizer")
+public class GeneralizationAnonymizer implements DataAnonymizer {
+    
+    private static final int DATE_LEVEL = 2;
+    private static final int NUMBER_LEVEL = 1;
+    private static final int ZIP_LEVEL = 2;
+    
+    private final DictionaryDetector dictionaryDetector;
+    
+    public GeneralizationAnonymizer(DictionaryDetector dictionaryDetector) {
+        this.dictionaryDetector = dictionaryDetector;
+    }
+    
+    @Override
+    public Object anonymize(Object value, DataType dataType, boolean preserveFormat, Long seed) {
+        if (value == null) {
+            return null;
+        }
+        
+        String original = value.toString();
+        return switch (dataType) {
+            case NAME, EMAIL, PHONE, SSN, CREDIT_CARD, ID -> GeneralizationHierarchy.SUPPRESSED;
+            case ADDRESS -> isPostalCode(original)
+                ? GeneralizationHierarchy.ZIP.generalize(original, ZIP_LEVEL)
+                : GeneralizationHierarchy.SUPPRESSED;
+            case DATE -> GeneralizationHierarchy.DATE.generalize(original, DATE_LEVEL);
+            case NUMBER -> GeneralizationHierarchy.NUMBER.generalize(original, NUMBER_LEVEL);
+            case UNKNOWN -> value instanceof Number
+                ? GeneralizationHierarchy.NUMBER.generalize(original, NUMBER_LEVEL)
+                : redactKnown(value);
+            case TEXT -> redactKnown(value);
+            case BOOLEAN -> value;
+        };
+    }
+    
+    @Override
+    public Object anonymize(Object value, String fieldName, boolean preserveFormat, Long seed) {
+        DataType dataType = DataType.classifyFromFieldName(fieldName);
+        return anonymize(value, dataType, preserveFormat, seed);
+    }
+    
+    @Override
+    public boolean supports(DataType dataType) {
+        return true;
+    }
+    
+    private Object redactKnown(Object value) {
+        return value instanceof String text && dictionaryDetector.isEnabled() ? dictionaryDetector.redact(text) : value;
+    }
+    
+    private static boolean isPostalCode(String value) {
+        int digits = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isDigit(c)) {
+                digits++;
+            } else if (c != '-' && c != ' ') {
+                return false;
+            }
+        }
+        return digits >= 4 && digits <= 10;
+    }
+}
@@ -0,0 +1,94 @@
+package com.tnc.Data.Anonymization.service.impl;
+
+import com.tnc.Data.Anonymization.engine.EncodedColumn;
+import com.tnc.Data.Anonymization.engine.KAnonymityEngine;
+import com.tnc.Data.Anonymization.enums.AnonymizationStrategy;
+import com.tnc.Data.Anonymization.enums.GeneralizationHierarchy;
+import com.tnc.Data.Anonymization.model.KAnonymityRequest;
+import com.tnc.Data.Anonymization.model.KAnonymityResponse;
+import com.tnc.Data.Anonymization.service.interfaces.AnonymizationService;
+import com.tnc.Data.Anonymization.service.interfaces.GeneralizationService;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of GeneralizationService backed by KAnonymityEngine.
+ * Quasi-identifiers are top-level fields of each record; the remaining fields are either left
+ * unchanged or anonymized field by field with the requested strategy.
+ * Follows SOLID principles:
+ * - Single Responsibility: Maps records to encoded columns and back
+ * - Dependency Inversion: Delegates per-field anonymization to AnonymizationService
+ */
+@Service
+public class GeneralizationServiceImpl implements GeneralizationService {
+
+    private final AnonymizationService anonymizationService;
+
+    public GeneralizationServiceImpl(AnonymizationService anonymizationService) {
+        this.anonymizationService = anonymizationService;
+    }
+
+    @Override
+    public KAnonymityResponse kAnonymize(KAnonymityRequest request) {
+        try {
+            List<Map<String, Object>> records = request.getRecords();
+            List<String> fields = new ArrayList<>(request.getQuasiIdentifiers().keySet());
+            GeneralizationHierarchy[] hierarchies = new GeneralizationHierarchy[fields.size()];
+            EncodedColumn[] columns = new EncodedColumn[fields.size()];
+
+            for (int c = 0; c < fields.size(); c++) {
+                String field = fields.get(c);
+                hierarchies[c] = GeneralizationHierarchy.fromString(request.getQuasiIdentifiers().get(field));
+                columns[c] = EncodedColumn.encode(records.stream()
+                    .map(record -> record.get(field) != null ? record.get(field).toString() : null)
+                    .toList());
+            }
+
+            KAnonymityEngine.Result result = new KAnonymityEngine(columns, hierarchies)
+                .anonymize(request.getK(), request.getMaxSuppressionRate());
+
+            AnonymizationStrategy strategy = request.getStrategy() != null
+                ? AnonymizationStrategy.fromString(request.getStrategy()) : null;
+            List<Map<String, Object>> generalized = new ArrayList<>(records.size());
+
+            for (int row = 0; row < records.size(); row++) {
+                Map<String, Object> others = new LinkedHashMap<>(records.get(row));
+                fields.forEach(others::remove);
+
+                Map<String, Object> record = strategy != null
+                    ? anonymizationService.anonymizeMap(others, strategy, request.isPreserveFormat(), request.getSeed())
+                    : others;
+                for (int c = 0; c < fields.size(); c++) {
+                    record.put(fields.get(c), result.value(c, row));
+                }
+                generalized.add(record);
+            }
+
+            Map<String, Integer> levels = new HashMap<>();
+            int[] chosenLevels = result.getLevels();
+            for (int c = 0; c < fields.size(); c++) {
+                levels.put(fields.get(c), chosenLevels[c]);
+            }
+
+            KAnonymityResponse response = new KAnonymityResponse(generalized, request.getK(), true);
+            response.setGeneralizationLevels(levels);
+            response.setEquivalenceClasses(result.getEquivalenceClasses());
+            response.setMinClassSize(result.getMinClassSize());
+            response.setSuppressedRecords(result.getSuppressedRows());
+            response.setMessage(records.size() + " records generalized to " + request.getK() + "-anonymity");
+            return response;
+
+        } catch (Exception e) {
+            KAnonymityResponse errorResponse = new KAnonymityResponse();
+            errorResponse.setSuccess(false);
+            errorResponse.setK(request.getK());
+            errorResponse.setMessage("Generalization failed: " + e.getMessage());
+            return errorResponse;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.tnc.Data.Anonymization.service.impl;
+
+import com.tnc.Data.Anonymization.config.TokenVaultConfig;
+import com.tnc.Data.Anonymization.service.interfaces.TokenVault;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * TokenVault backed by H2's embedded MVStore.
+ * Mappings are buffered in memory and written behind in batches by a single flusher thread,
+ * so request threads never wait on disk I/O unless the write buffer overflows.
+ * Follows SOLID principles:
+ * - Single Responsibility: Persists pseudonym mappings
+ * - Liskov Substitution: Can replace any TokenVault implementation
+ */
+@Slf4j
+@Component("tokenVault")
+public class MVStoreTokenVault implements TokenVault {
+
+    private static final String FORWARD_MAP = "forward";
+    private static final String REVERSE_MAP = "reverse";
+
+    private final TokenVaultConfig config;
+    private final ConcurrentHashMap<String, String> pendingForward = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, String> pendingReverse = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicLong reverseCollisions = new AtomicLong();
+
+    private MVStore store;
+    private MVMap<String, String> forwardIndex;
+    private MVMap<String, String> reverseIndex;
+    private ScheduledExecutorService flusher;
+
+    public MVStoreTokenVault(TokenVaultConfig config) {
+        this.config = config;
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        Path file = Path.of(config.getPath()).toAbsolutePath();
+        Files.createDirectories(file.getParent());
+
+        store = new MVStore.Builder()
+            .fileName(file.toString())
+            .cacheSize(config.getCacheSizeMb())
+            .autoCommitDisabled()
+            .compress()
+            .open();
+        forwardIndex = store.openMap(FORWARD_MAP);
+        reverseIndex = store.openMap(REVERSE_MAP);
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-vault-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, config.getFlushIntervalMs(),
+            config.getFlushIntervalMs(), TimeUnit.MILLISECONDS);
+
+        log.info("Token vault opened at {} with {} reverse mappings", file, reverseIndex.sizeAsLong());
+    }
+
+    @Override
+    public boolean record(String forwardKey, String originalValue, String pseudonym) {
+        if (store == null) {
+            return true;
+        }
+
+        // The pending entry reserves the pseudonym; a flush puts it into the index before removing it,
+        // so checking the index after reserving sees any mapping that left the pending map meanwhile
+        String pending = pendingReverse.putIfAbsent(pseudonym, originalValue);
+        if (pending != null && !pending.equals(originalValue)) {
+            reverseCollisions.incrementAndGet();
+            return false;
+        }
+        String stored = reverseIndex.get(pseudonym);
+        if (stored != null && !stored.equals(originalValue)) {
+            if (pending == null) {
+                pendingReverse.remove(pseudonym, originalValue);
+            }
+            reverseCollisions.incrementAndGet();
+            return false;
+        }
+        pendingForward.put(forwardKey, pseudonym);
+
+        // Caller-runs backpressure: only when the flusher falls behind does a request thread write
+        if (pendingForward.mappingCount() > config.getWriteQueueCapacity()) {
+            flush();
+        }
+        return true;
+    }
+
+    @Override
+    public Optional<String> findPseudonym(String forwardKey) {
+        if (store == null) {
+            return Optional.empty();
+        }
+
+        String pending = pendingForward.get(forwardKey);
+        return pending != null ? Optional.of(pending) : Optional.ofNullable(forwardIndex.get(forwardKey));
+    }
+
+    @Override
+    public Map<String, String> detokenize(Collection<String> pseudonyms) {
+        Map<String, String> resolved = new HashMap<>();
+        if (store == null || pseudonyms == null) {
+            return resolved;
+        }
+
+        // Sorted lookups walk neighbouring B-tree pages, which keeps bulk resolution cache friendly
+        for (String pseudonym : new TreeSet<>(pseudonyms)) {
+            String original = pendingReverse.get(pseudonym);
+            if (original == null) {
+                original = reverseIndex.get(pseudonym);
+            }
+            if (original != null) {
+                resolved.put(pseudonym, original);
+            }
+        }
+
+        return resolved;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return store != null;
+    }
+
+    @Override
+    public long size() {
+        return store == null ? 0 : reverseIndex.sizeAsLong() + pendingReverse.mappingCount();
+    }
+
+    /**
+     * Gets the number of pseudonyms refused because they already resolved to another value
+     */
+    public long getReverseCollisions() {
+        return reverseCollisions.get();
+    }
+
+    /**
+     * Writes all buffered mappings to the store and commits them
+     */
+    public void flush() {
+        if (store == null) {
+            return;
+        }
+
+        flushLock.lock();
+        try {
+            if (pendingForward.isEmpty() && pendingReverse.isEmpty()) {
+                return;
+            }
+
+            for (Map.Entry<String, String> entry : pendingForward.entrySet()) {
+                forwardIndex.put(entry.getKey(), entry.getValue());
+                pendingForward.remove(entry.getKey(), entry.getValue());
+            }
+
+            // Pseudonyms are reserved when recorded, so pending reverse mappings never collide here
+            for (Map.Entry<String, String> entry : pendingReverse.entrySet()) {
+                reverseIndex.putIfAbsent(entry.getKey(), entry.getValue());
+                pendingReverse.remove(entry.getKey(), entry.getValue());
+            }
+
+            store.commit();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Token vault flush failed", e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (store == null) {
+            return;
+        }
+
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        flush();
+        store.close();
+        store = null;
+    }
+}
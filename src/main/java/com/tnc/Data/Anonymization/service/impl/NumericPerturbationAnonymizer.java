@@ -0,0 +1,226 @@
+package com.tnc.Data.Anonymization.service.impl;
+
+import com.tnc.Data.Anonymization.config.PerturbationConfig;
+import com.tnc.Data.Anonymization.engine.PerturbationKernel;
+import com.tnc.Data.Anonymization.engine.PerturbationKernels;
+import com.tnc.Data.Anonymization.engine.PerturbationParameters;
+import com.tnc.Data.Anonymization.enums.DataType;
+import com.tnc.Data.Anonymization.service.interfaces.DataAnonymizer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Implementation of DataAnonymizer adding bounded multiplicative noise to numeric values.
+ * Unlike MASKING, which replaces a number with an unrelated random one, perturbed values keep
+ * their magnitude and the overall distribution, so aggregates over anonymized extracts stay useful.
+ * Whole numeric columns are perturbed in one pass over a primitive array by a PerturbationKernel
+ * (Vector API when available); non-numeric values are masked with fake data. Seeded noise is keyed on
+ * the column name as well, so columns perturbed with one seed do not share a noise sequence.
+ * Follows SOLID principles:
+ * - Single Responsibility: Maps boxed values to primitive columns, the arithmetic lives in the kernel
+ * - Liskov Substitution: Can replace any DataAnonymizer implementation
+ */
+@Slf4j
+@Component("perturbationAnonymizer")
+public class NumericPerturbationAnonymizer implements DataAnonymizer {
+
+    private static final Pattern NUMERIC = Pattern.compile("-?\\d+(\\.\\d+)?");
+
+    private final DataAnonymizer fakeDataAnonymizer;
+    private final PerturbationKernel kernel;
+    private final PerturbationParameters parameters;
+
+    public NumericPerturbationAnonymizer(@Qualifier("fakeDataAnonymizer") DataAnonymizer fakeDataAnonymizer,
+                                         PerturbationConfig config) {
+        this.fakeDataAnonymizer = fakeDataAnonymizer;
+        this.kernel = PerturbationKernels.create(config.isVectorEnabled());
+        this.parameters = new PerturbationParameters(config.getNoiseRatio(), config.getScale(),
+                                                     config.getRoundingStep());
+        log.info("Numeric perturbation uses the {} kernel", kernel.name());
+    }
+
+    @Override
+    public Object anonymize(Object value, DataType dataType, boolean preserveFormat, Long seed) {
+        return anonymize(value, null, dataType, preserveFormat, seed);
+    }
+
+    @Override
+    public Object anonymize(Object value, String fieldName, DataType dataType, boolean preserveFormat, Long seed) {
+        if (value == null) {
+            return null;
+        }
+        if (!isPerturbable(value, dataType)) {
+            return fakeDataAnonymizer.anonymize(value, dataType, preserveFormat, seed);
+        }
+
+        seed = columnSeed(seed, fieldName);
+        if (value instanceof String text) {
+            return perturbText(text, seed);
+        }
+
+        Number number = (Number) value;
+        if (isIntegral(number)) {
+            long[] column = {number.longValue()};
+            kernel.perturb(column, valueSeed(seed, column[0]), parameters);
+            return restore(number, column[0]);
+        }
+        double[] column = {number.doubleValue()};
+        kernel.perturb(column, valueSeed(seed, Double.doubleToLongBits(column[0])), parameters);
+        return restore(number, column[0]);
+    }
+
+    @Override
+    public Object anonymize(Object value, String fieldName, boolean preserveFormat, Long seed) {
+        DataType dataType = DataType.classifyFromFieldName(fieldName);
+        return anonymize(value, fieldName, dataType, preserveFormat, seed);
+    }
+
+    @Override
+    public boolean supports(DataType dataType) {
+        return true;
+    }
+
+    /**
+     * Checks whether a list can be perturbed as one primitive column: all elements non-null numbers
+     * of a numeric (or unclassified) field
+     */
+    public boolean isNumericColumn(List<?> values, DataType dataType) {
+        if (values.isEmpty() || (dataType != DataType.NUMBER && dataType != DataType.UNKNOWN)) {
+            return false;
+        }
+        for (Object value : values) {
+            if (!(value instanceof Number)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Perturbs a column of numbers in one kernel pass; each element keeps its boxed type.
+     * With a seed, the noise of an element depends on the seed, the column name and its position only.
+     */
+    public List<Object> perturbColumn(List<? extends Number> values, Long seed, String fieldName) {
+        long columnSeed = seed != null ? columnSeed(seed, fieldName) : ThreadLocalRandom.current().nextLong();
+        List<Object> perturbed = new ArrayList<>(values.size());
+
+        if (values.stream().allMatch(NumericPerturbationAnonymizer::isIntegral)) {
+            long[] column = new long[values.size()];
+            for (int i = 0; i < column.length; i++) {
+                column[i] = values.get(i).longValue();
+            }
+            kernel.perturb(column, columnSeed, parameters);
+            for (int i = 0; i < column.length; i++) {
+                perturbed.add(restore(values.get(i), column[i]));
+            }
+            return perturbed;
+        }
+
+        double[] column = new double[values.size()];
+        for (int i = 0; i < column.length; i++) {
+            column[i] = values.get(i).doubleValue();
+        }
+        kernel.perturb(column, columnSeed, parameters);
+        for (int i = 0; i < column.length; i++) {
+            perturbed.add(restore(values.get(i), column[i]));
+        }
+        return perturbed;
+    }
+
+    /**
+     * Gets the name of the kernel in use (scalar or vector width)
+     */
+    public String getKernelName() {
+        return kernel.name();
+    }
+
+    private static boolean isPerturbable(Object value, DataType dataType) {
+        if (dataType != DataType.NUMBER && dataType != DataType.UNKNOWN) {
+            return false;
+        }
+        return value instanceof Number || (value instanceof String text && NUMERIC.matcher(text).matches());
+    }
+
+    private static boolean isIntegral(Number number) {
+        return number instanceof Integer || number instanceof Long || number instanceof Short
+            || number instanceof Byte || (number instanceof BigInteger big && big.bitLength() < 64);
+    }
+
+    /**
+     * Keys single-value noise on the value itself, so a seeded value always perturbs the same way
+     */
+    private static long valueSeed(Long seed, long valueBits) {
+        if (seed == null) {
+            return ThreadLocalRandom.current().nextLong();
+        }
+        return seed ^ Long.rotateLeft(valueBits * 0x9E3779B97F4A7C15L, 31);
+    }
+
+    /**
+     * Mixes the column name into a seed, so equal values of different columns get different noise
+     */
+    private static Long columnSeed(Long seed, String column) {
+        if (seed == null || column == null) {
+            return seed;
+        }
+        long z = seed + column.hashCode() * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        return z ^ (z >>> 27);
+    }
+
+    private Object perturbText(String text, Long seed) {
+        int dot = text.indexOf('.');
+        if (dot < 0) {
+            BigInteger integer = new BigInteger(text);
+            if (integer.bitLength() < 64) {
+                long[] column = {integer.longValue()};
+                kernel.perturb(column, valueSeed(seed, column[0]), parameters);
+                return Long.toString(column[0]);
+            }
+            // Beyond the long range, e.g. 20-digit account numbers, the noise is applied in double precision
+            double[] column = {integer.doubleValue()};
+            kernel.perturb(column, valueSeed(seed, Double.doubleToLongBits(column[0])), parameters);
+            return BigDecimal.valueOf(column[0]).setScale(0, RoundingMode.HALF_EVEN).toPlainString();
+        }
+
+        double[] column = {Double.parseDouble(text)};
+        kernel.perturb(column, valueSeed(seed, Double.doubleToLongBits(column[0])), parameters);
+        int decimals = text.length() - dot - 1;
+        return BigDecimal.valueOf(column[0]).setScale(decimals, RoundingMode.HALF_EVEN).toPlainString();
+    }
+
+    private static Object restore(Number original, long value) {
+        if (original instanceof Integer) {
+            return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, value));
+        } else if (original instanceof Short) {
+            return (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, value));
+        } else if (original instanceof Byte) {
+            return (byte) Math.max(Byte.MIN_VALUE, Math.min(Byte.MAX_VALUE, value));
+        } else if (original instanceof BigInteger) {
+            return BigInteger.valueOf(value);
+        }
+        return value;
+    }
+
+    private static Object restore(Number original, double value) {
+        if (original instanceof Float) {
+            return (float) value;
+        } else if (original instanceof BigDecimal) {
+            return BigDecimal.valueOf(value);
+        } else if (original instanceof BigInteger) {
+            return BigDecimal.valueOf(value).setScale(0, RoundingMode.HALF_EVEN).toBigInteger();
+        } else if (isIntegral(original)) {
+            return restore(original, Math.round(value));
+        }
+        return value;
+    }
+}
@@ -0,0 +1,133 @@
+package com.tnc.Data.Anonymization.service.impl;
+
+import com.tnc.Data.Anonymization.config.PartialMaskingConfig;
+import com.tnc.Data.Anonymization.enums.DataType;
+import com.tnc.Data.Anonymization.service.interfaces.DataAnonymizer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Implementation of DataAnonymizer masking part of each value and leaving the rest readable, e.g.
+ * ****-****-****-1234, j***@domain.com or ***-**-6789, as configured per data type.
+ * The rules are compiled once into an array indexed by data type; a value is copied into a per-thread
+ * char buffer, masked in place in two passes without regular expressions, and copied out once into the
+ * result string. Masks keep the length of the value. Values too short to keep the configured characters
+ * and still hide one are masked completely.
+ * Follows SOLID principles:
+ * - Single Responsibility: Applies partial masks, rules live in PartialMaskingConfig
+ * - Liskov Substitution: Can replace any DataAnonymizer implementation
+ */
+@Component("partialMaskingAnonymizer")
+public class PartialMaskingAnonymizer implements DataAnonymizer {
+
+    // Buffers grown beyond this by a huge value are not kept for the thread
+    private static final int MAX_RETAINED_BUFFER = 8192;
+
+    private final char maskChar;
+    private final Kernel[] kernels = new Kernel[DataType.values().length];
+    private final ThreadLocal<char[]> buffers = ThreadLocal.withInitial(() -> new char[256]);
+
+    public PartialMaskingAnonymizer(PartialMaskingConfig config) {
+        this.maskChar = config.getMaskChar();
+        for (DataType dataType : DataType.values()) {
+            PartialMaskingConfig.Rule rule = config.getRules().getOrDefault(dataType, config.getDefaults());
+            kernels[dataType.ordinal()] = new Kernel(Math.max(0, rule.getKeepFirst()), Math.max(0, rule.getKeepLast()),
+                                                     rule.isKeepSeparators(), rule.isKeepDomain());
+        }
+    }
+
+    @Override
+    public Object anonymize(Object value, DataType dataType, boolean preserveFormat, Long seed) {
+        if (value == null) {
+            return null;
+        }
+        return mask(value.toString(), kernels[dataType.ordinal()]);
+    }
+
+    @Override
+    public Object anonymize(Object value, String fieldName, boolean preserveFormat, Long seed) {
+        DataType dataType = DataType.classifyFromFieldName(fieldName);
+        return anonymize(value, dataType, preserveFormat, seed);
+    }
+
+    @Override
+    public boolean supports(DataType dataType) {
+        return true;
+    }
+
+    private String mask(String value, Kernel kernel) {
+        int length = value.length();
+        if (length == 0) {
+            return value;
+        }
+        char[] buffer = buffer(length);
+        value.getChars(0, length, buffer, 0);
+
+        int end = length;
+        if (kernel.keepDomain) {
+            int at = value.lastIndexOf('@');
+            if (at > 0) {
+                end = at;
+            }
+        }
+
+        // First pass: count the characters that can be masked, a surrogate pair counting once
+        int maskable = 0;
+        for (int i = 0; i < end; i++) {
+            char c = buffer[i];
+            if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(buffer[i + 1])) {
+                i++;
+                maskable++;
+            } else if (isMaskable(c, kernel)) {
+                maskable++;
+            }
+        }
+        int keepFirst = kernel.keepFirst;
+        int keepLast = kernel.keepLast;
+        if (keepFirst + keepLast >= maskable) {
+            keepFirst = 0;
+            keepLast = 0;
+        }
+
+        // Second pass: mask the characters between the kept head and tail
+        int maskFrom = keepFirst;
+        int maskTo = maskable - keepLast;
+        int index = 0;
+        for (int i = 0; i < end; i++) {
+            char c = buffer[i];
+            boolean pair = Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(buffer[i + 1]);
+            if (!pair && !isMaskable(c, kernel)) {
+                continue;
+            }
+            if (index >= maskFrom && index < maskTo) {
+                buffer[i] = maskChar;
+                if (pair) {
+                    buffer[i + 1] = maskChar;
+                }
+            }
+            if (pair) {
+                i++;
+            }
+            index++;
+        }
+        return new String(buffer, 0, length);
+    }
+
+    private static boolean isMaskable(char c, Kernel kernel) {
+        return !kernel.keepSeparators || Character.isLetterOrDigit(c) || Character.isSurrogate(c);
+    }
+
+    private char[] buffer(int length) {
+        if (length > MAX_RETAINED_BUFFER) {
+            return new char[length];
+        }
+        char[] buffer = buffers.get();
+        if (buffer.length < length) {
+            buffer = new char[Math.max(length, buffer.length * 2)];
+            buffers.set(buffer);
+        }
+        return buffer;
+    }
+
+    private record Kernel(int keepFirst, int keepLast, boolean keepSeparators, boolean keepDomain) {
+    }
+}
@@ -0,0 +1,141 @@
+package com.tnc.Data.Anonymization.service.impl;
+
+import com.tnc.Data.Anonymization.config.PseudonymizationConfig;
+import com.tnc.Data.Anonymization.enums.PseudonymizationMode;
+import com.tnc.Data.Anonymization.tenant.TenantContext;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.security.KeyStore;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Holds the versioned HMAC keys used for keyed pseudonymization.
+ * Keys are loaded once from local configuration and/or a keystore, so every replica configured
+ * with the same keys derives identical pseudonyms without any coordination.
+ * Follows SOLID principles:
+ * - Single Responsibility: Loads keys and computes keyed digests
+ */
+@Slf4j
+@Component
+public class PseudonymKeyRing {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final PseudonymizationConfig config;
+    private final Map<String, SecretKey> keys = new HashMap<>();
+    private final ThreadLocal<Map<String, Mac>> macs = ThreadLocal.withInitial(HashMap::new);
+
+    public PseudonymKeyRing(PseudonymizationConfig config) {
+        this.config = config;
+    }
+
+    @PostConstruct
+    public void loadKeys() throws IOException, GeneralSecurityException {
+        config.getKeys().forEach((version, encoded) -> {
+            if (StringUtils.isNotBlank(encoded)) {
+                keys.put(version, new SecretKeySpec(Base64.getDecoder().decode(encoded.trim()), HMAC_ALGORITHM));
+            }
+        });
+
+        PseudonymizationConfig.Keystore keystore = config.getKeystore();
+        if (StringUtils.isNotBlank(keystore.getPath())) {
+            loadKeystore(keystore);
+        }
+
+        for (String version : keys.keySet()) {
+            if (version.contains(":")) {
+                throw new IllegalStateException("Key version must not contain ':' : " + version);
+            }
+        }
+
+        if (config.getMode() == PseudonymizationMode.HMAC) {
+            String active = config.getActiveKeyVersion();
+            if (active == null || !keys.containsKey(active)) {
+                throw new IllegalStateException("HMAC pseudonymization requires a key for active version: " + active);
+            }
+            log.info("Keyed pseudonymization enabled with active key version {} ({} versions loaded)",
+                     active, keys.size());
+        }
+    }
+
+    /**
+     * Gets the version of the key used for new pseudonyms: the current tenant's key if it has one
+     */
+    public String getActiveVersion() {
+        String tenantVersion = TenantContext.keyVersion();
+        return tenantVersion != null ? tenantVersion : config.getActiveKeyVersion();
+    }
+
+    /**
+     * Checks whether a key is loaded for the given version
+     */
+    public boolean hasKey(String version) {
+        return version != null && keys.containsKey(version);
+    }
+
+    /**
+     * Gets all loaded key versions
+     */
+    public Set<String> getVersions() {
+        return Collections.unmodifiableSet(keys.keySet());
+    }
+
+    /**
+     * Computes HMAC-SHA256 of the input with the key of the given version
+     */
+    public byte[] hmac(String version, byte[] input) {
+        Mac mac = macs.get().computeIfAbsent(version, this::newMac);
+        return mac.doFinal(input);
+    }
+
+    private Mac newMac(String version) {
+        SecretKey key = keys.get(version);
+        if (key == null) {
+            throw new IllegalArgumentException("Unknown pseudonymization key version: " + version);
+        }
+
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException("Cannot initialize " + HMAC_ALGORITHM + " for key version " + version, e);
+        }
+    }
+
+    private void loadKeystore(PseudonymizationConfig.Keystore keystore) throws IOException, GeneralSecurityException {
+        char[] password = keystore.getPassword() != null ? keystore.getPassword().toCharArray() : null;
+        KeyStore store = KeyStore.getInstance(keystore.getType());
+
+        try (InputStream in = Files.newInputStream(Path.of(keystore.getPath()))) {
+            store.load(in, password);
+        }
+
+        Enumeration<String> aliases = store.aliases();
+        while (aliases.hasMoreElements()) {
+            String alias = aliases.nextElement();
+            if (store.entryInstanceOf(alias, KeyStore.SecretKeyEntry.class)) {
+                SecretKey key = (SecretKey) store.getKey(alias, password);
+                keys.put(alias, new SecretKeySpec(key.getEncoded(), HMAC_ALGORITHM));
+            }
+        }
+    }
+}
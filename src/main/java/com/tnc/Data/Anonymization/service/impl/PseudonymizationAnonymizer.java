@@ -1,18 +1,38 @@
 package com.tnc.Data.Anonymization.service.impl;
 
+import com.tnc.Data.Anonymization.cache.PartitionedCache;
+import com.tnc.Data.Anonymization.config.AnonymizationConfig;
+import com.tnc.Data.Anonymization.config.PseudonymizationConfig;
 import com.tnc.Data.Anonymization.enums.DataType;
+import com.tnc.Data.Anonymization.enums.PseudonymizationMode;
+import com.tnc.Data.Anonymization.monitoring.RequestProfile;
+import com.tnc.Data.Anonymization.monitoring.jfr.PseudonymCacheMissEvent;
 import com.tnc.Data.Anonymization.service.interfaces.DataAnonymizer;
+import com.tnc.Data.Anonymization.service.interfaces.TokenVault;
+import com.tnc.Data.Anonymization.tenant.TenantContext;
+import com.tnc.Data.Anonymization.tenant.TenantPartition;
+import com.tnc.Data.Anonymization.tenant.TenantPolicy;
 import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Implementation of DataAnonymizer using pseudonymization technique.
  * Provides consistent, reversible anonymization using hashing.
+ * Every issued pseudonym is recorded in the TokenVault so it can be resolved back later. Pseudonyms depend
+ * only on the value and the key, never on what the local vault holds, so every replica issues the same one;
+ * a pseudonym the vault already holds for another value is still returned, counted as a collision and
+ * left unrecorded, so it resolves to the value that claimed it first.
+ * In HMAC mode pseudonyms are derived with the active versioned key and the cache is partitioned
+ * by key version, so a rotation leaves old entries to age out instead of flushing the cache.
+ * Tenants have their own partitions bounded by their memory quota, and a tenant with its own key
+ * version gets keyed pseudonyms in either mode.
  * Follows SOLID principles:
  * - Single Responsibility: Handles pseudonymization logic
  * - Open/Closed: Can be extended for different hashing algorithms
@@ -20,10 +40,25 @@ import java.util.concurrent.ConcurrentHashMap;
 @Component("pseudonymizationAnonymizer")
 public class PseudonymizationAnonymizer implements DataAnonymizer {
     
-    private final ConcurrentHashMap<String, String> pseudonymCache = new ConcurrentHashMap<>();
+    private static final String HASH_PARTITION = "sha256";
+    
+    private final PartitionedCache<TenantPartition, String, String> pseudonymCache;
     private final MessageDigest messageDigest;
+    private final TokenVault tokenVault;
+    private final PseudonymKeyRing keyRing;
+    private final PseudonymizationConfig pseudonymizationConfig;
+    private final AnonymizationConfig anonymizationConfig;
+    private final LongAdder collisions = new LongAdder();
     
-    public PseudonymizationAnonymizer() {
+    public PseudonymizationAnonymizer(TokenVault tokenVault, PseudonymKeyRing keyRing,
+                                      PseudonymizationConfig pseudonymizationConfig,
+                                      AnonymizationConfig anonymizationConfig) {
+        this.tokenVault = tokenVault;
+        this.keyRing = keyRing;
+        this.pseudonymizationConfig = pseudonymizationConfig;
+        this.anonymizationConfig = anonymizationConfig;
+        this.pseudonymCache = new PartitionedCache<>(TenantPartition.sizing(anonymizationConfig.getCacheMaxSize()),
+                                                     pseudonymizationConfig.getCachePartitionIdleTimeout());
         try {
             this.messageDigest = MessageDigest.getInstance("SHA-256");
         } catch (NoSuchAlgorithmException e) {
@@ -39,9 +74,24 @@ public class PseudonymizationAnonymizer implements DataAnonymizer {
         
         String originalValue = value.toString();
         String seedString = seed != null ? seed.toString() : "default";
-        String cacheKey = originalValue + "|" + dataType + "|" + seedString;
+        String cacheKey = originalValue + "|" + dataType + "|" + seedString + "|" + preserveFormat;
+        String keyVersion = pseudonymizationConfig.getMode() == PseudonymizationMode.HMAC
+                || TenantContext.keyVersion() != null ? keyRing.getActiveVersion() : null;
+        
+        if (!anonymizationConfig.isEnableCaching()) {
+            return lookupOrGenerate(cacheKey, originalValue, dataType, preserveFormat, seedString, keyVersion);
+        }
         
-        return pseudonymCache.computeIfAbsent(cacheKey, k -> generatePseudonym(originalValue, dataType, preserveFormat, seedString));
+        TenantPartition partition = TenantPartition.current(keyVersion != null ? keyVersion : HASH_PARTITION);
+        RequestProfile.count("cache-lookups");
+        String cached = pseudonymCache.get(partition, cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+        // Vault reads and caller-runs flushes happen outside the cache, so a slow disk never holds a key lock
+        RequestProfile.count("cache-misses");
+        String pseudonym = lookupOrGenerate(cacheKey, originalValue, dataType, preserveFormat, seedString, keyVersion);
+        return pseudonymCache.putIfAbsent(partition, cacheKey, pseudonym);
     }
     
     @Override
@@ -55,19 +105,73 @@ public class PseudonymizationAnonymizer implements DataAnonymizer {
         return true; // Pseudonymization can be applied to any data type
     }
     
-    private String generatePseudonym(String originalValue, DataType dataType, boolean preserveFormat, String seed) {
-        String input = originalValue + "|" + dataType + "|" + seed;
+    /**
+     * Gets the number of pseudonyms that the vault already held for another value
+     */
+    public long getCollisions() {
+        return collisions.sum();
+    }
+    
+    private String lookupOrGenerate(String cacheKey, String originalValue, DataType dataType,
+                                    boolean preserveFormat, String seed, String keyVersion) {
+        String vaultKey = keyVersion != null ? keyVersion + "|" + cacheKey : cacheKey;
         
-        synchronized (messageDigest) {
-            byte[] hash = messageDigest.digest(input.getBytes(StandardCharsets.UTF_8));
-            String base64Hash = Base64.getEncoder().encodeToString(hash);
-            
-            if (preserveFormat) {
-                return formatPseudonym(base64Hash, originalValue, dataType);
-            } else {
-                return base64Hash.substring(0, Math.min(base64Hash.length(), 16));
+        PseudonymCacheMissEvent event = new PseudonymCacheMissEvent();
+        event.begin();
+        long vaultStart = RequestProfile.startTimer();
+        Optional<String> stored = tokenVault.findPseudonym(vaultKey);
+        RequestProfile.stopTimer("vault", vaultStart);
+        
+        String pseudonym = stored.orElseGet(() -> issue(vaultKey, originalValue, dataType, preserveFormat, seed, keyVersion));
+        
+        event.end();
+        if (event.shouldCommit()) {
+            event.dataType = dataType.name();
+            event.keyVersion = keyVersion;
+            event.vaultHit = stored.isPresent();
+            event.commit();
+        }
+        return pseudonym;
+    }
+    
+    /**
+     * Generates a pseudonym and reserves it in the vault; a pseudonym already resolving to another value
+     * is counted and returned unrecorded rather than re-derived, so it stays the same on every replica
+     */
+    private String issue(String vaultKey, String originalValue, DataType dataType, boolean preserveFormat,
+                         String seed, String keyVersion) {
+        String generated = generatePseudonym(originalValue, dataType, preserveFormat, seed, keyVersion);
+        if (!tokenVault.record(vaultKey, originalValue, generated)) {
+            collisions.increment();
+            RequestProfile.count("pseudonym-collisions");
+        }
+        return generated;
+    }
+    
+    private String generatePseudonym(String originalValue, DataType dataType, boolean preserveFormat,
+                                     String seed, String keyVersion) {
+        byte[] input = (originalValue + "|" + dataType + "|" + seed).getBytes(StandardCharsets.UTF_8);
+        byte[] hash;
+        
+        long hashStart = RequestProfile.startTimer();
+        if (keyVersion != null) {
+            hash = keyRing.hmac(keyVersion, input);
+        } else {
+            synchronized (messageDigest) {
+                hash = messageDigest.digest(input);
             }
         }
+        RequestProfile.stopTimer("hash", hashStart);
+        
+        String base64Hash = Base64.getEncoder().encodeToString(hash);
+        
+        if (preserveFormat) {
+            return formatPseudonym(base64Hash, originalValue, dataType);
+        }
+        
+        String pseudonym = base64Hash.substring(0, Math.min(base64Hash.length(), 16));
+        // Tag keyed pseudonyms with their key version; format-preserving ones keep the version in the vault
+        return keyVersion != null ? keyVersion + ":" + pseudonym : pseudonym;
     }
     
     private String formatPseudonym(String hash, String originalValue, DataType dataType) {
@@ -222,4 +326,25 @@ public class PseudonymizationAnonymizer implements DataAnonymizer {
     public int getCacheSize() {
         return pseudonymCache.size();
     }
+    
+    /**
+     * Gets the estimated bytes cached for a tenant
+     */
+    public long getCacheBytes(String tenantId) {
+        return pseudonymCache.weight(partition -> partition.belongsTo(tenantId));
+    }
+    
+    /**
+     * Drops the cached pseudonyms of tenant policies retired by a reload
+     */
+    public void invalidateTenants(Collection<TenantPolicy> tenants) {
+        pseudonymCache.invalidateIf(partition -> partition.tenant() != null && tenants.contains(partition.tenant()));
+    }
+    
+    /**
+     * Gets the number of cache partitions, one per tenant and key version still in use
+     */
+    public int getCachePartitionCount() {
+        return pseudonymCache.partitionCount();
+    }
 }
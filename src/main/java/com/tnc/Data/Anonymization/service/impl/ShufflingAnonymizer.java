@@ -0,0 +1,87 @@
+package com.tnc.Data.Anonymization.service.impl;
+
+import com.tnc.Data.Anonymization.config.ShufflingConfig;
+import com.tnc.Data.Anonymization.engine.FisherYates;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Permutes the values of columns across the records of a batch.
+ * Each column gets its own Fisher-Yates permutation of a primitive index array over the records that
+ * have the field, so every value stays real and each column keeps its exact distribution while the
+ * links between the fields of a record are broken. Permutations are derived from the seed and the
+ * column name, so a seeded batch shuffles identically on every call. A single value or record has
+ * nothing to be exchanged with, so it is not a DataAnonymizer and rejects batches of fewer than 2 records.
+ * Follows SOLID principles:
+ * - Single Responsibility: Permutes columns of in-memory batches, files are shuffled on disk by the command-line runner
+ */
+@Component("shufflingAnonymizer")
+public class ShufflingAnonymizer {
+
+    /** Records needed for a shuffle to move anything */
+    public static final int MIN_RECORDS = 2;
+
+    private final ShufflingConfig config;
+
+    public ShufflingAnonymizer(ShufflingConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Permutes the configured top-level columns (all of them by default) across the records
+     *
+     * @return New records in input order; values are moved, not copied
+     * @throws IllegalArgumentException When there are fewer than 2 records, which would be returned unchanged
+     */
+    public List<Map<String, Object>> shuffleRecords(List<Map<String, Object>> records, Long seed) {
+        if (records.size() < MIN_RECORDS) {
+            throw new IllegalArgumentException("SHUFFLING exchanges values between records and needs at least "
+                                               + MIN_RECORDS + " records, got " + records.size());
+        }
+        List<Map<String, Object>> shuffled = new ArrayList<>(records.size());
+        for (Map<String, Object> record : records) {
+            shuffled.add(record != null ? new HashMap<>(record) : null);
+        }
+
+        for (String column : columns(records)) {
+            int[] rows = rowsWith(records, column);
+            int[] permutation = FisherYates.permutation(rows.length, FisherYates.random(seed, column));
+            for (int i = 0; i < rows.length; i++) {
+                shuffled.get(rows[i]).put(column, records.get(rows[permutation[i]]).get(column));
+            }
+        }
+        return shuffled;
+    }
+
+    private Set<String> columns(List<Map<String, Object>> records) {
+        if (!config.getColumns().isEmpty()) {
+            return new LinkedHashSet<>(config.getColumns());
+        }
+        Set<String> columns = new LinkedHashSet<>();
+        for (Map<String, Object> record : records) {
+            if (record != null) {
+                columns.addAll(record.keySet());
+            }
+        }
+        return columns;
+    }
+
+    private static int[] rowsWith(List<Map<String, Object>> records, String column) {
+        int[] rows = new int[records.size()];
+        int count = 0;
+        for (int row = 0; row < rows.length; row++) {
+            Map<String, Object> record = records.get(row);
+            if (record != null && record.containsKey(column)) {
+                rows[count++] = row;
+            }
+        }
+        return count == rows.length ? rows : Arrays.copyOf(rows, count);
+    }
+}
@@ -0,0 +1,156 @@
+package com.tnc.Data.Anonymization.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.javafaker.Faker;
+import com.tnc.Data.Anonymization.config.GenerationConfig;
+import com.tnc.Data.Anonymization.enums.DataType;
+import com.tnc.Data.Anonymization.model.GenerationRequest;
+import com.tnc.Data.Anonymization.service.interfaces.SyntheticDataService;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Implementation of SyntheticDataService generating records with the FakeDataAnonymizer generators.
+ * Records are generated in chunks on a shared worker pool; each chunk is serialized to NDJSON bytes by
+ * its worker, and the caller writes finished chunks in order while at most two chunks per thread are
+ * in flight, so memory stays flat whatever the record count. Every record draws from its own random
+ * stream derived from the seed and its index, so a seeded request produces the same records whatever
+ * the thread count or chunk size.
+ * Follows SOLID principles:
+ * - Single Responsibility: Schedules, generates and serializes synthetic records
+ * - Dependency Inversion: Reuses the fake data generators instead of its own
+ */
+@Service
+public class SyntheticDataServiceImpl implements SyntheticDataService, DisposableBean {
+
+    private final FakeDataAnonymizer fakeDataAnonymizer;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int maxInFlight;
+    private final ExecutorService executor;
+    // Building a Faker loads its YAML; one reseedable instance per worker avoids that per record
+    private final ThreadLocal<SeededFaker> seededFakers = ThreadLocal.withInitial(SeededFaker::new);
+
+    public SyntheticDataServiceImpl(FakeDataAnonymizer fakeDataAnonymizer, ObjectMapper objectMapper,
+                                    GenerationConfig config) {
+        this.fakeDataAnonymizer = fakeDataAnonymizer;
+        // One record per line, whatever the web indentation setting
+        this.objectMapper = objectMapper.copy().disable(SerializationFeature.INDENT_OUTPUT);
+        this.chunkSize = Math.max(1, config.getChunkSize());
+        int threads = Math.max(1, config.getThreads());
+        this.maxInFlight = threads * 2;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "synthetic-data-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public long generate(GenerationRequest request, OutputStream out) throws IOException {
+        String[] fields = request.getSchema().keySet().toArray(new String[0]);
+        DataType[] types = new DataType[fields.length];
+        for (int f = 0; f < fields.length; f++) {
+            DataType type = request.getSchema().get(fields[f]);
+            types[f] = type != null ? type : DataType.UNKNOWN;
+        }
+        long count = request.getCount();
+        long base = request.getSeed() != null ? request.getSeed() : new SplittableRandom().nextLong();
+
+        Deque<Future<byte[]>> pending = new ArrayDeque<>();
+        try {
+            for (long from = 0; from < count; from += chunkSize) {
+                if (pending.size() == maxInFlight) {
+                    out.write(await(pending.poll()));
+                }
+                long start = from;
+                long end = Math.min(count, from + chunkSize);
+                pending.add(executor.submit(() -> chunk(fields, types, base, start, end)));
+            }
+            while (!pending.isEmpty()) {
+                out.write(await(pending.poll()));
+            }
+        } finally {
+            // A client gone mid-stream must not leave chunks generating for nobody
+            for (Future<byte[]> future : pending) {
+                future.cancel(true);
+            }
+        }
+        out.flush();
+        return count;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private byte[] chunk(String[] fields, DataType[] types, long base, long start, long end) throws IOException {
+        SeededFaker seeded = seededFakers.get();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream((int) (end - start) * fields.length * 24);
+        try (JsonGenerator generator = objectMapper.createGenerator(bytes)) {
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            for (long index = start; index < end; index++) {
+                seeded.random.setSeed(recordSeed(base, index));
+                generator.writeStartObject();
+                for (int f = 0; f < fields.length; f++) {
+                    generator.writeFieldName(fields[f]);
+                    generator.writeObject(fakeDataAnonymizer.generate(types[f], seeded.faker));
+                }
+                generator.writeEndObject();
+            }
+            generator.writeRaw('\n');
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] await(Future<byte[]> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while generating records", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Mixes the record index into the request seed (SplitMix64 finalizer), so neighbouring records
+     * get unrelated random streams
+     */
+    private static long recordSeed(long base, long index) {
+        long z = base + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static final class SeededFaker {
+        private final Random random = new Random();
+        private final Faker faker = new Faker(random);
+    }
+}
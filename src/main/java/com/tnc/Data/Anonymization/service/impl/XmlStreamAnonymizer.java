@@ -0,0 +1,286 @@
+package com.tnc.Data.Anonymization.service.impl;
+
+import com.tnc.Data.Anonymization.config.XmlConfig;
+import com.tnc.Data.Anonymization.enums.DataType;
+import com.tnc.Data.Anonymization.model.XmlAnonymizationSummary;
+import com.tnc.Data.Anonymization.tenant.TenantContext;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Anonymizes XML documents while streaming them from a StAX reader to a StAX writer.
+ * Text is classified by the local name of its enclosing element and attributes by their own local name,
+ * with the same DataType rules (and tenant field mappings) as JSON fields; values of known types are
+ * anonymized, UNKNOWN ones are copied unless configured otherwise. Elements, namespace declarations and
+ * prefixes are written back as read, and the whitespace around anonymized text is kept, so indentation
+ * survives. Comments, processing instructions and the DOCTYPE are free text that is never anonymized, so
+ * they are dropped unless configured otherwise; entity references go with the DOCTYPE declaring them.
+ * Only the stack of open element names and the current text node are held, so memory stays flat whatever
+ * the document size. DTDs are not processed and external entities are never resolved. Output is always
+ * UTF-8; CDATA sections are written as escaped text and empty elements as start/end pairs, which XML
+ * treats as equivalent.
+ */
+final class XmlStreamAnonymizer {
+
+    /**
+     * Anonymizes one value of a named element or attribute
+     */
+    @FunctionalInterface
+    interface ValueAnonymizer {
+        Object anonymize(String value, String name);
+    }
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Documents repeat a small vocabulary of names; beyond this many, names are classified every time
+    private static final int MAX_CACHED_NAMES = 4096;
+
+    private final XmlConfig config;
+    private final XMLInputFactory inputFactory;
+    private final XMLOutputFactory outputFactory = XMLOutputFactory.newFactory();
+
+    XmlStreamAnonymizer(XmlConfig config) {
+        this.config = config;
+        this.inputFactory = XMLInputFactory.newFactory();
+        inputFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        inputFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    /**
+     * Streams a document from in to out; neither stream is closed
+     *
+     * @throws IllegalArgumentException When the input is not well-formed XML
+     */
+    XmlAnonymizationSummary anonymize(InputStream in, OutputStream out, ValueAnonymizer values) throws IOException {
+        long start = System.nanoTime();
+        CountingInputStream counting = new CountingInputStream(new BufferedInputStream(in, BUFFER_SIZE));
+        BufferedOutputStream buffered = new BufferedOutputStream(out, BUFFER_SIZE);
+        XMLStreamReader reader = null;
+        XMLStreamWriter writer = null;
+        Deque<String> names = new ArrayDeque<>();
+        // The tenant and its field mapping cannot change within a document, so neither can a name's decision
+        Map<String, Boolean> decisions = new HashMap<>();
+        long records = 0;
+        long elements = 0;
+        long anonymized = 0;
+        try {
+            reader = inputFactory.createXMLStreamReader(counting);
+            writer = outputFactory.createXMLStreamWriter(buffered, "UTF-8");
+            for (int event = reader.getEventType(); ; event = reader.next()) {
+                switch (event) {
+                    case XMLStreamConstants.START_DOCUMENT -> {
+                        if (reader.getVersion() != null) {
+                            writer.writeStartDocument("UTF-8", reader.getVersion());
+                        }
+                    }
+                    case XMLStreamConstants.START_ELEMENT -> {
+                        names.push(reader.getLocalName());
+                        elements++;
+                        if (names.size() == 2) {
+                            records++;
+                        }
+                        anonymized += copyStartElement(reader, writer, values, decisions);
+                    }
+                    case XMLStreamConstants.END_ELEMENT -> {
+                        names.pop();
+                        writer.writeEndElement();
+                    }
+                    case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA -> {
+                        if (copyText(reader, writer, names.peek(), values, decisions)) {
+                            anonymized++;
+                        }
+                    }
+                    case XMLStreamConstants.SPACE ->
+                        writer.writeCharacters(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                    case XMLStreamConstants.COMMENT -> {
+                        if (config.isKeepComments()) {
+                            writer.writeComment(reader.getText());
+                        }
+                    }
+                    case XMLStreamConstants.PROCESSING_INSTRUCTION -> {
+                        if (config.isKeepProcessingInstructions()) {
+                            writer.writeProcessingInstruction(reader.getPITarget(), reader.getPIData());
+                        }
+                    }
+                    case XMLStreamConstants.ENTITY_REFERENCE -> {
+                        if (config.isKeepDtd()) {
+                            writer.writeEntityRef(reader.getLocalName());
+                        }
+                    }
+                    case XMLStreamConstants.DTD -> {
+                        if (config.isKeepDtd()) {
+                            writer.writeDTD(reader.getText());
+                        }
+                    }
+                    default -> {
+                        // Attribute, namespace and notation events are not reported for documents
+                    }
+                }
+                if (event == XMLStreamConstants.END_DOCUMENT) {
+                    writer.writeEndDocument();
+                    break;
+                }
+            }
+            writer.close();
+            buffered.flush();
+        } catch (XMLStreamException e) {
+            if (e.getNestedException() instanceof IOException io) {
+                throw io;
+            }
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IllegalArgumentException("Malformed XML" + location(e.getLocation()) + ": " + e.getMessage(), e);
+        } finally {
+            // The writer is not closed on failure: closing flushes, which would commit a partial response
+            close(reader);
+        }
+        return new XmlAnonymizationSummary(records, elements, anonymized, counting.count, System.nanoTime() - start);
+    }
+
+    private int copyStartElement(XMLStreamReader reader, XMLStreamWriter writer, ValueAnonymizer values,
+                                 Map<String, Boolean> decisions) throws XMLStreamException {
+        writer.writeStartElement(emptyIfNull(reader.getPrefix()), reader.getLocalName(),
+                                 emptyIfNull(reader.getNamespaceURI()));
+        for (int i = 0; i < reader.getNamespaceCount(); i++) {
+            String prefix = reader.getNamespacePrefix(i);
+            String uri = emptyIfNull(reader.getNamespaceURI(i));
+            if (prefix == null || prefix.isEmpty()) {
+                writer.writeDefaultNamespace(uri);
+            } else {
+                writer.writeNamespace(prefix, uri);
+            }
+        }
+
+        int anonymized = 0;
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String uri = emptyIfNull(reader.getAttributeNamespace(i));
+            String name = reader.getAttributeLocalName(i);
+            String value = reader.getAttributeValue(i);
+            if (config.isAnonymizeAttributes() && !isMarkupNamespace(uri) && shouldAnonymize(name, decisions)
+                && !value.isBlank()) {
+                value = String.valueOf(values.anonymize(value, name));
+                anonymized++;
+            }
+            if (uri.isEmpty()) {
+                writer.writeAttribute(name, value);
+            } else {
+                writer.writeAttribute(emptyIfNull(reader.getAttributePrefix(i)), uri, name, value);
+            }
+        }
+        return anonymized;
+    }
+
+    /**
+     * Copies a text node, anonymizing it without its surrounding whitespace
+     *
+     * @return Whether the text was anonymized
+     */
+    private boolean copyText(XMLStreamReader reader, XMLStreamWriter writer, String name, ValueAnonymizer values,
+                             Map<String, Boolean> decisions) throws XMLStreamException {
+        char[] chars = reader.getTextCharacters();
+        int from = reader.getTextStart();
+        int to = from + reader.getTextLength();
+        int start = from;
+        int end = to;
+        while (start < end && Character.isWhitespace(chars[start])) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(chars[end - 1])) {
+            end--;
+        }
+        if (start == end || name == null || !shouldAnonymize(name, decisions)) {
+            writer.writeCharacters(chars, from, to - from);
+            return false;
+        }
+
+        Object anonymized = values.anonymize(new String(chars, start, end - start), name);
+        writer.writeCharacters(chars, from, start - from);
+        writer.writeCharacters(anonymized != null ? anonymized.toString() : "");
+        writer.writeCharacters(chars, end, to - end);
+        return true;
+    }
+
+    private boolean shouldAnonymize(String name, Map<String, Boolean> decisions) {
+        if (config.isAnonymizeUnknown()) {
+            return true;
+        }
+        Boolean decision = decisions.get(name);
+        if (decision == null) {
+            decision = TenantContext.classify(name) != DataType.UNKNOWN;
+            if (decisions.size() < MAX_CACHED_NAMES) {
+                decisions.put(name, decision);
+            }
+        }
+        return decision;
+    }
+
+    /**
+     * Checks for attributes that belong to XML itself (xml:lang, xsi:type), never to the data
+     */
+    private static boolean isMarkupNamespace(String uri) {
+        return XMLConstants.XML_NS_URI.equals(uri) || XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI.equals(uri);
+    }
+
+    private static String emptyIfNull(String value) {
+        return value != null ? value : "";
+    }
+
+    private static String location(Location location) {
+        return location != null ? " at line " + location.getLineNumber() + ", column " + location.getColumnNumber() : "";
+    }
+
+    private static void close(XMLStreamReader reader) {
+        try {
+            if (reader != null) {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            // Closing releases parser state only; the underlying streams belong to the caller
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+    }
+}
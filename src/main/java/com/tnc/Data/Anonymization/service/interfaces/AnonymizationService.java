@@ -3,6 +3,14 @@ package com.tnc.Data.Anonymization.service.interfaces;
 import com.tnc.Data.Anonymization.enums.AnonymizationStrategy;
 import com.tnc.Data.Anonymization.model.AnonymizationRequest;
 import com.tnc.Data.Anonymization.model.AnonymizationResponse;
+import com.tnc.Data.Anonymization.model.DetokenizationRequest;
+import com.tnc.Data.Anonymization.model.DetokenizationResponse;
+import com.tnc.Data.Anonymization.model.XmlAnonymizationSummary;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -33,10 +41,44 @@ public interface AnonymizationService {
     Map<String, Object> anonymizeMap(Map<String, Object> data, AnonymizationStrategy strategy, 
                                    boolean preserveFormat, Long seed);
     
+    /**
+     * Anonymizes a list of records; records sharing one set of fields are processed column by column
+     * 
+     * @param records The records to anonymize
+     * @param strategy The anonymization strategy to use
+     * @param preserveFormat Whether to preserve original data formats
+     * @param seed Optional seed for consistent results
+     * @return Anonymized records in the same order
+     */
+    List<Map<String, Object>> anonymizeRecords(List<Map<String, Object>> records, AnonymizationStrategy strategy,
+                                               boolean preserveFormat, Long seed);
+    
+    /**
+     * Anonymizes an XML document while streaming it; elements and attributes are classified by name
+     * 
+     * @param in The document; not closed
+     * @param out Stream receiving the anonymized document in UTF-8; not closed
+     * @param strategy The anonymization strategy to use; SHUFFLING needs whole records and is refused
+     * @param preserveFormat Whether to preserve original data formats
+     * @param seed Optional seed for consistent results
+     * @return Counters and throughput of the document
+     * @throws IllegalArgumentException When the strategy is not supported or the input is not well-formed XML
+     */
+    XmlAnonymizationSummary anonymizeXml(InputStream in, OutputStream out, AnonymizationStrategy strategy,
+                                         boolean preserveFormat, Long seed) throws IOException;
+    
     /**
      * Gets available anonymization strategies
      * 
      * @return Array of supported strategies
      */
     AnonymizationStrategy[] getAvailableStrategies();
+    
+    /**
+     * Resolves pseudonyms issued by PSEUDONYMIZATION back to their original values
+     * 
+     * @param request The request containing the pseudonyms to resolve
+     * @return Response containing resolved and unresolved pseudonyms
+     */
+    DetokenizationResponse detokenize(DetokenizationRequest request);
 }
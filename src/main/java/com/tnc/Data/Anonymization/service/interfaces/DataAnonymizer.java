@@ -33,6 +33,21 @@ public interface DataAnonymizer {
      */
     Object anonymize(Object value, String fieldName, boolean preserveFormat, Long seed);
     
+    /**
+     * Anonymizes a single value of a field whose data type is already known; anonymizers whose
+     * output depends on the field (e.g. per-column noise) override this
+     * 
+     * @param value The original value to anonymize
+     * @param fieldName The field the value belongs to
+     * @param dataType The type of data being anonymized
+     * @param preserveFormat Whether to maintain the original format
+     * @param seed Optional seed for consistent anonymization
+     * @return Anonymized value
+     */
+    default Object anonymize(Object value, String fieldName, DataType dataType, boolean preserveFormat, Long seed) {
+        return anonymize(value, dataType, preserveFormat, seed);
+    }
+    
     /**
      * Checks if this anonymizer supports the given data type
      * 
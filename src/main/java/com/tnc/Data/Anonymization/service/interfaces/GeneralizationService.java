@@ -0,0 +1,21 @@
+package com.tnc.Data.Anonymization.service.interfaces;
+
+import com.tnc.Data.Anonymization.model.KAnonymityRequest;
+import com.tnc.Data.Anonymization.model.KAnonymityResponse;
+
+/**
+ * Service interface for dataset-level generalization.
+ * Follows SOLID principles:
+ * - Single Responsibility: Generalizes quasi-identifiers across a batch of records
+ * - Interface Segregation: Separate from per-field anonymization
+ */
+public interface GeneralizationService {
+    
+    /**
+     * Generalizes quasi-identifiers until every equivalence class has at least k records
+     * 
+     * @param request The records, quasi-identifier hierarchies and k
+     * @return Response containing generalized records and class statistics
+     */
+    KAnonymityResponse kAnonymize(KAnonymityRequest request);
+}
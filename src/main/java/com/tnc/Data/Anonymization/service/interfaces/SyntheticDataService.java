@@ -0,0 +1,24 @@
+package com.tnc.Data.Anonymization.service.interfaces;
+
+import com.tnc.Data.Anonymization.model.GenerationRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Service interface for schema-driven synthetic data.
+ * Follows SOLID principles:
+ * - Single Responsibility: Generates records without any input data
+ * - Interface Segregation: Separate from anonymization of existing records
+ */
+public interface SyntheticDataService {
+    
+    /**
+     * Generates the requested records and writes them as NDJSON, one record per line
+     * 
+     * @param request The field types, record count and optional seed
+     * @param out Stream receiving the records; not closed
+     * @return The number of records written
+     */
+    long generate(GenerationRequest request, OutputStream out) throws IOException;
+}
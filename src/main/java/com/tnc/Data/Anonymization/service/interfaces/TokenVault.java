@@ -0,0 +1,55 @@
+package com.tnc.Data.Anonymization.service.interfaces;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Persistent store of pseudonym mappings with forward and reverse indexes.
+ * Follows SOLID principles:
+ * - Single Responsibility: Persists and resolves pseudonym mappings
+ * - Dependency Inversion: Anonymizers depend on this abstraction, not on a storage engine
+ */
+public interface TokenVault {
+
+    /**
+     * Records a pseudonym mapping. Implementations may persist asynchronously, but the pseudonym is
+     * reserved before this returns, so it resolves to this value only.
+     *
+     * @param forwardKey Key identifying the original value and its anonymization context
+     * @param originalValue The original value
+     * @param pseudonym The generated pseudonym
+     * @return false, recording nothing, if the pseudonym already resolves to a different value
+     */
+    boolean record(String forwardKey, String originalValue, String pseudonym);
+
+    /**
+     * Looks up the pseudonym stored for a forward key
+     *
+     * @param forwardKey Key identifying the original value and its anonymization context
+     * @return The stored pseudonym, if any
+     */
+    Optional<String> findPseudonym(String forwardKey);
+
+    /**
+     * Resolves pseudonyms back to their original values
+     *
+     * @param pseudonyms The pseudonyms to resolve
+     * @return Map of pseudonym to original value; unresolved pseudonyms are absent
+     */
+    Map<String, String> detokenize(Collection<String> pseudonyms);
+
+    /**
+     * Checks whether the vault is active
+     *
+     * @return true if mappings are being persisted
+     */
+    boolean isEnabled();
+
+    /**
+     * Gets the number of persisted reverse mappings
+     *
+     * @return Number of pseudonyms that can be resolved
+     */
+    long size();
+}
@@ -0,0 +1,80 @@
+package com.tnc.Data.Anonymization.tenant;
+
+import com.tnc.Data.Anonymization.config.TenantConfig;
+import com.tnc.Data.Anonymization.service.impl.DeterministicMaskingAnonymizer;
+import com.tnc.Data.Anonymization.service.impl.PseudonymizationAnonymizer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Publishes the estimated cache bytes of each tenant next to its quota.
+ * The anonymizers are only looked up when tenancy is enabled, so lazy startup stays lazy.
+ * Quotas are looked up by tenant id, so they follow policy reloads; tenants added by a reload are bound
+ * by the reloader.
+ */
+@Component
+public class TenantCacheMetrics implements MeterBinder {
+
+    private final TenantConfig config;
+    private final TenantRegistry registry;
+    private final ObjectProvider<PseudonymizationAnonymizer> pseudonymizationAnonymizer;
+    private final ObjectProvider<DeterministicMaskingAnonymizer> deterministicMaskingAnonymizer;
+    private final Set<String> boundTenants = ConcurrentHashMap.newKeySet();
+    private volatile MeterRegistry meterRegistry;
+
+    public TenantCacheMetrics(TenantConfig config, TenantRegistry registry,
+                              ObjectProvider<PseudonymizationAnonymizer> pseudonymizationAnonymizer,
+                              ObjectProvider<DeterministicMaskingAnonymizer> deterministicMaskingAnonymizer) {
+        this.config = config;
+        this.registry = registry;
+        this.pseudonymizationAnonymizer = pseudonymizationAnonymizer;
+        this.deterministicMaskingAnonymizer = deterministicMaskingAnonymizer;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        this.meterRegistry = meterRegistry;
+        bindTenants();
+    }
+
+    /**
+     * Binds the gauges of tenants that have none yet, e.g. after a policy reload added them
+     */
+    public void bindTenants() {
+        MeterRegistry meterRegistry = this.meterRegistry;
+        if (meterRegistry == null) {
+            return;
+        }
+        PseudonymizationAnonymizer pseudonyms = pseudonymizationAnonymizer.getObject();
+        DeterministicMaskingAnonymizer masks = deterministicMaskingAnonymizer.getObject();
+        for (TenantPolicy tenant : registry.getTenants()) {
+            String id = tenant.getId();
+            if (!boundTenants.add(id)) {
+                continue;
+            }
+            Gauge.builder("anonymization.tenant.cache.bytes", pseudonyms, a -> a.getCacheBytes(id))
+                .description("Estimated bytes cached for the tenant").baseUnit("bytes")
+                .tag("tenant", id).tag("cache", "pseudonym").register(meterRegistry);
+            Gauge.builder("anonymization.tenant.cache.bytes", masks, a -> a.getCacheBytes(id))
+                .description("Estimated bytes cached for the tenant").baseUnit("bytes")
+                .tag("tenant", id).tag("cache", "mask").register(meterRegistry);
+            Gauge.builder("anonymization.tenant.cache.quota", registry, r -> quota(r, id))
+                .description("Cache quota of the tenant per cache").baseUnit("bytes")
+                .tag("tenant", id).register(meterRegistry);
+        }
+    }
+
+    private static double quota(TenantRegistry registry, String id) {
+        TenantPolicy tenant = registry.find(id);
+        return tenant != null ? tenant.getCacheQuotaBytes() : Double.NaN;
+    }
+}
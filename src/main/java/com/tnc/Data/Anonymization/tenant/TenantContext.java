@@ -0,0 +1,84 @@
+package com.tnc.Data.Anonymization.tenant;
+
+import com.tnc.Data.Anonymization.detection.FieldTypeInference;
+import com.tnc.Data.Anonymization.enums.AnonymizationStrategy;
+import com.tnc.Data.Anonymization.enums.DataType;
+
+/**
+ * Tenant of the request running on the current thread.
+ * Bound by TenantFilter for the duration of a request and carried over to worker threads that run
+ * part of it; code running without a tenant (tenancy disabled, command-line runs) sees null and
+ * keeps the untenanted behavior.
+ */
+public final class TenantContext {
+
+    private static final ThreadLocal<TenantPolicy> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    /**
+     * Gets the tenant of the current request, or null
+     */
+    public static TenantPolicy current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds a tenant to the current thread; returns the previous one
+     */
+    public static TenantPolicy attach(TenantPolicy tenant) {
+        TenantPolicy previous = CURRENT.get();
+        if (tenant == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(tenant);
+        }
+        return previous;
+    }
+
+    /**
+     * Classifies a field with the current tenant's field mapping, if any; fields that stay UNKNOWN take
+     * the type inferred from the values of the current batch, if any
+     */
+    public static DataType classify(String fieldName) {
+        DataType dataType = classifyByName(fieldName);
+        if (dataType == DataType.UNKNOWN) {
+            DataType inferred = FieldTypeInference.lookup(fieldName);
+            return inferred != null ? inferred : dataType;
+        }
+        return dataType;
+    }
+
+    /**
+     * Classifies a field with the current tenant's field mapping, if any, else by its name
+     */
+    public static DataType classifyByName(String fieldName) {
+        TenantPolicy tenant = CURRENT.get();
+        return tenant != null ? tenant.classify(fieldName) : DataType.classifyFromFieldName(fieldName);
+    }
+
+    /**
+     * Gets the strategy of endpoints that do not name one: the current tenant's default, else MASKING
+     */
+    public static String defaultStrategy() {
+        TenantPolicy tenant = CURRENT.get();
+        return (tenant != null ? tenant.getDefaultStrategy() : AnonymizationStrategy.MASKING).name();
+    }
+
+    /**
+     * Gets the pseudonymization key version of the current tenant, or null if it has none
+     */
+    public static String keyVersion() {
+        TenantPolicy tenant = CURRENT.get();
+        return tenant != null ? tenant.getKeyVersion() : null;
+    }
+
+    /**
+     * Gets a cache key prefix isolating the current tenant's entries; empty without a tenant
+     */
+    public static String cachePrefix() {
+        TenantPolicy tenant = CURRENT.get();
+        return tenant != null ? "@" + tenant.getId() : "";
+    }
+}
@@ -0,0 +1,159 @@
+package com.tnc.Data.Anonymization.tenant;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tnc.Data.Anonymization.admission.Bulkhead;
+import com.tnc.Data.Anonymization.config.TenantConfig;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Binds the tenant named by the tenant header to anonymization requests.
+ * Each tenant first passes its own fixed-size bulkhead, before the shared admission bulkheads, so a
+ * hot tenant queues and is shed within its own share instead of taking the slots of the others.
+ * Requests, latency and rejections are published per tenant; the gauges look the tenant up by id, so
+ * they follow its bulkhead across policy reloads, and tenants added by a reload are bound on first use.
+ * Without tenancy but with a policy file, every request runs as the default tenant, ignoring the header,
+ * so the file's policy applies and reloads; there are no other tenants to shield, so no bulkhead either.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 75)
+public class TenantFilter extends OncePerRequestFilter {
+
+    private static final String API_PREFIX = "/api/v1/anonymization/";
+
+    private final TenantConfig config;
+    private final TenantRegistry registry;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Set<String> boundTenants = ConcurrentHashMap.newKeySet();
+
+    public TenantFilter(TenantConfig config, TenantRegistry registry, ObjectMapper objectMapper,
+                        MeterRegistry meterRegistry) {
+        this.config = config;
+        this.registry = registry;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        if (config.isEnabled()) {
+            registry.getTenants().forEach(tenant -> bindMetrics(tenant.getId()));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !config.appliesPolicies()
+            || !request.getRequestURI().substring(request.getContextPath().length()).startsWith(API_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!config.isEnabled()) {
+            TenantPolicy previous = TenantContext.attach(registry.resolve(null));
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                TenantContext.attach(previous);
+            }
+            return;
+        }
+
+        TenantPolicy tenant = registry.resolve(request.getHeader(config.getHeader()));
+        if (tenant == null) {
+            reject(response, HttpStatus.BAD_REQUEST, "Unknown tenant in " + config.getHeader(), null);
+            return;
+        }
+
+        if (!boundTenants.contains(tenant.getId())) {
+            bindMetrics(tenant.getId());
+        }
+        Bulkhead bulkhead = registry.bulkhead(tenant);
+        Bulkhead.Permit permit;
+        try {
+            permit = bulkhead.tryAcquire(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            permit = null;
+        }
+        if (permit == null) {
+            log.debug("Shedding request of tenant {} to {}", tenant.getId(), request.getRequestURI());
+            reject(response, HttpStatus.TOO_MANY_REQUESTS,
+                   "Tenant " + tenant.getId() + " is at its concurrency limit, retry later", bulkhead.retryAfterSeconds());
+            return;
+        }
+
+        long start = System.nanoTime();
+        TenantPolicy previous = TenantContext.attach(tenant);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            TenantContext.attach(previous);
+            bulkhead.release(permit);
+            Timer.builder("anonymization.tenant.requests")
+                .description("Anonymization requests per tenant")
+                .tag("tenant", tenant.getId())
+                .tag("status", String.valueOf(response.getStatus()))
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void bindMetrics(String id) {
+        if (!boundTenants.add(id)) {
+            return;
+        }
+        Gauge.builder("anonymization.tenant.in.flight", registry, r -> bulkheadValue(r, id, Bulkhead::getInFlight))
+            .description("Requests of the tenant currently running").tag("tenant", id).register(meterRegistry);
+        Gauge.builder("anonymization.tenant.queue.depth", registry, r -> bulkheadValue(r, id, Bulkhead::getQueueDepth))
+            .description("Requests of the tenant waiting for a slot").tag("tenant", id).register(meterRegistry);
+        FunctionCounter.builder("anonymization.tenant.rejected", registry,
+                                r -> bulkheadValue(r, id, Bulkhead::getRejectedQueueFull))
+            .description("Requests of the tenant refused at its concurrency limit")
+            .tag("tenant", id).tag("reason", "queue_full").register(meterRegistry);
+        FunctionCounter.builder("anonymization.tenant.rejected", registry,
+                                r -> bulkheadValue(r, id, Bulkhead::getRejectedTimeout))
+            .description("Requests of the tenant refused at its concurrency limit")
+            .tag("tenant", id).tag("reason", "queue_timeout").register(meterRegistry);
+    }
+
+    private static double bulkheadValue(TenantRegistry registry, String id, ToDoubleFunction<Bulkhead> value) {
+        TenantPolicy tenant = registry.find(id);
+        return tenant != null ? value.applyAsDouble(registry.bulkhead(tenant)) : Double.NaN;
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String message, Long retryAfterSeconds)
+            throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("success", false);
+        body.put("message", message);
+
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        if (retryAfterSeconds != null) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        }
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
@@ -0,0 +1,50 @@
+package com.tnc.Data.Anonymization.tenant;
+
+import com.tnc.Data.Anonymization.cache.BoundedCache;
+
+import java.util.function.Function;
+
+/**
+ * Partition of a value cache: the tenant (null without one) and the key version of its entries.
+ * Tenant partitions are bounded by the tenant's memory quota in estimated bytes, so a tenant with
+ * high-cardinality traffic only evicts its own entries; untenanted partitions keep the entry bound.
+ */
+public record TenantPartition(TenantPolicy tenant, String keyVersion) {
+
+    // Map node, two String headers and two array headers of a cached String pair
+    private static final long ENTRY_OVERHEAD_BYTES = 112;
+    private static final long NON_STRING_VALUE_BYTES = 24;
+
+    /**
+     * Gets the partition of the current tenant for a key version
+     */
+    public static TenantPartition current(String keyVersion) {
+        return new TenantPartition(TenantContext.current(), keyVersion);
+    }
+
+    /**
+     * Creates the bounded cache of a new partition
+     *
+     * @param maxEntries Entry bound of untenanted partitions
+     */
+    public static <V> Function<TenantPartition, BoundedCache<String, V>> sizing(int maxEntries) {
+        return partition -> partition.tenant() == null
+            ? new BoundedCache<>(maxEntries)
+            : new BoundedCache<>(partition.tenant().getCacheQuotaBytes(), TenantPartition::estimateBytes);
+    }
+
+    /**
+     * Checks whether the partition belongs to a tenant
+     */
+    public boolean belongsTo(String tenantId) {
+        return tenant != null && tenant.getId().equals(tenantId);
+    }
+
+    /**
+     * Estimates the retained bytes of a cache entry, counting one byte per character (compact strings)
+     */
+    static long estimateBytes(String key, Object value) {
+        long valueBytes = value instanceof String text ? text.length() : NON_STRING_VALUE_BYTES;
+        return ENTRY_OVERHEAD_BYTES + key.length() + valueBytes;
+    }
+}
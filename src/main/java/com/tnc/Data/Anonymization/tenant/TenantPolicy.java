@@ -0,0 +1,82 @@
+package com.tnc.Data.Anonymization.tenant;
+
+import com.tnc.Data.Anonymization.enums.AnonymizationStrategy;
+import com.tnc.Data.Anonymization.enums.DataType;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Resolved policy of one tenant, with configured values merged over the defaults.
+ * Instances are immutable and compared by identity: a policy reload keeps the instances of unchanged
+ * tenants, so their cache partitions stay warm, and creates new ones for changed tenants.
+ */
+@Getter
+public final class TenantPolicy {
+
+    private final String id;
+    private final AnonymizationStrategy defaultStrategy;
+    private final Set<AnonymizationStrategy> allowedStrategies;
+    private final String keyVersion;
+    private final Map<String, DataType> fieldTypes;
+    private final long cacheQuotaBytes;
+
+    public TenantPolicy(String id, AnonymizationStrategy defaultStrategy, Set<AnonymizationStrategy> allowedStrategies,
+                        String keyVersion, Map<String, DataType> fieldTypes, long cacheQuotaBytes) {
+        this.id = id;
+        this.defaultStrategy = defaultStrategy != null ? defaultStrategy : AnonymizationStrategy.MASKING;
+        this.allowedStrategies = Collections.unmodifiableSet(allowedStrategies.isEmpty()
+            ? EnumSet.allOf(AnonymizationStrategy.class) : EnumSet.copyOf(allowedStrategies));
+        this.keyVersion = keyVersion;
+        Map<String, DataType> lowerCased = new HashMap<>();
+        fieldTypes.forEach((field, type) -> lowerCased.put(field.toLowerCase(Locale.ROOT), type));
+        this.fieldTypes = Collections.unmodifiableMap(lowerCased);
+        this.cacheQuotaBytes = cacheQuotaBytes;
+    }
+
+    /**
+     * Checks whether another policy has the same settings, so that a reload can keep this instance
+     */
+    public boolean sameSettings(TenantPolicy other) {
+        return other != null
+            && id.equals(other.id)
+            && defaultStrategy == other.defaultStrategy
+            && allowedStrategies.equals(other.allowedStrategies)
+            && Objects.equals(keyVersion, other.keyVersion)
+            && fieldTypes.equals(other.fieldTypes)
+            && cacheQuotaBytes == other.cacheQuotaBytes;
+    }
+
+    /**
+     * Classifies a field by the tenant's field mapping, or by its name when it is not mapped
+     */
+    public DataType classify(String fieldName) {
+        if (!fieldTypes.isEmpty() && fieldName != null) {
+            DataType mapped = fieldTypes.get(fieldName.toLowerCase(Locale.ROOT));
+            if (mapped != null) {
+                return mapped;
+            }
+        }
+        return DataType.classifyFromFieldName(fieldName);
+    }
+
+    /**
+     * Rejects strategies outside the tenant's allowed set
+     */
+    public void checkAllowed(AnonymizationStrategy strategy) {
+        if (!allowedStrategies.contains(strategy)) {
+            throw new IllegalArgumentException("Strategy " + strategy + " is not allowed for tenant " + id);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return id;
+    }
+}
@@ -0,0 +1,89 @@
+package com.tnc.Data.Anonymization.tenant;
+
+import com.tnc.Data.Anonymization.config.TenantConfig;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint for tenant policies.
+ * GET /actuator/policies describes the running version, POST /actuator/policies reloads the configured
+ * policy file; policies are never taken from the request itself. Invalid policies are refused with 400 and
+ * the running version stays in place. Reloads change anonymization for every tenant, so the endpoint is not
+ * exposed over HTTP by default.
+ */
+@Component
+@Endpoint(id = "policies")
+public class TenantPolicyEndpoint {
+
+    private final TenantConfig config;
+    private final TenantRegistry registry;
+    private final TenantPolicyReloader reloader;
+
+    public TenantPolicyEndpoint(TenantConfig config, TenantRegistry registry, TenantPolicyReloader reloader) {
+        this.config = config;
+        this.registry = registry;
+        this.reloader = reloader;
+    }
+
+    @ReadOperation
+    public Map<String, Object> policies() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", config.isEnabled());
+        result.put("version", registry.getVersion());
+        result.put("loadedAt", registry.getLoadedAt());
+        result.put("source", registry.getSource());
+        result.put("policyFile", reloader.getPolicyFile() != null ? reloader.getPolicyFile().toString() : null);
+        result.put("tenants", registry.getTenants().stream().map(TenantPolicyEndpoint::describe).toList());
+        return result;
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Map<String, Object>> reload() {
+        if (reloader.getPolicyFile() == null) {
+            return failure(WebEndpointResponse.STATUS_BAD_REQUEST, "No tenant policy file is configured");
+        }
+
+        TenantRegistry.Reload reload;
+        try {
+            reload = reloader.reloadFile();
+        } catch (IllegalArgumentException e) {
+            return failure(WebEndpointResponse.STATUS_BAD_REQUEST, e.getMessage());
+        } catch (IOException e) {
+            return failure(WebEndpointResponse.STATUS_INTERNAL_SERVER_ERROR,
+                           "Tenant policy file cannot be read: " + e.getMessage());
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("success", true);
+        result.put("version", reload.version());
+        result.put("added", reload.added());
+        result.put("changed", reload.changed());
+        result.put("removed", reload.removed());
+        return new WebEndpointResponse<>(result);
+    }
+
+    private static WebEndpointResponse<Map<String, Object>> failure(int status, String message) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("success", false);
+        body.put("message", message);
+        return new WebEndpointResponse<>(body, status);
+    }
+
+    private static Map<String, Object> describe(TenantPolicy tenant) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("id", tenant.getId());
+        description.put("defaultStrategy", tenant.getDefaultStrategy());
+        description.put("allowedStrategies", tenant.getAllowedStrategies());
+        description.put("keyVersion", tenant.getKeyVersion());
+        description.put("fieldTypes", tenant.getFieldTypes());
+        description.put("cacheQuotaBytes", tenant.getCacheQuotaBytes());
+        return description;
+    }
+}
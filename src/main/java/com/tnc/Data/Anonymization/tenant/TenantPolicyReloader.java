@@ -0,0 +1,177 @@
+package com.tnc.Data.Anonymization.tenant;
+
+import com.tnc.Data.Anonymization.config.TenantConfig;
+import com.tnc.Data.Anonymization.service.impl.DateShiftAnonymizer;
+import com.tnc.Data.Anonymization.service.impl.DeterministicMaskingAnonymizer;
+import com.tnc.Data.Anonymization.service.impl.PseudonymizationAnonymizer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.bind.BindException;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.PropertiesPropertySourceLoader;
+import org.springframework.boot.env.PropertySourceLoader;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reloads tenant policies from the policy file, when it changes or on request of the policies endpoint.
+ * The anonymization.tenants section is bound and compiled completely before the registry swaps it in,
+ * so invalid policies leave the running version untouched. The file is checked for a changed modification
+ * time or size at a fixed interval. After a swap, the cache partitions of changed and removed tenants are
+ * dropped; unchanged tenants keep their policy instance and therefore their warm caches. Whether tenancy
+ * is enabled and its header are not reloadable. Without tenancy, a policy file still applies: its default
+ * tenant serves every request, so untenanted deployments can reload their field types, strategies and the
+ * active key version (any version loaded by the key ring).
+ * Follows SOLID principles:
+ * - Single Responsibility: Loads, validates and publishes new tenant policies
+ */
+@Slf4j
+@Component
+public class TenantPolicyReloader implements DisposableBean {
+
+    static final String PREFIX = "anonymization.tenants";
+
+    private final TenantConfig config;
+    private final TenantRegistry registry;
+    private final ObjectProvider<PseudonymizationAnonymizer> pseudonymizationAnonymizer;
+    private final ObjectProvider<DeterministicMaskingAnonymizer> deterministicMaskingAnonymizer;
+    private final ObjectProvider<DateShiftAnonymizer> dateShiftAnonymizer;
+    private final TenantCacheMetrics cacheMetrics;
+    private final Path policyFile;
+    private ScheduledExecutorService watcher;
+    private FileStamp stamp;
+
+    public TenantPolicyReloader(TenantConfig config, TenantRegistry registry,
+                                ObjectProvider<PseudonymizationAnonymizer> pseudonymizationAnonymizer,
+                                ObjectProvider<DeterministicMaskingAnonymizer> deterministicMaskingAnonymizer,
+                                ObjectProvider<DateShiftAnonymizer> dateShiftAnonymizer,
+                                TenantCacheMetrics cacheMetrics) {
+        this.config = config;
+        this.registry = registry;
+        this.pseudonymizationAnonymizer = pseudonymizationAnonymizer;
+        this.deterministicMaskingAnonymizer = deterministicMaskingAnonymizer;
+        this.dateShiftAnonymizer = dateShiftAnonymizer;
+        this.cacheMetrics = cacheMetrics;
+        this.policyFile = StringUtils.isNotBlank(config.getPolicyFile()) ? Path.of(config.getPolicyFile()) : null;
+        if (policyFile == null) {
+            return;
+        }
+
+        // The file is the source of truth from the start; nothing is cached yet, so nothing is invalidated
+        try {
+            stamp = FileStamp.of(policyFile);
+            registry.reload(load(policyFile), policyFile.toString());
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalStateException("Tenant policy file cannot be loaded: " + policyFile, e);
+        }
+        long interval = Math.max(100, config.getPolicyReloadInterval().toMillis());
+        watcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tenant-policy-watcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        watcher.scheduleWithFixedDelay(this::poll, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("Watching tenant policies in {} every {} ms", policyFile, interval);
+    }
+
+    public Path getPolicyFile() {
+        return policyFile;
+    }
+
+    /**
+     * Reloads the policy file
+     *
+     * @throws IllegalStateException When no policy file is configured
+     * @throws IllegalArgumentException When the policies are invalid; the running version is kept
+     */
+    public synchronized TenantRegistry.Reload reloadFile() throws IOException {
+        if (policyFile == null) {
+            throw new IllegalStateException("No tenant policy file is configured");
+        }
+        // Recorded first, so the watcher does not retry an invalid file until it changes again
+        stamp = FileStamp.of(policyFile);
+        return apply(load(policyFile), policyFile.toString());
+    }
+
+    @Override
+    public void destroy() {
+        if (watcher != null) {
+            watcher.shutdownNow();
+        }
+    }
+
+    private TenantRegistry.Reload apply(TenantConfig next, String source) {
+        TenantRegistry.Reload reload;
+        try {
+            reload = registry.reload(next, source);
+        } catch (IllegalStateException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+        if (!reload.retired().isEmpty()) {
+            pseudonymizationAnonymizer.ifAvailable(anonymizer -> anonymizer.invalidateTenants(reload.retired()));
+            deterministicMaskingAnonymizer.ifAvailable(anonymizer -> anonymizer.invalidateTenants(reload.retired()));
+            dateShiftAnonymizer.ifAvailable(anonymizer -> anonymizer.invalidateTenants(reload.retired()));
+        }
+        cacheMetrics.bindTenants();
+        return reload;
+    }
+
+    private void poll() {
+        try {
+            if (!FileStamp.of(policyFile).equals(stamp)) {
+                reloadFile();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Tenant policies in {} not reloaded, keeping version {}: {}",
+                      policyFile, registry.getVersion(), e.getMessage());
+        }
+    }
+
+    private TenantConfig load(Path file) throws IOException {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        PropertySourceLoader loader = name.endsWith(".yml") || name.endsWith(".yaml")
+            ? new YamlPropertySourceLoader() : new PropertiesPropertySourceLoader();
+        return bind(loader.load(file.toString(), new FileSystemResource(file)));
+    }
+
+    private TenantConfig bind(List<PropertySource<?>> sources) {
+        TenantConfig next;
+        try {
+            next = new Binder(ConfigurationPropertySources.from(sources)).bindOrCreate(PREFIX, TenantConfig.class);
+        } catch (BindException e) {
+            throw new IllegalArgumentException("Invalid tenant policies: "
+                                               + NestedExceptionUtils.getMostSpecificCause(e).getMessage(), e);
+        }
+        if (StringUtils.isBlank(next.getDefaultTenant())) {
+            throw new IllegalArgumentException("Tenant policies need a default tenant");
+        }
+        next.setEnabled(config.isEnabled());
+        next.setHeader(config.getHeader());
+        next.setPolicyFile(config.getPolicyFile());
+        next.setPolicyReloadInterval(config.getPolicyReloadInterval());
+        return next;
+    }
+
+    private record FileStamp(FileTime modified, long size) {
+
+        static FileStamp of(Path file) throws IOException {
+            return new FileStamp(Files.getLastModifiedTime(file), Files.size(file));
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.tnc.Data.Anonymization.tenant;
+
+import com.tnc.Data.Anonymization.admission.AdaptiveConcurrencyLimit;
+import com.tnc.Data.Anonymization.admission.Bulkhead;
+import com.tnc.Data.Anonymization.config.TenantConfig;
+import com.tnc.Data.Anonymization.service.impl.PseudonymKeyRing;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Resolves tenant ids to their policies and concurrency bulkheads.
+ * Policies are compiled into an immutable, versioned snapshot that is published with an atomic reference
+ * swap: lookups read the current snapshot without locking, requests keep the policy they resolved until
+ * they finish, and a reload never exposes a half-built snapshot. Only configured tenants exist, so header
+ * values can neither create new cache partitions nor new metric tags.
+ * Follows SOLID principles:
+ * - Single Responsibility: Builds and looks up tenant policies
+ */
+@Slf4j
+@Component
+public class TenantRegistry {
+
+    private final PseudonymKeyRing keyRing;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    public TenantRegistry(TenantConfig config, PseudonymKeyRing keyRing) {
+        this.keyRing = keyRing;
+        snapshot.set(compile(config, null, "properties"));
+
+        if (config.isEnabled()) {
+            log.info("Tenant-aware processing enabled for {} tenants (header {}, default tenant {})",
+                     getTenants().size(), config.getHeader(), config.getDefaultTenant());
+        }
+    }
+
+    /**
+     * Resolves the tenant named by a request
+     *
+     * @param tenantId Header value, may be blank
+     * @return The tenant, the default tenant for blank or unknown ids, or null for unknown ids when they are rejected
+     */
+    public TenantPolicy resolve(String tenantId) {
+        Snapshot current = snapshot.get();
+        if (StringUtils.isBlank(tenantId)) {
+            return current.defaultTenant;
+        }
+        TenantPolicy tenant = current.tenants.get(tenantId.trim());
+        if (tenant != null) {
+            return tenant;
+        }
+        return current.config.isRejectUnknown() ? null : current.defaultTenant;
+    }
+
+    /**
+     * Gets the bulkhead of a tenant; a tenant retired by a reload keeps its bulkhead until its requests finish
+     */
+    public Bulkhead bulkhead(TenantPolicy tenant) {
+        Snapshot current = snapshot.get();
+        Bulkhead bulkhead = current.bulkheads.get(tenant.getId());
+        return bulkhead != null ? bulkhead : current.retiredBulkheads.get(tenant);
+    }
+
+    /**
+     * Gets the current policy of a tenant by id, or null when it is not configured
+     */
+    public TenantPolicy find(String tenantId) {
+        return snapshot.get().tenants.get(tenantId);
+    }
+
+    public Collection<TenantPolicy> getTenants() {
+        return Collections.unmodifiableCollection(snapshot.get().tenants.values());
+    }
+
+    public long getVersion() {
+        return snapshot.get().version;
+    }
+
+    public Instant getLoadedAt() {
+        return snapshot.get().loadedAt;
+    }
+
+    public String getSource() {
+        return snapshot.get().source;
+    }
+
+    /**
+     * Validates and compiles new policies and publishes them atomically; nothing changes when they are invalid.
+     * Tenants whose settings did not change keep their policy instance and bulkhead.
+     *
+     * @param source Where the policies come from, for reporting
+     * @return The tenants added, changed and removed; the policies the changed and removed tenants had before
+     * @throws IllegalStateException When a tenant names an unknown key version
+     */
+    public synchronized Reload reload(TenantConfig config, String source) {
+        Snapshot previous = snapshot.get();
+        Snapshot next = compile(config, previous, source);
+
+        List<String> added = new ArrayList<>();
+        List<String> changed = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        List<TenantPolicy> retired = new ArrayList<>();
+        next.tenants.forEach((id, tenant) -> {
+            TenantPolicy old = previous.tenants.get(id);
+            if (old == null) {
+                added.add(id);
+            } else if (old != tenant) {
+                changed.add(id);
+                retired.add(old);
+            }
+        });
+        previous.tenants.forEach((id, old) -> {
+            if (!next.tenants.containsKey(id)) {
+                removed.add(id);
+                retired.add(old);
+            }
+        });
+        // Requests of retired tenants still release their permits on the bulkheads they acquired
+        for (TenantPolicy old : retired) {
+            Bulkhead bulkhead = previous.bulkheads.get(old.getId());
+            if (bulkhead != null && bulkhead != next.bulkheads.get(old.getId())) {
+                next.retiredBulkheads.put(old, bulkhead);
+            }
+        }
+        snapshot.set(next);
+
+        log.info("Tenant policies version {} loaded from {}: added {}, changed {}, removed {}",
+                 next.version, source, added, changed, removed);
+        return new Reload(next.version, added, changed, removed, retired);
+    }
+
+    private Snapshot compile(TenantConfig config, Snapshot previous, String source) {
+        TenantConfig.Policy defaults = config.getDefaults();
+        Map<String, TenantConfig.Policy> configured = new LinkedHashMap<>(config.getPolicies());
+        configured.putIfAbsent(config.getDefaultTenant(), new TenantConfig.Policy());
+
+        Snapshot next = new Snapshot(previous != null ? previous.version + 1 : 1, config, source);
+        configured.forEach((id, policy) -> {
+            String keyVersion = policy.getKeyVersion() != null ? policy.getKeyVersion() : defaults.getKeyVersion();
+            if (keyVersion != null && !keyRing.hasKey(keyVersion)) {
+                throw new IllegalStateException("Tenant " + id + " names unknown pseudonymization key version: " + keyVersion);
+            }
+
+            TenantPolicy tenant = new TenantPolicy(
+                id,
+                policy.getDefaultStrategy() != null ? policy.getDefaultStrategy() : defaults.getDefaultStrategy(),
+                !policy.getAllowedStrategies().isEmpty() ? policy.getAllowedStrategies() : defaults.getAllowedStrategies(),
+                keyVersion,
+                merge(defaults.getFieldTypes(), policy.getFieldTypes()),
+                value(policy.getCacheQuotaBytes(), defaults.getCacheQuotaBytes()));
+            TenantPolicy old = previous != null ? previous.tenants.get(id) : null;
+            next.tenants.put(id, tenant.sameSettings(old) ? old : tenant);
+
+            BulkheadSettings settings = new BulkheadSettings(
+                value(policy.getMaxConcurrency(), defaults.getMaxConcurrency()),
+                value(policy.getQueueCapacity(), defaults.getQueueCapacity()),
+                value(policy.getMaxQueueWait(), defaults.getMaxQueueWait()));
+            Bulkhead bulkhead = previous != null && settings.equals(previous.bulkheadSettings.get(id))
+                ? previous.bulkheads.get(id) : settings.create(id);
+            next.bulkheads.put(id, bulkhead);
+            next.bulkheadSettings.put(id, settings);
+        });
+        next.defaultTenant = next.tenants.get(config.getDefaultTenant());
+        return next;
+    }
+
+    private static <K, V> Map<K, V> merge(Map<K, V> defaults, Map<K, V> overrides) {
+        Map<K, V> merged = new HashMap<>(defaults);
+        merged.putAll(overrides);
+        return merged;
+    }
+
+    private static <T> T value(T configured, T fallback) {
+        return configured != null ? configured : fallback;
+    }
+
+    /**
+     * Outcome of a reload
+     *
+     * @param retired Policies replaced or removed; their cache partitions can be dropped
+     */
+    public record Reload(long version, List<String> added, List<String> changed, List<String> removed,
+                         List<TenantPolicy> retired) {
+    }
+
+    private record BulkheadSettings(int concurrency, int queueCapacity, Duration maxQueueWait) {
+
+        Bulkhead create(String id) {
+            // A fixed limit: the tenant's share must not shrink because another tenant slows the server down
+            AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(concurrency, concurrency, concurrency, 2.0, 0.9);
+            return new Bulkhead("tenant-" + id, limit, queueCapacity, maxQueueWait.toNanos(), Long.MAX_VALUE);
+        }
+    }
+
+    /**
+     * One compiled version of the policies; never modified once published
+     */
+    private static final class Snapshot {
+        private final long version;
+        private final TenantConfig config;
+        private final String source;
+        private final Instant loadedAt = Instant.now();
+        private final Map<String, TenantPolicy> tenants = new LinkedHashMap<>();
+        private final Map<String, Bulkhead> bulkheads = new HashMap<>();
+        private final Map<String, BulkheadSettings> bulkheadSettings = new HashMap<>();
+        private final Map<TenantPolicy, Bulkhead> retiredBulkheads = new HashMap<>();
+        private TenantPolicy defaultTenant;
+
+        private Snapshot(long version, TenantConfig config, String source) {
+            this.version = version;
+            this.config = config;
+            this.source = source;
+        }
+    }
+}
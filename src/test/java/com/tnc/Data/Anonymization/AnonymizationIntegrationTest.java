@@ -1,16 +1,32 @@
 package com.tnc.Data.Anonymization;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.tnc.Data.Anonymization.model.AnonymizationRequest;
+import com.tnc.Data.Anonymization.model.DetokenizationRequest;
+import com.tnc.Data.Anonymization.model.PathPolicy;
+import com.tnc.Data.Anonymization.monitoring.jfr.FlightRecorderEndpoint;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.Resource;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -18,7 +34,11 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 /**
  * Integration tests for the Data Anonymization application.
  */
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"anonymization.vault.path=target/test-vault/${random.uuid}.mv.db",
+                      "anonymization.vault.enabled=true", "anonymization.vault.detokenize-enabled=true",
+                      "anonymization.fake-pool.enabled=false"})
 public class AnonymizationIntegrationTest {
     
     @Autowired
@@ -27,6 +47,9 @@ public class AnonymizationIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
     
+    @Autowired
+    private FlightRecorderEndpoint flightRecorderEndpoint;
+    
     @Test
     public void testHealthEndpoint() throws Exception {
         mockMvc.perform(get("/api/v1/anonymization/health"))
@@ -35,6 +58,14 @@ public class AnonymizationIntegrationTest {
                 .andExpect(jsonPath("$.service").value("Data Anonymization Service"));
     }
     
+    @Test
+    public void testPolicyReloadIsNotExposedOverHttp() throws Exception {
+        mockMvc.perform(post("/actuator/policies"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/actuator/policies"))
+                .andExpect(status().isNotFound());
+    }
+    
     @Test
     public void testGetAvailableStrategies() throws Exception {
         mockMvc.perform(get("/api/v1/anonymization/strategies"))
@@ -102,6 +133,122 @@ public class AnonymizationIntegrationTest {
                 .andExpect(jsonPath("$.strategy").value("PSEUDONYMIZATION"));
     }
     
+    @Test
+    public void testPathPoliciesMixStrategiesInOnePass() throws Exception {
+        Map<String, Object> testData = new HashMap<>();
+        testData.put("customer", Map.of("id", "cust-42", "name", "Jane Roe", "segment", "gold"));
+        testData.put("notes", List.of("called on monday", "prefers email"));
+        testData.put("status", "active");
+        
+        AnonymizationRequest request = new AnonymizationRequest(testData, "MASKING");
+        request.setPolicies(List.of(new PathPolicy("customer.id", "PSEUDONYMIZATION"),
+                                    new PathPolicy("customer.name", null),
+                                    new PathPolicy("notes[*]", "REDACTION")));
+        
+        mockMvc.perform(post("/api/v1/anonymization/anonymize")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.anonymizedData.customer.id").value(org.hamcrest.Matchers.not("cust-42")))
+                .andExpect(jsonPath("$.anonymizedData.customer.name").value(org.hamcrest.Matchers.not("Jane Roe")))
+                .andExpect(jsonPath("$.anonymizedData.customer.segment").value("gold"))
+                .andExpect(jsonPath("$.anonymizedData.notes[0]").value("***"))
+                .andExpect(jsonPath("$.anonymizedData.status").value("active"));
+        
+        request.setPolicies(List.of(new PathPolicy("customer[1]", "MASKING")));
+        mockMvc.perform(post("/api/v1/anonymization/anonymize")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+    
+    @Test
+    public void testGenerateStreamsSeededNdjson() throws Exception {
+        String request = "{\"schema\":{\"email\":\"EMAIL\",\"born\":\"DATE\",\"active\":\"BOOLEAN\"},"
+                         + "\"count\":2500,\"seed\":9}";
+        
+        String body = mockMvc.perform(post("/api/v1/anonymization/generate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(request))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+        String again = mockMvc.perform(post("/api/v1/anonymization/generate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(request))
+                .andReturn().getResponse().getContentAsString();
+        
+        String[] lines = body.split("\n");
+        assertEquals(2500, lines.length);
+        assertEquals(body, again);
+        JsonNode record = objectMapper.readTree(lines[2499]);
+        assertTrue(record.get("email").asText().contains("@"));
+        assertTrue(record.get("born").asText().matches("\\d{4}-\\d{2}-\\d{2}"));
+        assertTrue(record.get("active").isBoolean());
+        
+        mockMvc.perform(post("/api/v1/anonymization/generate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"schema\":{\"email\":\"EMAIL\"},\"count\":0}"))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    public void testXmlAnonymizationStreamsDocument() throws Exception {
+        String xml = "<?xml version=\"1.0\"?><h:export xmlns:h=\"urn:hl7\"><h:patient email=\"jane@corp.com\">"
+                     + "<h:name>Jane Doe</h:name><h:code>A12</h:code></h:patient></h:export>";
+        
+        String body = mockMvc.perform(post("/api/v1/anonymization/anonymize-xml?strategy=REDACTION")
+                .contentType(MediaType.APPLICATION_XML)
+                .content(xml))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_XML))
+                .andReturn().getResponse().getContentAsString();
+        
+        assertTrue(body.contains("<h:export xmlns:h=\"urn:hl7\">"));
+        assertTrue(body.contains("<h:name>***REDACTED***</h:name>"));
+        assertTrue(body.contains("email=\"***REDACTED***\""));
+        assertTrue(body.contains("<h:code>A12</h:code>"));
+        
+        mockMvc.perform(post("/api/v1/anonymization/anonymize-xml?strategy=REDACTION")
+                .contentType(MediaType.APPLICATION_XML)
+                .content("<h:export><name>Jane</h:export>"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+        mockMvc.perform(post("/api/v1/anonymization/anonymize-xml?strategy=SHUFFLING")
+                .contentType(MediaType.APPLICATION_XML)
+                .content(xml))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    public void testDetokenizationRoundTrip() throws Exception {
+        Map<String, Object> testData = new HashMap<>();
+        testData.put("email", "roundtrip@example.com");
+        
+        AnonymizationRequest request = new AnonymizationRequest(testData, "PSEUDONYMIZATION");
+        request.setPreserveFormat(false);
+        
+        String body = mockMvc.perform(post("/api/v1/anonymization/anonymize")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode response = objectMapper.readTree(body);
+        String pseudonym = response.path("anonymizedData").path("email").asText();
+        
+        DetokenizationRequest detokenizationRequest = new DetokenizationRequest(List.of(pseudonym, "unknown-token"));
+        
+        mockMvc.perform(post("/api/v1/anonymization/detokenize")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(detokenizationRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.resolved['" + pseudonym + "']").value("roundtrip@example.com"))
+                .andExpect(jsonPath("$.unresolved[0]").value("unknown-token"));
+    }
+    
     @Test
     public void testBatchAnonymization() throws Exception {
         Map<String, Object> batchRequest = new HashMap<>();
@@ -132,6 +279,152 @@ public class AnonymizationIntegrationTest {
                 .andExpect(jsonPath("$.totalFieldsProcessed").isNumber());
     }
     
+    @Test
+    public void testBatchRiskReport() throws Exception {
+        Map<String, Map<String, Object>> datasets = new HashMap<>();
+        for (int i = 0; i < 20; i++) {
+            datasets.put("dataset" + i, Map.of("name", "User " + i, "address", "Street " + i % 4));
+        }
+        
+        mockMvc.perform(post("/api/v1/anonymization/batch-anonymize")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("datasets", datasets, "strategy", "GENERALIZATION",
+                                                                "riskReport", true))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.risk.records").value(20))
+                .andExpect(jsonPath("$.risk.quasiIdentifiers[0]").value("address"))
+                .andExpect(jsonPath("$.risk.equivalenceClasses").isNumber())
+                .andExpect(jsonPath("$.risk.singletonClasses").isNumber());
+    }
+    
+    @Test
+    public void testShufflingNeedsSeveralRecords() throws Exception {
+        AnonymizationRequest request = new AnonymizationRequest(Map.of("name", "Ann", "salary", 52000), "SHUFFLING");
+        
+        mockMvc.perform(post("/api/v1/anonymization/anonymize")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+        mockMvc.perform(post("/api/v1/anonymization/batch-anonymize")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("strategy", "SHUFFLING",
+                        "datasets", Map.of("only", Map.of("name", "Ann", "salary", 52000))))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(org.hamcrest.Matchers.containsString("at least 2 records")));
+        mockMvc.perform(post("/api/v1/anonymization/batch-anonymize")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("strategy", "SHUFFLING", "seed", 1,
+                        "datasets", Map.of("first", Map.of("name", "Ann"), "second", Map.of("name", "Bob"))))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true));
+    }
+    
+    @Test
+    public void testBatchSizeLimit() throws Exception {
+        Map<String, Map<String, Object>> datasets = new HashMap<>();
+        for (int i = 0; i <= 1000; i++) {
+            datasets.put("dataset" + i, Map.of("name", "User " + i));
+        }
+        
+        mockMvc.perform(post("/api/v1/anonymization/batch-anonymize")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("datasets", datasets, "strategy", "REDACTION"))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value(org.hamcrest.Matchers.containsString("exceeds the limit of 1000")));
+    }
+    
+    @Test
+    public void testRequestProfiling() throws Exception {
+        Map<String, Object> testData = new HashMap<>();
+        testData.put("email", "profiled@example.com");
+        testData.put("firstName", "Pat");
+        testData.put("payloadKey\";, =x", "kept out of headers");
+        AnonymizationRequest request = new AnonymizationRequest(testData, "PSEUDONYMIZATION");
+        String content = objectMapper.writeValueAsString(request);
+        
+        mockMvc.perform(post("/api/v1/anonymization/anonymize")
+                .header("X-Anonymization-Profile", "body")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(content))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", org.hamcrest.Matchers.containsString("total;dur=")))
+                .andExpect(header().string("Server-Timing", org.hamcrest.Matchers.containsString("bind;dur=")))
+                .andExpect(header().string("Server-Timing", org.hamcrest.Matchers.containsString("cache-lookups;desc=\"3\"")))
+                .andExpect(header().string("Server-Timing", org.hamcrest.Matchers.not(org.hamcrest.Matchers.containsString("payloadKey"))))
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.profile.fieldsByType.EMAIL").value(1))
+                .andExpect(jsonPath("$.profile.slowestFields").isArray());
+        
+        mockMvc.perform(post("/api/v1/anonymization/anonymize")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(content))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Server-Timing"))
+                .andExpect(jsonPath("$.profile").doesNotExist());
+        
+        mockMvc.perform(post("/api/v1/anonymization/generate")
+                .header("X-Anonymization-Profile", "true")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"schema\":{\"email\":\"EMAIL\"},\"count\":10,\"seed\":1}"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Server-Timing"));
+    }
+    
+    @Test
+    public void testFlightRecorderEvents() throws Exception {
+        Map<String, Object> testData = new HashMap<>();
+        testData.put("email", "recorded-" + System.nanoTime() + "@example.com");
+        AnonymizationRequest request = new AnonymizationRequest(testData, "PSEUDONYMIZATION");
+        Path file = Files.createTempFile("anonymization-test-", ".jfr");
+        
+        try (Recording recording = new Recording()) {
+            recording.enable("com.tnc.anonymization.Request");
+            recording.enable("com.tnc.anonymization.PseudonymCacheMiss");
+            recording.start();
+            
+            mockMvc.perform(post("/api/v1/anonymization/anonymize")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk());
+            
+            recording.stop();
+            recording.dump(file);
+        }
+        
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.deleteIfExists(file);
+        assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("com.tnc.anonymization.Request")
+                && "anonymize".equals(event.getString("endpoint"))
+                && "PSEUDONYMIZATION".equals(event.getString("strategy"))
+                && event.getInt("fieldCount") == 1
+                && event.getLong("payloadBytes") > 0
+                && event.getInt("status") == 200));
+        assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("com.tnc.anonymization.PseudonymCacheMiss")
+                && "EMAIL".equals(event.getString("dataType"))));
+        
+        mockMvc.perform(get("/actuator/jfr"))
+                .andExpect(status().isNotFound());
+        
+        assertEquals(true, flightRecorderEndpoint.recordings().get("available"));
+        assertEquals(404, flightRecorderEndpoint.dump("missing-recording").getStatus());
+        
+        Map<String, Object> started = flightRecorderEndpoint.start();
+        assertEquals("anonymization", started.get("name"));
+        assertEquals("RUNNING", started.get("state"));
+        Recording managed = FlightRecorder.getFlightRecorder().getRecordings().stream()
+                .filter(candidate -> "anonymization".equals(candidate.getName()))
+                .findFirst().orElseThrow();
+        assertEquals("false", managed.getSettings().get("jdk.InitialEnvironmentVariable#enabled"));
+        assertEquals("false", managed.getSettings().get("jdk.InitialSystemProperty#enabled"));
+        WebEndpointResponse<Resource> dump = flightRecorderEndpoint.dump("anonymization");
+        assertEquals(200, dump.getStatus());
+        dump.getBody().getInputStream().close();
+        assertEquals("CLOSED", flightRecorderEndpoint.stop().get("state"));
+    }
+    
     @Test
     public void testInvalidStrategy() throws Exception {
         Map<String, Object> testData = new HashMap<>();
@@ -0,0 +1,84 @@
+package com.tnc.Data.Anonymization;
+
+import com.tnc.Data.Anonymization.audit.AuditContext;
+import com.tnc.Data.Anonymization.audit.AuditTrail;
+import com.tnc.Data.Anonymization.config.AuditConfig;
+import com.tnc.Data.Anonymization.config.PseudonymizationConfig;
+import com.tnc.Data.Anonymization.enums.AnonymizationStrategy;
+import com.tnc.Data.Anonymization.enums.DataType;
+import com.tnc.Data.Anonymization.service.impl.PseudonymKeyRing;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH measurement of publishing one audit event from a request thread, reported in nanoseconds per event,
+ * while the writer drains into files without fsync. Events the writer cannot keep up with are dropped.
+ * Run with: ./mvnw test -Dtest=AuditBenchmarkTest -Dbenchmark=true
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuditBenchmarkTest {
+    
+    private AuditTrail auditTrail;
+    
+    @Test
+    void measurePublish() throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(AuditBenchmarkTest.class.getSimpleName())
+            .build()).run();
+    }
+    
+    @Setup
+    public void setUp() {
+        AuditConfig config = new AuditConfig();
+        config.setEnabled(true);
+        config.setDirectory("target/test-audit/" + UUID.randomUUID());
+        config.setFsync(false);
+        PseudonymizationConfig pseudonymizationConfig = new PseudonymizationConfig();
+        pseudonymizationConfig.setActiveKeyVersion("v1");
+        auditTrail = new AuditTrail(config, pseudonymizationConfig, new PseudonymKeyRing(pseudonymizationConfig),
+                                    new SimpleMeterRegistry());
+        AuditContext.begin();
+    }
+    
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        log.info("Audit events written {}, dropped {}", auditTrail.getWritten(), auditTrail.getDropped());
+        auditTrail.destroy();
+    }
+    
+    @Benchmark
+    public void publishMasking() {
+        auditTrail.record("email", DataType.EMAIL, AnonymizationStrategy.MASKING, 1);
+    }
+    
+    @Benchmark
+    public void publishDeterministicMasking() {
+        auditTrail.record("email", DataType.EMAIL, AnonymizationStrategy.DETERMINISTIC_MASKING, 1);
+    }
+}
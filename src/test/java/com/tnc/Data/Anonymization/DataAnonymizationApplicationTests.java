@@ -3,7 +3,8 @@ package com.tnc.Data.Anonymization;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = {"anonymization.vault.path=target/test-vault/${random.uuid}.mv.db",
+                             "anonymization.fake-pool.enabled=false"})
 class DataAnonymizationApplicationTests {
 
 	@Test
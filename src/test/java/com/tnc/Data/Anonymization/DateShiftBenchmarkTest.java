@@ -0,0 +1,84 @@
+package com.tnc.Data.Anonymization;
+
+import com.tnc.Data.Anonymization.enums.AnonymizationStrategy;
+import com.tnc.Data.Anonymization.service.interfaces.AnonymizationService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures DATE_SHIFT throughput in batch mode, in batches of 100,000 records with an ISO date, an ISO
+ * timestamp, a US-style date and epoch milliseconds each. Records are measured without and with a
+ * subject id; the subject id is masked with Faker once per distinct value and batch, which dominates.
+ * Run with: ./mvnw test -Dtest=DateShiftBenchmarkTest -Dbenchmark=true
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(properties = {"anonymization.vault.path=target/test-vault/${random.uuid}.mv.db",
+                             "anonymization.fake-pool.enabled=false"})
+class DateShiftBenchmarkTest {
+    
+    private static final int RECORDS = 1_000_000;
+    private static final int BATCH = 100_000;
+    private static final int SUBJECTS = 2_000;
+    private static final int DATES_PER_RECORD = 4;
+    
+    @Autowired
+    private AnonymizationService anonymizationService;
+    
+    @Test
+    void shiftsMillionsOfTimestamps() {
+        for (boolean withSubject : new boolean[] {false, true}) {
+            List<Map<String, Object>> records = syntheticRecords(withSubject);
+            shiftInBatches(records.subList(0, 2 * BATCH));
+            
+            long start = System.nanoTime();
+            int shifted = shiftInBatches(records);
+            long nanos = System.nanoTime() - start;
+            
+            log.info(String.format("DATE_SHIFT %,d records %s subject id: %,d ms, %.2f M timestamps/s", RECORDS,
+                                   withSubject ? "with" : "without", nanos / 1_000_000,
+                                   RECORDS * (double) DATES_PER_RECORD / nanos * 1_000));
+            assertEquals(RECORDS, shifted);
+        }
+    }
+    
+    private int shiftInBatches(List<Map<String, Object>> records) {
+        int shifted = 0;
+        for (int from = 0; from < records.size(); from += BATCH) {
+            shifted += anonymizationService.anonymizeRecords(records.subList(from, from + BATCH),
+                                                             AnonymizationStrategy.DATE_SHIFT, true, null).size();
+        }
+        return shifted;
+    }
+    
+    private static List<Map<String, Object>> syntheticRecords(boolean withSubject) {
+        SplittableRandom random = new SplittableRandom(11);
+        LocalDate base = LocalDate.of(2020, 1, 1);
+        List<Map<String, Object>> records = new ArrayList<>(RECORDS);
+        for (int i = 0; i < RECORDS; i++) {
+            LocalDate day = base.plusDays(random.nextInt(1_500));
+            Map<String, Object> record = new HashMap<>();
+            if (withSubject) {
+                record.put("patientId", "P" + random.nextInt(SUBJECTS));
+            }
+            record.put("admissionDate", day.toString());
+            record.put("recordedAt", day + "T" + String.format("%02d:%02d:00Z", random.nextInt(24), random.nextInt(60)));
+            record.put("dischargeDate", String.format("%02d/%02d/%d", day.getMonthValue(), day.getDayOfMonth(), day.getYear()));
+            record.put("updatedDate", day.toEpochDay() * 86_400_000L + random.nextInt(86_400_000));
+            records.add(record);
+        }
+        return records;
+    }
+}
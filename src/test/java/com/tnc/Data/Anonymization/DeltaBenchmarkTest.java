@@ -0,0 +1,102 @@
+package com.tnc.Data.Anonymization;
+
+import com.tnc.Data.Anonymization.delta.DeltaSession;
+import com.tnc.Data.Anonymization.delta.DeltaStore;
+import com.tnc.Data.Anonymization.enums.AnonymizationStrategy;
+import com.tnc.Data.Anonymization.service.interfaces.AnonymizationService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures incremental MASKING of a 500,000-record snapshot: a first run that fills the delta store,
+ * then a run of the next snapshot in which 3% of the records changed, against a full re-anonymization.
+ * Run with: ./mvnw test -Dtest=DeltaBenchmarkTest -Dbenchmark=true
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(properties = {"anonymization.vault.path=target/test-vault/${random.uuid}.mv.db",
+                             "anonymization.fake-pool.enabled=false"})
+class DeltaBenchmarkTest {
+    
+    private static final int RECORDS = 500_000;
+    private static final int CHUNK = 1_000;
+    private static final double CHURN = 0.03;
+    
+    @Autowired
+    private AnonymizationService anonymizationService;
+    
+    @Autowired
+    private DeltaStore deltaStore;
+    
+    @Test
+    void dailyRunsAreProportionalToChurn() throws Exception {
+        List<Map<String, Object>> snapshot = snapshot();
+        DeltaSession session = deltaStore.open("target/test-delta/" + UUID.randomUUID() + ".mv.db", "id", "bench", false);
+        
+        long start = System.nanoTime();
+        run(session, snapshot);
+        session.commit(true);
+        long firstMillis = (System.nanoTime() - start) / 1_000_000;
+        
+        SplittableRandom random = new SplittableRandom(3);
+        for (Map<String, Object> record : snapshot) {
+            if (random.nextDouble() < CHURN) {
+                record.put("email", "changed" + random.nextInt() + "@example.com");
+            }
+        }
+        start = System.nanoTime();
+        int anonymized = run(session, snapshot);
+        session.commit(true);
+        long deltaMillis = (System.nanoTime() - start) / 1_000_000;
+        
+        start = System.nanoTime();
+        for (int from = 0; from < RECORDS; from += CHUNK) {
+            anonymizationService.anonymizeRecords(snapshot.subList(from, from + CHUNK), AnonymizationStrategy.MASKING, true, null);
+        }
+        long fullMillis = (System.nanoTime() - start) / 1_000_000;
+        deltaStore.close();
+        
+        log.info(String.format("Delta MASKING %,d records: first run %,d ms, next run with %.0f%% churn %,d ms "
+                               + "(%,d re-anonymized), full re-run %,d ms",
+                               RECORDS, firstMillis, CHURN * 100, deltaMillis, anonymized, fullMillis));
+        assertEquals(RECORDS, session.getReused() + session.getChanged() - RECORDS);
+    }
+    
+    private int run(DeltaSession session, List<Map<String, Object>> snapshot) {
+        int anonymized = 0;
+        for (int from = 0; from < snapshot.size(); from += CHUNK) {
+            DeltaSession.Chunk chunk = session.lookup(snapshot.subList(from, from + CHUNK));
+            List<Map<String, Object>> changed = chunk.changed();
+            anonymized += changed.size();
+            chunk.merge(anonymizationService.anonymizeRecords(changed, AnonymizationStrategy.MASKING, true, null));
+        }
+        return anonymized;
+    }
+    
+    private static List<Map<String, Object>> snapshot() {
+        SplittableRandom random = new SplittableRandom(17);
+        List<Map<String, Object>> records = new ArrayList<>(RECORDS);
+        for (int i = 0; i < RECORDS; i++) {
+            Map<String, Object> record = new HashMap<>();
+            record.put("id", i);
+            record.put("name", "Customer " + random.nextInt(1_000_000));
+            record.put("email", "user" + random.nextInt(1_000_000) + "@example.com");
+            record.put("phone", "555-" + (1000 + random.nextInt(9000)));
+            record.put("city", "City " + random.nextInt(500));
+            records.add(record);
+        }
+        return records;
+    }
+}
@@ -0,0 +1,122 @@
+package com.tnc.Data.Anonymization;
+
+import com.tnc.Data.Anonymization.config.DictionaryConfig;
+import com.tnc.Data.Anonymization.detection.DictionaryDetector;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures dictionary detection over 2,000,000 known identifiers (account numbers and full names):
+ * compiling the dictionary, loading the compiled file by memory mapping, the mapped footprint, and scan
+ * throughput over free text in which about one token in twenty is a dictionary term.
+ * Run with: ./mvnw test -Dtest=DictionaryDetectionBenchmarkTest -Dbenchmark=true
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class DictionaryDetectionBenchmarkTest {
+    
+    private static final int TERMS = 2_000_000;
+    private static final int TEXTS = 200_000;
+    private static final String[] WORDS = {"the", "payment", "was", "sent", "to", "account", "for", "customer",
+                                           "invoice", "on", "behalf", "of", "and", "reviewed", "by"};
+    
+    @TempDir
+    Path directory;
+    
+    @Test
+    void scansTextAgainstMillionsOfIdentifiers() throws IOException {
+        List<String> sample = new ArrayList<>();
+        Path dictionary = writeDictionary(sample);
+        DictionaryConfig config = new DictionaryConfig();
+        config.setEnabled(true);
+        config.setPath(dictionary.toString());
+        
+        long start = System.nanoTime();
+        new DictionaryDetector(config);
+        long compileMillis = (System.nanoTime() - start) / 1_000_000;
+        DictionaryDetector detector = new DictionaryDetector(config);
+        log.info(String.format("Dictionary %,d terms: compiled in %,d ms, mapped in %,d ms, %.1f MB",
+                               detector.getEntries(), compileMillis, detector.getLoadMillis(),
+                               detector.getMemoryBytes() / (1024.0 * 1024.0)));
+        
+        List<String> texts = texts(sample);
+        long chars = texts.stream().mapToLong(String::length).sum();
+        scan(detector, texts);
+        start = System.nanoTime();
+        long matches = scan(detector, texts);
+        long nanos = System.nanoTime() - start;
+        log.info(String.format("Scanned %,d texts (%.1f MB of chars) in %,d ms: %.1f MB/s, %,d matches", texts.size(),
+                               chars / 1e6, nanos / 1_000_000, chars / 1e6 / (nanos / 1e9), matches));
+        
+        start = System.nanoTime();
+        long known = 0;
+        for (String text : texts) {
+            known += detector.isKnown(text.substring(0, text.indexOf(' '))) ? 1 : 0;
+        }
+        log.info(String.format("Single-token lookups: %.1f M/s", texts.size() / ((System.nanoTime() - start) / 1e3)));
+        assertTrue(matches > TEXTS / 2 && known >= 0);
+    }
+    
+    private Path writeDictionary(List<String> sample) throws IOException {
+        SplittableRandom random = new SplittableRandom(5);
+        Path dictionary = directory.resolve("identifiers.txt");
+        try (BufferedWriter writer = Files.newBufferedWriter(dictionary, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < TERMS; i++) {
+                String term = i % 2 == 0
+                    ? String.format("DE%02d%018d", random.nextInt(100), random.nextLong(1_000_000_000_000_000_000L))
+                    : name(random) + " " + name(random);
+                writer.write(i % 2 == 0 ? "ACCOUNT\t" : "NAME\t");
+                writer.write(term);
+                writer.newLine();
+                if (i % 1_000 == 0) {
+                    sample.add(term);
+                }
+            }
+        }
+        return dictionary;
+    }
+    
+    private static String name(SplittableRandom random) {
+        char[] name = new char[5 + random.nextInt(6)];
+        name[0] = (char) ('A' + random.nextInt(26));
+        for (int i = 1; i < name.length; i++) {
+            name[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(name);
+    }
+    
+    private static List<String> texts(List<String> sample) {
+        SplittableRandom random = new SplittableRandom(9);
+        List<String> texts = new ArrayList<>(TEXTS);
+        for (int t = 0; t < TEXTS; t++) {
+            StringBuilder text = new StringBuilder();
+            for (int w = 0; w < 20; w++) {
+                text.append(w == 10 ? sample.get(random.nextInt(sample.size())) : WORDS[random.nextInt(WORDS.length)])
+                    .append(' ');
+            }
+            texts.add(text.toString());
+        }
+        return texts;
+    }
+    
+    private static long scan(DictionaryDetector detector, List<String> texts) {
+        long matches = 0;
+        for (String text : texts) {
+            matches += detector.scan(text).size();
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,86 @@
+package com.tnc.Data.Anonymization;
+
+import com.tnc.Data.Anonymization.config.FakeValuePoolConfig;
+import com.tnc.Data.Anonymization.enums.DataType;
+import com.tnc.Data.Anonymization.enums.FakeValueKind;
+import com.tnc.Data.Anonymization.service.impl.FakeDataAnonymizer;
+import com.tnc.Data.Anonymization.service.impl.FakeValuePools;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures the latency of unseeded MASKING of one record (name, email, address, SSN, ID and a word) with
+ * inline Faker calls and with pre-generated pools, pausing 1 ms between records as a request stream does,
+ * so one core is enough for the producer to keep up, and reports p50, p99 and p99.9 per record.
+ * Run with: ./mvnw test -Dtest=FakeValuePoolBenchmarkTest -Dbenchmark=true
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class FakeValuePoolBenchmarkTest {
+    
+    private static final int WARMUP = 2_000;
+    private static final int RECORDS = 10_000;
+    private static final long PAUSE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    
+    @Test
+    void pooledMaskingCutsTailLatency() throws Exception {
+        long[] inline = measure(new FakeDataAnonymizer());
+        
+        FakeValuePools pools = new FakeValuePools(new FakeValuePoolConfig(), new SimpleMeterRegistry());
+        pools.start();
+        long[] pooled;
+        long underflows = 0;
+        try {
+            LockSupport.parkNanos(TimeUnit.SECONDS.toNanos(5));
+            pooled = measure(new FakeDataAnonymizer(pools));
+            for (FakeValueKind kind : FakeValueKind.values()) {
+                underflows += pools.getUnderflows(kind);
+            }
+        } finally {
+            pools.stop();
+        }
+        
+        report("inline", inline);
+        report("pooled", pooled);
+        log.info(String.format("Pool underflows: %,d", underflows));
+        assertTrue(percentile(pooled, 0.99) < percentile(inline, 0.99));
+    }
+    
+    private static long[] measure(FakeDataAnonymizer anonymizer) {
+        long[] latencies = new long[RECORDS];
+        for (int i = -WARMUP; i < RECORDS; i++) {
+            long start = System.nanoTime();
+            anonymizer.anonymize("Jane Doe", DataType.NAME, false, null);
+            anonymizer.anonymize("jane@domain.com", DataType.EMAIL, false, null);
+            anonymizer.anonymize("1 Main Street", DataType.ADDRESS, false, null);
+            anonymizer.anonymize("123-45-6789", DataType.SSN, false, null);
+            anonymizer.anonymize("AB-123", DataType.ID, false, null);
+            anonymizer.anonymize("note", DataType.UNKNOWN, false, null);
+            long elapsed = System.nanoTime() - start;
+            if (i >= 0) {
+                latencies[i] = elapsed;
+            }
+            LockSupport.parkNanos(PAUSE_NANOS);
+        }
+        Arrays.sort(latencies);
+        return latencies;
+    }
+    
+    private static void report(String mode, long[] sorted) {
+        log.info(String.format("MASKING %s, %,d records: p50 %,d us, p99 %,d us, p99.9 %,d us", mode, RECORDS,
+                               percentile(sorted, 0.5) / 1000, percentile(sorted, 0.99) / 1000,
+                               percentile(sorted, 0.999) / 1000));
+    }
+    
+    private static long percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))];
+    }
+}
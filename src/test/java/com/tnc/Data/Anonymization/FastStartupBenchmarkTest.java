@@ -0,0 +1,52 @@
+package com.tnc.Data.Anonymization;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Startup benchmark for the fast-startup profile.
+ * Run with: ./mvnw test -Dtest=FastStartupBenchmarkTest -Dbenchmark=true [-Dstartup.max-millis=1000]
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class FastStartupBenchmarkTest {
+    
+    private static final int WARMUP_STARTS = 8;
+    
+    @Test
+    void fastStartupProfileIsReadyWithinTarget() {
+        long maxMillis = Long.getLong("startup.max-millis", 1000L);
+        
+        // Warm up class loading and JIT so the measured start reflects a warm JVM
+        for (int i = 0; i < WARMUP_STARTS; i++) {
+            start().close();
+        }
+        
+        long startNanos = System.nanoTime();
+        try (ConfigurableApplicationContext context = start()) {
+            long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+            log.info(String.format("fast-startup ready in %d ms (target %d ms)", elapsedMillis, maxMillis));
+            
+            assertTrue(context.isActive());
+            assertTrue(elapsedMillis < maxMillis,
+                       "Startup took " + elapsedMillis + " ms, target is " + maxMillis + " ms");
+        }
+    }
+    
+    private static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(DataAnonymizationApplication.class)
+            .profiles("fast-startup")
+            .applicationStartup(new BufferingApplicationStartup(4096))
+            .properties("server.port=0",
+                        "anonymization.vault.path=target/test-vault/" + UUID.randomUUID() + ".mv.db")
+            .run();
+    }
+}
@@ -0,0 +1,66 @@
+package com.tnc.Data.Anonymization;
+
+import com.tnc.Data.Anonymization.enums.DataType;
+import com.tnc.Data.Anonymization.model.GenerationRequest;
+import com.tnc.Data.Anonymization.service.interfaces.SyntheticDataService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures synthetic generation of 1,000,000 six-field records streamed as NDJSON to a discarding
+ * stream, against the target of one million records per minute.
+ * Run with: ./mvnw test -Dtest=GenerationBenchmarkTest -Dbenchmark=true
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(properties = {"anonymization.vault.path=target/test-vault/${random.uuid}.mv.db",
+                             "anonymization.fake-pool.enabled=false"})
+class GenerationBenchmarkTest {
+    
+    private static final int RECORDS = 1_000_000;
+    
+    @Autowired
+    private SyntheticDataService syntheticDataService;
+    
+    @Test
+    void oneMillionRecordsPerMinute() throws Exception {
+        Map<String, DataType> schema = new LinkedHashMap<>();
+        schema.put("id", DataType.ID);
+        schema.put("name", DataType.NAME);
+        schema.put("email", DataType.EMAIL);
+        schema.put("phone", DataType.PHONE);
+        schema.put("born", DataType.DATE);
+        schema.put("balance", DataType.NUMBER);
+        syntheticDataService.generate(new GenerationRequest(schema, 10_000, 1L), OutputStream.nullOutputStream());
+        
+        long[] bytes = new long[1];
+        OutputStream counting = new OutputStream() {
+            @Override
+            public void write(int b) {
+                bytes[0]++;
+            }
+            
+            @Override
+            public void write(byte[] b, int off, int len) {
+                bytes[0] += len;
+            }
+        };
+        long start = System.nanoTime();
+        long written = syntheticDataService.generate(new GenerationRequest(schema, RECORDS, 42L), counting);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        
+        log.info(String.format("Generated %,d records (%,d MB of NDJSON) on %d cores in %,d ms: %,.0f records/minute",
+                               written, bytes[0] >> 20, Runtime.getRuntime().availableProcessors(), millis,
+                               written * 60_000.0 / Math.max(1, millis)));
+        assertEquals(RECORDS, written);
+    }
+}
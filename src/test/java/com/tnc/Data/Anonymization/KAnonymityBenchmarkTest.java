@@ -0,0 +1,74 @@
+package com.tnc.Data.Anonymization;
+
+import com.tnc.Data.Anonymization.engine.EncodedColumn;
+import com.tnc.Data.Anonymization.engine.KAnonymityEngine;
+import com.tnc.Data.Anonymization.enums.GeneralizationHierarchy;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Throughput benchmark for k-anonymity generalization over ZIP, birth date and gender.
+ * Run with: ./mvnw test -Dtest=KAnonymityBenchmarkTest -Dbenchmark=true -DargLine=-Xmx4g
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class KAnonymityBenchmarkTest {
+    
+    private static final int K = 10;
+    
+    @ParameterizedTest
+    @ValueSource(ints = {1_000_000, 10_000_000, 50_000_000})
+    void generalizeQuasiIdentifiers(int rows) {
+        EncodedColumn[] columns = syntheticColumns(rows);
+        GeneralizationHierarchy[] hierarchies = {GeneralizationHierarchy.ZIP, GeneralizationHierarchy.DATE, GeneralizationHierarchy.CATEGORICAL};
+        
+        long start = System.nanoTime();
+        KAnonymityEngine.Result result = new KAnonymityEngine(columns, hierarchies).anonymize(K, 0.01);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        
+        log.info(String.format("k-anonymity %,d rows: %,d ms (%,.0f rows/s), levels=%s, classes=%,d, suppressed=%,d",
+                               rows, elapsedMillis, rows * 1000.0 / Math.max(1, elapsedMillis),
+                               java.util.Arrays.toString(result.getLevels()), result.getEquivalenceClasses(),
+                               result.getSuppressedRows()));
+        assertTrue(result.getMinClassSize() >= K);
+    }
+    
+    /**
+     * Builds encoded columns directly so that the benchmark measures the engine, not String allocation
+     */
+    private static EncodedColumn[] syntheticColumns(int rows) {
+        SplittableRandom random = new SplittableRandom(7);
+        String[] zips = new String[30_000];
+        for (int i = 0; i < zips.length; i++) {
+            zips[i] = String.format("%05d", 10_000 + i * 3);
+        }
+        String[] dates = new String[365 * 70];
+        LocalDate first = LocalDate.of(1940, 1, 1);
+        for (int i = 0; i < dates.length; i++) {
+            dates[i] = first.plusDays(i).toString();
+        }
+        String[] genders = {"F", "M"};
+        
+        int[] zipCodes = new int[rows];
+        int[] dateCodes = new int[rows];
+        int[] genderCodes = new int[rows];
+        for (int row = 0; row < rows; row++) {
+            zipCodes[row] = random.nextInt(zips.length);
+            dateCodes[row] = random.nextInt(dates.length);
+            genderCodes[row] = random.nextInt(2);
+        }
+        
+        return new EncodedColumn[]{
+            new EncodedColumn(zipCodes, zips),
+            new EncodedColumn(dateCodes, dates),
+            new EncodedColumn(genderCodes, genders)
+        };
+    }
+}
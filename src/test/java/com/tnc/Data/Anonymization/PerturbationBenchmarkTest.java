@@ -0,0 +1,91 @@
+package com.tnc.Data.Anonymization;
+
+import com.tnc.Data.Anonymization.engine.PerturbationKernel;
+import com.tnc.Data.Anonymization.engine.PerturbationKernels;
+import com.tnc.Data.Anonymization.engine.PerturbationParameters;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of the scalar and Vector API perturbation kernels, reported in values per microsecond.
+ * Run with: ./mvnw test -Dtest=PerturbationBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class PerturbationBenchmarkTest {
+    
+    private static final int SIZE = 64 * 1024;
+    private static final PerturbationParameters PARAMETERS = new PerturbationParameters(0.05, 1.0, 0.01);
+    
+    private PerturbationKernel scalar;
+    private PerturbationKernel vector;
+    private double[] doubles;
+    private long[] longs;
+    private long seed;
+    
+    @Test
+    void compareKernels() throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(PerturbationBenchmarkTest.class.getSimpleName())
+            .build()).run();
+    }
+    
+    @Setup
+    public void setUp() {
+        scalar = PerturbationKernels.create(false);
+        vector = PerturbationKernels.create(true);
+        SplittableRandom random = new SplittableRandom(1);
+        doubles = random.doubles(SIZE, 0, 100_000).toArray();
+        longs = random.longs(SIZE, 0, 100_000).toArray();
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double scalarDoubles() {
+        scalar.perturb(doubles, seed++, PARAMETERS);
+        return doubles[0];
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double vectorDoubles() {
+        vector.perturb(doubles, seed++, PARAMETERS);
+        return doubles[0];
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public long scalarLongs() {
+        scalar.perturb(longs, seed++, PARAMETERS);
+        return longs[0];
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public long vectorLongs() {
+        vector.perturb(longs, seed++, PARAMETERS);
+        return longs[0];
+    }
+}
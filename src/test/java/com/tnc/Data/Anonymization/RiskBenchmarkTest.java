@@ -0,0 +1,64 @@
+package com.tnc.Data.Anonymization;
+
+import com.tnc.Data.Anonymization.config.RiskConfig;
+import com.tnc.Data.Anonymization.model.RiskReport;
+import com.tnc.Data.Anonymization.risk.RiskAnalysis;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures the risk analysis of 100,000,000 records with three quasi-identifiers: throughput, and the
+ * sketch memory, which stays the same whatever the record count. Records are generated chunk by chunk
+ * into reused maps, so the heap only holds one chunk.
+ * Run with: ./mvnw test -Dtest=RiskBenchmarkTest -Dbenchmark=true
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class RiskBenchmarkTest {
+    
+    private static final long RECORDS = 100_000_000L;
+    private static final int CHUNK = 10_000;
+    
+    @Test
+    void hundredMillionRecordsInFixedMemory() {
+        RiskConfig config = new RiskConfig();
+        config.setQuasiIdentifiers(List.of("zip", "age", "gender"));
+        RiskAnalysis analysis = new RiskAnalysis(config);
+        List<Map<String, Object>> chunk = new ArrayList<>(CHUNK);
+        for (int i = 0; i < CHUNK; i++) {
+            chunk.add(new HashMap<>());
+        }
+        String[] zips = new String[100_000];
+        for (int i = 0; i < zips.length; i++) {
+            zips[i] = String.valueOf(10_000 + i);
+        }
+        SplittableRandom random = new SplittableRandom(7);
+        
+        long start = System.nanoTime();
+        for (long done = 0; done < RECORDS; done += CHUNK) {
+            for (Map<String, Object> record : chunk) {
+                record.put("zip", zips[random.nextInt(zips.length)]);
+                record.put("age", random.nextInt(90));
+                record.put("gender", random.nextBoolean() ? "F" : "M");
+            }
+            analysis.add(chunk);
+        }
+        RiskReport report = analysis.report();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        
+        log.info(String.format("Risk analysis of %,d records in %,d ms (%,.0f records/s): ~%,d classes, ~%,d unique "
+                               + "records, sketches %,d KB", RECORDS, millis, RECORDS * 1000.0 / Math.max(1, millis),
+                               report.getEquivalenceClasses(), report.getSingletonClasses(),
+                               report.getMemoryBytes() / 1024));
+        assertEquals(RECORDS, report.getRecords());
+    }
+}
@@ -0,0 +1,99 @@
+package com.tnc.Data.Anonymization;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tnc.Data.Anonymization.cli.AnonymizationCliRunner;
+import com.tnc.Data.Anonymization.config.CliConfig;
+import com.tnc.Data.Anonymization.config.DeltaConfig;
+import com.tnc.Data.Anonymization.config.InferenceConfig;
+import com.tnc.Data.Anonymization.config.RiskConfig;
+import com.tnc.Data.Anonymization.config.ShufflingConfig;
+import com.tnc.Data.Anonymization.delta.DeltaStore;
+import com.tnc.Data.Anonymization.engine.FisherYates;
+import com.tnc.Data.Anonymization.service.interfaces.AnonymizationService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures SHUFFLING at 10,000,000 records: a Fisher-Yates permutation of the index array of one
+ * column, then the external shuffle of two columns of a 10,000,000-line NDJSON file through
+ * 64 MB on-disk buckets.
+ * Run with: ./mvnw test -Dtest=ShufflingBenchmarkTest -Dbenchmark=true
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(properties = {"anonymization.vault.path=target/test-vault/${random.uuid}.mv.db",
+                             "anonymization.fake-pool.enabled=false"})
+class ShufflingBenchmarkTest {
+
+    private static final int RECORDS = 10_000_000;
+
+    @Autowired
+    private AnonymizationService anonymizationService;
+
+    @Autowired
+    private CliConfig cliConfig;
+
+    @Autowired
+    private DeltaStore deltaStore;
+
+    @Autowired
+    private DeltaConfig deltaConfig;
+
+    @Autowired
+    private InferenceConfig inferenceConfig;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void tenMillionRecordsAreShuffledInMemoryAndOnDisk() throws Exception {
+        long start = System.nanoTime();
+        int[] permutation = FisherYates.permutation(RECORDS, FisherYates.random(11L, "salary"));
+        long permutationMillis = (System.nanoTime() - start) / 1_000_000;
+
+        Path directory = Files.createDirectories(Path.of("target/test-shuffle/" + UUID.randomUUID()));
+        Path input = directory.resolve("people.ndjson");
+        SplittableRandom random = new SplittableRandom(5);
+        try (BufferedWriter writer = Files.newBufferedWriter(input, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < RECORDS; i++) {
+                writer.write("{\"id\":" + i + ",\"zip\":\"" + (10000 + random.nextInt(90000))
+                             + "\",\"salary\":" + (30000 + random.nextInt(120000)) + "}");
+                writer.newLine();
+            }
+        }
+        ShufflingConfig shufflingConfig = new ShufflingConfig();
+        shufflingConfig.setColumns(List.of("zip", "salary"));
+        AnonymizationCliRunner runner = new AnonymizationCliRunner(anonymizationService, cliConfig, deltaStore,
+                                                                   deltaConfig, inferenceConfig, shufflingConfig,
+                                                                   new RiskConfig(), objectMapper);
+
+        start = System.nanoTime();
+        runner.run(new DefaultApplicationArguments("--input=" + input, "--output=" + directory.resolve("out.ndjson"),
+                                                   "--strategy=SHUFFLING", "--seed=11"));
+        long fileMillis = (System.nanoTime() - start) / 1_000_000;
+        long size = Files.size(input);
+
+        log.info(String.format("SHUFFLING %,d records: index permutation %,d ms; external shuffle of %,d MB %,d ms "
+                               + "(%.0f records/s)",
+                               RECORDS, permutationMillis, size >> 20, fileMillis,
+                               RECORDS * 1000.0 / Math.max(1, fileMillis)));
+        assertEquals(RECORDS, permutation.length);
+        assertEquals(AnonymizationCliRunner.EXIT_OK, runner.getExitCode());
+        Files.delete(input);
+        Files.delete(directory.resolve("out.ndjson"));
+    }
+}
@@ -0,0 +1,89 @@
+package com.tnc.Data.Anonymization;
+
+import com.tnc.Data.Anonymization.enums.AnonymizationStrategy;
+import com.tnc.Data.Anonymization.model.XmlAnonymizationSummary;
+import com.tnc.Data.Anonymization.service.interfaces.AnonymizationService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.BufferedWriter;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures streaming XML anonymization of a 2 GB HL7-style export with PARTIAL_MASKING and reports
+ * the throughput and the peak heap, which must not grow with the document.
+ * Run with: ./mvnw test -Dtest=XmlBenchmarkTest -Dbenchmark=true
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(properties = {"anonymization.vault.path=target/test-vault/${random.uuid}.mv.db",
+                             "anonymization.fake-pool.enabled=false"})
+class XmlBenchmarkTest {
+
+    private static final long TARGET_BYTES = 2L * 1024 * 1024 * 1024;
+
+    @Autowired
+    private AnonymizationService anonymizationService;
+
+    @Test
+    void twoGigabyteDocumentStreamsInConstantMemory() throws Exception {
+        Path directory = Files.createDirectories(Path.of("target/test-xml/" + UUID.randomUUID()));
+        Path input = directory.resolve("export.xml");
+        Path output = directory.resolve("export.anonymized.xml");
+        SplittableRandom random = new SplittableRandom(3);
+        long patients = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(input, StandardCharsets.UTF_8)) {
+            writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<hl7:export xmlns:hl7=\"urn:hl7-org:v3\">\n");
+            while (Files.size(input) < TARGET_BYTES) {
+                for (int i = 0; i < 10_000; i++, patients++) {
+                    writer.write("  <hl7:patient id=\"" + patients + "\" email=\"user" + patients + "@example.org\">\n"
+                                 + "    <hl7:name>Patient " + random.nextInt(1_000_000) + "</hl7:name>\n"
+                                 + "    <hl7:phone>555-" + (1000 + random.nextInt(9000)) + "-" + random.nextInt(10_000) + "</hl7:phone>\n"
+                                 + "    <hl7:ssn>" + (100 + random.nextInt(900)) + "-45-" + (1000 + random.nextInt(9000)) + "</hl7:ssn>\n"
+                                 + "    <hl7:code system=\"LOINC\">" + random.nextInt(100_000) + "-" + random.nextInt(10) + "</hl7:code>\n"
+                                 + "  </hl7:patient>\n");
+                }
+                writer.flush();
+            }
+            writer.write("</hl7:export>\n");
+        }
+
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            pool.resetPeakUsage();
+        }
+        XmlAnonymizationSummary summary;
+        try (InputStream in = Files.newInputStream(input);
+             OutputStream out = Files.newOutputStream(output)) {
+            summary = anonymizationService.anonymizeXml(in, out, AnonymizationStrategy.PARTIAL_MASKING, true, null);
+        }
+        long peakHeap = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .mapToLong(pool -> pool.getPeakUsage().getUsed())
+            .sum();
+
+        log.info(String.format("XML %,d MB, %,d patients, %,d values: %.1f s, %.1f MB/s, peak heap %,d MB",
+                               summary.getBytesIn() >> 20, summary.getRecords(), summary.getValues(),
+                               summary.getElapsedNanos() / 1e9, summary.getMegabytesPerSecond(), peakHeap >> 20));
+        assertEquals(patients, summary.getRecords());
+        assertEquals(patients * 5, summary.getValues());
+        assertTrue(peakHeap < summary.getBytesIn() / 4, "heap must not grow with the document");
+        Files.delete(input);
+        Files.delete(output);
+    }
+}
@@ -0,0 +1,164 @@
+package com.tnc.Data.Anonymization.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for bulkheads, the adaptive limit and cost estimation.
+ */
+class BulkheadTest {
+    
+    @Test
+    void rejectsWhenQueueIsFullAndTimesOutWaiters() throws Exception {
+        // Arrange
+        Bulkhead bulkhead = new Bulkhead("test", new AdaptiveConcurrencyLimit(1, 1, 1, 2.0, 0.9), 1,
+                                         TimeUnit.MILLISECONDS.toNanos(200), 1_000);
+        Bulkhead.Permit running = bulkhead.tryAcquire(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch queued = new CountDownLatch(1);
+        
+        try {
+            // Act
+            Future<Bulkhead.Permit> waiter = executor.submit(() -> {
+                queued.countDown();
+                return bulkhead.tryAcquire(1);
+            });
+            queued.await();
+            while (bulkhead.getQueueDepth() == 0) {
+                Thread.onSpinWait();
+            }
+            Bulkhead.Permit shed = bulkhead.tryAcquire(1);
+            Bulkhead.Permit timedOut = waiter.get(5, TimeUnit.SECONDS);
+            bulkhead.release(running);
+            Bulkhead.Permit afterRelease = bulkhead.tryAcquire(1);
+            
+            // Assert
+            assertNotNull(running);
+            assertNull(shed);
+            assertNull(timedOut);
+            assertNotNull(afterRelease);
+            assertEquals(1, bulkhead.getRejectedQueueFull());
+            assertEquals(1, bulkhead.getRejectedTimeout());
+            assertTrue(bulkhead.retryAfterSeconds() >= 1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    @Test
+    void waitersAreAdmittedInArrivalOrder() throws Exception {
+        // Arrange
+        Bulkhead bulkhead = new Bulkhead("test", new AdaptiveConcurrencyLimit(1, 1, 1, 2.0, 0.9), 8,
+                                         TimeUnit.SECONDS.toNanos(10), 1_000);
+        Bulkhead.Permit running = bulkhead.tryAcquire(1);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        
+        try {
+            // Act
+            List<Future<?>> waiters = new ArrayList<>();
+            for (int w = 0; w < 3; w++) {
+                int id = w;
+                waiters.add(executor.submit(() -> {
+                    Bulkhead.Permit permit = bulkhead.tryAcquire(1);
+                    order.add(id);
+                    bulkhead.release(permit);
+                    return null;
+                }));
+                while (bulkhead.getQueueDepth() < w + 1) {
+                    Thread.onSpinWait();
+                }
+            }
+            bulkhead.release(running);
+            for (Future<?> waiter : waiters) {
+                waiter.get(10, TimeUnit.SECONDS);
+            }
+            
+            // Assert
+            assertEquals(List.of(0, 1, 2), order);
+            assertEquals(0, bulkhead.getQueueDepth());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    @Test
+    void costBudgetAdmitsOversizedRequestOnlyWhenIdle() throws Exception {
+        // Arrange
+        Bulkhead bulkhead = new Bulkhead("test", new AdaptiveConcurrencyLimit(8, 1, 8, 2.0, 0.9), 0, 0, 100);
+        
+        // Act
+        Bulkhead.Permit oversized = bulkhead.tryAcquire(500);
+        Bulkhead.Permit small = bulkhead.tryAcquire(1);
+        bulkhead.release(oversized);
+        Bulkhead.Permit smallAfter = bulkhead.tryAcquire(1);
+        
+        // Assert
+        assertNotNull(oversized);
+        assertNull(small);
+        assertNotNull(smallAfter);
+    }
+    
+    @Test
+    void limitShrinksOnSlowResponsesAndGrowsWhenFast() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 2, 40, 2.0, 0.5);
+        
+        // Act
+        for (int i = 0; i < 20; i++) {
+            limit.onSample(1_000_000, 1, 20);
+        }
+        for (int i = 0; i < 20; i++) {
+            limit.onSample(10_000_000, 1, 20);
+        }
+        int afterSlow = limit.getLimit();
+        for (int i = 0; i < 200; i++) {
+            limit.onSample(1_000_000, 1, afterSlow);
+        }
+        
+        // Assert
+        assertEquals(10, afterSlow);
+        assertTrue(limit.getLimit() > afterSlow);
+    }
+    
+    @Test
+    void mixedCostTrafficAtConstantLoadKeepsTheLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(32, 4, 128, 2.0, 0.9);
+        SplittableRandom random = new SplittableRandom(7);
+        
+        // Act
+        limit.onSample(200_000, 1, 16);
+        for (int i = 0; i < 10_000; i++) {
+            long cost = random.nextBoolean() ? 1 + random.nextInt(5) : 100 + random.nextInt(1_900);
+            double jitter = 0.8 + random.nextDouble() * 0.4;
+            limit.onSample((long) ((500_000 + cost * 20_000) * jitter), cost, 16);
+        }
+        
+        // Assert
+        assertTrue(limit.getLimit() >= 30, "limit " + limit.getLimit());
+    }
+    
+    @Test
+    void costCountsFieldsOutsideStrings() {
+        // Act
+        RequestCost cost = RequestCost.estimate(
+            "{\"data\": {\"name\": \"a:b\", \"note\": \"say \\\"x:y\\\"\"}, \"strategy\": \"MASKING\"}"
+                .getBytes(StandardCharsets.UTF_8));
+        
+        // Assert
+        assertEquals(4, cost.fields());
+    }
+}
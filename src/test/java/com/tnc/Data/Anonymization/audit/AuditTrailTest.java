@@ -0,0 +1,220 @@
+package com.tnc.Data.Anonymization.audit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tnc.Data.Anonymization.config.AuditConfig;
+import com.tnc.Data.Anonymization.config.PseudonymizationConfig;
+import com.tnc.Data.Anonymization.enums.AnonymizationStrategy;
+import com.tnc.Data.Anonymization.enums.DataType;
+import com.tnc.Data.Anonymization.service.impl.PseudonymKeyRing;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the audit ring buffer and the audit files written from it.
+ */
+class AuditTrailTest {
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    @Test
+    void ringKeepsEachProducersOrderAndDropsWhenFull() throws Exception {
+        // Arrange
+        AuditRing ring = new AuditRing(1024);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<long[]> drained = new ArrayList<>();
+        AuditRing.EventReader reader = (timestamp, requestId, tenant, field, dataType, strategy, keyVersion, values) ->
+            drained.add(new long[] {requestId, values});
+        
+        try {
+            // Act
+            List<Future<?>> producers = new ArrayList<>();
+            for (int p = 1; p <= 4; p++) {
+                long producer = p;
+                producers.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        ring.publish(0L, producer, null, "email", 0, 0, null, i);
+                    }
+                }));
+            }
+            while (drained.size() < 40_000) {
+                ring.drain(reader, 100);
+            }
+            for (Future<?> producer : producers) {
+                producer.get();
+            }
+            int accepted = 0;
+            while (ring.tryPublish(0L, 9, null, "email", 0, 0, null, 1)) {
+                accepted++;
+            }
+            
+            // Assert
+            int[] next = new int[5];
+            for (long[] event : drained) {
+                assertEquals(next[(int) event[0]]++, event[1]);
+            }
+            assertEquals(ring.capacity(), accepted);
+            assertEquals(ring.capacity(), ring.drain(reader, Integer.MAX_VALUE));
+            assertTrue(ring.isEmpty());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    @Test
+    void blockedPublishersStopWaitingOnceRingIsClosed() throws Exception {
+        // Arrange
+        AuditRing ring = new AuditRing(2);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        while (ring.tryPublish(0L, 1, null, "email", 0, 0, null, 1)) {
+            // Fill the ring so the next publisher has to wait
+        }
+        
+        try {
+            // Act
+            Future<Boolean> blocked = executor.submit(() -> ring.publish(0L, 2, null, "email", 0, 0, null, 1));
+            Thread.sleep(50);
+            boolean waiting = !blocked.isDone();
+            ring.close();
+            
+            // Assert
+            assertTrue(waiting);
+            assertFalse(blocked.get(5, TimeUnit.SECONDS));
+            assertFalse(ring.publish(0L, 3, null, "email", 0, 0, null, 1));
+            assertTrue(ring.isEmpty());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    @Test
+    void discardCountsOnlyEventsNotYetWritten(@TempDir Path directory) throws Exception {
+        // Arrange
+        AuditLog auditLog = new AuditLog(directory, Long.MAX_VALUE, 1, false);
+        String field = "x".repeat(1_000);
+        
+        // Act
+        for (int i = 0; i < 400; i++) {
+            auditLog.read(0L, i, null, field, 0, 0, null, 1);
+        }
+        int lost = auditLog.discard();
+        auditLog.close();
+        int written = Files.readAllLines(directory.resolve(AuditLog.CURRENT_FILE)).size();
+        
+        // Assert
+        assertTrue(written > 0);
+        assertEquals(400, written + lost);
+    }
+    
+    @Test
+    void writesNdjsonEventsWithRequestIdsAndKeyVersions(@TempDir Path directory) throws Exception {
+        // Arrange
+        AuditTrail auditTrail = auditTrail(directory, 64);
+        long previous = AuditContext.attach(AuditContext.NONE);
+        long requestId = AuditContext.begin();
+        
+        try {
+            // Act
+            auditTrail.record("email", DataType.EMAIL, AnonymizationStrategy.MASKING, 1);
+            auditTrail.record("na\"me", DataType.NAME, AnonymizationStrategy.DETERMINISTIC_MASKING, 250);
+            auditTrail.destroy();
+        } finally {
+            AuditContext.attach(previous);
+        }
+        List<String> lines = Files.readAllLines(directory.resolve(AuditLog.CURRENT_FILE));
+        JsonNode masked = objectMapper.readTree(lines.get(0));
+        JsonNode deterministic = objectMapper.readTree(lines.get(1));
+        
+        // Assert
+        assertEquals(2, lines.size());
+        assertEquals(requestId, masked.get("request").asLong());
+        assertEquals("email", masked.get("field").asText());
+        assertEquals("EMAIL", masked.get("type").asText());
+        assertEquals("MASKING", masked.get("strategy").asText());
+        assertNull(masked.get("keyVersion"));
+        assertEquals("na\"me", deterministic.get("field").asText());
+        assertEquals("v1", deterministic.get("keyVersion").asText());
+        assertEquals(250, deterministic.get("values").asInt());
+        assertEquals(2, auditTrail.getWritten());
+        assertEquals(0, auditTrail.getDropped());
+    }
+    
+    @Test
+    void rotatesFullFilesAndKeepsOnlyMaxFiles(@TempDir Path directory) throws Exception {
+        // Arrange
+        AuditConfig config = config(directory, 1024);
+        config.setMaxFileSizeMb(0);
+        config.setMaxFiles(2);
+        AuditTrail auditTrail = new AuditTrail(config, pseudonymizationConfig(), null, new SimpleMeterRegistry());
+        
+        // Act
+        for (int batch = 0; batch < 5; batch++) {
+            for (int i = 0; i < 1_000; i++) {
+                auditTrail.record("field-" + "x".repeat(200), DataType.UNKNOWN, AnonymizationStrategy.REDACTION, 1);
+            }
+            while (!auditTrail.isDrained()) {
+                Thread.sleep(1);
+            }
+        }
+        auditTrail.destroy();
+        List<Path> rotated;
+        try (Stream<Path> files = Files.list(directory)) {
+            rotated = files.filter(file -> !file.getFileName().toString().equals(AuditLog.CURRENT_FILE)).toList();
+        }
+        
+        // Assert
+        assertEquals(5_000, auditTrail.getWritten() + auditTrail.getDropped());
+        assertEquals(2, rotated.size());
+    }
+    
+    @Test
+    void dropsAndCountsEventsWhenBufferIsFull(@TempDir Path directory) throws Exception {
+        // Arrange
+        AuditTrail auditTrail = auditTrail(directory, 16);
+        
+        // Act
+        for (int i = 0; i < 100_000; i++) {
+            auditTrail.record("email", DataType.EMAIL, AnonymizationStrategy.MASKING, 1);
+        }
+        auditTrail.destroy();
+        
+        // Assert
+        assertTrue(auditTrail.getDropped() > 0);
+        assertEquals(100_000, auditTrail.getWritten() + auditTrail.getDropped());
+        assertEquals(auditTrail.getWritten(), Files.readAllLines(directory.resolve(AuditLog.CURRENT_FILE)).size());
+    }
+    
+    private AuditTrail auditTrail(Path directory, int bufferSize) {
+        PseudonymizationConfig pseudonymizationConfig = pseudonymizationConfig();
+        return new AuditTrail(config(directory, bufferSize), pseudonymizationConfig,
+                              new PseudonymKeyRing(pseudonymizationConfig), new SimpleMeterRegistry());
+    }
+    
+    private static AuditConfig config(Path directory, int bufferSize) {
+        AuditConfig config = new AuditConfig();
+        config.setEnabled(true);
+        config.setDirectory(directory.toString());
+        config.setBufferSize(bufferSize);
+        config.setFsync(false);
+        return config;
+    }
+    
+    private static PseudonymizationConfig pseudonymizationConfig() {
+        PseudonymizationConfig config = new PseudonymizationConfig();
+        config.setActiveKeyVersion("v1");
+        return config;
+    }
+}
@@ -0,0 +1,48 @@
+package com.tnc.Data.Anonymization.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for partition isolation and weight-bounded partitions.
+ */
+class PartitionedCacheTest {
+    
+    @Test
+    void floodingOnePartitionKeepsEntriesOfAnother() {
+        // Arrange
+        PartitionedCache<String, String, String> cache = new PartitionedCache<>(
+            partition -> new BoundedCache<>(10_000, (key, value) -> key.length() + value.length()), Duration.ofMinutes(5));
+        cache.computeIfAbsent("quiet", "alice", key -> "pseudonym-alice");
+        
+        // Act
+        for (int i = 0; i < 100_000; i++) {
+            cache.computeIfAbsent("hot", "value-" + i, key -> "pseudonym-" + key);
+        }
+        String quiet = cache.computeIfAbsent("quiet", "alice", key -> "recomputed");
+        
+        // Assert
+        assertEquals("pseudonym-alice", quiet);
+        assertTrue(cache.weight("hot"::equals) <= 10_000 + 64, "hot partition exceeds its quota");
+        assertEquals(20, cache.weight("quiet"::equals));
+    }
+    
+    @Test
+    void weightedCacheRotatesAtHalfItsWeight() {
+        // Arrange
+        BoundedCache<String, String> cache = new BoundedCache<>(100, (key, value) -> 10);
+        
+        // Act
+        for (int i = 0; i < 12; i++) {
+            cache.put("k" + i, "v");
+        }
+        
+        // Assert
+        assertEquals(70, cache.weight());
+        assertNull(cache.get("k0"));
+        assertEquals("v", cache.get("k11"));
+    }
+}
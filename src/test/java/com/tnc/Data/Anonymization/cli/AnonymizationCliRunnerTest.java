@@ -0,0 +1,403 @@
+package com.tnc.Data.Anonymization.cli;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tnc.Data.Anonymization.config.CliConfig;
+import com.tnc.Data.Anonymization.config.DeltaConfig;
+import com.tnc.Data.Anonymization.config.InferenceConfig;
+import com.tnc.Data.Anonymization.config.PseudonymizationConfig;
+import com.tnc.Data.Anonymization.config.RiskConfig;
+import com.tnc.Data.Anonymization.config.ShufflingConfig;
+import com.tnc.Data.Anonymization.delta.DeltaStore;
+import com.tnc.Data.Anonymization.enums.AnonymizationStrategy;
+import com.tnc.Data.Anonymization.model.AnonymizationRequest;
+import com.tnc.Data.Anonymization.model.AnonymizationResponse;
+import com.tnc.Data.Anonymization.model.DetokenizationRequest;
+import com.tnc.Data.Anonymization.model.DetokenizationResponse;
+import com.tnc.Data.Anonymization.model.XmlAnonymizationSummary;
+import com.tnc.Data.Anonymization.service.impl.PseudonymKeyRing;
+import com.tnc.Data.Anonymization.service.interfaces.AnonymizationService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the command-line runner against a stub service that masks every string.
+ */
+class AnonymizationCliRunnerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+    private final MaskingStub service = new MaskingStub();
+    private final ShufflingConfig shufflingConfig = new ShufflingConfig();
+    private final RiskConfig riskConfig = new RiskConfig();
+    private final DeltaStore deltaStore = new DeltaStore(new DeltaConfig(),
+                                                         new PseudonymKeyRing(new PseudonymizationConfig()), objectMapper);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void ndjsonIsWrittenInInputOrderAndBadLinesAreReported() throws Exception {
+        // Arrange
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            ndjson.append("{\"seq\":").append(i).append(",\"email\":\"user").append(i).append("@example.com\"}\n");
+            if (i == 10) {
+                ndjson.append("\n{not json\n");
+            }
+        }
+        ndjson.append("{\"seq\":100,\"fail\":\"x\"}\n");
+        Path input = Files.writeString(directory.resolve("people.ndjson"), ndjson);
+        Path output = directory.resolve("out.ndjson");
+
+        // Act
+        int exitCode = runner().execute(args("--input=" + input, "--output=" + output, "--threads=4", "--chunk-size=7"));
+
+        // Assert
+        List<String> lines = Files.readAllLines(output);
+        assertEquals(AnonymizationCliRunner.EXIT_RECORD_ERRORS, exitCode);
+        assertEquals(100, lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            JsonNode record = objectMapper.readTree(lines.get(i));
+            assertEquals(i, record.get("seq").asInt());
+            assertEquals("***", record.get("email").asText());
+        }
+        assertTrue(err.toString().contains("people.ndjson:13"), err.toString());
+        assertTrue(err.toString().contains("people.ndjson:103"), err.toString());
+        assertTrue(out.toString().contains("Anonymized 1 files, 100 records"), out.toString());
+        assertTrue(out.toString().contains("EMAIL=100"), out.toString());
+        assertFalse(Files.exists(directory.resolve("out.ndjson.part")));
+    }
+
+    @Test
+    void jsonDocumentsInDirectoriesAreStreamedAndMirrored() throws Exception {
+        // Arrange
+        Path inputDirectory = Files.createDirectories(directory.resolve("in/nested"));
+        Files.writeString(inputDirectory.resolve("doc.json"),
+            "{\"owner\":\"Alice\",\"count\":3,\"emails\":[\"a@b.com\",\"c@d.com\"],"
+            + "\"records\":[{\"name\":\"Bob\",\"age\":40},{\"name\":\"Eve\",\"age\":30}]}");
+        Files.writeString(inputDirectory.resolve("list.json"), "[{\"name\":\"Carol\"},\"loose\"]");
+        Files.writeString(inputDirectory.resolve("notes.txt"), "ignored");
+        Path outputDirectory = directory.resolve("out");
+
+        // Act
+        int exitCode = runner().execute(args("--input=" + directory.resolve("in"), "--output=" + outputDirectory,
+                                             "--threads=2", "--chunk-size=1"));
+
+        // Assert
+        JsonNode document = objectMapper.readTree(outputDirectory.resolve("nested/doc.json").toFile());
+        JsonNode list = objectMapper.readTree(outputDirectory.resolve("nested/list.json").toFile());
+        assertEquals(AnonymizationCliRunner.EXIT_OK, exitCode);
+        assertEquals("***", document.get("owner").asText());
+        assertEquals(3, document.get("count").asInt());
+        assertEquals("[\"***\",\"***\"]", document.get("emails").toString());
+        assertEquals("[{\"name\":\"***\",\"age\":40},{\"name\":\"***\",\"age\":30}]", document.get("records").toString());
+        assertEquals("[{\"name\":\"***\"},\"***\"]", list.toString());
+        assertFalse(Files.exists(outputDirectory.resolve("nested/notes.txt")));
+        assertTrue(out.toString().contains("Anonymized 2 files, 8 records"), out.toString());
+    }
+
+    @Test
+    void incrementalRunsOnlyAnonymizeChangedRecords() throws Exception {
+        // Arrange
+        Path store = directory.resolve("delta.mv.db");
+        Path output = directory.resolve("out.ndjson");
+        Path input = Files.writeString(directory.resolve("day1.ndjson"),
+            "{\"id\":1,\"name\":\"Ann\"}\n{\"id\":2,\"name\":\"Bob\"}\n{\"id\":3,\"name\":\"Cid\"}\n");
+        String[] options = {"--output=" + output, "--overwrite", "--incremental", "--delta-store=" + store, "--delta-prune"};
+        runner().execute(args(concat(options, "--input=" + input)));
+        Files.writeString(input, "{\"name\":\"Bob\",\"id\":2}\n{\"id\":3,\"name\":\"Cyd\"}\n{\"id\":4,\"name\":\"Dan\"}\n");
+        service.calls.clear();
+        out.reset();
+
+        // Act
+        int exitCode = runner().execute(args(concat(options, "--input=" + input)));
+        deltaStore.close();
+
+        // Assert
+        assertEquals(AnonymizationCliRunner.EXIT_OK, exitCode);
+        assertEquals(List.of(3, 4), service.calls);
+        assertEquals(3, Files.readAllLines(output).size());
+        assertTrue(out.toString().contains("Reused 1 unchanged records, anonymized 2"), out.toString());
+        assertTrue(out.toString().contains("Pruned 1 records"), out.toString());
+    }
+
+    @Test
+    void incrementalRunsStartOverWhenOutputSettingsChange() throws Exception {
+        // Arrange
+        Path store = directory.resolve("delta.mv.db");
+        Path input = Files.writeString(directory.resolve("day1.ndjson"), "{\"id\":1,\"name\":\"Ann\"}\n");
+        String[] options = {"--input=" + input, "--output=" + directory.resolve("out.ndjson"), "--overwrite",
+                            "--incremental", "--delta-store=" + store};
+        DeltaStore masked = deltaStore(new MockEnvironment().withProperty("anonymization.partial-masking.mask-char", "*"));
+        runner(masked).execute(args(options));
+        masked.close();
+        service.calls.clear();
+
+        // Act
+        DeltaStore sameSettings = deltaStore(new MockEnvironment()
+            .withProperty("anonymization.partial-masking.mask-char", "*")
+            .withProperty("anonymization.cli.threads", "8"));
+        runner(sameSettings).execute(args(options));
+        sameSettings.close();
+        List<Object> reanonymizedWithSameSettings = List.copyOf(service.calls);
+        DeltaStore newMaskChar = deltaStore(new MockEnvironment().withProperty("anonymization.partial-masking.mask-char", "#"));
+        runner(newMaskChar).execute(args(options));
+        newMaskChar.close();
+
+        // Assert
+        assertEquals(List.of(), reanonymizedWithSameSettings);
+        assertEquals(List.of(1), service.calls);
+    }
+
+    @Test
+    void shuffledFilesKeepRecordOrderAndEachColumnsValues() throws Exception {
+        // Arrange
+        StringBuilder ndjson = new StringBuilder();
+        List<String> emails = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            emails.add("user" + i + "@example.com");
+            ndjson.append("{\"seq\":").append(i).append(",\"email\":\"user").append(i).append("@example.com\"}\n");
+        }
+        Path input = Files.writeString(directory.resolve("people.ndjson"), ndjson);
+        shufflingConfig.setColumns(List.of("email"));
+        shufflingConfig.setTempDirectory(directory.resolve("buckets").toString());
+        String[] options = {"--input=" + input, "--strategy=SHUFFLING", "--seed=7", "--overwrite"};
+
+        // Act
+        int exitCode = runner().execute(args(concat(options, "--output=" + directory.resolve("a.ndjson"))));
+        runner().execute(args(concat(options, "--output=" + directory.resolve("b.ndjson"))));
+        int incremental = runner().execute(args(concat(concat(options, "--output=" + directory.resolve("c.ndjson")),
+                                                       "--incremental")));
+
+        // Assert
+        assertEquals(AnonymizationCliRunner.EXIT_OK, exitCode);
+        assertEquals(AnonymizationCliRunner.EXIT_USAGE, incremental);
+        List<String> lines = Files.readAllLines(directory.resolve("a.ndjson"));
+        assertEquals(lines, Files.readAllLines(directory.resolve("b.ndjson")));
+        List<String> shuffled = new ArrayList<>();
+        int moved = 0;
+        for (int i = 0; i < lines.size(); i++) {
+            JsonNode record = objectMapper.readTree(lines.get(i));
+            assertEquals(i, record.get("seq").asInt());
+            shuffled.add(record.get("email").asText());
+            moved += emails.get(i).equals(record.get("email").asText()) ? 0 : 1;
+        }
+        assertTrue(moved > 400, "moved " + moved);
+        Collections.sort(shuffled);
+        Collections.sort(emails);
+        assertEquals(emails, shuffled);
+        assertTrue(service.calls.isEmpty());
+        try (Stream<Path> buckets = Files.list(directory.resolve("buckets"))) {
+            assertEquals(0, buckets.count());
+        }
+    }
+
+    @Test
+    void shuffledColumnsAcrossSeveralBucketsKeepTheirValues() throws Exception {
+        // Arrange
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            ndjson.append("{\"seq\":").append(i).append(",\"email\":\"user").append(i)
+                .append("@example.com\",\"zip\":\"").append(String.format("%05d", i)).append("\"}\n");
+        }
+        Path input = Files.writeString(directory.resolve("people.ndjson"), ndjson);
+        shufflingConfig.setColumns(List.of("email", "zip"));
+        shufflingConfig.setBucketSizeMb(1);
+        Path output = directory.resolve("out.ndjson");
+
+        // Act
+        int exitCode = runner().execute(args("--input=" + input, "--output=" + output, "--strategy=SHUFFLING", "--seed=3"));
+
+        // Assert
+        assertEquals(AnonymizationCliRunner.EXIT_OK, exitCode);
+        List<String> lines = Files.readAllLines(output);
+        List<String> emails = new ArrayList<>();
+        List<String> zips = new ArrayList<>();
+        int together = 0;
+        for (int i = 0; i < lines.size(); i++) {
+            JsonNode record = objectMapper.readTree(lines.get(i));
+            assertEquals(i, record.get("seq").asInt());
+            emails.add(record.get("email").asText());
+            zips.add(record.get("zip").asText());
+            together += record.get("email").asText().equals("user" + Integer.parseInt(record.get("zip").asText())
+                                                            + "@example.com") ? 1 : 0;
+        }
+        assertEquals(20_000, new HashSet<>(emails).size());
+        assertEquals(20_000, new HashSet<>(zips).size());
+        assertTrue(together < 10, "still together " + together);
+    }
+
+    @Test
+    void singleRecordFilesAreNotShuffled() throws Exception {
+        // Arrange
+        Path input = Files.writeString(directory.resolve("one.ndjson"), "{\"name\":\"Ann\",\"salary\":52000}\n");
+        Path output = directory.resolve("out.ndjson");
+
+        // Act
+        int exitCode = runner().execute(args("--input=" + input, "--output=" + output, "--strategy=SHUFFLING"));
+
+        // Assert
+        assertEquals(AnonymizationCliRunner.EXIT_IO_ERROR, exitCode);
+        assertTrue(err.toString().contains("needs at least 2"), err.toString());
+        assertFalse(Files.exists(output));
+    }
+
+    @Test
+    void riskReportEstimatesEquivalenceClassesOfTheOutput() throws Exception {
+        // Arrange
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            ndjson.append("{\"age\":").append(i % 10).append(",\"bucket\":").append(i % 3)
+                .append(",\"email\":\"user").append(i).append("@example.com\"}\n");
+        }
+        for (int i = 0; i < 5; i++) {
+            ndjson.append("{\"age\":99,\"bucket\":").append(100 + i).append("}\n");
+        }
+        Path input = Files.writeString(directory.resolve("people.ndjson"), ndjson);
+        Path report = directory.resolve("risk.json");
+        riskConfig.setQuasiIdentifiers(List.of("age", "bucket"));
+        AnonymizationCliRunner runner = runner();
+
+        // Act
+        int exitCode = runner.execute(args("--input=" + input, "--output=" + directory.resolve("out.ndjson"),
+                                           "--threads=2", "--chunk-size=16", "--risk-report=" + report));
+        JsonNode risk = objectMapper.readTree(report.toFile());
+
+        // Assert
+        assertEquals(AnonymizationCliRunner.EXIT_OK, exitCode);
+        assertEquals(205, risk.get("records").asLong());
+        assertEquals(35, risk.get("equivalenceClasses").asLong());
+        assertEquals(5, risk.get("singletonClasses").asLong());
+        assertEquals(5, risk.get("recordsBelowK").asLong());
+        assertEquals(11, risk.get("distinctValues").get("age").asLong());
+        assertTrue(out.toString(StandardCharsets.UTF_8).contains("~5 unique records"));
+    }
+
+    @Test
+    void invalidArgumentsReturnUsageExitCode() throws Exception {
+        // Arrange
+        Path input = Files.writeString(directory.resolve("in.ndjson"), "{\"name\":\"Bob\"}\n");
+        Path existing = Files.writeString(directory.resolve("existing.ndjson"), "");
+
+        // Act
+        int missingOutput = runner().execute(args("--input=" + input));
+        int unknownStrategy = runner().execute(args("--input=" + input, "--output=" + directory.resolve("x.ndjson"),
+                                                    "--strategy=NOPE"));
+        int existingOutput = runner().execute(args("--input=" + input, "--output=" + existing));
+        int overwritten = runner().execute(args("--input=" + input, "--output=" + existing, "--overwrite"));
+
+        // Assert
+        assertEquals(AnonymizationCliRunner.EXIT_USAGE, missingOutput);
+        assertEquals(AnonymizationCliRunner.EXIT_USAGE, unknownStrategy);
+        assertEquals(AnonymizationCliRunner.EXIT_USAGE, existingOutput);
+        assertEquals(AnonymizationCliRunner.EXIT_OK, overwritten);
+        assertEquals("{\"name\":\"***\"}", Files.readString(existing).trim());
+    }
+
+    private AnonymizationCliRunner runner() {
+        return runner(deltaStore);
+    }
+
+    private AnonymizationCliRunner runner(DeltaStore deltaStore) {
+        return new AnonymizationCliRunner(service, new CliConfig(), deltaStore, new DeltaConfig(),
+                                          new InferenceConfig(), shufflingConfig, riskConfig, objectMapper,
+                                          new PrintStream(out, true, StandardCharsets.UTF_8),
+                                          new PrintStream(err, true, StandardCharsets.UTF_8));
+    }
+
+    private DeltaStore deltaStore(MockEnvironment environment) {
+        return new DeltaStore(new DeltaConfig(), new PseudonymKeyRing(new PseudonymizationConfig()), objectMapper, environment);
+    }
+
+    private static DefaultApplicationArguments args(String... args) {
+        return new DefaultApplicationArguments(args);
+    }
+
+    private static String[] concat(String[] options, String option) {
+        String[] all = Arrays.copyOf(options, options.length + 1);
+        all[options.length] = option;
+        return all;
+    }
+
+    /**
+     * Replaces strings with "***", fails on records carrying a "fail" field and records the ids it anonymized
+     */
+    private static final class MaskingStub implements AnonymizationService {
+
+        private final List<Object> calls = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public Map<String, Object> anonymizeMap(Map<String, Object> data, AnonymizationStrategy strategy,
+                                                boolean preserveFormat, Long seed) {
+            if (data.containsKey("fail")) {
+                throw new IllegalArgumentException("cannot anonymize");
+            }
+            if (data.containsKey("id")) {
+                calls.add(data.get("id"));
+            }
+            Map<String, Object> masked = new LinkedHashMap<>();
+            data.forEach((key, value) -> masked.put(key, mask(value)));
+            return masked;
+        }
+
+        @Override
+        public List<Map<String, Object>> anonymizeRecords(List<Map<String, Object>> records,
+                                                          AnonymizationStrategy strategy, boolean preserveFormat, Long seed) {
+            List<Map<String, Object>> masked = new ArrayList<>(records.size());
+            for (Map<String, Object> record : records) {
+                masked.add(anonymizeMap(record, strategy, preserveFormat, seed));
+            }
+            return masked;
+        }
+
+        private static Object mask(Object value) {
+            if (value instanceof List<?> list) {
+                return list.stream().map(MaskingStub::mask).toList();
+            }
+            return value instanceof String ? "***" : value;
+        }
+
+        @Override
+        public AnonymizationResponse anonymizeData(AnonymizationRequest request) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public XmlAnonymizationSummary anonymizeXml(InputStream in, OutputStream out, AnonymizationStrategy strategy,
+                                                    boolean preserveFormat, Long seed) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public AnonymizationStrategy[] getAvailableStrategies() {
+            return AnonymizationStrategy.values();
+        }
+
+        @Override
+        public DetokenizationResponse detokenize(DetokenizationRequest request) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.tnc.Data.Anonymization.delta;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tnc.Data.Anonymization.config.DeltaConfig;
+import com.tnc.Data.Anonymization.config.PseudonymizationConfig;
+import com.tnc.Data.Anonymization.service.impl.PseudonymKeyRing;
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the keyed layout of the delta store.
+ */
+class DeltaStoreTest {
+
+    private static final String KEY = Base64.getEncoder().encodeToString("delta-store-secret-key-012345678".getBytes());
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void storeKeysRecordsByKeyedIdAndReusesUnchangedOutputs() throws Exception {
+        // Arrange
+        Path file = directory.resolve("delta.mv.db");
+        Map<String, Object> record = Map.of("id", "cust-42", "name", "Jane Roe");
+        DeltaStore deltaStore = deltaStore(KEY);
+        DeltaSession session = deltaStore.open(file.toString(), "id", "MASKING", false);
+        DeltaSession.Chunk first = session.lookup(List.of(record));
+        first.merge(List.of(Map.of("id", "a1b2", "name", "***")));
+        session.commit(true);
+
+        // Act
+        DeltaSession.Chunk again = session.lookup(List.of(record));
+        deltaStore.close();
+        DeltaStore rotated = deltaStore(Base64.getEncoder().encodeToString("another-delta-store-secret-01234".getBytes()));
+        DeltaSession.Chunk otherKey = rotated.open(file.toString(), "id", "MASKING", false).lookup(List.of(record));
+        rotated.close();
+
+        // Assert
+        assertEquals(1, first.changed().size());
+        assertEquals(1, again.reused());
+        assertEquals(Map.of("id", "a1b2", "name", "***"), again.merge(List.of()).get(0));
+        assertEquals(1, otherKey.changed().size());
+        MVStore store = new MVStore.Builder().fileName(file.toString()).readOnly().open();
+        try {
+            for (String name : store.getMapNames()) {
+                MVMap<String, byte[]> records = store.openMap(name);
+                assertFalse(records.containsKey("cust-42"));
+                records.keySet().forEach(key -> assertTrue(key.matches("[0-9a-f]{32}"), key));
+            }
+        } finally {
+            store.close();
+        }
+    }
+
+    private static DeltaStore deltaStore(String key) throws Exception {
+        PseudonymizationConfig config = new PseudonymizationConfig();
+        config.setActiveKeyVersion("v1");
+        config.getKeys().put("v1", key);
+        PseudonymKeyRing keyRing = new PseudonymKeyRing(config);
+        keyRing.loadKeys();
+        return new DeltaStore(new DeltaConfig(), keyRing, new ObjectMapper(), new MockEnvironment());
+    }
+}
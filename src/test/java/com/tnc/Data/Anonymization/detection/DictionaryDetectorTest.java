@@ -0,0 +1,102 @@
+package com.tnc.Data.Anonymization.detection;
+
+import com.tnc.Data.Anonymization.config.DictionaryConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for dictionary compilation, loading and whole-word detection
+ */
+class DictionaryDetectorTest {
+    
+    @TempDir
+    Path directory;
+    
+    @Test
+    void testMatchesAreWholeWordsLeftmostLongest() throws IOException {
+        // Arrange
+        DictionaryDetector detector = new DictionaryDetector(config(
+            "# known customers", "NAME\tAnn", "NAME\tAnn Lee", "ACCOUNT\tDE89370400440532013000"));
+        
+        // Act
+        List<DictionaryDetector.DictionaryMatch> matches =
+            detector.scan("Annual report: ann lee paid from de89370400440532013000.");
+        
+        // Assert
+        assertEquals(List.of(new DictionaryDetector.DictionaryMatch(15, 22, "NAME"),
+                             new DictionaryDetector.DictionaryMatch(33, 55, "ACCOUNT")), matches);
+        assertEquals("Annual report: *** paid from ***.",
+                     detector.redact("Annual report: ann lee paid from de89370400440532013000."));
+        assertTrue(detector.isKnown("ANN"));
+        assertFalse(detector.isKnown("Annual"));
+        assertEquals(3, detector.getEntries());
+    }
+    
+    @Test
+    void testCompiledFileIsReusedUntilTheDictionaryChanges() throws IOException {
+        // Arrange
+        DictionaryConfig config = config("Ann");
+        Path compiled = Path.of(config.getPath() + ".acda");
+        new DictionaryDetector(config);
+        FileTime compiledAt = Files.getLastModifiedTime(compiled);
+        
+        // Act
+        DictionaryDetector reloaded = new DictionaryDetector(config);
+        Files.writeString(Path.of(config.getPath()), "Ann\nBob\n");
+        Files.setLastModifiedTime(Path.of(config.getPath()), FileTime.fromMillis(compiledAt.toMillis() + 60_000));
+        DictionaryDetector rebuilt = new DictionaryDetector(config);
+        
+        // Assert
+        assertFalse(reloaded.isKnown("Bob"));
+        assertTrue(rebuilt.isKnown("Bob"));
+        assertEquals("DICTIONARY", rebuilt.scan("hi bob").get(0).category());
+    }
+    
+    @Test
+    void testCompiledFileIsRebuiltWhenCompileSettingsChange() throws IOException {
+        // Arrange
+        DictionaryConfig config = config(IntStream.range(0, 2_000).mapToObj(i -> "term" + i).toArray(String[]::new));
+        new DictionaryDetector(config);
+        
+        // Act
+        config.setDefaultCategory("NAME");
+        DictionaryDetector recategorized = new DictionaryDetector(config);
+        config.setBloomFalsePositiveRate(0.001);
+        DictionaryDetector resized = new DictionaryDetector(config);
+        
+        // Assert
+        assertEquals("NAME", recategorized.scan("hi term7").get(0).category());
+        assertTrue(resized.getMemoryBytes() > recategorized.getMemoryBytes());
+    }
+    
+    @Test
+    void testDisabledDetectorFindsNothing() {
+        // Act
+        DictionaryDetector detector = new DictionaryDetector(new DictionaryConfig());
+        
+        // Assert
+        assertFalse(detector.isEnabled());
+        assertEquals(List.of(), detector.scan("Ann"));
+        assertEquals("Ann", detector.redact("Ann"));
+    }
+    
+    private DictionaryConfig config(String... lines) throws IOException {
+        Path dictionary = directory.resolve("dictionary.txt");
+        Files.write(dictionary, List.of(lines));
+        DictionaryConfig config = new DictionaryConfig();
+        config.setEnabled(true);
+        config.setPath(dictionary.toString());
+        return config;
+    }
+}
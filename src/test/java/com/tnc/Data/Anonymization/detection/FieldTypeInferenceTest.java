@@ -0,0 +1,89 @@
+package com.tnc.Data.Anonymization.detection;
+
+import com.tnc.Data.Anonymization.enums.DataType;
+import com.tnc.Data.Anonymization.tenant.TenantContext;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Unit tests for value detectors and per-batch type inference
+ */
+class FieldTypeInferenceTest {
+
+    @Test
+    void testDetectorsRecognizeValueShapes() {
+        // Arrange
+        Object[] values = {"ann.lee@example.org", "+1 (555) 010-2030", "123-45-6789", "4111 1111 1111 1111",
+                           "2024-02-29", "12/31/2023", "42.5", 7, "TRUE", "lorem ipsum", "4111 1111 1111 1112", "  "};
+
+        // Act
+        List<DataType> detected = new ArrayList<>();
+        for (Object value : values) {
+            detected.add(ValueTypeDetector.detect(value));
+        }
+
+        // Assert
+        assertEquals(List.of(DataType.EMAIL, DataType.PHONE, DataType.SSN, DataType.CREDIT_CARD, DataType.DATE,
+                             DataType.DATE, DataType.NUMBER, DataType.NUMBER, DataType.BOOLEAN, DataType.UNKNOWN,
+                             DataType.UNKNOWN), detected.subList(0, 11));
+        assertNull(detected.get(11));
+    }
+
+    @Test
+    void testTypesAreFixedFromSamplesForUnknownNamesOnly() {
+        // Arrange
+        FieldTypeInference inference = new FieldTypeInference(10, 0.9);
+        List<Map<String, Object>> records = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Map<String, Object> record = new HashMap<>();
+            record.put("contact", "user" + i + "@example.org");
+            record.put("col7", i == 3 ? null : "+33 1 23 45 67 " + (10 + i));
+            record.put("email", "not an email");
+            record.put("notes", i % 2 == 0 ? "2024-01-0" + (1 + i % 9) : "call back");
+            record.put("attr_value", Map.of("mixed", List.of("4111111111111111", "4012888888881881")));
+            records.add(record);
+        }
+
+        // Act
+        inference.sample(records.subList(0, 5));
+        inference.sample(records.subList(5, 20));
+        inference.sample(List.of(Map.of("late", "late@example.org")));
+
+        // Assert
+        assertEquals(Map.of("contact", DataType.EMAIL, "col7", DataType.PHONE, "mixed", DataType.CREDIT_CARD),
+                     inference.getInferredTypes());
+        FieldTypeInference.attach(inference);
+        try {
+            assertEquals(DataType.PHONE, TenantContext.classify("col7"));
+            assertEquals(DataType.EMAIL, TenantContext.classify("email"));
+            assertEquals(DataType.UNKNOWN, TenantContext.classify("late"));
+        } finally {
+            FieldTypeInference.attach(null);
+        }
+        assertEquals(DataType.UNKNOWN, TenantContext.classify("col7"));
+    }
+
+    @Test
+    void testIdMatchesOnlyTheWord() {
+        // Arrange
+        String[] identifiers = {"id", "userId", "USER_ID", "customer-id", "idNumber", "orderIds", "identifier",
+                                "userid", "customerid", "USERID", "orderids"};
+        String[] others = {"valid", "paid", "VALID", "idea", "width", "invalid", "prepaid", "void", "avoid",
+                           "android", "kid", "ISVALID"};
+
+        // Act & Assert
+        for (String field : identifiers) {
+            assertEquals(DataType.ID, DataType.classifyFromFieldName(field), field);
+        }
+        for (String field : others) {
+            assertEquals(DataType.UNKNOWN, DataType.classifyFromFieldName(field), field);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.tnc.Data.Anonymization.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the double-array Aho-Corasick automaton and the Bloom filter
+ */
+class AhoCorasickAutomatonTest {
+    
+    @Test
+    void testScanReportsOverlappingTermsInOnePass() {
+        // Arrange
+        AhoCorasickAutomaton automaton = AhoCorasickAutomaton.builder(true)
+            .add("he", 0).add("she", 1).add("his", 2).add("hers", 3).build();
+        List<String> matches = new ArrayList<>();
+        
+        // Act
+        automaton.scan("uSHErs", (start, end, category) -> matches.add(start + "-" + end + ":" + category));
+        
+        // Assert
+        assertEquals(List.of("1-4:1", "2-4:0", "2-6:3"), matches);
+    }
+    
+    @Test
+    void testExactMatchAndDuplicates() {
+        // Arrange
+        AhoCorasickAutomaton automaton = AhoCorasickAutomaton.builder(false)
+            .add("Jane Doe", 4).add("Jane", 2).add("Jane", 7).build();
+        
+        // Act & Assert
+        assertEquals(2, automaton.match("Jane"));
+        assertEquals(4, automaton.match("Jane Doe"));
+        assertEquals(-1, automaton.match("Jane D"));
+        assertEquals(-1, automaton.match("jane"));
+        assertEquals(-1, automaton.match(""));
+    }
+    
+    @Test
+    void testSerializedAutomatonAndFilterAreReadInPlace() {
+        // Arrange
+        AhoCorasickAutomaton automaton = AhoCorasickAutomaton.builder(true).add("alice", 0).add("bob", 1).build();
+        BloomFilter filter = BloomFilter.create(2, 0.01, true);
+        filter.put("alice");
+        filter.put("bob");
+        ByteBuffer buffer = ByteBuffer.allocateDirect((int) (automaton.serializedBytes() + filter.serializedBytes()));
+        
+        // Act
+        automaton.writeTo(buffer);
+        filter.writeTo(buffer);
+        buffer.flip();
+        AhoCorasickAutomaton read = AhoCorasickAutomaton.readFrom(buffer);
+        BloomFilter readFilter = BloomFilter.readFrom(buffer);
+        
+        // Assert
+        assertEquals(automaton.getStates(), read.getStates());
+        assertEquals(1, read.match("BOB"));
+        assertEquals(0, read.match("Alice"));
+        assertTrue(readFilter.mightContain("ALICE"));
+        assertFalse(readFilter.mightContain("carol"));
+        assertEquals(0, buffer.remaining());
+    }
+}
@@ -0,0 +1,95 @@
+package com.tnc.Data.Anonymization.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the HyperLogLog, count-min and bottom-k sketches.
+ */
+class CardinalitySketchTest {
+    
+    @Test
+    void hyperLogLogEstimatesWithinErrorAndMergesToTheUnion() {
+        // Arrange
+        HyperLogLog left = new HyperLogLog(14);
+        HyperLogLog right = new HyperLogLog(14);
+        HyperLogLog small = new HyperLogLog(14);
+        
+        // Act
+        for (long i = 0; i < 600_000; i++) {
+            (i < 400_000 ? left : right).add(mix(i));
+            if (i >= 200_000 && i < 400_000) {
+                right.add(mix(i)); // overlap of 200,000
+            }
+        }
+        for (long i = 0; i < 1_000; i++) {
+            small.add(mix(i % 100));
+        }
+        long leftEstimate = left.estimate();
+        left.merge(right);
+        
+        // Assert
+        assertEquals(400_000, leftEstimate, 400_000 * 4 * left.standardError());
+        assertEquals(600_000, left.estimate(), 600_000 * 4 * left.standardError());
+        assertEquals(100, small.estimate(), 2);
+        assertEquals(16_384, left.memoryBytes());
+    }
+    
+    @Test
+    void countMinNeverUnderestimatesAndMergesBySum() {
+        // Arrange
+        CountMinSketch first = new CountMinSketch(4, 8192);
+        CountMinSketch second = new CountMinSketch(4, 8192);
+        int[] counts = new int[5_000];
+        SplittableRandom random = new SplittableRandom(3);
+        
+        // Act
+        for (int i = 0; i < 50_000; i++) {
+            int key = random.nextInt(counts.length);
+            counts[key]++;
+            (i % 2 == 0 ? first : second).add(mix(key));
+        }
+        first.merge(second);
+        
+        // Assert
+        int exact = 0;
+        for (int key = 0; key < counts.length; key++) {
+            int estimate = first.estimate(mix(key));
+            assertTrue(estimate >= counts[key]);
+            if (estimate == counts[key]) {
+                exact++;
+            }
+        }
+        assertTrue(exact > counts.length / 2, "exact estimates: " + exact);
+        assertEquals(0, first.estimate(mix(-1)), 20);
+    }
+    
+    @Test
+    void minHashSampleKeepsTheSmallestDistinctHashesAcrossMerges() {
+        // Arrange
+        MinHashSample first = new MinHashSample(8);
+        MinHashSample second = new MinHashSample(8);
+        
+        // Act
+        for (long value = 100; value > 0; value--) {
+            (value % 2 == 0 ? first : second).add(value);
+            first.add(50);
+        }
+        first.merge(second);
+        
+        // Assert
+        assertArrayEquals(new long[] {1, 2, 3, 4, 5, 6, 7, 8}, first.hashes());
+        assertFalse(first.admits(9));
+        assertTrue(first.admits(8));
+    }
+    
+    private static long mix(long value) {
+        long z = value * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
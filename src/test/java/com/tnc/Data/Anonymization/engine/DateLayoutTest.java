@@ -0,0 +1,62 @@
+package com.tnc.Data.Anonymization.engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for date layout detection and shifting
+ */
+class DateLayoutTest {
+    
+    @Test
+    void testIsoValuesShiftOnTheirDatePrefix() {
+        // Act
+        DateLayout layout = DateLayout.detect("2024-02-27T08:15:30.123+01:00", false);
+        
+        // Assert
+        assertSame(DateLayout.ISO, layout);
+        assertEquals("2024-03-02T08:15:30.123+01:00", layout.shift("2024-02-27T08:15:30.123+01:00", 4));
+        assertEquals("2023-12-31", layout.shift("2024-01-01", -1));
+        assertNull(layout.shift("2024-02-30", 1));
+        assertNull(DateLayout.detect("2024-13-01", false));
+    }
+    
+    @Test
+    void testOtherLayoutsAreWrittenBackAsDetected() {
+        // Act
+        DateLayout slashes = DateLayout.detect("02/27/2024", false);
+        DateLayout dayFirst = DateLayout.detect("27.02.2024 08:15:30", false);
+        DateLayout legacy = DateLayout.detect("Tue Feb 27 08:15:30 UTC 2024", false);
+        
+        // Assert
+        assertEquals("03/02/2024", slashes.shift("02/27/2024", 4));
+        assertEquals("02.03.2024 08:15:30", dayFirst.shift("27.02.2024 08:15:30", 4));
+        assertEquals("Sat Mar 02 08:15:30 UTC 2024", legacy.shift("Tue Feb 27 08:15:30 UTC 2024", 4));
+        assertNull(slashes.shift("27.02.2024", 4));
+    }
+    
+    @Test
+    void testDigitsAreDatesOnlyWhenAllowed() {
+        // Act & Assert
+        assertNull(DateLayout.detect("20240227", false));
+        assertEquals("20240302", DateLayout.detect("20240227", true).shift("20240227", 4));
+        assertSame(DateLayout.EPOCH_SECONDS, DateLayout.detect("1709021730", true));
+        assertEquals("1709108130000", DateLayout.detect("1709021730000", true).shift("1709021730000", 1));
+        assertEquals(1_709_021_730L + 86_400L, DateLayout.shiftEpoch(1_709_021_730L, 1));
+        assertNull(DateLayout.detect("not a date", true));
+    }
+    
+    @Test
+    void testSlashesAreAmbiguousWhenBothReadingsAreDates() {
+        // Act & Assert
+        assertTrue(DateLayout.detect("03/04/2024", false).isAmbiguous("03/04/2024"));
+        assertFalse(DateLayout.detect("02/27/2024", false).isAmbiguous("02/27/2024"));
+        assertFalse(DateLayout.detect("04/04/2024", false).isAmbiguous("04/04/2024"));
+        assertFalse(DateLayout.ISO.isAmbiguous("2024-03-04"));
+    }
+}
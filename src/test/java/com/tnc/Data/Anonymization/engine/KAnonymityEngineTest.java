@@ -0,0 +1,72 @@
+package com.tnc.Data.Anonymization.engine;
+
+import com.tnc.Data.Anonymization.enums.GeneralizationHierarchy;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the k-anonymity generalization engine.
+ */
+class KAnonymityEngineTest {
+    
+    @Test
+    void everyUnsuppressedClassHasAtLeastKRows() {
+        // Arrange
+        Random random = new Random(42);
+        List<String> zips = new ArrayList<>();
+        List<String> dates = new ArrayList<>();
+        List<String> genders = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            zips.add(String.format("%05d", 2100 + random.nextInt(400)));
+            dates.add(String.format("%04d-%02d-%02d", 1950 + random.nextInt(50), 1 + random.nextInt(12), 1 + random.nextInt(28)));
+            genders.add(random.nextBoolean() ? "F" : "M");
+        }
+        EncodedColumn[] columns = {EncodedColumn.encode(zips), EncodedColumn.encode(dates), EncodedColumn.encode(genders)};
+        GeneralizationHierarchy[] hierarchies = {GeneralizationHierarchy.ZIP, GeneralizationHierarchy.DATE, GeneralizationHierarchy.CATEGORICAL};
+        
+        // Act
+        KAnonymityEngine.Result result = new KAnonymityEngine(columns, hierarchies).anonymize(10, 0.02);
+        
+        // Assert
+        Map<String, Integer> classSizes = new HashMap<>();
+        for (int row = 0; row < zips.size(); row++) {
+            if (!result.isSuppressed(row)) {
+                classSizes.merge(result.value(0, row) + "|" + result.value(1, row) + "|" + result.value(2, row), 1, Integer::sum);
+            }
+        }
+        assertTrue(classSizes.values().stream().allMatch(size -> size >= 10));
+        assertTrue(result.getSuppressedRows() <= 100);
+        assertEquals(classSizes.size(), result.getEquivalenceClasses());
+    }
+    
+    @Test
+    void alreadyAnonymousDataIsNotGeneralized() {
+        // Arrange
+        EncodedColumn column = EncodedColumn.encode(List.of("A", "A", "B", "B"));
+        
+        // Act
+        KAnonymityEngine.Result result = new KAnonymityEngine(new EncodedColumn[]{column},
+            new GeneralizationHierarchy[]{GeneralizationHierarchy.CATEGORICAL}).anonymize(2, 0.0);
+        
+        // Assert
+        assertArrayEquals(new int[]{0}, result.getLevels());
+        assertEquals("B", result.value(0, 3));
+    }
+    
+    @Test
+    void hierarchiesGeneralizeStepByStep() {
+        assertEquals("021**", GeneralizationHierarchy.ZIP.generalize("02139", 2));
+        assertEquals("1985-03", GeneralizationHierarchy.DATE.generalize("1985-03-15", 1));
+        assertEquals("1985", GeneralizationHierarchy.DATE.generalize("03/15/1985", 2));
+        assertEquals("1980-1989", GeneralizationHierarchy.DATE.generalize("1985-03-15", 4));
+        assertEquals("30-39", GeneralizationHierarchy.NUMBER.generalize("37", 1));
+        assertEquals("*", GeneralizationHierarchy.CATEGORICAL.generalize("F", 1));
+    }
+}
@@ -0,0 +1,71 @@
+package com.tnc.Data.Anonymization.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for selector parsing and matching
+ */
+class PathAutomatonTest {
+
+    @Test
+    void testSelectorsMatchFieldsElementsAndDescendants() {
+        // Arrange
+        PathAutomaton automaton = PathAutomaton.compile(List.of(
+            "customer.id", "$.notes[*]", "$..email", "orders.*.sku", "['odd.name']"));
+        int start = automaton.start();
+
+        // Act
+        int customer = automaton.field(start, "customer");
+        int customerId = automaton.field(customer, "id");
+        int note = automaton.element(automaton.field(start, "notes"));
+        int deepEmail = automaton.field(automaton.field(automaton.element(automaton.field(start, "a")), "b"), "email");
+        int sku = automaton.field(automaton.field(automaton.element(automaton.field(start, "orders")), "x"), "sku");
+        int oddName = automaton.field(start, "odd.name");
+
+        // Assert
+        assertEquals(PathAutomaton.DEAD, automaton.accepted(customer));
+        assertEquals(0, automaton.accepted(customerId));
+        assertEquals(PathAutomaton.DEAD, automaton.accepted(automaton.field(customer, "name")));
+        assertEquals(1, automaton.accepted(note));
+        assertEquals(PathAutomaton.DEAD, automaton.accepted(automaton.field(start, "notes")));
+        assertEquals(2, automaton.accepted(deepEmail));
+        assertEquals(3, automaton.accepted(sku));
+        assertEquals(4, automaton.accepted(oddName));
+        assertTrue(automaton.matchesBelow(customerId));
+    }
+
+    @Test
+    void testFirstListedSelectorWinsAndDeadStatesStopMatching() {
+        // Arrange
+        PathAutomaton automaton = PathAutomaton.compile(List.of("$", "a.b", "a.*"));
+        PathAutomaton rootOnly = PathAutomaton.compile(List.of("$"));
+
+        // Act
+        int ab = automaton.field(automaton.field(automaton.start(), "a"), "b");
+        int ac = automaton.field(automaton.field(automaton.start(), "a"), "c");
+        int below = rootOnly.field(rootOnly.start(), "anything");
+
+        // Assert
+        assertEquals(0, automaton.accepted(automaton.start()));
+        assertEquals(1, automaton.accepted(ab));
+        assertEquals(2, automaton.accepted(ac));
+        assertFalse(automaton.matchesBelow(ab));
+        assertFalse(rootOnly.matchesBelow(rootOnly.start()));
+        assertEquals(PathAutomaton.DEAD, below);
+    }
+
+    @Test
+    void testMalformedSelectorsAreRejected() {
+        // Act & Assert
+        for (String selector : List.of("", "a..", "a.", "a[0]", "a[*", "$[1:2]")) {
+            assertThrows(IllegalArgumentException.class, () -> PathAutomaton.compile(List.of(selector)), selector);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.tnc.Data.Anonymization.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Unit tests for the perturbation kernels
+ */
+class PerturbationKernelTest {
+    
+    private static final PerturbationParameters FIVE_PERCENT = new PerturbationParameters(0.05, 1.0, 0.0);
+    
+    @Test
+    void testNoiseIsBoundedAndSeeded() {
+        // Arrange
+        double[] original = randomValues(1_000, 42);
+        double[] first = original.clone();
+        double[] second = original.clone();
+        PerturbationKernel kernel = new ScalarPerturbationKernel();
+        
+        // Act
+        kernel.perturb(first, 7L, FIVE_PERCENT);
+        kernel.perturb(second, 7L, FIVE_PERCENT);
+        
+        // Assert
+        assertArrayEquals(first, second);
+        assertNotEquals(Arrays.toString(original), Arrays.toString(first));
+        for (int i = 0; i < original.length; i++) {
+            assertTrue(Math.abs(first[i] / original[i] - 1.0) <= 0.05 + 1e-12);
+        }
+    }
+    
+    @Test
+    void testRoundingAndIntegralColumns() {
+        // Arrange
+        double[] amounts = {1234.56, 99.99, -250.0, 0.0};
+        long[] counts = {1_000, 52_000, -3, 0};
+        PerturbationParameters hundreds = new PerturbationParameters(0.1, 1.0, 100.0);
+        PerturbationKernel kernel = new ScalarPerturbationKernel();
+        
+        // Act
+        kernel.perturb(amounts, 1L, hundreds);
+        kernel.perturb(counts, 1L, hundreds);
+        
+        // Assert
+        for (double amount : amounts) {
+            assertEquals(0.0, Math.abs(amount % 100.0));
+        }
+        for (long count : counts) {
+            assertEquals(0, count % 100);
+        }
+    }
+    
+    @Test
+    void testVectorKernelMatchesScalarKernel() {
+        assumeTrue(PerturbationKernels.isVectorApiAvailable(), "jdk.incubator.vector not resolved");
+        
+        // Arrange
+        PerturbationKernel vector = PerturbationKernels.create(true);
+        PerturbationKernel scalar = new ScalarPerturbationKernel();
+        PerturbationParameters rounded = new PerturbationParameters(0.2, 1.5, 0.25);
+        double[] doubles = randomValues(1_037, 3);
+        long[] longs = Arrays.stream(randomValues(1_037, 4)).mapToLong(Math::round).toArray();
+        double[] expectedDoubles = doubles.clone();
+        long[] expectedLongs = longs.clone();
+        
+        // Act
+        vector.perturb(doubles, 3, 1_030, 11L, rounded);
+        vector.perturb(longs, 11L, rounded);
+        scalar.perturb(expectedDoubles, 3, 1_030, 11L, rounded);
+        scalar.perturb(expectedLongs, 11L, rounded);
+        
+        // Assert
+        assertTrue(vector.name().startsWith("vector"));
+        assertArrayEquals(expectedDoubles, doubles);
+        assertArrayEquals(expectedLongs, longs);
+    }
+    
+    private static double[] randomValues(int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        double[] values = new double[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = (random.nextDouble() - 0.3) * 100_000;
+        }
+        return values;
+    }
+}
@@ -0,0 +1,82 @@
+package com.tnc.Data.Anonymization.risk;
+
+import com.tnc.Data.Anonymization.config.RiskConfig;
+import com.tnc.Data.Anonymization.model.RiskReport;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for risk analysis merged across concurrent workers.
+ */
+class RiskAnalysisTest {
+    
+    @Test
+    void estimatesSingletonsOfMillionRecordsFromMergedWorkerSketches() {
+        // Arrange
+        RiskConfig config = new RiskConfig();
+        config.setQuasiIdentifiers(List.of("zip", "age", "gender"));
+        RiskAnalysis analysis = new RiskAnalysis(config);
+        int records = 1_000_000;
+        Map<String, Integer> exact = new HashMap<>();
+        List<List<Map<String, Object>>> chunks = new ArrayList<>();
+        SplittableRandom random = new SplittableRandom(42);
+        List<Map<String, Object>> chunk = new ArrayList<>();
+        for (int i = 0; i < records; i++) {
+            // Skewed zips: a few crowded ones and a long tail of rare ones
+            int zip = random.nextInt(10) < 8 ? random.nextInt(500) : 500 + random.nextInt(200_000);
+            Map<String, Object> record = Map.of("zip", String.valueOf(10_000 + zip), "age", random.nextInt(80),
+                                                "gender", random.nextBoolean() ? "F" : "M", "name", "***");
+            exact.merge(record.get("zip") + "|" + record.get("age") + "|" + record.get("gender"), 1, Integer::sum);
+            chunk.add(record);
+            if (chunk.size() == 10_000) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>();
+            }
+        }
+        long exactSingletons = exact.values().stream().filter(size -> size == 1).count();
+        
+        // Act
+        IntStream.range(0, chunks.size()).parallel().forEach(c -> analysis.add(chunks.get(c)));
+        RiskReport report = analysis.report();
+        
+        // Assert
+        assertEquals(records, report.getRecords());
+        assertEquals(List.of("zip", "age", "gender"), report.getQuasiIdentifiers());
+        assertEquals(exact.size(), report.getEquivalenceClasses(), exact.size() * 0.05);
+        assertEquals(exactSingletons, report.getSingletonClasses(), exact.size() * 0.06);
+        assertEquals(2, report.getDistinctValues().get("gender"));
+        assertEquals(80, report.getDistinctValues().get("age"), 2);
+        assertTrue(report.getDistinctValues().containsKey("zip+age"));
+        assertTrue(report.getDistinctValues().containsKey("zip+age+gender"));
+        assertTrue(report.getMemoryBytes() < 64L * 1024 * 1024);
+    }
+    
+    @Test
+    void quasiIdentifiersDefaultToFieldsOfQuasiIdentifierTypes() {
+        // Arrange
+        RiskAnalysis analysis = new RiskAnalysis(new RiskConfig());
+        List<Map<String, Object>> records = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            records.add(Map.of("address", "Street " + i % 10, "dateOfBirth", "1980-01-0" + (1 + i % 2),
+                               "email", "***", "tags", List.of("a")));
+        }
+        
+        // Act
+        analysis.add(records);
+        RiskReport report = analysis.report();
+        
+        // Assert
+        assertEquals(List.of("address", "dateOfBirth"), report.getQuasiIdentifiers());
+        assertEquals(10, report.getEquivalenceClasses());
+        assertEquals(0, report.getSingletonClasses());
+        assertEquals(0.1, report.getAverageRisk(), 1e-9);
+    }
+}
@@ -0,0 +1,123 @@
+package com.tnc.Data.Anonymization.service.impl;
+
+import com.tnc.Data.Anonymization.enums.AnonymizationStrategy;
+import com.tnc.Data.Anonymization.model.AnonymizationRequest;
+import com.tnc.Data.Anonymization.model.AnonymizationResponse;
+import com.tnc.Data.Anonymization.model.PathPolicy;
+import com.tnc.Data.Anonymization.service.interfaces.AnonymizationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Service tests for date shifts reaching the anonymizer one value or one list at a time, and for failed requests.
+ */
+@SpringBootTest(properties = {"anonymization.vault.path=target/test-vault/${random.uuid}.mv.db",
+                              "anonymization.fake-pool.enabled=false"})
+class AnonymizationServiceImplTest {
+
+    @Autowired
+    private AnonymizationService anonymizationService;
+
+    @Autowired
+    private DateShiftAnonymizer dateShiftAnonymizer;
+
+    @Test
+    void datesOfAnXmlDocumentShareOneOffset() throws Exception {
+        // Arrange
+        String xml = "<visits><visit><admissionDate>2024-02-27</admissionDate><dischargeDate>2024-03-04</dischargeDate>"
+                     + "</visit><visit><admissionDate>2024-05-01</admissionDate></visit></visits>";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        anonymizationService.anonymizeXml(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), out,
+                                          AnonymizationStrategy.DATE_SHIFT, true, null);
+
+        // Assert
+        List<LocalDate> dates = new ArrayList<>();
+        Matcher matcher = Pattern.compile("Date>(\\d{4}-\\d{2}-\\d{2})</").matcher(out.toString(StandardCharsets.UTF_8));
+        while (matcher.find()) {
+            dates.add(LocalDate.parse(matcher.group(1)));
+        }
+        assertEquals(3, dates.size());
+        assertNotEquals(LocalDate.parse("2024-02-27"), dates.get(0));
+        assertEquals(6, ChronoUnit.DAYS.between(dates.get(0), dates.get(1)));
+        assertEquals(64, ChronoUnit.DAYS.between(dates.get(0), dates.get(2)));
+    }
+
+    @Test
+    void recordListSelectedByAPathPolicyIsShiftedPerSubject() {
+        // Arrange
+        AnonymizationRequest request = new AnonymizationRequest(Map.of(
+            "encounters", List.of(
+                Map.of("patientId", "P-1", "visitDate", "2024-02-27"),
+                Map.of("patientId", "P-2", "visitDate", "2024-02-27"),
+                Map.of("patientId", "P-1", "visitDate", "2024-03-05")),
+            "status", "active"), "MASKING");
+        request.setPolicies(List.of(new PathPolicy("encounters", "DATE_SHIFT")));
+
+        // Act
+        AnonymizationResponse response = anonymizationService.anonymizeData(request);
+
+        // Assert
+        assertTrue(response.isSuccess(), response.getMessage());
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> encounters = (List<Map<String, Object>>) response.getAnonymizedData().get("encounters");
+        assertEquals(dateShiftAnonymizer.offsetDays("P-1", null), shiftOf("2024-02-27", encounters.get(0)));
+        assertEquals(dateShiftAnonymizer.offsetDays("P-2", null), shiftOf("2024-02-27", encounters.get(1)));
+        assertEquals(dateShiftAnonymizer.offsetDays("P-1", null), shiftOf("2024-03-05", encounters.get(2)));
+        assertEquals("active", response.getAnonymizedData().get("status"));
+    }
+
+    @Test
+    void unseededValuesSelectedByPathPoliciesShareOneOffset() {
+        // Arrange
+        AnonymizationRequest request = new AnonymizationRequest(Map.of(
+            "admissionDate", "2024-02-27", "dischargeDate", "2024-03-04"), "DATE_SHIFT");
+        request.setPolicies(List.of(new PathPolicy("admissionDate", null), new PathPolicy("dischargeDate", null)));
+
+        // Act
+        AnonymizationResponse response = anonymizationService.anonymizeData(request);
+
+        // Assert
+        assertTrue(response.isSuccess(), response.getMessage());
+        LocalDate admission = LocalDate.parse((String) response.getAnonymizedData().get("admissionDate"));
+        LocalDate discharge = LocalDate.parse((String) response.getAnonymizedData().get("dischargeDate"));
+        assertNotEquals(LocalDate.parse("2024-02-27"), admission);
+        assertEquals(6, ChronoUnit.DAYS.between(admission, discharge));
+    }
+
+    @Test
+    void onlyRequestsTheServiceRejectsAreMarkedInvalid() {
+        // Arrange
+        AnonymizationRequest shuffled = new AnonymizationRequest(Map.of("name", "Ann"), "SHUFFLING");
+        AnonymizationRequest masked = new AnonymizationRequest(Map.of("name", "Ann"), "MASKING");
+
+        // Act
+        AnonymizationResponse rejected = anonymizationService.anonymizeData(shuffled);
+        AnonymizationResponse accepted = anonymizationService.anonymizeData(masked);
+
+        // Assert
+        assertFalse(rejected.isSuccess());
+        assertTrue(rejected.isInvalidRequest());
+        assertTrue(accepted.isSuccess());
+        assertFalse(accepted.isInvalidRequest());
+    }
+
+    private static long shiftOf(String original, Map<String, Object> shifted) {
+        return ChronoUnit.DAYS.between(LocalDate.parse(original), LocalDate.parse((String) shifted.get("visitDate")));
+    }
+}
@@ -0,0 +1,129 @@
+package com.tnc.Data.Anonymization.service.impl;
+
+import com.tnc.Data.Anonymization.audit.AuditTrail;
+import com.tnc.Data.Anonymization.config.AuditConfig;
+import com.tnc.Data.Anonymization.config.ColumnarConfig;
+import com.tnc.Data.Anonymization.config.DictionaryConfig;
+import com.tnc.Data.Anonymization.config.PerturbationConfig;
+import com.tnc.Data.Anonymization.config.PseudonymizationConfig;
+import com.tnc.Data.Anonymization.detection.DictionaryDetector;
+import com.tnc.Data.Anonymization.enums.AnonymizationStrategy;
+import com.tnc.Data.Anonymization.enums.DataType;
+import com.tnc.Data.Anonymization.service.interfaces.DataAnonymizer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for column-by-column execution of record lists.
+ */
+class ColumnarBatchExecutorTest {
+    
+    private final ColumnarBatchExecutor executor = new ColumnarBatchExecutor(
+        new ColumnarConfig(), new NumericPerturbationAnonymizer(new FakeDataAnonymizer(), new PerturbationConfig()),
+        new AuditTrail(new AuditConfig(), new PseudonymizationConfig(), null, null));
+    
+    @Test
+    void eachDistinctValueIsAnonymizedOnceAndMatchesRowPath() {
+        // Arrange
+        GeneralizationAnonymizer generalization = new GeneralizationAnonymizer(new DictionaryDetector(new DictionaryConfig()));
+        AtomicInteger calls = new AtomicInteger();
+        DataAnonymizer counting = new CountingAnonymizer(generalization, calls);
+        List<Map<String, Object>> records = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            Map<String, Object> record = new HashMap<>();
+            record.put("country", i % 3 == 0 ? "FR" : "DE");
+            record.put("zip", String.format("%05d", 10_000 + i % 10));
+            record.put("dateOfBirth", i % 7 == 0 ? null : "1980-01-0" + (1 + i % 5));
+            records.add(record);
+        }
+        
+        // Act
+        List<Map<String, Object>> anonymized = executor.execute(records, counting, AnonymizationStrategy.GENERALIZATION,
+                                                                true, null, (value, field) -> fail("row path"));
+        
+        // Assert
+        assertEquals(2 + 10 + 5, calls.get());
+        for (int i = 0; i < records.size(); i++) {
+            for (Map.Entry<String, Object> field : records.get(i).entrySet()) {
+                assertEquals(generalization.anonymize(field.getValue(), field.getKey(), true, null),
+                             anonymized.get(i).get(field.getKey()));
+            }
+        }
+    }
+    
+    @Test
+    void nestedRecordsAreExecutedColumnarAndMixedListsUseRowPath() {
+        // Arrange
+        List<Map<String, Object>> records = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Map<String, Object> record = new HashMap<>();
+            record.put("address", Map.of("city", "Paris", "zip", "75001"));
+            record.put("tags", List.of("a", i));
+            records.add(record);
+        }
+        List<Object> rowPathValues = new ArrayList<>();
+        
+        // Act
+        GeneralizationAnonymizer generalization = new GeneralizationAnonymizer(new DictionaryDetector(new DictionaryConfig()));
+        List<Map<String, Object>> anonymized = executor.execute(records, generalization,
+            AnonymizationStrategy.GENERALIZATION, true, null, (value, field) -> {
+                rowPathValues.add(value);
+                return "row:" + field;
+            });
+        
+        // Assert
+        assertTrue(executor.canExecute(records));
+        assertFalse(executor.canExecute(List.of(Map.of("a", 1), Map.of("b", 2))));
+        assertEquals(10, rowPathValues.size());
+        assertEquals("row:tags", anonymized.get(0).get("tags"));
+        assertEquals(Map.of("city", "*", "zip", "750**"), anonymized.get(9).get("address"));
+    }
+    
+    @Test
+    void unseededMaskingAnonymizesEveryRowOnItsOwn() {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+        DataAnonymizer counting = new CountingAnonymizer(new FakeDataAnonymizer(), calls);
+        List<Map<String, Object>> records = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            records.add(Map.of("country", "FR"));
+        }
+        
+        // Act
+        executor.execute(records, counting, AnonymizationStrategy.MASKING, false, null,
+                         (value, field) -> fail("row path"));
+        int unseeded = calls.getAndSet(0);
+        executor.execute(records, counting, AnonymizationStrategy.MASKING, false, 42L,
+                         (value, field) -> fail("row path"));
+        
+        // Assert
+        assertEquals(100, unseeded);
+        assertEquals(1, calls.get());
+    }
+    
+    private record CountingAnonymizer(DataAnonymizer delegate, AtomicInteger calls) implements DataAnonymizer {
+        
+        @Override
+        public Object anonymize(Object value, DataType dataType, boolean preserveFormat, Long seed) {
+            calls.incrementAndGet();
+            return delegate.anonymize(value, dataType, preserveFormat, seed);
+        }
+        
+        @Override
+        public Object anonymize(Object value, String fieldName, boolean preserveFormat, Long seed) {
+            return anonymize(value, DataType.classifyFromFieldName(fieldName), preserveFormat, seed);
+        }
+        
+        @Override
+        public boolean supports(DataType dataType) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.tnc.Data.Anonymization.service.impl;
+
+import com.tnc.Data.Anonymization.config.DateShiftConfig;
+import com.tnc.Data.Anonymization.config.PseudonymizationConfig;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for interval-preserving date shifting.
+ */
+class DateShiftAnonymizerTest {
+    
+    private static final String KEY = Base64.getEncoder().encodeToString("date-shift-secret-key-0123456789".getBytes());
+    
+    @Test
+    void datesOfOneSubjectKeepTheirIntervalsAndFormats() throws Exception {
+        // Arrange
+        DateShiftAnonymizer anonymizer = newAnonymizer();
+        Map<String, Object> patient = Map.of(
+            "patientId", "P-1001",
+            "admissionDate", "2024-02-27",
+            "dischargeDate", "03/04/2024",
+            "visits", List.of(Map.of("visitDate", "2024-03-10T09:30:00Z")));
+        
+        // Act
+        Map<String, Object> shifted = anonymizer.shiftRecords(List.of(patient), true, 7L).get(0);
+        Map<String, Object> again = anonymizer.shiftRecords(List.of(patient), true, 7L).get(0);
+        
+        // Assert
+        assertEquals(shifted, again);
+        LocalDate admission = LocalDate.parse((String) shifted.get("admissionDate"));
+        String discharge = (String) shifted.get("dischargeDate");
+        assertTrue(discharge.matches("\\d{2}/\\d{2}/\\d{4}"));
+        LocalDate dischargeDate = LocalDate.of(Integer.parseInt(discharge.substring(6)),
+            Integer.parseInt(discharge.substring(0, 2)), Integer.parseInt(discharge.substring(3, 5)));
+        assertEquals(6, ChronoUnit.DAYS.between(admission, dischargeDate));
+        
+        @SuppressWarnings("unchecked")
+        String visit = ((List<Map<String, Object>>) shifted.get("visits")).get(0).get("visitDate").toString();
+        assertTrue(visit.endsWith("T09:30:00Z"));
+        assertEquals(12, ChronoUnit.DAYS.between(admission, LocalDate.parse(visit.substring(0, 10))));
+        assertNotEquals("2024-02-27", shifted.get("admissionDate"));
+        assertNotEquals("P-1001", shifted.get("patientId"));
+    }
+    
+    @Test
+    void subjectsGetIndependentBoundedOffsets() throws Exception {
+        // Arrange
+        DateShiftAnonymizer anonymizer = newAnonymizer();
+        
+        // Act
+        long first = anonymizer.offsetDays("P-1001", null);
+        long second = anonymizer.offsetDays("P-1002", null);
+        long firstAgain = anonymizer.offsetDays("P-1001", null);
+        long seeded = anonymizer.offsetDays("P-1001", 99L);
+        
+        // Assert
+        assertEquals(first, firstAgain);
+        assertNotEquals(first, second);
+        assertNotEquals(first, seeded);
+        for (long offset : new long[] {first, second, seeded}) {
+            assertTrue(offset != 0 && Math.abs(offset) <= 365, "offset " + offset);
+        }
+    }
+    
+    @Test
+    void unseededRequestsWithoutSubjectsDrawTheirOwnOffset() throws Exception {
+        // Arrange
+        DateShiftAnonymizer anonymizer = newAnonymizer();
+        
+        // Act
+        long seeded = anonymizer.requestOffset(7L);
+        long seededAgain = anonymizer.requestOffset(7L);
+        Set<Long> unseeded = new HashSet<>();
+        for (int i = 0; i < 8; i++) {
+            unseeded.add(anonymizer.requestOffset(null));
+        }
+        
+        // Assert
+        assertEquals(seeded, seededAgain);
+        assertTrue(unseeded.size() > 1);
+        for (long offset : unseeded) {
+            assertTrue(offset != 0 && Math.abs(offset) <= 365, "offset " + offset);
+        }
+    }
+    
+    @Test
+    void aFieldWithoutDatesInOneRequestIsShiftedInTheNext() throws Exception {
+        // Arrange
+        DateShiftAnonymizer anonymizer = newAnonymizer();
+        
+        // Act
+        anonymizer.shiftRecords(List.of(Map.of("patientId", "P-1", "remark", "no date here")), true, 7L);
+        Map<String, Object> shifted = anonymizer.shiftRecords(
+            List.of(Map.of("patientId", "P-1", "remark", "2024-02-27")), true, 7L).get(0);
+        
+        // Assert
+        String remark = (String) shifted.get("remark");
+        assertTrue(remark.matches("\\d{4}-\\d{2}-\\d{2}"), remark);
+        assertEquals(Math.abs(anonymizer.offsetDays("P-1", 7L)),
+            Math.abs(ChronoUnit.DAYS.between(LocalDate.parse("2024-02-27"), LocalDate.parse(remark))));
+    }
+    
+    private static DateShiftAnonymizer newAnonymizer() throws Exception {
+        PseudonymizationConfig config = new PseudonymizationConfig();
+        config.setActiveKeyVersion("v1");
+        config.getKeys().put("v1", KEY);
+        PseudonymKeyRing keyRing = new PseudonymKeyRing(config);
+        keyRing.loadKeys();
+        return new DateShiftAnonymizer(new FakeDataAnonymizer(), keyRing, new DateShiftConfig());
+    }
+}
@@ -0,0 +1,101 @@
+package com.tnc.Data.Anonymization.service.impl;
+
+import com.tnc.Data.Anonymization.config.AnonymizationConfig;
+import com.tnc.Data.Anonymization.config.PseudonymizationConfig;
+import com.tnc.Data.Anonymization.enums.DataType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.Map;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for value-keyed deterministic masking.
+ */
+class DeterministicMaskingAnonymizerTest {
+    
+    private static final String KEY = Base64.getEncoder().encodeToString("masking-secret-key-0123456789abcd".getBytes());
+    
+    @Test
+    void sameValueMasksToSameFakeAcrossInstances() throws Exception {
+        // Arrange
+        DeterministicMaskingAnonymizer first = newAnonymizer(true);
+        DeterministicMaskingAnonymizer second = newAnonymizer(false);
+        
+        // Act
+        Object email = first.anonymize("jane.doe@corp.com", DataType.EMAIL, true, null);
+        first.anonymize("John Smith", DataType.NAME, true, null);
+        Object emailAgain = second.anonymize("jane.doe@corp.com", DataType.EMAIL, true, null);
+        
+        // Assert
+        assertEquals(email, emailAgain);
+        assertTrue(email.toString().endsWith("@corp.com"));
+        assertNotEquals("jane.doe@corp.com", email);
+    }
+    
+    @Test
+    void differentValuesMaskIndependently() throws Exception {
+        // Arrange
+        DeterministicMaskingAnonymizer anonymizer = newAnonymizer(true);
+        
+        // Act
+        Object first = anonymizer.anonymize("Alice Johnson", DataType.NAME, true, null);
+        Object second = anonymizer.anonymize("Bob Williams", DataType.NAME, true, null);
+        
+        // Assert
+        assertNotEquals(first, second);
+        assertEquals(2, anonymizer.getCacheSize());
+    }
+    
+    @Test
+    void datesMaskAlikeInEveryTimeZone() throws Exception {
+        // Arrange
+        TimeZone previous = TimeZone.getDefault();
+        Object east;
+        Object west;
+        
+        try {
+            // Act
+            TimeZone.setDefault(TimeZone.getTimeZone("Pacific/Kiritimati"));
+            east = newAnonymizer(false).anonymize("1990-04-12", DataType.DATE, true, null);
+            TimeZone.setDefault(TimeZone.getTimeZone("Pacific/Pago_Pago"));
+            west = newAnonymizer(false).anonymize("1990-04-12", DataType.DATE, true, null);
+        } finally {
+            TimeZone.setDefault(previous);
+        }
+        
+        // Assert
+        assertEquals(east, west);
+        LocalDate masked = LocalDate.parse(east.toString());
+        assertTrue(masked.getYear() >= 1940 && masked.getYear() <= 2005);
+    }
+    
+    @Test
+    void missingKeyIsRejected() throws Exception {
+        // Arrange
+        PseudonymizationConfig config = new PseudonymizationConfig();
+        config.setActiveKeyVersion("v1");
+        PseudonymKeyRing keyRing = new PseudonymKeyRing(config);
+        keyRing.loadKeys();
+        DeterministicMaskingAnonymizer anonymizer = new DeterministicMaskingAnonymizer(
+            new FakeDataAnonymizer(), keyRing, new AnonymizationConfig(), config);
+        
+        // Act & Assert
+        assertThrows(IllegalStateException.class,
+                     () -> anonymizer.anonymize("Alice", DataType.NAME, true, null));
+    }
+    
+    private static DeterministicMaskingAnonymizer newAnonymizer(boolean caching) throws Exception {
+        PseudonymizationConfig config = new PseudonymizationConfig();
+        config.setActiveKeyVersion("v1");
+        config.setKeys(Map.of("v1", KEY));
+        PseudonymKeyRing keyRing = new PseudonymKeyRing(config);
+        keyRing.loadKeys();
+        AnonymizationConfig anonymizationConfig = new AnonymizationConfig();
+        anonymizationConfig.setEnableCaching(caching);
+        return new DeterministicMaskingAnonymizer(new FakeDataAnonymizer(), keyRing, anonymizationConfig, config);
+    }
+}
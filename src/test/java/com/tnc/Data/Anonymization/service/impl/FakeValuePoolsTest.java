@@ -0,0 +1,187 @@
+package com.tnc.Data.Anonymization.service.impl;
+
+import com.tnc.Data.Anonymization.config.FakeValuePoolConfig;
+import com.tnc.Data.Anonymization.enums.DataType;
+import com.tnc.Data.Anonymization.enums.FakeValueKind;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the pools of pre-generated fake values.
+ */
+class FakeValuePoolsTest {
+    
+    @Test
+    void poolHandsEveryValueToExactlyOneConsumer() throws Exception {
+        // Arrange
+        FakeValuePool pool = new FakeValuePool(64);
+        Set<String> taken = ConcurrentHashMap.newKeySet();
+        AtomicBoolean produced = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        
+        try {
+            // Act
+            List<Future<Integer>> consumers = new ArrayList<>();
+            for (int c = 0; c < 3; c++) {
+                consumers.add(executor.submit(() -> {
+                    int duplicates = 0;
+                    while (!produced.get() || pool.size() > 0) {
+                        String value = pool.poll();
+                        if (value == null) {
+                            Thread.yield();
+                        } else if (!taken.add(value)) {
+                            duplicates++;
+                        }
+                    }
+                    return duplicates;
+                }));
+            }
+            for (int i = 0; i < 50_000; i++) {
+                while (!pool.hasRoom()) {
+                    Thread.yield();
+                }
+                pool.offer("value-" + i);
+            }
+            produced.set(true);
+            int duplicates = 0;
+            for (Future<Integer> consumer : consumers) {
+                duplicates += consumer.get();
+            }
+            
+            // Assert
+            assertEquals(0, duplicates);
+            assertEquals(50_000, taken.size());
+            assertNull(pool.poll());
+            assertEquals(64, pool.capacity());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    @Test
+    void producersRunOnlyBetweenStartAndStop() {
+        // Arrange
+        FakeValuePoolConfig config = new FakeValuePoolConfig();
+        config.setSize(8);
+        FakeValuePools pools = new FakeValuePools(config, new SimpleMeterRegistry());
+        
+        // Act
+        boolean runningWhenBuilt = pools.isRunning();
+        int depthWhenBuilt = pools.getDepth(FakeValueKind.WORD);
+        String polledWhenBuilt = pools.poll(FakeValueKind.WORD);
+        pools.start();
+        boolean runningWhenStarted = pools.isRunning();
+        pools.stop();
+        
+        // Assert
+        assertFalse(runningWhenBuilt);
+        assertEquals(0, depthWhenBuilt);
+        assertNull(polledWhenBuilt);
+        assertTrue(runningWhenStarted);
+        assertFalse(pools.isRunning());
+        assertTrue(pools.isEnabled());
+    }
+    
+    @Test
+    void drainedPoolCountsUnderflowsAndFallsBackInline() throws Exception {
+        // Arrange
+        FakeValuePoolConfig config = new FakeValuePoolConfig();
+        config.setSize(8);
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        FakeValuePools pools = new FakeValuePools(config, meterRegistry);
+        pools.start();
+        FakeDataAnonymizer anonymizer = new FakeDataAnonymizer(pools);
+        
+        try {
+            pools.poll(FakeValueKind.WORD);
+            awaitFull(pools, FakeValueKind.WORD);
+            
+            // Act
+            int pooled = 0;
+            while (pools.poll(FakeValueKind.WORD) != null) {
+                pooled++;
+            }
+            Object inline = anonymizer.anonymize("lorem", DataType.UNKNOWN, false, null);
+            
+            // Assert
+            assertTrue(pooled >= 8);
+            assertTrue(pools.getUnderflows(FakeValueKind.WORD) >= 1);
+            assertInstanceOf(String.class, inline);
+            assertFalse(((String) inline).isEmpty());
+            assertTrue(meterRegistry.get("anonymization.fake.pool.underflows").tag("kind", "word")
+                           .functionCounter().count() >= 1);
+            assertNotNull(meterRegistry.get("anonymization.fake.pool.depth").tag("kind", "ssn").gauge());
+        } finally {
+            pools.stop();
+        }
+    }
+    
+    @Test
+    void producersStartOnFirstPollAndRefillOnceValuesAreTaken() throws Exception {
+        // Arrange
+        FakeValuePoolConfig config = new FakeValuePoolConfig();
+        config.setSize(8);
+        FakeValuePools pools = new FakeValuePools(config, new SimpleMeterRegistry());
+        pools.start();
+        
+        try {
+            // Act
+            Thread.sleep(100);
+            int depthBeforePoll = pools.getDepth(FakeValueKind.WORD);
+            String firstPoll = pools.poll(FakeValueKind.WORD);
+            awaitFull(pools, FakeValueKind.WORD);
+            for (int i = 0; i < 4; i++) {
+                pools.poll(FakeValueKind.WORD);
+            }
+            awaitFull(pools, FakeValueKind.WORD);
+            
+            // Assert
+            assertEquals(0, depthBeforePoll);
+            assertNull(firstPoll);
+            assertEquals(pools.getCapacity(FakeValueKind.WORD), pools.getDepth(FakeValueKind.WORD));
+        } finally {
+            pools.stop();
+        }
+    }
+    
+    @Test
+    void seededMaskingDoesNotTakePooledValues() throws Exception {
+        // Arrange
+        FakeValuePools pools = new FakeValuePools(new FakeValuePoolConfig(), new SimpleMeterRegistry());
+        pools.start();
+        FakeDataAnonymizer pooled = new FakeDataAnonymizer(pools);
+        FakeDataAnonymizer inline = new FakeDataAnonymizer();
+        
+        try {
+            // Act & Assert
+            assertEquals(inline.anonymize("Jane Doe", DataType.NAME, false, 42L),
+                         pooled.anonymize("Jane Doe", DataType.NAME, false, 42L));
+            assertEquals(inline.anonymize("123-45-6789", DataType.SSN, false, 42L),
+                         pooled.anonymize("123-45-6789", DataType.SSN, false, 42L));
+            assertEquals(inline.anonymize("three short words", DataType.TEXT, false, 42L),
+                         pooled.anonymize("three short words", DataType.TEXT, false, 42L));
+        } finally {
+            pools.stop();
+        }
+    }
+    
+    private static void awaitFull(FakeValuePools pools, FakeValueKind kind) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(60).toNanos();
+        while (pools.getDepth(kind) < pools.getCapacity(kind) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
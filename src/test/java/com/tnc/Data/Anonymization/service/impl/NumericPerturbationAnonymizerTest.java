@@ -0,0 +1,71 @@
+package com.tnc.Data.Anonymization.service.impl;
+
+import com.tnc.Data.Anonymization.config.PerturbationConfig;
+import com.tnc.Data.Anonymization.enums.DataType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for distribution-preserving numeric perturbation.
+ */
+class NumericPerturbationAnonymizerTest {
+    
+    private final NumericPerturbationAnonymizer anonymizer =
+        new NumericPerturbationAnonymizer(new FakeDataAnonymizer(), new PerturbationConfig());
+    
+    @Test
+    void columnKeepsTypesAndStaysWithinNoiseBound() {
+        // Arrange
+        List<Number> salaries = List.of(52_000, 61_500L, 48_250.75, 1_000_000);
+        
+        // Act
+        List<Object> perturbed = anonymizer.perturbColumn(salaries, 99L, "salary");
+        List<Object> again = anonymizer.perturbColumn(salaries, 99L, "salary");
+        
+        // Assert
+        assertEquals(perturbed, again);
+        assertInstanceOf(Integer.class, perturbed.get(0));
+        assertInstanceOf(Long.class, perturbed.get(1));
+        assertInstanceOf(Double.class, perturbed.get(2));
+        for (int i = 0; i < salaries.size(); i++) {
+            double ratio = ((Number) perturbed.get(i)).doubleValue() / salaries.get(i).doubleValue();
+            assertTrue(Math.abs(ratio - 1.0) <= 0.05 + 1e-4, "ratio " + ratio);
+        }
+    }
+    
+    @Test
+    void numericStringsKeepDecimalsAndOtherTypesAreMasked() {
+        // Act
+        Object amount = anonymizer.anonymize("1234.50", DataType.NUMBER, true, 5L);
+        Object amountAgain = anonymizer.anonymize("1234.50", DataType.NUMBER, true, 5L);
+        Object name = anonymizer.anonymize("Jane Doe", DataType.NAME, true, null);
+        
+        // Assert
+        assertEquals(amount, amountAgain);
+        assertTrue(amount.toString().matches("\\d+\\.\\d{2}"));
+        assertNotEquals("Jane Doe", name);
+    }
+    
+    @Test
+    void numbersBeyondLongRangeArePerturbedAndColumnsGetTheirOwnNoise() {
+        // Arrange
+        List<Number> values = List.of(52_000, 61_500, 48_250, 1_000_000);
+        
+        // Act
+        Object account = anonymizer.anonymize("12345678901234567890", "account", DataType.NUMBER, true, 5L);
+        List<Object> salaries = anonymizer.perturbColumn(values, 7L, "salary");
+        List<Object> bonuses = anonymizer.perturbColumn(values, 7L, "bonus");
+        Object salary = anonymizer.anonymize(52_000, "salary", DataType.NUMBER, true, 7L);
+        Object bonus = anonymizer.anonymize(52_000, "bonus", DataType.NUMBER, true, 7L);
+        
+        // Assert
+        assertTrue(account.toString().matches("\\d{19,21}"));
+        double ratio = Double.parseDouble(account.toString()) / 12345678901234567890.0;
+        assertTrue(Math.abs(ratio - 1.0) <= 0.05 + 1e-4, "ratio " + ratio);
+        assertNotEquals(salaries, bonuses);
+        assertNotEquals(salary, bonus);
+    }
+}
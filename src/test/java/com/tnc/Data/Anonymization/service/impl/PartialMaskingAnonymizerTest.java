@@ -0,0 +1,64 @@
+package com.tnc.Data.Anonymization.service.impl;
+
+import com.tnc.Data.Anonymization.config.PartialMaskingConfig;
+import com.tnc.Data.Anonymization.enums.DataType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for partial masks.
+ */
+class PartialMaskingAnonymizerTest {
+    
+    private final PartialMaskingAnonymizer anonymizer = new PartialMaskingAnonymizer(new PartialMaskingConfig());
+    
+    @Test
+    void defaultRulesKeepTailsSeparatorsAndDomain() {
+        // Act
+        Object card = anonymizer.anonymize("4111-1111-1111-1234", DataType.CREDIT_CARD, true, null);
+        Object email = anonymizer.anonymize("jane@domain.com", DataType.EMAIL, true, null);
+        Object ssn = anonymizer.anonymize("123-45-6789", DataType.SSN, true, null);
+        Object name = anonymizer.anonymize("Jane Doe", DataType.NAME, true, null);
+        Object date = anonymizer.anonymize("1990-04-12", DataType.DATE, true, null);
+        
+        // Assert
+        assertEquals("****-****-****-1234", card);
+        assertEquals("j***@domain.com", email);
+        assertEquals("***-**-6789", ssn);
+        assertEquals("J*** ***", name);
+        assertEquals("1990-**-**", date);
+    }
+    
+    @Test
+    void shortValuesAreMaskedCompletely() {
+        // Act
+        Object email = anonymizer.anonymize("j@x.com", DataType.EMAIL, true, null);
+        Object phone = anonymizer.anonymize("1234", DataType.PHONE, true, null);
+        Object number = anonymizer.anonymize(52000, DataType.NUMBER, true, null);
+        
+        // Assert
+        assertEquals("*@x.com", email);
+        assertEquals("****", phone);
+        assertEquals("*****", number);
+        assertNull(anonymizer.anonymize(null, DataType.NAME, true, null));
+    }
+    
+    @Test
+    void configuredRuleCanMaskSeparatorsAndSurrogatePairs() {
+        // Arrange
+        PartialMaskingConfig config = new PartialMaskingConfig();
+        config.setMaskChar('#');
+        config.getRules().put(DataType.TEXT, new PartialMaskingConfig.Rule(1, 1, false));
+        config.getRules().get(DataType.TEXT).setKeepSeparators(false);
+        PartialMaskingAnonymizer custom = new PartialMaskingAnonymizer(config);
+        
+        // Act
+        Object text = custom.anonymize("a-b-c", DataType.TEXT, true, null);
+        Object emoji = custom.anonymize("x😀y😀", DataType.TEXT, true, null);
+        
+        // Assert
+        assertEquals("a###c", text);
+        assertEquals("x###😀", emoji);
+    }
+}
@@ -0,0 +1,203 @@
+package com.tnc.Data.Anonymization.service.impl;
+
+import com.tnc.Data.Anonymization.config.AnonymizationConfig;
+import com.tnc.Data.Anonymization.config.PseudonymizationConfig;
+import com.tnc.Data.Anonymization.config.TokenVaultConfig;
+import com.tnc.Data.Anonymization.enums.DataType;
+import com.tnc.Data.Anonymization.enums.PseudonymizationMode;
+import com.tnc.Data.Anonymization.service.interfaces.TokenVault;
+import com.tnc.Data.Anonymization.tenant.TenantContext;
+import com.tnc.Data.Anonymization.tenant.TenantPolicy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for keyed pseudonymization.
+ */
+class PseudonymizationAnonymizerTest {
+    
+    private static final String KEY_V1 = Base64.getEncoder().encodeToString("first-secret-key-0123456789abcdef".getBytes());
+    private static final String KEY_V2 = Base64.getEncoder().encodeToString("second-secret-key-0123456789abcde".getBytes());
+    
+    @Test
+    void hmacPseudonymsAreIdenticalAcrossIndependentInstances() throws Exception {
+        // Arrange
+        PseudonymizationAnonymizer nodeA = newAnonymizer(hmacConfig("v1"));
+        PseudonymizationAnonymizer nodeB = newAnonymizer(hmacConfig("v1"));
+        
+        // Act
+        Object first = nodeA.anonymize("alice@example.com", DataType.EMAIL, false, null);
+        Object second = nodeB.anonymize("alice@example.com", DataType.EMAIL, false, null);
+        
+        // Assert
+        assertEquals(first, second);
+        assertTrue(first.toString().startsWith("v1:"));
+    }
+    
+    @Test
+    void rotationChangesPseudonymAndPartitionsCache() throws Exception {
+        // Arrange
+        PseudonymizationConfig config = hmacConfig("v1");
+        PseudonymizationAnonymizer anonymizer = newAnonymizer(config);
+        Object beforeRotation = anonymizer.anonymize("alice@example.com", DataType.EMAIL, false, null);
+        
+        // Act
+        config.setActiveKeyVersion("v2");
+        Object afterRotation = anonymizer.anonymize("alice@example.com", DataType.EMAIL, false, null);
+        
+        // Assert
+        assertNotEquals(beforeRotation, afterRotation);
+        assertTrue(afterRotation.toString().startsWith("v2:"));
+        assertEquals(2, anonymizer.getCachePartitionCount());
+    }
+    
+    @Test
+    void hashModeKeepsUntaggedPseudonyms() throws Exception {
+        // Arrange
+        PseudonymizationAnonymizer anonymizer = newAnonymizer(new PseudonymizationConfig());
+        
+        // Act
+        Object pseudonym = anonymizer.anonymize("alice@example.com", DataType.EMAIL, false, 1L);
+        
+        // Assert
+        assertEquals(16, pseudonym.toString().length());
+    }
+    
+    @Test
+    void tenantKeyIsUsedInHashModeWithItsOwnCachePartition() throws Exception {
+        // Arrange
+        PseudonymizationConfig config = hmacConfig("v1");
+        config.setMode(PseudonymizationMode.HASH);
+        PseudonymizationAnonymizer anonymizer = newAnonymizer(config);
+        TenantPolicy tenant = new TenantPolicy("acme", null, Set.of(), "v2", Map.of(), 1024 * 1024);
+        
+        // Act
+        TenantPolicy previous = TenantContext.attach(tenant);
+        Object tenantPseudonym;
+        try {
+            tenantPseudonym = anonymizer.anonymize("alice@example.com", DataType.EMAIL, false, null);
+        } finally {
+            TenantContext.attach(previous);
+        }
+        Object untenantedPseudonym = anonymizer.anonymize("alice@example.com", DataType.EMAIL, false, null);
+        
+        // Assert
+        assertTrue(tenantPseudonym.toString().startsWith("v2:"));
+        assertEquals(16, untenantedPseudonym.toString().length());
+        assertTrue(anonymizer.getCacheBytes("acme") > 0);
+        assertEquals(0, anonymizer.getCacheBytes("other"));
+        assertEquals(2, anonymizer.getCachePartitionCount());
+    }
+    
+    @Test
+    void vaultRefusesPseudonymHeldByAnotherValue(@TempDir Path directory) throws Exception {
+        // Arrange
+        TokenVaultConfig vaultConfig = new TokenVaultConfig();
+        vaultConfig.setEnabled(true);
+        vaultConfig.setPath(directory.resolve("vault.mv.db").toString());
+        MVStoreTokenVault vault = new MVStoreTokenVault(vaultConfig);
+        vault.open();
+        
+        try {
+            // Act
+            boolean first = vault.record("alice|EMAIL", "alice@example.com", "P1");
+            boolean pendingCollision = vault.record("bob|EMAIL", "bob@example.com", "P1");
+            vault.flush();
+            boolean storedCollision = vault.record("bob|EMAIL", "bob@example.com", "P1");
+            boolean sameValue = vault.record("alice|EMAIL|again", "alice@example.com", "P1");
+            
+            // Assert
+            assertTrue(first);
+            assertFalse(pendingCollision);
+            assertFalse(storedCollision);
+            assertTrue(sameValue);
+            assertEquals(Map.of("P1", "alice@example.com"), vault.detokenize(List.of("P1")));
+            assertTrue(vault.findPseudonym("bob|EMAIL").isEmpty());
+            assertEquals(2, vault.getReverseCollisions());
+        } finally {
+            vault.close();
+        }
+    }
+    
+    @Test
+    void collidingPseudonymIsCountedButNotRederived() throws Exception {
+        // Arrange
+        PseudonymizationConfig config = new PseudonymizationConfig();
+        PseudonymKeyRing keyRing = new PseudonymKeyRing(config);
+        keyRing.loadKeys();
+        RefusingVault vault = new RefusingVault();
+        PseudonymizationAnonymizer anonymizer = new PseudonymizationAnonymizer(vault, keyRing, config,
+                                                                               new AnonymizationConfig());
+        PseudonymizationAnonymizer replica = new PseudonymizationAnonymizer(new RefusingVault(), keyRing, config,
+                                                                            new AnonymizationConfig());
+        
+        // Act
+        Object pseudonym = anonymizer.anonymize("alice@example.com", DataType.EMAIL, false, null);
+        Object onReplica = replica.anonymize("alice@example.com", DataType.EMAIL, false, null);
+        
+        // Assert
+        assertEquals(List.of(pseudonym), vault.offered);
+        assertEquals(pseudonym, onReplica);
+        assertEquals(1, anonymizer.getCollisions());
+    }
+    
+    private static PseudonymizationConfig hmacConfig(String activeVersion) {
+        PseudonymizationConfig config = new PseudonymizationConfig();
+        config.setMode(PseudonymizationMode.HMAC);
+        config.setActiveKeyVersion(activeVersion);
+        config.setKeys(Map.of("v1", KEY_V1, "v2", KEY_V2));
+        return config;
+    }
+    
+    private static PseudonymizationAnonymizer newAnonymizer(PseudonymizationConfig config) throws Exception {
+        TokenVaultConfig vaultConfig = new TokenVaultConfig();
+        vaultConfig.setEnabled(false);
+        PseudonymKeyRing keyRing = new PseudonymKeyRing(config);
+        keyRing.loadKeys();
+        return new PseudonymizationAnonymizer(new MVStoreTokenVault(vaultConfig), keyRing, config, new AnonymizationConfig());
+    }
+    
+    /**
+     * Vault that reports the first pseudonym offered as taken by another value
+     */
+    private static final class RefusingVault implements TokenVault {
+        private final List<String> offered = new ArrayList<>();
+        
+        @Override
+        public boolean record(String forwardKey, String originalValue, String pseudonym) {
+            offered.add(pseudonym);
+            return false;
+        }
+        
+        @Override
+        public Optional<String> findPseudonym(String forwardKey) {
+            return Optional.empty();
+        }
+        
+        @Override
+        public Map<String, String> detokenize(Collection<String> pseudonyms) {
+            return Map.of();
+        }
+        
+        @Override
+        public boolean isEnabled() {
+            return true;
+        }
+        
+        @Override
+        public long size() {
+            return 0;
+        }
+    }
+}
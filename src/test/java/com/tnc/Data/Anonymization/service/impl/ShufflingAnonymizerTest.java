@@ -0,0 +1,88 @@
+package com.tnc.Data.Anonymization.service.impl;
+
+import com.tnc.Data.Anonymization.config.ShufflingConfig;
+import com.tnc.Data.Anonymization.engine.FisherYates;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for seeded column shuffling across records.
+ */
+class ShufflingAnonymizerTest {
+
+    @Test
+    void seededShufflesPermuteChosenColumnsOnly() {
+        // Arrange
+        ShufflingConfig config = new ShufflingConfig();
+        config.setColumns(List.of("salary", "zip"));
+        ShufflingAnonymizer anonymizer = new ShufflingAnonymizer(config);
+        List<Map<String, Object>> records = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Map<String, Object> record = new HashMap<>();
+            record.put("name", "person" + i);
+            record.put("salary", 1000 + i);
+            if (i % 4 != 0) {
+                record.put("zip", String.format("%05d", i));
+            }
+            records.add(record);
+        }
+
+        // Act
+        List<Map<String, Object>> shuffled = anonymizer.shuffleRecords(records, 42L);
+        List<Map<String, Object>> again = anonymizer.shuffleRecords(records, 42L);
+        List<Map<String, Object>> other = anonymizer.shuffleRecords(records, 43L);
+
+        // Assert
+        assertEquals(shuffled, again);
+        assertNotEquals(shuffled, other);
+        assertEquals(1000 + 199, records.get(199).get("salary"));
+        for (int i = 0; i < records.size(); i++) {
+            assertEquals("person" + i, shuffled.get(i).get("name"));
+            assertEquals(records.get(i).containsKey("zip"), shuffled.get(i).containsKey("zip"));
+        }
+        assertEquals(sorted(records, "salary"), sorted(shuffled, "salary"));
+        assertEquals(sorted(records, "zip"), sorted(shuffled, "zip"));
+        long fixedPoints = IntStream.range(0, records.size())
+            .filter(i -> records.get(i).get("salary").equals(shuffled.get(i).get("salary")))
+            .count();
+        assertTrue(fixedPoints < 10, "fixed points " + fixedPoints);
+    }
+
+    @Test
+    void fewerThanTwoRecordsAreRejected() {
+        // Arrange
+        ShufflingAnonymizer anonymizer = new ShufflingAnonymizer(new ShufflingConfig());
+        List<Map<String, Object>> single = List.of(Map.of("name", "Ann", "salary", 52000));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> anonymizer.shuffleRecords(single, 1L));
+        assertThrows(IllegalArgumentException.class, () -> anonymizer.shuffleRecords(List.of(), 1L));
+    }
+
+    @Test
+    void permutationsCoverEveryIndexOnce() {
+        // Act
+        int[] permutation = FisherYates.permutation(10_000, FisherYates.random(1L, "column"));
+
+        // Assert
+        assertArrayEquals(FisherYates.permutation(10_000, FisherYates.random(1L, "column")), permutation);
+        assertArrayEquals(IntStream.range(0, 10_000).toArray(), Arrays.stream(permutation).sorted().toArray());
+        assertEquals(0, FisherYates.permutation(0, FisherYates.random(null, "column")).length);
+    }
+
+    private static List<String> sorted(List<Map<String, Object>> records, String column) {
+        return records.stream()
+            .filter(record -> record.containsKey(column))
+            .map(record -> String.valueOf(record.get(column)))
+            .sorted()
+            .toList();
+    }
+}
@@ -0,0 +1,75 @@
+package com.tnc.Data.Anonymization.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tnc.Data.Anonymization.config.GenerationConfig;
+import com.tnc.Data.Anonymization.enums.DataType;
+import com.tnc.Data.Anonymization.model.GenerationRequest;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for parallel, seedable synthetic record generation.
+ */
+class SyntheticDataServiceImplTest {
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    @Test
+    void seededRecordsDoNotDependOnThreadsOrChunks() throws Exception {
+        // Arrange
+        Map<String, DataType> schema = new LinkedHashMap<>();
+        schema.put("name", DataType.NAME);
+        schema.put("ssn", DataType.SSN);
+        schema.put("born", DataType.DATE);
+        schema.put("score", DataType.NUMBER);
+        GenerationRequest request = new GenerationRequest(schema, 1234, 5L);
+        
+        // Act
+        String single = generate(request, 1, 1000);
+        String parallel = generate(request, 4, 7);
+        String otherSeed = generate(new GenerationRequest(schema, 1234, 6L), 4, 7);
+        
+        // Assert
+        assertEquals(single, parallel);
+        assertNotEquals(single, otherSeed);
+        String[] lines = single.split("\n");
+        assertEquals(1234, lines.length);
+        assertTrue(single.endsWith("}\n"));
+        for (String line : List.of(lines[0], lines[1233])) {
+            JsonNode record = objectMapper.readTree(line);
+            assertEquals(List.of("name", "ssn", "born", "score"), fieldNames(record));
+            assertTrue(record.get("born").asText().matches("\\d{4}-\\d{2}-\\d{2}"), line);
+            assertTrue(record.get("score").isNumber(), line);
+        }
+        assertNotEquals(lines[0], lines[1]);
+    }
+    
+    private String generate(GenerationRequest request, int threads, int chunkSize) throws Exception {
+        GenerationConfig config = new GenerationConfig();
+        config.setThreads(threads);
+        config.setChunkSize(chunkSize);
+        SyntheticDataServiceImpl service = new SyntheticDataServiceImpl(new FakeDataAnonymizer(), objectMapper, config);
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            assertEquals(request.getCount(), service.generate(request, out));
+            return out.toString(StandardCharsets.UTF_8);
+        } finally {
+            service.destroy();
+        }
+    }
+    
+    private static List<String> fieldNames(JsonNode record) {
+        List<String> names = new ArrayList<>();
+        record.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
@@ -0,0 +1,121 @@
+package com.tnc.Data.Anonymization.service.impl;
+
+import com.tnc.Data.Anonymization.config.XmlConfig;
+import com.tnc.Data.Anonymization.model.XmlAnonymizationSummary;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for streaming XML anonymization.
+ */
+class XmlStreamAnonymizerTest {
+    
+    private static final String SOAP = """
+        <?xml version="1.0" encoding="UTF-8"?>
+        <soap:Envelope xmlns:soap="http://www.w3.org/2003/05/soap-envelope" xmlns="urn:patients">
+          <!-- nightly export -->
+          <soap:Body>
+            <patient id="p-1" email="jane@corp.com" xml:lang="en">
+              <name>  Jane Doe  </name>
+              <code>A12</code>
+              <ssn><![CDATA[123-45-6789]]></ssn>
+            </patient>
+            <patient id="p-2"><name>John &amp; Co</name></patient>
+          </soap:Body>
+        </soap:Envelope>
+        """;
+    
+    @Test
+    void anonymizesClassifiedTextAndAttributesKeepingStructure() throws Exception {
+        // Arrange
+        XmlStreamAnonymizer anonymizer = new XmlStreamAnonymizer(new XmlConfig());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        
+        // Act
+        XmlAnonymizationSummary summary = anonymizer.anonymize(
+            new ByteArrayInputStream(SOAP.getBytes(StandardCharsets.UTF_8)), out, (value, name) -> "<" + name + ">");
+        String xml = out.toString(StandardCharsets.UTF_8);
+        
+        // Assert
+        assertTrue(xml.startsWith("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"));
+        assertTrue(xml.contains("<soap:Envelope xmlns:soap=\"http://www.w3.org/2003/05/soap-envelope\" xmlns=\"urn:patients\">"));
+        assertFalse(xml.contains("nightly export"));
+        assertTrue(xml.contains("<patient id=\"&lt;id&gt;\" email=\"&lt;email&gt;\" xml:lang=\"en\">"));
+        assertTrue(xml.contains("<name>  &lt;name&gt;  </name>"));
+        assertTrue(xml.contains("<code>A12</code>"));
+        assertTrue(xml.contains("<ssn>&lt;ssn&gt;</ssn>"));
+        assertTrue(xml.endsWith("</soap:Body>\n</soap:Envelope>"));
+        assertEquals(1, summary.getRecords());
+        assertEquals(8, summary.getElements());
+        assertEquals(6, summary.getValues());
+        assertEquals(SOAP.getBytes(StandardCharsets.UTF_8).length, summary.getBytesIn());
+    }
+    
+    @Test
+    void unknownNamesAreAnonymizedWhenConfigured() throws Exception {
+        // Arrange
+        XmlConfig config = new XmlConfig();
+        config.setAnonymizeUnknown(true);
+        config.setAnonymizeAttributes(false);
+        XmlStreamAnonymizer anonymizer = new XmlStreamAnonymizer(config);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        
+        // Act
+        anonymizer.anonymize(new ByteArrayInputStream("<r><code uid=\"7\">A12</code></r>".getBytes(StandardCharsets.UTF_8)),
+                             out, (value, name) -> "x");
+        
+        // Assert
+        assertEquals("<r><code uid=\"7\">x</code></r>", out.toString(StandardCharsets.UTF_8));
+    }
+    
+    @Test
+    void commentsInstructionsAndDoctypeAreDroppedUnlessKept() throws Exception {
+        // Arrange
+        String document = "<?xml version=\"1.0\"?><!DOCTYPE r [<!ENTITY owner \"Jane Doe\">]>"
+                          + "<?audit by=\"jane@corp.com\"?><r><!-- reviewed by Jane Doe --><code>A12</code></r>";
+        XmlConfig keep = new XmlConfig();
+        keep.setKeepComments(true);
+        keep.setKeepProcessingInstructions(true);
+        keep.setKeepDtd(true);
+        ByteArrayOutputStream dropped = new ByteArrayOutputStream();
+        ByteArrayOutputStream kept = new ByteArrayOutputStream();
+        
+        // Act
+        new XmlStreamAnonymizer(new XmlConfig()).anonymize(
+            new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8)), dropped, (value, name) -> "x");
+        new XmlStreamAnonymizer(keep).anonymize(
+            new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8)), kept, (value, name) -> "x");
+        
+        // Assert
+        assertEquals("<?xml version=\"1.0\" encoding=\"UTF-8\"?><r><code>A12</code></r>",
+                     dropped.toString(StandardCharsets.UTF_8));
+        String xml = kept.toString(StandardCharsets.UTF_8);
+        assertTrue(xml.contains("<!ENTITY owner \"Jane Doe\">"), xml);
+        assertTrue(xml.contains("<?audit by=\"jane@corp.com\"?>"), xml);
+        assertTrue(xml.contains("<!-- reviewed by Jane Doe -->"), xml);
+    }
+    
+    @Test
+    void malformedXmlAndExternalEntitiesAreRefused() {
+        // Arrange
+        XmlStreamAnonymizer anonymizer = new XmlStreamAnonymizer(new XmlConfig());
+        String unclosed = "<r><name>Jane</r>";
+        String external = "<?xml version=\"1.0\"?><!DOCTYPE r [<!ENTITY x SYSTEM \"file:///etc/passwd\">]><r><name>&x;</name></r>";
+        
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> anonymizer.anonymize(
+            new ByteArrayInputStream(unclosed.getBytes(StandardCharsets.UTF_8)), new ByteArrayOutputStream(), (v, n) -> v));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            anonymizer.anonymize(new ByteArrayInputStream(external.getBytes(StandardCharsets.UTF_8)), out, (v, n) -> v);
+        } catch (IllegalArgumentException | java.io.IOException e) {
+            // Refusing the document is as good as not resolving the entity
+        }
+        assertFalse(out.toString(StandardCharsets.UTF_8).contains("root:"));
+    }
+}
@@ -0,0 +1,170 @@
+package com.tnc.Data.Anonymization.tenant;
+
+import com.tnc.Data.Anonymization.config.DateShiftConfig;
+import com.tnc.Data.Anonymization.config.PseudonymizationConfig;
+import com.tnc.Data.Anonymization.config.TenantConfig;
+import com.tnc.Data.Anonymization.enums.AnonymizationStrategy;
+import com.tnc.Data.Anonymization.enums.DataType;
+import com.tnc.Data.Anonymization.service.impl.DateShiftAnonymizer;
+import com.tnc.Data.Anonymization.service.impl.DeterministicMaskingAnonymizer;
+import com.tnc.Data.Anonymization.service.impl.FakeDataAnonymizer;
+import com.tnc.Data.Anonymization.service.impl.PseudonymKeyRing;
+import com.tnc.Data.Anonymization.service.impl.PseudonymizationAnonymizer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for loading and reloading tenant policies from a policy file.
+ */
+class TenantPolicyReloaderTest {
+    
+    @TempDir
+    Path directory;
+    
+    @Test
+    void policyFileReplacesConfiguredPoliciesAndReloadsOnDemand() throws Exception {
+        // Arrange
+        Path file = directory.resolve("tenants.yml");
+        Files.writeString(file, """
+            anonymization:
+              tenants:
+                policies:
+                  acme:
+                    default-strategy: PSEUDONYMIZATION
+                    key-version: v1
+            """);
+        TenantConfig config = new TenantConfig();
+        config.setEnabled(true);
+        config.setPolicyFile(file.toString());
+        TenantRegistry registry = new TenantRegistry(config, keyRing());
+        TenantPolicyReloader reloader = newReloader(config, registry);
+        
+        try {
+            // Act
+            TenantPolicy acme = registry.resolve("acme");
+            Files.writeString(file, """
+                anonymization:
+                  tenants:
+                    policies:
+                      acme:
+                        default-strategy: PSEUDONYMIZATION
+                        key-version: v1
+                      beta:
+                        max-concurrency: 2
+                """);
+            TenantRegistry.Reload reload = reloader.reloadFile();
+            
+            // Assert
+            assertEquals(AnonymizationStrategy.PSEUDONYMIZATION, acme.getDefaultStrategy());
+            assertEquals(List.of("beta"), reload.added());
+            assertTrue(reload.retired().isEmpty());
+            assertSame(acme, registry.resolve("acme"));
+            assertEquals(2, registry.bulkhead(registry.resolve("beta")).getLimit());
+            assertEquals(3, registry.getVersion());
+        } finally {
+            reloader.destroy();
+        }
+    }
+    
+    @Test
+    void invalidPolicyFilesAreRefusedWithoutChangingPolicies() throws Exception {
+        // Arrange
+        Path file = directory.resolve("tenants.properties");
+        Files.writeString(file, "anonymization.tenants.policies.acme.key-version=v1\n");
+        TenantConfig config = new TenantConfig();
+        config.setEnabled(true);
+        config.setPolicyFile(file.toString());
+        TenantRegistry registry = new TenantRegistry(config, keyRing());
+        TenantPolicyReloader reloader = newReloader(config, registry);
+        
+        try {
+            // Act & Assert
+            Files.writeString(file, "anonymization.tenants.policies.acme.default-strategy=SCRAMBLE\n");
+            assertThrows(IllegalArgumentException.class, reloader::reloadFile);
+            Files.writeString(file, "anonymization.tenants.policies.acme.key-version=missing\n");
+            assertThrows(IllegalArgumentException.class, reloader::reloadFile);
+            assertEquals(2, registry.getVersion());
+            assertEquals("acme", registry.resolve("acme").getId());
+        } finally {
+            reloader.destroy();
+        }
+    }
+    
+    @Test
+    void policyFileGivesUntenantedDeploymentsAReloadableDefaultPolicy() throws Exception {
+        // Arrange
+        Path file = directory.resolve("policy.properties");
+        Files.writeString(file, "anonymization.tenants.defaults.field-types.remark=TEXT\n");
+        TenantConfig config = new TenantConfig();
+        config.setPolicyFile(file.toString());
+        TenantRegistry registry = new TenantRegistry(config, keyRing());
+        DateShiftAnonymizer dateShift = new DateShiftAnonymizer(new FakeDataAnonymizer(), keyRing(), new DateShiftConfig());
+        TenantPolicyReloader reloader = newReloader(config, registry, dateShift);
+        
+        try {
+            TenantPolicy before = registry.resolve(null);
+            Object shiftedBefore = shiftRemark(dateShift, before);
+            
+            // Act
+            Files.writeString(file, "anonymization.tenants.defaults.field-types.remark=ID\n"
+                                    + "anonymization.tenants.defaults.key-version=v1\n");
+            TenantRegistry.Reload reload = reloader.reloadFile();
+            TenantPolicy after = registry.resolve(null);
+            Object shiftedAfter = shiftRemark(dateShift, after);
+            
+            // Assert
+            assertEquals(List.of("default"), reload.changed());
+            assertNull(before.getKeyVersion());
+            assertEquals("v1", after.getKeyVersion());
+            assertEquals(DataType.ID, after.classify("remark"));
+            assertTrue(shiftedBefore.toString().matches("\\d{4}-\\d{2}-\\d{2}"), shiftedBefore.toString());
+            assertFalse(shiftedAfter.toString().matches("\\d{4}-\\d{2}-\\d{2}"), shiftedAfter.toString());
+        } finally {
+            reloader.destroy();
+        }
+    }
+    
+    private static Object shiftRemark(DateShiftAnonymizer dateShift, TenantPolicy tenant) {
+        TenantPolicy previous = TenantContext.attach(tenant);
+        try {
+            return dateShift.shiftRecords(List.of(Map.of("remark", "2024-02-27")), true, 7L).get(0).get("remark");
+        } finally {
+            TenantContext.attach(previous);
+        }
+    }
+    
+    private static TenantPolicyReloader newReloader(TenantConfig config, TenantRegistry registry) {
+        return newReloader(config, registry, null);
+    }
+    
+    private static TenantPolicyReloader newReloader(TenantConfig config, TenantRegistry registry,
+                                                    DateShiftAnonymizer dateShift) {
+        // Only the date-shift layouts are checked for invalidation; absent anonymizers are skipped
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        if (dateShift != null) {
+            beans.addBean("dateShiftAnonymizer", dateShift);
+        }
+        ObjectProvider<PseudonymizationAnonymizer> pseudonyms = beans.getBeanProvider(PseudonymizationAnonymizer.class);
+        ObjectProvider<DeterministicMaskingAnonymizer> masks = beans.getBeanProvider(DeterministicMaskingAnonymizer.class);
+        return new TenantPolicyReloader(config, registry, pseudonyms, masks, beans.getBeanProvider(DateShiftAnonymizer.class),
+                                        new TenantCacheMetrics(config, registry, pseudonyms, masks));
+    }
+    
+    private static PseudonymKeyRing keyRing() throws Exception {
+        PseudonymizationConfig config = new PseudonymizationConfig();
+        config.setKeys(Map.of("v1", Base64.getEncoder().encodeToString("tenant-secret-key-0123456789abcd".getBytes())));
+        PseudonymKeyRing keyRing = new PseudonymKeyRing(config);
+        keyRing.loadKeys();
+        return keyRing;
+    }
+}
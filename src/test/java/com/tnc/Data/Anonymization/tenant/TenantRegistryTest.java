@@ -0,0 +1,136 @@
+package com.tnc.Data.Anonymization.tenant;
+
+import com.tnc.Data.Anonymization.config.PseudonymizationConfig;
+import com.tnc.Data.Anonymization.config.TenantConfig;
+import com.tnc.Data.Anonymization.enums.AnonymizationStrategy;
+import com.tnc.Data.Anonymization.enums.DataType;
+import com.tnc.Data.Anonymization.service.impl.PseudonymKeyRing;
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for tenant resolution and policy merging.
+ */
+class TenantRegistryTest {
+    
+    @Test
+    void resolvesConfiguredTenantsAndFallsBackToDefault() throws Exception {
+        // Arrange
+        TenantConfig config = tenantConfig();
+        TenantRegistry registry = new TenantRegistry(config, keyRing());
+        
+        // Act
+        TenantPolicy acme = registry.resolve("acme");
+        TenantPolicy blank = registry.resolve(" ");
+        TenantPolicy unknown = registry.resolve("nobody");
+        config.setRejectUnknown(true);
+        TenantPolicy rejected = registry.resolve("nobody");
+        
+        // Assert
+        assertEquals("acme", acme.getId());
+        assertEquals("default", blank.getId());
+        assertSame(blank, unknown);
+        assertNull(rejected);
+        assertEquals(2, registry.getTenants().size());
+        assertNotSame(registry.bulkhead(acme), registry.bulkhead(blank));
+        assertEquals(4, registry.bulkhead(acme).getLimit());
+        assertEquals(16, registry.bulkhead(blank).getLimit());
+    }
+    
+    @Test
+    void policyAppliesStrategiesFieldMappingsAndQuota() throws Exception {
+        // Arrange
+        TenantRegistry registry = new TenantRegistry(tenantConfig(), keyRing());
+        
+        // Act
+        TenantPolicy acme = registry.resolve("acme");
+        
+        // Assert
+        assertEquals(AnonymizationStrategy.PSEUDONYMIZATION, acme.getDefaultStrategy());
+        assertEquals(DataType.ID, acme.classify("MRN"));
+        assertEquals(DataType.EMAIL, acme.classify("email"));
+        assertEquals(1024, acme.getCacheQuotaBytes());
+        assertEquals("v1", acme.getKeyVersion());
+        assertDoesNotThrow(() -> acme.checkAllowed(AnonymizationStrategy.PSEUDONYMIZATION));
+        assertThrows(IllegalArgumentException.class, () -> acme.checkAllowed(AnonymizationStrategy.MASKING));
+        assertEquals(16L * 1024 * 1024, registry.resolve(null).getCacheQuotaBytes());
+    }
+    
+    @Test
+    void unknownKeyVersionFailsStartup() throws Exception {
+        // Arrange
+        TenantConfig config = tenantConfig();
+        config.getPolicies().get("acme").setKeyVersion("missing");
+        PseudonymKeyRing keyRing = keyRing();
+        
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> new TenantRegistry(config, keyRing));
+    }
+    
+    @Test
+    void reloadSwapsChangedPoliciesAndKeepsUnchangedOnes() throws Exception {
+        // Arrange
+        TenantRegistry registry = new TenantRegistry(tenantConfig(), keyRing());
+        TenantPolicy oldAcme = registry.resolve("acme");
+        TenantPolicy oldDefault = registry.resolve(null);
+        TenantConfig next = tenantConfig();
+        next.getPolicies().get("acme").setCacheQuotaBytes(2048L);
+        next.getPolicies().put("beta", new TenantConfig.Policy());
+        
+        // Act
+        TenantRegistry.Reload reload = registry.reload(next, "test");
+        
+        // Assert
+        assertEquals(2, reload.version());
+        assertEquals(List.of("beta"), reload.added());
+        assertEquals(List.of("acme"), reload.changed());
+        assertEquals(List.of(oldAcme), reload.retired());
+        assertSame(oldDefault, registry.resolve(null));
+        assertEquals(2048, registry.resolve("acme").getCacheQuotaBytes());
+        assertEquals(1024, oldAcme.getCacheQuotaBytes());
+        assertSame(registry.bulkhead(oldAcme), registry.bulkhead(registry.resolve("acme")));
+        assertEquals("beta", registry.resolve("beta").getId());
+    }
+    
+    @Test
+    void invalidReloadKeepsRunningVersion() throws Exception {
+        // Arrange
+        TenantRegistry registry = new TenantRegistry(tenantConfig(), keyRing());
+        TenantPolicy acme = registry.resolve("acme");
+        TenantConfig next = tenantConfig();
+        next.getPolicies().get("acme").setKeyVersion("missing");
+        
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> registry.reload(next, "test"));
+        assertEquals(1, registry.getVersion());
+        assertSame(acme, registry.resolve("acme"));
+    }
+    
+    private static TenantConfig tenantConfig() {
+        TenantConfig.Policy acme = new TenantConfig.Policy();
+        acme.setDefaultStrategy(AnonymizationStrategy.PSEUDONYMIZATION);
+        acme.setAllowedStrategies(Set.of(AnonymizationStrategy.PSEUDONYMIZATION, AnonymizationStrategy.REDACTION));
+        acme.setKeyVersion("v1");
+        acme.setFieldTypes(Map.of("mrn", DataType.ID));
+        acme.setCacheQuotaBytes(1024L);
+        acme.setMaxConcurrency(4);
+        
+        TenantConfig config = new TenantConfig();
+        config.getPolicies().put("acme", acme);
+        return config;
+    }
+    
+    private static PseudonymKeyRing keyRing() throws Exception {
+        PseudonymizationConfig config = new PseudonymizationConfig();
+        config.setKeys(Map.of("v1", Base64.getEncoder().encodeToString("tenant-secret-key-0123456789abcd".getBytes())));
+        PseudonymKeyRing keyRing = new PseudonymKeyRing(config);
+        keyRing.loadKeys();
+        return keyRing;
+    }
+}